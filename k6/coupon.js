@@ -1,13 +1,19 @@
 import http from "k6/http";
 import { check } from "k6";
+import { textSummary } from "https://jslib.k6.io/k6-summary/0.0.2/index.js";
 
 // 1. 계정 목록 로딩
 const users = JSON.parse(open("./users.json"));
 
-// 2. 테스트 옵션
+// 2. 테스트 옵션 (환경 변수로 덮어쓰기: BASE_URL, COUPON_ID, VUS, DURATION, LABEL)
+const BASE_URL = __ENV.BASE_URL || "http://localhost:8080";
+const COUPON_ID = __ENV.COUPON_ID || "2";
+const LABEL = __ENV.LABEL || "run";
+
 export let options = {
-  vus: 1000,
-  duration: "20s",
+  vus: Number(__ENV.VUS || 1000),
+  duration: __ENV.DURATION || "20s",
+  summaryTrendStats: ["avg", "med", "p(90)", "p(95)", "p(99)", "max"],
 };
 
 // 3. VU 실행 로직
@@ -18,7 +24,7 @@ export default function () {
   const userId = user.userId;
   const fakeIp = `10.0.${Math.floor(__VU / 256)}.${__VU % 256}`;
   const res = http.post(
-    `http://localhost:8080/coupons/2/issue/${userId}`,
+    `${BASE_URL}/coupons/${COUPON_ID}/issue/${userId}`,
     null,
     { headers: { "X-Forwarded-For": fakeIp } },
   );
@@ -26,3 +32,11 @@ export default function () {
     "coupon result ok": (r) => r.status === 200 || r.status === 409,
   });
 }
+
+// 4. 결과 저장 (k6/results/{LABEL}.json). 플랫폼 스레드/가상 스레드 비교용, docs/virtual-threads.md 참고
+export function handleSummary(data) {
+  return {
+    stdout: textSummary(data, { indent: " ", enableColors: true }),
+    [`k6/results/${LABEL}.json`]: JSON.stringify(data, null, 2),
+  };
+}
@@ -0,0 +1,74 @@
+package com.project.coupon.dto;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * coupon:detail 캐시 JSON 직렬화·역직렬화와 CouponSnapshot 변환 벤치마크.
+ * readSnapshot 이 Redis 캐시 히트 시 CouponService 가 하는 작업(JSON → DTO → 스냅샷)이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CouponCacheBenchmark {
+
+    private ObjectMapper objectMapper;
+    private CouponCacheDto dto;
+    private String json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 10, 0);
+        dto = CouponCacheDto.builder()
+            .couponId(1L)
+            .eventId(1L)
+            .couponName("선착순 10% 할인 쿠폰")
+            .couponDetail("오픈 기념 선착순 쿠폰입니다.")
+            .couponApplyStartDatetime(start)
+            .couponApplyEndDatetime(start.plusDays(30))
+            .couponTotalCount(100_000)
+            .eventStartDatetime(start)
+            .eventEndDatetime(start.plusHours(2))
+            .eventName("오픈 이벤트")
+            .build();
+        json = objectMapper.writeValueAsString(dto);
+    }
+
+    @Benchmark
+    public String write() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(dto);
+    }
+
+    @Benchmark
+    public CouponCacheDto read() throws JsonProcessingException {
+        return objectMapper.readValue(json, CouponCacheDto.class);
+    }
+
+    @Benchmark
+    public CouponSnapshot toSnapshot() {
+        return CouponSnapshot.from(dto);
+    }
+
+    @Benchmark
+    public CouponSnapshot readSnapshot() throws JsonProcessingException {
+        return CouponSnapshot.from(objectMapper.readValue(json, CouponCacheDto.class));
+    }
+
+    @Benchmark
+    public CouponSnapshot roundTrip() throws JsonProcessingException {
+        return CouponSnapshot.from(objectMapper.readValue(objectMapper.writeValueAsString(dto), CouponCacheDto.class));
+    }
+}
@@ -0,0 +1,70 @@
+package com.project.coupon.exception;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * 발급 거절 응답 생성 비용 벤치마크.
+ * 드롭 중 응답 대부분이 재고 소진·중복·rate limit 거절이므로 예외 생성(거절 예외는 스택 트레이스 없음) →
+ * GlobalExceptionHandler → JSON 직렬화까지를 측정한다. 발급 API 는 IssueOutcome + 미리 직렬화한 본문을 쓰므로
+ * 이 경로는 issueCoupon(예외 API)·기타 예외 응답 비용이다. 핸들러 로그는 src/jmh/resources/logback.xml 에서 끈다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorRenderingBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private WebRequest request;
+    private CouponExhaustedException prebuilt;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler(new RejectionLogSampler(1_000L));
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        request = new ServletWebRequest(new MockHttpServletRequest("POST", "/coupons/1/issue/7"));
+        prebuilt = new CouponExhaustedException(1L);
+    }
+
+    @Benchmark
+    public CouponExhaustedException createException() {
+        return new CouponExhaustedException(1L);
+    }
+
+    @Benchmark
+    public byte[] renderExhausted() throws JsonProcessingException {
+        return render(new CouponExhaustedException(1L));
+    }
+
+    @Benchmark
+    public byte[] renderDuplicate() throws JsonProcessingException {
+        return render(new DuplicateCouponException(7L, 1L));
+    }
+
+    /** 예외 생성 비용을 뺀 핸들러 + 직렬화 비용 */
+    @Benchmark
+    public byte[] renderPrebuilt() throws JsonProcessingException {
+        return render(prebuilt);
+    }
+
+    private byte[] render(final BaseException exception) throws JsonProcessingException {
+        ResponseEntity<ErrorResponse> response = handler.handleBaseException(exception, request);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+}
@@ -0,0 +1,118 @@
+package com.project.coupon.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.project.coupon.config.RateLimitProperties.Policy;
+import com.project.coupon.service.CouponRedisService.IssuedUsersMode;
+import com.project.coupon.service.RedisScriptRegistry.LuaScript;
+
+/**
+ * 발급 경로 Redis 구간 벤치마크.
+ *
+ * <ul>
+ *   <li>keys* — 스크립트 실행 없이 레이아웃 조회·키 문자열·ARGV 생성·결과 매핑만 측정 (고정 응답 레지스트리)</li>
+ *   <li>issue* / rate* — 실제 Lua 소스를 in-process 대역(LuaJ)에서 실행</li>
+ * </ul>
+ * 재고 레이아웃(샤드 수 × Set/비트맵)별로 측정한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CouponIssueScriptBenchmark {
+
+    private static final long COUPON_ID = 1L;
+    private static final long EVENT_ID = 1L;
+    private static final long DUPLICATE_USER_ID = 7L;
+    private static final String CLIENT_IP = "10.0.0.1";
+    private static final Policy UNLIMITED = new Policy(60L, Integer.MAX_VALUE);
+    private static final Policy BLOCKED = new Policy(60L, 0);
+
+    @Param({"1", "4"})
+    private int shards;
+
+    @Param({"SET", "BITMAP"})
+    private IssuedUsersMode issuedUsersMode;
+
+    private InProcessRedis redis;
+    private CouponRedisService scripted;
+    private CouponRedisService keysOnly;
+    private long nextUserId;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        redis = new InProcessRedis();
+        StringRedisTemplate template = redis.redisTemplate();
+        CouponSoldOutRegistry soldOutRegistry = new CouponSoldOutRegistry(template, new RedisMessageListenerContainer(), 0L);
+        scripted = new CouponRedisService(template, redis.scriptRegistry(), soldOutRegistry);
+        keysOnly = new CouponRedisService(template, new FixedResultRegistry(), soldOutRegistry);
+    }
+
+    /** 반복마다 저장소를 비워 발급 Set·rate 키 누적이 측정에 섞이지 않게 한다 */
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        redis.clear();
+        redis.set("event:" + EVENT_ID + ":active", "1");
+        redis.set("coupon:{" + COUPON_ID + "}:stock_shards", String.valueOf(shards));
+        redis.set("coupon:{" + COUPON_ID + "}:issued_mode", issuedUsersMode.name());
+        for (int shard = 0; shard < shards; shard++) {
+            String tag = shards > 1 ? COUPON_ID + ":" + shard : String.valueOf(COUPON_ID);
+            redis.set("coupon:{" + tag + "}:stock", String.valueOf(Integer.MAX_VALUE));
+        }
+        scripted.tryIssueAtomic(COUPON_ID, EVENT_ID, DUPLICATE_USER_ID, CLIENT_IP, Integer.MAX_VALUE, UNLIMITED);
+        nextUserId = DUPLICATE_USER_ID + 1;
+    }
+
+    @Benchmark
+    public CouponRedisService.IssueResult keysOnly() {
+        return keysOnly.tryIssueAtomic(COUPON_ID, EVENT_ID, nextUserId++, CLIENT_IP, Integer.MAX_VALUE, UNLIMITED);
+    }
+
+    @Benchmark
+    public CouponRedisService.IssueResult issueNewUser() {
+        return scripted.tryIssueAtomic(COUPON_ID, EVENT_ID, nextUserId++, null, Integer.MAX_VALUE, UNLIMITED);
+    }
+
+    @Benchmark
+    public CouponRedisService.IssueResult issueDuplicate() {
+        return scripted.tryIssueAtomic(COUPON_ID, EVENT_ID, DUPLICATE_USER_ID, CLIENT_IP, Integer.MAX_VALUE, UNLIMITED);
+    }
+
+    @Benchmark
+    public CouponRedisService.IssueResult issueRateLimited() {
+        return scripted.tryIssueAtomic(COUPON_ID, EVENT_ID, DUPLICATE_USER_ID, CLIENT_IP, Integer.MAX_VALUE, BLOCKED);
+    }
+
+    @Benchmark
+    public boolean rateIncr() {
+        return scripted.checkAndIncrementRate(DUPLICATE_USER_ID, CLIENT_IP, UNLIMITED);
+    }
+
+    /** 스크립트를 실행하지 않고 발급 성공 응답만 돌려주는 레지스트리 */
+    private static final class FixedResultRegistry extends RedisScriptRegistry {
+
+        private static final List<Long> SUCCESS = List.of(1L, 100L);
+
+        private FixedResultRegistry() {
+            super(null);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T execute(final LuaScript<T> script, final List<String> keys, final String... args) {
+            return (T) SUCCESS;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.coupon.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * MariaDB 커넥션 설정.
+ * useAffectedRows=true 로 INSERT … ON DUPLICATE KEY UPDATE pk = pk 의 영향 행 수를 새로 저장된 행 1, 중복 행 0 으로 받는다.
+ * (MariaDB Connector/J 기본값은 found rows 라 중복 행도 1 로 센다. BulkImportJdbcRepository 의 inserted/skipped 집계가 이 값에 의존)
+ * JPA 는 새 엔티티 INSERT 만 하므로 영향이 없다. JDBC URL 이나 data-source-properties 에 값을 직접 주면 그 값을 따른다.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final String USE_AFFECTED_ROWS = "useAffectedRows";
+
+    @Bean
+    static BeanPostProcessor affectedRowsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                    && !dataSource.getDataSourceProperties().containsKey(USE_AFFECTED_ROWS)
+                    && (dataSource.getJdbcUrl() == null || !dataSource.getJdbcUrl().contains(USE_AFFECTED_ROWS))) {
+                    dataSource.addDataSourceProperty(USE_AFFECTED_ROWS, "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.coupon.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 이벤트 대기열(waiting room) 설정 (coupon.queue.*).
+ * 전역 기본값을 두고 이벤트별로 사용 여부·입장 속도를 덮어쓸 수 있다.
+ *
+ * <pre>
+ * coupon.queue.enabled=false
+ * coupon.queue.admit-per-second=200
+ * coupon.queue.events.42.enabled=true
+ * coupon.queue.events.42.admit-per-second=500
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "coupon.queue")
+public class QueueProperties {
+
+    /** 기본 대기열 사용 여부 */
+    private boolean enabled = false;
+
+    /** 초당 입장 허용 수 (전 노드 합계) */
+    private int admitPerSecond = 200;
+
+    /** 입장 토큰 유효 시간(초) */
+    private long tokenTtlSeconds = 300L;
+
+    /** 입장 처리 주기(ms). @Scheduled 에서 coupon.queue.dispatch-interval-ms 로 참조 */
+    private long dispatchIntervalMs = 100L;
+
+    /** 이벤트 ID → 설정 덮어쓰기 */
+    private Map<Long, EventQueue> events = new HashMap<>();
+
+    /**
+     * 이벤트에 대기열을 적용하는지 반환한다.
+     *
+     * @param eventId 이벤트 ID
+     * @return 적용하면 true
+     */
+    public boolean isEnabled(final Long eventId) {
+        EventQueue event = events.get(eventId);
+        return event != null && event.getEnabled() != null ? event.getEnabled() : enabled;
+    }
+
+    /**
+     * 기본값이나 이벤트별 설정으로 대기열을 적용하는 이벤트가 있을 수 있는지 반환한다.
+     *
+     * @return 기본 사용이거나 enabled=true 인 이벤트가 있으면 true
+     */
+    public boolean isAnyEnabled() {
+        return enabled || events.values().stream().anyMatch(event -> Boolean.TRUE.equals(event.getEnabled()));
+    }
+
+    /**
+     * 이벤트의 초당 입장 허용 수를 반환한다.
+     *
+     * @param eventId 이벤트 ID
+     * @return 초당 입장 허용 수
+     */
+    public int admitPerSecond(final Long eventId) {
+        EventQueue event = events.get(eventId);
+        return event != null && event.getAdmitPerSecond() != null ? event.getAdmitPerSecond() : admitPerSecond;
+    }
+
+    /**
+     * 이벤트별 대기열 설정. 지정하지 않은 값은 기본값을 따른다.
+     */
+    @Getter
+    @Setter
+    public static class EventQueue {
+
+        private Boolean enabled;
+        private Integer admitPerSecond;
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.coupon.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 발급 요청 rate limit 설정 (coupon.rate-limit.*).
+ * 기본 한도는 redis.mdc 3.4 (60초 윈도우, 10회)이며 이벤트별로 덮어쓸 수 있다.
+ *
+ * <pre>
+ * coupon.rate-limit.window-seconds=60
+ * coupon.rate-limit.max-requests=10
+ * coupon.rate-limit.events.42.max-requests=3
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "coupon.rate-limit")
+public class RateLimitProperties {
+
+    /** 기본 윈도우(초) */
+    private long windowSeconds = 60L;
+
+    /** 기본 윈도우 내 최대 요청 수 */
+    private int maxRequests = 10;
+
+    /** JVM 로컬 token bucket 사용 여부 */
+    private boolean localEnabled = true;
+
+    /** JVM 로컬 token bucket 최대 키 수 (초과 시 오래된 키부터 제거) */
+    private int localMaxKeys = 200_000;
+
+    /** 이벤트 ID → 한도 덮어쓰기 */
+    private Map<Long, EventLimit> events = new HashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final Map<Long, Policy> policies = new ConcurrentHashMap<>();
+
+    /**
+     * 이벤트에 적용할 한도를 반환한다. 이벤트 설정이 없으면 기본 한도.
+     *
+     * @param eventId 이벤트 ID
+     * @return rate limit 정책
+     */
+    public Policy policyFor(final Long eventId) {
+        return policies.computeIfAbsent(eventId, id -> {
+            EventLimit limit = events.get(id);
+            long window = limit != null && limit.getWindowSeconds() != null ? limit.getWindowSeconds() : windowSeconds;
+            int max = limit != null && limit.getMaxRequests() != null ? limit.getMaxRequests() : maxRequests;
+            return new Policy(window, max);
+        });
+    }
+
+    /**
+     * 이벤트별 한도. 지정하지 않은 값은 기본값을 따른다.
+     */
+    @Getter
+    @Setter
+    public static class EventLimit {
+
+        private Long windowSeconds;
+        private Integer maxRequests;
+    }
+
+    /**
+     * 확정된 rate limit 정책 (윈도우·최대 요청 수).
+     */
+    @Getter
+    public static final class Policy {
+
+        private final long windowSeconds;
+        private final int maxRequests;
+
+        public Policy(final long windowSeconds, final int maxRequests) {
+            this.windowSeconds = windowSeconds;
+            this.maxRequests = maxRequests;
+        }
+    }
+}
@@ -1,10 +1,33 @@
 package com.project.coupon.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 
 @Configuration
 @EnableRedisRepositories
 public class RedisConfig {
     // stringRedisTemplate은 RedisAutoConfiguration에서 자동 등록됨 (RedisTemplate<String, String>)
+
+    /**
+     * Redis pub/sub 구독 컨테이너. 노드 간 로컬 캐시 무효화 등 브로드캐스트 수신에 사용.
+     * spring.threads.virtual.enabled=true 면 메시지 리스너도 가상 스레드에서 실행한다.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            final RedisConnectionFactory connectionFactory,
+            @Value("${spring.threads.virtual.enabled:false}") final boolean virtualThreads) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("redis-listener-");
+            executor.setVirtualThreads(true);
+            container.setTaskExecutor(executor);
+        }
+        return container;
+    }
 }
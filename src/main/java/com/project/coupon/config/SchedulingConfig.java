@@ -0,0 +1,14 @@
+package com.project.coupon.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 백그라운드 작업(@Scheduled) 활성화 설정.
+ * UserCouponWriteBehindService 의 user_coupon 적재 drainer 등에서 사용.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
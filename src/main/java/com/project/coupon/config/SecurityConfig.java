@@ -73,7 +73,10 @@ public class SecurityConfig {
                                 "/swagger-ui.html"
                         ).permitAll()
                         .requestMatchers("/auth/login", "/login", "/login-form").permitAll()
+                        // 헬스 체크·Prometheus 스크레이프 (노출 범위는 management.endpoints.web.exposure.include 로 제한)
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         .requestMatchers("/coupons/*/issue/*").permitAll()
+                        .requestMatchers("/events/*/queue/*").permitAll()
                         .anyRequest().hasRole("USER")
                 )
 
@@ -1,17 +1,34 @@
 package com.project.coupon.controller;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.project.coupon.dto.CouponStockResponse;
+import com.project.coupon.dto.DistributionProgressResponse;
 import com.project.coupon.dto.EventResponse;
+import com.project.coupon.dto.RateLimitStatsResponse;
+import com.project.coupon.dto.RedisScriptStatsResponse;
+import com.project.coupon.dto.VirtualThreadPinningResponse;
 import com.project.coupon.exception.ErrorResponse;
+import com.project.coupon.service.BulkImportService.ImportFormat;
+import com.project.coupon.service.CouponDistributionService;
 import com.project.coupon.service.EventService;
+import com.project.coupon.service.CouponRateLimiter;
+import com.project.coupon.service.CouponRedisService.IssuedUsersMode;
+import com.project.coupon.service.RedisScriptRegistry;
+import com.project.coupon.service.VirtualThreadPinningMonitor;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -28,7 +45,15 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AdminController {
 
+    private static final String DISTRIBUTION_ID_HEADER = "X-Distribution-Id";
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_JSONL = "application/jsonl";
+
     private final EventService eventService;
+    private final CouponDistributionService couponDistributionService;
+    private final RedisScriptRegistry redisScriptRegistry;
+    private final CouponRateLimiter couponRateLimiter;
+    private final VirtualThreadPinningMonitor virtualThreadPinningMonitor;
     
     @Operation(summary = "관리자 이벤트 목록", description = "관리자 페이지 진입 시 등록된 이벤트 목록을 반환합니다.")
     @ApiResponses({
@@ -50,4 +75,109 @@ public class AdminController {
         eventService.initializeCouponStocksForEvent(eventId);
         return ResponseEntity.ok().build();
     }
+
+    @Operation(summary = "쿠폰 재고 샤드 초기화", description = "단일 쿠폰의 초기 재고를 지정한 수의 Redis 샤드로 나눠 저장합니다. 발급이 몰릴 인기 쿠폰을 발급 시작 전에 샤드 모드로 열 때 사용합니다. shards=1 이면 단일 키입니다. issuedUsersMode=BITMAP 이면 중복 방지를 userId 비트맵으로 관리합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "초기화 완료"),
+            @ApiResponse(responseCode = "400", description = "샤드 수 범위 오류", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "쿠폰 없음", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/coupons/{couponId}/initialize-stock")
+    public ResponseEntity<Void> initializeCouponStock(
+            @Parameter(description = "쿠폰 ID") @PathVariable("couponId") final Long couponId,
+            @Parameter(description = "재고 샤드 수 (1~64)") @RequestParam(value = "shards", defaultValue = "1") final int shards,
+            @Parameter(description = "중복 방지 방식 (SET / BITMAP)") @RequestParam(value = "issuedUsersMode", defaultValue = "SET") final IssuedUsersMode issuedUsersMode) {
+        eventService.initializeCouponStock(couponId, shards, issuedUsersMode);
+        return ResponseEntity.ok().build();
+    }
+
+    @Operation(summary = "쿠폰 재고 조회", description = "Redis 기준 남은 재고와 재고 샤드 수를 반환합니다. 샤드 모드면 전 샤드 합계입니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "성공")
+    })
+    @GetMapping("/coupons/{couponId}/stock")
+    public ResponseEntity<CouponStockResponse> getCouponStock(
+            @Parameter(description = "쿠폰 ID") @PathVariable("couponId") final Long couponId) {
+        return ResponseEntity.ok(eventService.getCouponStock(couponId));
+    }
+
+    @Operation(summary = "이벤트 캐시 무효화", description = "이벤트와 소속 쿠폰의 메타데이터 캐시(Redis coupon:detail 및 전 노드 로컬 캐시)를 무효화합니다. DB에서 이벤트·쿠폰을 수정한 뒤 호출합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "무효화 완료"),
+            @ApiResponse(responseCode = "404", description = "이벤트 없음", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{eventId}/evict-cache")
+    public ResponseEntity<Void> evictEventCaches(
+            @Parameter(description = "이벤트 ID") @PathVariable("eventId") final Long eventId) {
+        eventService.evictEventCaches(eventId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "쿠폰 캐시 무효화", description = "쿠폰 메타데이터 캐시(Redis coupon:detail 및 전 노드 로컬 캐시)를 무효화합니다. DB에서 쿠폰을 수정한 뒤 호출합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "무효화 완료")
+    })
+    @PostMapping("/coupons/{couponId}/evict-cache")
+    public ResponseEntity<Void> evictCouponCache(
+            @Parameter(description = "쿠폰 ID") @PathVariable("couponId") final Long couponId) {
+        eventService.evictCouponCache(couponId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "쿠폰 대량 배포", description = "요청 본문의 사용자 목록(text/csv 헤더 userId 또는 application/x-ndjson, application/jsonl)을 스트리밍으로 읽어 쿠폰을 일괄 지급합니다. "
+        + "실시간 발급과 같은 Redis 재고·중복 방지 키를 쓰므로 이미 받은 사용자는 건너뛰고, 재고가 바닥나면 SOLD_OUT 으로 멈춥니다. "
+        + "coupon.distribution.max-users-per-second 로 속도를 제한합니다. 중단된 배포는 같은 X-Distribution-Id 로 같은 목록을 다시 보내면 처리된 행 다음부터 이어서 처리합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "배포 종료 (status 로 완료·재고 소진·실패 구분)"),
+            @ApiResponse(responseCode = "400", description = "같은 배포 ID 진행 중 또는 다른 쿠폰의 배포 ID", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "쿠폰 없음", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/coupons/{couponId}/distribute", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE, APPLICATION_JSONL})
+    public ResponseEntity<DistributionProgressResponse> distributeCoupon(
+            @Parameter(description = "쿠폰 ID") @PathVariable("couponId") final Long couponId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType,
+            @Parameter(description = "재개·진행 조회용 배포 ID (생략 시 생성)") @RequestHeader(value = DISTRIBUTION_ID_HEADER, required = false) final String distributionId,
+            final InputStream body) {
+        ImportFormat format = contentType.toLowerCase(Locale.ROOT).startsWith(TEXT_CSV) ? ImportFormat.CSV : ImportFormat.JSONL;
+        return ResponseEntity.ok(couponDistributionService.distribute(couponId, format, body, distributionId));
+    }
+
+    @Operation(summary = "쿠폰 대량 배포 진행 조회", description = "배포 ID 의 처리 행 수, 지급·중복·재고 소진·무효 건수와 상태를 반환합니다. 진행 상황은 7일간 보관됩니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "성공"),
+            @ApiResponse(responseCode = "404", description = "해당 배포 ID 없음")
+    })
+    @GetMapping("/distributions/{distributionId}")
+    public ResponseEntity<DistributionProgressResponse> getDistributionProgress(
+            @Parameter(description = "배포 ID") @PathVariable("distributionId") final String distributionId) {
+        DistributionProgressResponse progress = couponDistributionService.getProgress(distributionId);
+        return progress != null ? ResponseEntity.ok(progress) : ResponseEntity.notFound().build();
+    }
+
+    @Operation(summary = "Lua 스크립트 실행 통계", description = "Redis Lua 스크립트별 EVALSHA 호출 수, 오류 수, NOSCRIPT 재적재 수, 평균/최대 지연(us)을 반환합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "성공")
+    })
+    @GetMapping("/redis-scripts")
+    public ResponseEntity<List<RedisScriptStatsResponse>> getRedisScriptStats() {
+        return ResponseEntity.ok(redisScriptRegistry.getStats());
+    }
+
+    @Operation(summary = "Rate limit 통계", description = "JVM 로컬 token bucket 에서 거절한 수(localRejected), Redis 전역 한도에서 거절한 수(globalRejected), 현재 로컬 버킷 수를 반환합니다. 노드별 값입니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "성공")
+    })
+    @GetMapping("/rate-limit-stats")
+    public ResponseEntity<RateLimitStatsResponse> getRateLimitStats() {
+        return ResponseEntity.ok(couponRateLimiter.getStats());
+    }
+
+    @Operation(summary = "가상 스레드 pinning 통계", description = "JFR jdk.VirtualThreadPinned 이벤트를 클라이언트(mariadb-jdbc, hikari, lettuce 등)·스택 위치별로 집계해 반환합니다. coupon.virtual-threads.pinning-monitor.enabled=true 일 때만 수집합니다. 노드별 값입니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "성공")
+    })
+    @GetMapping("/virtual-threads/pinning")
+    public ResponseEntity<VirtualThreadPinningResponse> getVirtualThreadPinning() {
+        return ResponseEntity.ok(virtualThreadPinningMonitor.getStats());
+    }
 }
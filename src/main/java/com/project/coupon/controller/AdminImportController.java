@@ -0,0 +1,86 @@
+package com.project.coupon.controller;
+
+import java.io.InputStream;
+import java.util.Locale;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.coupon.dto.ImportResultResponse;
+import com.project.coupon.exception.ErrorResponse;
+import com.project.coupon.exception.InvalidRequestException;
+import com.project.coupon.service.BulkImportService;
+import com.project.coupon.service.BulkImportService.ImportFormat;
+import com.project.coupon.service.BulkImportService.ImportTarget;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@Tag(name = "Admin Import", description = "관리자용 이벤트·쿠폰·사용자 대량 적재 API")
+@RestController
+@RequestMapping("/admin/import")
+@RequiredArgsConstructor
+public class AdminImportController {
+
+    private static final String IMPORT_ID_HEADER = "X-Import-Id";
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_JSONL = "application/jsonl";
+
+    private final BulkImportService bulkImportService;
+
+    @Operation(summary = "대량 적재", description = "요청 본문(CSV 또는 JSONL)을 스트리밍으로 읽어 target(users / events / coupons) 테이블에 청크 단위 multi-row INSERT 합니다. "
+        + "Content-Type: text/csv(첫 줄 헤더) 또는 application/x-ndjson, application/jsonl. 필드 이름은 camelCase·snake_case 모두 허용합니다. "
+        + "users: userId(선택), userLoginId, userPassword(평문 또는 BCrypt 해시) / events: eventId(선택), eventName, eventDetail, eventStartDatetime, eventEndDatetime / "
+        + "coupons: couponId(선택), eventId, couponName, couponDetail, couponApplyStartDatetime, couponApplyEndDatetime, couponTotalCount. "
+        + "이미 있는 행은 건너뜁니다. X-Import-Id 헤더를 주면 적재 중에 GET /admin/import/{importId} 로 진행 상황을 볼 수 있습니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "적재 종료 (status 로 완료·중단 구분)"),
+            @ApiResponse(responseCode = "400", description = "지원하지 않는 target·형식 또는 같은 importId 적재 진행 중", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/{target}", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE, APPLICATION_JSONL})
+    public ResponseEntity<ImportResultResponse> importRows(
+            @Parameter(description = "적재 대상 (users / events / coupons)") @PathVariable("target") final String target,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType,
+            @Parameter(description = "진행 조회용 ID (생략 시 생성)") @RequestHeader(value = IMPORT_ID_HEADER, required = false) final String importId,
+            final InputStream body) {
+        ImportResultResponse result = bulkImportService.importRows(toTarget(target), toFormat(contentType), body, importId);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "대량 적재 진행 조회", description = "진행 중이거나 최근 1시간 안에 끝난 적재의 진행 상황을 반환합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "성공"),
+            @ApiResponse(responseCode = "404", description = "해당 importId 없음")
+    })
+    @GetMapping("/{importId}")
+    public ResponseEntity<ImportResultResponse> getProgress(
+            @Parameter(description = "적재 ID") @PathVariable("importId") final String importId) {
+        ImportResultResponse progress = bulkImportService.getProgress(importId);
+        return progress != null ? ResponseEntity.ok(progress) : ResponseEntity.notFound().build();
+    }
+
+    private static ImportTarget toTarget(final String target) {
+        try {
+            return ImportTarget.valueOf(target.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("target", target);
+        }
+    }
+
+    private static ImportFormat toFormat(final String contentType) {
+        return contentType.toLowerCase(Locale.ROOT).startsWith(TEXT_CSV) ? ImportFormat.CSV : ImportFormat.JSONL;
+    }
+}
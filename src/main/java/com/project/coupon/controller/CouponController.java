@@ -5,12 +5,14 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.project.coupon.exception.ErrorResponse;
 import com.project.coupon.security.CustomUserDetails;
 import com.project.coupon.service.CouponService;
+import com.project.coupon.service.IssueOutcome;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -29,45 +31,57 @@ import lombok.RequiredArgsConstructor;
 public class CouponController {
 
     private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    private static final String X_QUEUE_TOKEN = "X-Queue-Token";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
     private final CouponService couponService;
+    private final IssueRejectionResponses issueRejectionResponses;
 
     @Operation(summary = "쿠폰 발급 (테스트)", description = "로그인 없이 userId를 path로 넘겨 쿠폰 발급 테스트. 인증 불필요.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "발급 성공"),
-            @ApiResponse(responseCode = "409", description = "재고 소진 / 중복 발급 / 이벤트 종료 등", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "대기열 적용 이벤트에서 입장 토큰 없음/만료", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Idempotency-Key 형식 오류 / 다른 쿠폰에 사용한 키", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "재고 소진 / 중복 발급 / 이벤트 종료 / 같은 Idempotency-Key 처리 중 등", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "쿠폰/이벤트 없음", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "429", description = "요청 제한 초과 (Rate limit)", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/{couponId}/issue/{userId}")
-    public ResponseEntity<Void> issueCouponForTest(
+    public ResponseEntity<byte[]> issueCouponForTest(
             @Parameter(description = "쿠폰 ID") @PathVariable("couponId") final Long couponId,
             @Parameter(description = "사용자 ID (테스트용)") @PathVariable("userId") final Long userId,
+            @Parameter(description = "대기열 입장 토큰 (대기열 적용 이벤트만)") @RequestHeader(value = X_QUEUE_TOKEN, required = false) final String queueToken,
+            @Parameter(description = "재시도 식별 키 (영문·숫자·-·_ 64자 이하, 같은 키의 재시도는 첫 결과를 그대로 받음)") @RequestHeader(value = IDEMPOTENCY_KEY, required = false) final String idempotencyKey,
             final HttpServletRequest request) {
         String clientIp = resolveClientIp(request);
-        couponService.issueCoupon(userId, couponId, clientIp);
-        return ResponseEntity.ok().build();
+        IssueOutcome outcome = couponService.tryIssueCoupon(userId, couponId, clientIp, queueToken, idempotencyKey);
+        return issueRejectionResponses.toResponse(outcome, request.getRequestURI());
     }
 
-    @Operation(summary = "쿠폰 발급", description = "선착순 쿠폰 발급. Rate limit은 유저 ID 및 클라이언트 IP 기준으로 적용됩니다. 로그인 필요.")
+    @Operation(summary = "쿠폰 발급", description = "선착순 쿠폰 발급. Rate limit은 유저 ID 및 클라이언트 IP 기준으로 적용됩니다. "
+        + "Idempotency-Key 헤더를 보내면 같은 키의 재시도는 발급을 다시 시도하지 않고 첫 결과(성공·거절)를 그대로 받습니다. 로그인 필요.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "발급 성공"),
-            @ApiResponse(responseCode = "409", description = "재고 소진 / 중복 발급 / 이벤트 종료 등", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "대기열 적용 이벤트에서 입장 토큰 없음/만료", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Idempotency-Key 형식 오류 / 다른 쿠폰에 사용한 키", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "재고 소진 / 중복 발급 / 이벤트 종료 / 같은 Idempotency-Key 처리 중 등", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "쿠폰/이벤트 없음", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "429", description = "요청 제한 초과 (Rate limit)", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/{couponId}/issue")
-    public ResponseEntity<Void> issueCoupon(
+    public ResponseEntity<byte[]> issueCoupon(
             @Parameter(description = "쿠폰 ID") @PathVariable("couponId") final Long couponId,
+            @Parameter(description = "대기열 입장 토큰 (대기열 적용 이벤트만)") @RequestHeader(value = X_QUEUE_TOKEN, required = false) final String queueToken,
+            @Parameter(description = "재시도 식별 키 (영문·숫자·-·_ 64자 이하, 같은 키의 재시도는 첫 결과를 그대로 받음)") @RequestHeader(value = IDEMPOTENCY_KEY, required = false) final String idempotencyKey,
             final HttpServletRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         Long userId = userDetails.getUserId();
         String clientIp = resolveClientIp(request);
 
-        couponService.issueCoupon(userId, couponId, clientIp);
+        IssueOutcome outcome = couponService.tryIssueCoupon(userId, couponId, clientIp, queueToken, idempotencyKey);
 
-        return ResponseEntity.ok().build();
+        return issueRejectionResponses.toResponse(outcome, request.getRequestURI());
     }
 
     private static String resolveClientIp(final HttpServletRequest request) {
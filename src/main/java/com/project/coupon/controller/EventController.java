@@ -2,20 +2,38 @@ package com.project.coupon.controller;
 
 import java.util.List;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.project.coupon.dto.CatalogPageResponse;
 import com.project.coupon.dto.CouponResponse;
+import com.project.coupon.dto.CouponSummaryResponse;
+import com.project.coupon.dto.CouponUserStatusResponse;
 import com.project.coupon.dto.EventResponse;
+import com.project.coupon.dto.EventSummaryResponse;
 import com.project.coupon.exception.ErrorResponse;
+import com.project.coupon.security.CustomUserDetails;
+import com.project.coupon.service.CatalogSnapshotCache.CatalogSnapshot;
+import com.project.coupon.service.CouponStockStreamService;
 import com.project.coupon.service.EventService;
+import com.project.coupon.service.EventService.EventFilter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -30,38 +48,99 @@ import lombok.RequiredArgsConstructor;
 public class EventController {
 
     private final EventService eventService;
+    private final CouponStockStreamService couponStockStreamService;
 
-    @Operation(summary = "전체 이벤트 조회", description = "등록된 이벤트 목록을 반환합니다. 로그인 필요.")
+    @Operation(summary = "전체 이벤트 조회", description = "등록된 이벤트 목록을 반환합니다. 응답은 변경 시에만 다시 만드는 직렬화 스냅샷이며 ETag 를 함께 보냅니다. If-None-Match 가 같으면 304 를 반환합니다. 로그인 필요.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "성공")
+            @ApiResponse(responseCode = "200", description = "성공", content = @Content(array = @ArraySchema(schema = @Schema(implementation = EventResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "If-None-Match 와 ETag 일치 (변경 없음)")
     })
-    @GetMapping
-    public ResponseEntity<List<EventResponse>> getEvents() {
-        return ResponseEntity.ok(eventService.getEvents());
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getEvents(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        return toResponse(eventService.getEventsSnapshot(), ifNoneMatch);
     }
 
-    @Operation(summary = "이벤트 상세 조회", description = "이벤트 ID로 단일 이벤트 정보를 반환합니다.")
+    @Operation(summary = "이벤트 목록 페이지 조회", description = "이벤트 목록을 최근 등록 순(eventId 내림차순)으로 한 페이지 반환합니다. 목록에는 eventDetail 이 없습니다. "
+        + "status=ACTIVE 는 진행 중, UPCOMING 은 시작 전 이벤트만 반환합니다. 다음 페이지는 응답의 nextCursor 를 cursor 로 넘깁니다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "성공"),
+            @ApiResponse(responseCode = "400", description = "size 범위 오류", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/page")
+    public ResponseEntity<CatalogPageResponse<EventSummaryResponse>> getEventPage(
+            @Parameter(description = "필터 (ALL / ACTIVE / UPCOMING)") @RequestParam(value = "status", defaultValue = "ALL") final EventFilter status,
+            @Parameter(description = "이전 페이지의 nextCursor (첫 페이지면 생략)") @RequestParam(value = "cursor", required = false) final Long cursor,
+            @Parameter(description = "페이지 크기 (1~100)") @RequestParam(value = "size", defaultValue = "20") final int size) {
+        return ResponseEntity.ok(eventService.getEventPage(status, cursor, size));
+    }
+
+    @Operation(summary = "이벤트 상세 조회", description = "이벤트 ID로 단일 이벤트 정보를 반환합니다. ETag·If-None-Match(304)를 지원합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "성공", content = @Content(schema = @Schema(implementation = EventResponse.class))),
+            @ApiResponse(responseCode = "304", description = "If-None-Match 와 ETag 일치 (변경 없음)"),
             @ApiResponse(responseCode = "404", description = "이벤트 없음", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    @GetMapping("/{eventId}")
-    public ResponseEntity<EventResponse> getEventById(
-            @Parameter(description = "이벤트 ID") @PathVariable("eventId") final Long eventId) {
-        return ResponseEntity.ok(eventService.getEventById(eventId));
+    @GetMapping(value = "/{eventId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getEventById(
+            @Parameter(description = "이벤트 ID") @PathVariable("eventId") final Long eventId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        return toResponse(eventService.getEventSnapshot(eventId), ifNoneMatch);
     }
 
-    @Operation(summary = "이벤트별 쿠폰 목록 조회", description = "해당 이벤트에 속한 쿠폰 목록을 반환합니다.")
+    @Operation(summary = "이벤트별 쿠폰 목록 조회", description = "해당 이벤트에 속한 쿠폰 목록을 반환합니다. ETag·If-None-Match(304)를 지원합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "성공", content = @Content(array = @ArraySchema(schema = @Schema(implementation = CouponResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "If-None-Match 와 ETag 일치 (변경 없음)")
+    })
+    @GetMapping(value = "/{eventId}/coupons", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getCouponsByEventId(
+            @Parameter(description = "이벤트 ID") @PathVariable("eventId") final Long eventId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        return toResponse(eventService.getCouponsSnapshot(eventId), ifNoneMatch);
+    }
+    
+    @Operation(summary = "이벤트별 쿠폰 목록 페이지 조회", description = "해당 이벤트의 쿠폰을 couponId 오름차순으로 한 페이지 반환합니다. 목록에는 couponDetail 이 없습니다. 다음 페이지는 응답의 nextCursor 를 cursor 로 넘깁니다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "성공"),
-            @ApiResponse(responseCode = "404", description = "이벤트 없음", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            @ApiResponse(responseCode = "400", description = "size 범위 오류", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    @GetMapping("/{eventId}/coupons")
-    public ResponseEntity<List<CouponResponse>> getCouponsByEventId(
+    @GetMapping("/{eventId}/coupons/page")
+    public ResponseEntity<CatalogPageResponse<CouponSummaryResponse>> getCouponPage(
+            @Parameter(description = "이벤트 ID") @PathVariable("eventId") final Long eventId,
+            @Parameter(description = "이전 페이지의 nextCursor (첫 페이지면 생략)") @RequestParam(value = "cursor", required = false) final Long cursor,
+            @Parameter(description = "페이지 크기 (1~100)") @RequestParam(value = "size", defaultValue = "20") final int size) {
+        return ResponseEntity.ok(eventService.getCouponPage(eventId, cursor, size));
+    }
+
+    @Operation(summary = "쿠폰별 재고·발급 여부 조회", description = "이벤트 소속 쿠폰 전체의 남은 재고와 로그인한 유저의 발급 여부를 한 번에 반환합니다. "
+        + "쿠폰마다 재고·발급 여부를 따로 묻지 않고 Redis 왕복 1회로 조회합니다. remainingStock 이 null 이면 재고 초기화 전입니다. 로그인 필요.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "성공", content = @Content(array = @ArraySchema(schema = @Schema(implementation = CouponUserStatusResponse.class)))),
+            @ApiResponse(responseCode = "503", description = "Redis 오류", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{eventId}/coupons/status")
+    public ResponseEntity<List<CouponUserStatusResponse>> getCouponStatuses(
             @Parameter(description = "이벤트 ID") @PathVariable("eventId") final Long eventId) {
-        return ResponseEntity.ok(eventService.getCouponsByEventId(eventId));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = ((CustomUserDetails) authentication.getPrincipal()).getUserId();
+        return ResponseEntity.ok(eventService.getCouponStatuses(eventId, userId));
     }
-    
+
+    @Operation(summary = "남은 재고 스트림 (SSE)", description = "이벤트 소속 쿠폰의 남은 재고를 Server-Sent Events 로 받습니다. "
+        + "stock 이벤트: 구독 직후와 재고가 바뀔 때 {eventId, coupons: [{couponId, remainingStock, soldOut}]}. "
+        + "sold-out 이벤트: 재고가 0 이 된 쿠폰 {couponId}. 노드의 poller 하나가 모든 구독자 대신 Redis 를 읽으므로 클라이언트는 발급을 시도하지 않고 재고를 확인할 수 있습니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "스트림 시작"),
+            @ApiResponse(responseCode = "404", description = "이벤트 없음", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "노드 구독자 수 한도 초과", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(value = "/{eventId}/stock-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStock(
+            @Parameter(description = "이벤트 ID") @PathVariable("eventId") final Long eventId) {
+        return couponStockStreamService.subscribe(eventId);
+    }
+
     @Operation(summary = "쿠폰 재고 Redis 초기화", description = "이벤트 오픈 시 해당 이벤트의 모든 쿠폰 초기 재고를 Redis에 저장합니다. DB의 coupon_total_count를 Redis에 세팅할 때 호출합니다.")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "초기화 완료"),
@@ -73,4 +152,22 @@ public class EventController {
         eventService.initializeCouponStocksForEvent(eventId);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * 스냅샷을 응답으로 바꾼다. If-None-Match 가 ETag 와 같으면 본문 없이 304.
+     * no-cache 로 클라이언트가 매번 ETag 로 재검증하게 해, 관리자 변경이 바로 보이도록 한다.
+     */
+    private static ResponseEntity<byte[]> toResponse(final CatalogSnapshot snapshot, final String ifNoneMatch) {
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
+        return ResponseEntity.ok()
+            .eTag(snapshot.getEtag())
+            .cacheControl(CacheControl.noCache())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(snapshot.getBody());
+    }
 }
@@ -0,0 +1,93 @@
+package com.project.coupon.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.coupon.exception.GlobalExceptionHandler;
+import com.project.coupon.exception.RejectionLogSampler;
+import com.project.coupon.service.IssueOutcome;
+
+/**
+ * 발급 거절 응답 캐시.
+ * 본문은 GlobalExceptionHandler 의 ErrorResponse 와 같은 {"errorCode", "message", "timestamp", "path"} 형태다.
+ * IssueOutcome 별로 errorCode·message 까지의 앞부분을 기동 시 한 번 직렬화해 두고, 요청마다 timestamp·path 만 이어 붙인다.
+ * 상태 코드는 GlobalExceptionHandler 와 같은 매핑을 쓰며, 로그는 오류 코드별로 샘플링한다.
+ */
+@Component
+class IssueRejectionResponses {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueRejectionResponses.class);
+
+    /** ErrorResponse.timestamp 의 @JsonFormat 과 같은 형식 */
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final byte[] PATH_FIELD = "\",\"path\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BODY_END = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final RejectionLogSampler rejectionLogSampler;
+    /** {"errorCode":"…","message":"…","timestamp":" 까지 직렬화한 앞부분 */
+    private final Map<IssueOutcome, byte[]> prefixes = new EnumMap<>(IssueOutcome.class);
+    private final Map<IssueOutcome, HttpStatus> statuses = new EnumMap<>(IssueOutcome.class);
+
+    IssueRejectionResponses(final ObjectMapper objectMapper, final RejectionLogSampler rejectionLogSampler)
+            throws JsonProcessingException {
+        this.rejectionLogSampler = rejectionLogSampler;
+        for (IssueOutcome outcome : IssueOutcome.values()) {
+            if (outcome.isSuccess()) {
+                continue;
+            }
+            Map<String, String> body = new LinkedHashMap<>();
+            body.put("errorCode", outcome.getErrorCode());
+            body.put("message", outcome.getMessage());
+            String json = objectMapper.writeValueAsString(body);
+            prefixes.put(outcome, (json.substring(0, json.length() - 1) + ",\"timestamp\":\"")
+                .getBytes(StandardCharsets.UTF_8));
+            statuses.put(outcome, GlobalExceptionHandler.determineHttpStatus(outcome.getErrorCode()));
+        }
+    }
+
+    /**
+     * 발급 결과를 응답으로 바꾼다.
+     *
+     * @param outcome 발급 결과
+     * @param path    요청 경로
+     * @return 성공이면 200 빈 본문, 거절이면 ErrorResponse 형태의 오류 응답
+     */
+    ResponseEntity<byte[]> toResponse(final IssueOutcome outcome, final String path) {
+        if (outcome.isSuccess()) {
+            return ResponseEntity.ok().build();
+        }
+        long suppressed = rejectionLogSampler.acquire(outcome.getErrorCode());
+        if (suppressed != RejectionLogSampler.SUPPRESSED) {
+            log.warn("Issue rejected: {} - {} {} (suppressed: {})", outcome.getErrorCode(), outcome, path, suppressed);
+        }
+        return ResponseEntity.status(statuses.get(outcome))
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body(prefixes.get(outcome), path));
+    }
+
+    private static byte[] body(final byte[] prefix, final String path) {
+        byte[] timestamp = TIMESTAMP_FORMAT.format(LocalDateTime.now()).getBytes(StandardCharsets.UTF_8);
+        byte[] quotedPath = JsonStringEncoder.getInstance().quoteAsUTF8(path);
+        byte[] body = new byte[prefix.length + timestamp.length + PATH_FIELD.length + quotedPath.length + BODY_END.length];
+        int offset = 0;
+        for (byte[] part : new byte[][] {prefix, timestamp, PATH_FIELD, quotedPath, BODY_END}) {
+            System.arraycopy(part, 0, body, offset, part.length);
+            offset += part.length;
+        }
+        return body;
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.coupon.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.coupon.dto.QueueStatusResponse;
+import com.project.coupon.security.CustomUserDetails;
+import com.project.coupon.service.AdmissionQueueService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@Tag(name = "Queue", description = "이벤트 대기열 API")
+@RestController
+@RequestMapping("/events/{eventId}/queue")
+@RequiredArgsConstructor
+public class QueueController {
+
+    private final AdmissionQueueService admissionQueueService;
+
+    @Operation(summary = "대기열 참여", description = "이벤트 대기열에 참여합니다. 이미 참여한 경우 현재 상태를 반환합니다. 로그인 필요.")
+    @PostMapping
+    public ResponseEntity<QueueStatusResponse> enter(
+            @Parameter(description = "이벤트 ID") @PathVariable("eventId") final Long eventId) {
+        return ResponseEntity.ok(admissionQueueService.enter(eventId, currentUserId()));
+    }
+
+    @Operation(summary = "대기열 상태 조회", description = "대기 순위·예상 대기 시간 또는 입장 토큰을 조회합니다. pollAfterMillis 후 다시 조회하세요. 로그인 필요.")
+    @GetMapping
+    public ResponseEntity<QueueStatusResponse> getStatus(
+            @Parameter(description = "이벤트 ID") @PathVariable("eventId") final Long eventId) {
+        return ResponseEntity.ok(admissionQueueService.getStatus(eventId, currentUserId()));
+    }
+
+    @Operation(summary = "대기열 참여 (테스트)", description = "로그인 없이 userId를 path로 넘겨 대기열 참여 테스트. 인증 불필요.")
+    @PostMapping("/{userId}")
+    public ResponseEntity<QueueStatusResponse> enterForTest(
+            @Parameter(description = "이벤트 ID") @PathVariable("eventId") final Long eventId,
+            @Parameter(description = "사용자 ID (테스트용)") @PathVariable("userId") final Long userId) {
+        return ResponseEntity.ok(admissionQueueService.enter(eventId, userId));
+    }
+
+    @Operation(summary = "대기열 상태 조회 (테스트)", description = "로그인 없이 userId를 path로 넘겨 대기열 상태 조회. 인증 불필요.")
+    @GetMapping("/{userId}")
+    public ResponseEntity<QueueStatusResponse> getStatusForTest(
+            @Parameter(description = "이벤트 ID") @PathVariable("eventId") final Long eventId,
+            @Parameter(description = "사용자 ID (테스트용)") @PathVariable("userId") final Long userId) {
+        return ResponseEntity.ok(admissionQueueService.getStatus(eventId, userId));
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return ((CustomUserDetails) authentication.getPrincipal()).getUserId();
+    }
+}
@@ -4,14 +4,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.project.coupon.dto.UserResponse;
+import com.project.coupon.dto.WalletPageResponse;
 import com.project.coupon.exception.ErrorResponse;
 import com.project.coupon.security.CustomUserDetails;
 import com.project.coupon.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -26,16 +29,30 @@ public class UserController {
     
     private final UserService userService;
 
-    @Operation(summary = "마이페이지 유저 정보", description = "로그인한 유저의 이름과 보유 쿠폰 목록·상태를 반환합니다. 로그인 필요.")
+    @Operation(summary = "마이페이지 유저 정보", description = "로그인한 유저의 이름과 보유 쿠폰 첫 페이지(최근 쿠폰 순 20개)·상태를 반환합니다. nextCursor 가 있으면 /mypage/coupons 로 이어서 조회합니다. 로그인 필요.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "성공"),
-            @ApiResponse(responseCode = "404", description = "유저 없음", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            @ApiResponse(responseCode = "200", description = "성공")
     })
     @GetMapping("/mypage")
     public ResponseEntity<UserResponse> getUserInfo() {
+        CustomUserDetails userDetails = currentUser();
+        return ResponseEntity.ok(userService.getUserInfo(userDetails.getUserId(), userDetails.getUsername()));
+    }
+
+    @Operation(summary = "보유 쿠폰 목록", description = "로그인한 유저의 보유 쿠폰을 최근 쿠폰(couponId 내림차순) 순으로 한 페이지 반환합니다. 다음 페이지는 응답의 nextCursor 를 cursor 로 넘깁니다. 로그인 필요.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "성공"),
+            @ApiResponse(responseCode = "400", description = "size 범위 오류", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/mypage/coupons")
+    public ResponseEntity<WalletPageResponse> getWallet(
+            @Parameter(description = "이전 페이지의 nextCursor (첫 페이지면 생략)") @RequestParam(value = "cursor", required = false) final Long cursor,
+            @Parameter(description = "페이지 크기 (1~100)") @RequestParam(value = "size", defaultValue = "20") final int size) {
+        return ResponseEntity.ok(userService.getWallet(currentUser().getUserId(), cursor, size));
+    }
+
+    private static CustomUserDetails currentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        Long userId = userDetails.getUserId();
-        return ResponseEntity.ok(userService.getUserInfo(userId));
+        return (CustomUserDetails) authentication.getPrincipal();
     }
 }
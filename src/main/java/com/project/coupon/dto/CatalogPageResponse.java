@@ -0,0 +1,25 @@
+package com.project.coupon.dto;
+
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이벤트·쿠폰 목록 keyset 페이지 응답 DTO.
+ * nextCursor 가 있으면 다음 요청의 cursor 로 넘긴다. (null 이면 마지막 페이지)
+ *
+ * @param <T> 항목 타입
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CatalogPageResponse<T> {
+
+    private List<T> items;
+    private Long nextCursor;
+}
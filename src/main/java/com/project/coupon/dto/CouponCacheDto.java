@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.project.coupon.entity.Coupons;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -53,4 +54,25 @@ public class CouponCacheDto {
     private LocalDateTime eventEndDatetime;
 
     private String eventName;
+
+    /**
+     * 쿠폰 엔티티(이벤트 포함)로 캐시 DTO 를 만든다.
+     *
+     * @param coupon 이벤트가 로딩된 쿠폰 엔티티
+     * @return 캐시 DTO
+     */
+    public static CouponCacheDto from(final Coupons coupon) {
+        return CouponCacheDto.builder()
+            .couponId(coupon.getCouponId())
+            .eventId(coupon.getEvent().getEventId())
+            .couponName(coupon.getCouponName())
+            .couponDetail(coupon.getCouponDetail())
+            .couponApplyStartDatetime(coupon.getCouponApplyStartDatetime())
+            .couponApplyEndDatetime(coupon.getCouponApplyEndDatetime())
+            .couponTotalCount(coupon.getCouponTotalCount())
+            .eventStartDatetime(coupon.getEvent().getEventStartDatetime())
+            .eventEndDatetime(coupon.getEvent().getEventEndDatetime())
+            .eventName(coupon.getEvent().getEventName())
+            .build();
+    }
 }
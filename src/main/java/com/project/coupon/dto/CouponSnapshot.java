@@ -0,0 +1,65 @@
+package com.project.coupon.dto;
+
+import java.time.LocalDateTime;
+
+import com.project.coupon.entity.Coupons;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 발급 경로에서 사용하는 쿠폰 메타데이터 불변 스냅샷.
+ * CouponMetadataCache(JVM 로컬 캐시)에 저장되며, 요청마다 JSON 역직렬화·엔티티 생성을 하지 않도록
+ * 발급 판단에 필요한 값만 미리 파싱해 둔다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CouponSnapshot {
+
+    private final Long couponId;
+    private final Long eventId;
+    private final String eventName;
+    private final String couponName;
+    private final int couponTotalCount;
+    private final LocalDateTime eventStartDatetime;
+    private final LocalDateTime eventEndDatetime;
+
+    /**
+     * Redis coupon:detail 캐시 DTO로부터 스냅샷을 생성합니다.
+     *
+     * @param dto CouponCacheDto
+     * @return CouponSnapshot
+     */
+    public static CouponSnapshot from(final CouponCacheDto dto) {
+        return CouponSnapshot.builder()
+            .couponId(dto.getCouponId())
+            .eventId(dto.getEventId())
+            .eventName(dto.getEventName() != null ? dto.getEventName() : "")
+            .couponName(dto.getCouponName())
+            .couponTotalCount(dto.getCouponTotalCount())
+            .eventStartDatetime(dto.getEventStartDatetime())
+            .eventEndDatetime(dto.getEventEndDatetime())
+            .build();
+    }
+
+    /**
+     * 쿠폰 엔티티(이벤트 포함)로부터 스냅샷을 생성합니다.
+     *
+     * @param coupon Coupons entity
+     * @return CouponSnapshot
+     */
+    public static CouponSnapshot from(final Coupons coupon) {
+        return CouponSnapshot.builder()
+            .couponId(coupon.getCouponId())
+            .eventId(coupon.getEvent().getEventId())
+            .eventName(coupon.getEvent().getEventName())
+            .couponName(coupon.getCouponName())
+            .couponTotalCount(coupon.getCouponTotalCount())
+            .eventStartDatetime(coupon.getEvent().getEventStartDatetime())
+            .eventEndDatetime(coupon.getEvent().getEventEndDatetime())
+            .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.coupon.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 쿠폰 Redis 재고 현황 응답 DTO.
+ * 샤드 모드면 남은 재고는 전 샤드 합계. issuedUsersMode 는 중복 방지 방식(SET / BITMAP).
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CouponStockResponse {
+
+    private Long couponId;
+    private long remainingStock;
+    private int stockShards;
+    private String issuedUsersMode;
+}
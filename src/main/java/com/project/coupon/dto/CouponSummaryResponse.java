@@ -0,0 +1,44 @@
+package com.project.coupon.dto;
+
+import com.project.coupon.repository.CouponsRepository.CouponSummaryRow;
+import com.project.coupon.util.DateTimeFormatUtil;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 쿠폰 목록 항목 응답 DTO.
+ * 목록에서는 coupon_detail(TEXT)을 싣지 않는다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CouponSummaryResponse {
+
+    private Long couponId;
+    private String couponName;
+    private String couponApplyStartDatetime;
+    private String couponApplyEndDatetime;
+    private Integer couponTotalCount;
+
+    /**
+     * 목록 projection 을 응답 DTO로 변환합니다.
+     * 날짜/시간은 "yyyy년 MM월 dd일 HH:mm:ss" 형식 문자열로 변환됩니다.
+     *
+     * @param row 쿠폰 목록 projection
+     * @return CouponSummaryResponse
+     */
+    public static CouponSummaryResponse from(final CouponSummaryRow row) {
+        return CouponSummaryResponse.builder()
+            .couponId(row.getCouponId())
+            .couponName(row.getCouponName())
+            .couponApplyStartDatetime(DateTimeFormatUtil.format(row.getCouponApplyStartDatetime()))
+            .couponApplyEndDatetime(DateTimeFormatUtil.format(row.getCouponApplyEndDatetime()))
+            .couponTotalCount(row.getCouponTotalCount())
+            .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.coupon.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이벤트 쿠폰별 남은 재고·발급 여부 응답 DTO.
+ * remainingStock 이 null 이면 재고가 아직 Redis 에 초기화되지 않은 쿠폰이다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CouponUserStatusResponse {
+
+    private Long couponId;
+    private Long remainingStock;
+    private boolean soldOut;
+    /** 로그인한 유저가 이미 발급받았으면 true */
+    private boolean issued;
+}
@@ -0,0 +1,32 @@
+package com.project.coupon.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 쿠폰 대량 배포 진행 응답 DTO.
+ * processed: 처리를 마친 입력 행 수 (재개 시 이 행까지 건너뜀), granted: 새로 지급, duplicate: 이미 보유,
+ * exhausted: 재고 소진으로 지급 못함, invalid: 형식 오류·없는 사용자.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class DistributionProgressResponse {
+
+    private String jobId;
+    private Long couponId;
+    /** RUNNING / COMPLETED / SOLD_OUT / FAILED */
+    private String status;
+    private long processed;
+    private long granted;
+    private long duplicate;
+    private long exhausted;
+    private long invalid;
+    private String error;
+    /** 마지막 갱신 시각 (epoch ms) */
+    private long updatedAt;
+}
@@ -0,0 +1,42 @@
+package com.project.coupon.dto;
+
+import com.project.coupon.repository.EventsRepository.EventSummaryRow;
+import com.project.coupon.util.DateTimeFormatUtil;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이벤트 목록 항목 응답 DTO.
+ * 목록에서는 event_detail(TEXT)을 싣지 않는다. 상세는 GET /events/{eventId}.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class EventSummaryResponse {
+
+    private Long eventId;
+    private String eventName;
+    private String eventStartDatetime;
+    private String eventEndDatetime;
+
+    /**
+     * 목록 projection 을 응답 DTO로 변환합니다.
+     * 날짜/시간은 "yyyy년 MM월 dd일 HH:mm:ss" 형식 문자열로 변환됩니다.
+     *
+     * @param row 이벤트 목록 projection
+     * @return EventSummaryResponse
+     */
+    public static EventSummaryResponse from(final EventSummaryRow row) {
+        return EventSummaryResponse.builder()
+            .eventId(row.getEventId())
+            .eventName(row.getEventName())
+            .eventStartDatetime(DateTimeFormatUtil.format(row.getEventStartDatetime()))
+            .eventEndDatetime(DateTimeFormatUtil.format(row.getEventEndDatetime()))
+            .build();
+    }
+}
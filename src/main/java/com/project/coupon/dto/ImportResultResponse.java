@@ -0,0 +1,34 @@
+package com.project.coupon.dto;
+
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 대량 적재 진행·결과 응답 DTO.
+ * rowsRead: 읽은 데이터 행 수, inserted: 새로 저장된 행 수, skipped: 이미 있어 건너뛴 행 수,
+ * failed: 형식·검증·참조 오류로 저장하지 못한 행 수, errors: 앞쪽 오류 일부 (줄 번호 포함).
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ImportResultResponse {
+
+    private String importId;
+    private String target;
+    /** RUNNING / COMPLETED / FAILED */
+    private String status;
+    private long rowsRead;
+    private long inserted;
+    private long skipped;
+    private long failed;
+    private long chunks;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+    private List<String> errors;
+}
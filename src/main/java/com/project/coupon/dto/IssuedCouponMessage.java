@@ -0,0 +1,32 @@
+package com.project.coupon.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Redis 발급 성공 후 write-behind 큐(coupon:issue:stream)에 적재되는 발급 이력 한 건.
+ * drainer 가 user_coupon 테이블에 일괄 INSERT 할 때 사용한다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class IssuedCouponMessage {
+
+    private final Long couponId;
+    private final Long userId;
+    private final LocalDateTime issuedAt;
+
+    /**
+     * 발급 이력 메시지를 생성합니다.
+     *
+     * @param couponId 쿠폰 ID
+     * @param userId   유저 ID
+     * @param issuedAt Redis 발급 성공 시각
+     * @return IssuedCouponMessage
+     */
+    public static IssuedCouponMessage of(final Long couponId, final Long userId, final LocalDateTime issuedAt) {
+        return new IssuedCouponMessage(couponId, userId, issuedAt);
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.coupon.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 대기열 상태 응답 DTO.
+ * status: WAITING(대기 중) / ADMITTED(입장, token 으로 발급 가능) / NOT_QUEUED(대기열에 없음).
+ * position 은 1부터 시작하며 WAITING 일 때만 값이 있다. 클라이언트는 pollAfterMillis 후 다시 조회한다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class QueueStatusResponse {
+
+    private Long eventId;
+    private Long userId;
+    private String status;
+    private Long position;
+    private Long estimatedWaitSeconds;
+    private String token;
+    private Long tokenExpiresAt;
+    private long pollAfterMillis;
+}
@@ -0,0 +1,23 @@
+package com.project.coupon.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 2단 rate limit 누적 통계 응답 DTO.
+ * localRejected: JVM 로컬 token bucket 에서 Redis 호출 없이 거절한 수,
+ * globalRejected: Redis 전역 한도에서 거절한 수, localBuckets: 현재 로컬 버킷 수.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RateLimitStatsResponse {
+
+    private long localRejected;
+    private long globalRejected;
+    private int localBuckets;
+}
@@ -0,0 +1,26 @@
+package com.project.coupon.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lua 스크립트별 누적 실행 통계 응답 DTO.
+ * 관리자 페이지에서 EVALSHA 호출 수·지연 시간 확인용.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RedisScriptStatsResponse {
+
+    private String name;
+    private String sha1;
+    private long calls;
+    private long errors;
+    private long reloads;
+    private double avgMicros;
+    private double maxMicros;
+}
@@ -0,0 +1,35 @@
+package com.project.coupon.dto;
+
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재고 스트림(SSE stock 이벤트) 응답 DTO.
+ * 이벤트 소속 쿠폰별 남은 재고. remainingStock 이 null 이면 재고가 아직 Redis 에 초기화되지 않은 쿠폰이다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class StockStreamResponse {
+
+    private Long eventId;
+    private List<CouponStock> coupons;
+
+    /** 쿠폰 한 건의 남은 재고 */
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class CouponStock {
+
+        private Long couponId;
+        private Long remainingStock;
+        private boolean soldOut;
+    }
+}
@@ -2,8 +2,6 @@ package com.project.coupon.dto;
 
 import java.util.List;
 
-import com.project.coupon.entity.Users;
-
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +10,7 @@ import lombok.NoArgsConstructor;
 
 /**
  * 페이지 진입 시 조회하는 유저 정보 응답 DTO.
- * 유저 이름(로그인 ID)과 보유 쿠폰 목록·상태를 담는다.
+ * 유저 이름(로그인 ID)과 보유 쿠폰 첫 페이지·상태를 담는다. nextCursor 가 있으면 /mypage/coupons 로 이어서 조회한다.
  */
 @Getter
 @Builder
@@ -23,19 +21,22 @@ public class UserResponse {
     private Long userId;
     private String userName;
     private List<UserCouponItemResponse> ownedCoupons;
+    private Long nextCursor;
 
     /**
-     * Users entity와 보유 쿠폰 목록으로 응답 DTO를 생성합니다.
+     * 유저 ID·이름과 보유 쿠폰 첫 페이지로 응답 DTO를 생성합니다.
      *
-     * @param user Users entity
-     * @param ownedCoupons 보유 쿠폰 목록 (각 항목에 상태 포함)
+     * @param userId    유저 ID
+     * @param userName  유저 이름 (로그인 ID)
+     * @param firstPage 보유 쿠폰 첫 페이지 (각 항목에 상태 포함)
      * @return UserResponse
      */
-    public static UserResponse of(final Users user, final List<UserCouponItemResponse> ownedCoupons) {
+    public static UserResponse of(final Long userId, final String userName, final WalletPageResponse firstPage) {
         return UserResponse.builder()
-            .userId(user.getUserId())
-            .userName(user.getUserLoginId())
-            .ownedCoupons(ownedCoupons != null ? ownedCoupons : List.of())
+            .userId(userId)
+            .userName(userName)
+            .ownedCoupons(firstPage.getItems() != null ? firstPage.getItems() : List.of())
+            .nextCursor(firstPage.getNextCursor())
             .build();
     }
 }
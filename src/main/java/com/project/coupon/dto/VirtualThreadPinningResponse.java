@@ -0,0 +1,28 @@
+package com.project.coupon.dto;
+
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 가상 스레드 pinning 누적 통계 응답 DTO.
+ * pinnedByClient: 스택에 포함된 클라이언트(mariadb-jdbc, hikari, lettuce 등)별 건수,
+ * pinnedBySite: JDK 외 첫 스택 위치별 건수(상위 20개).
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class VirtualThreadPinningResponse {
+
+    private boolean enabled;
+    private long thresholdMillis;
+    private long totalPinned;
+    private double maxPinnedMillis;
+    private Map<String, Long> pinnedByClient;
+    private Map<String, Long> pinnedBySite;
+}
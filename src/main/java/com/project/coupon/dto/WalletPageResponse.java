@@ -0,0 +1,23 @@
+package com.project.coupon.dto;
+
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 보유 쿠폰 목록 한 페이지 응답 DTO.
+ * couponId 내림차순이며, nextCursor 가 있으면 다음 요청의 cursor 로 넘긴다. (null 이면 마지막 페이지)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class WalletPageResponse {
+
+    private List<UserCouponItemResponse> items;
+    private Long nextCursor;
+}
@@ -13,6 +13,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -22,6 +23,7 @@ import lombok.Setter;
 /**
  * 유저 쿠폰 엔티티
  * 유저별로 발급받은 쿠폰 정보를 저장
+ * (user_id, coupon_id) 유니크: 1인 1매 보장 및 write-behind 재처리 시 중복 적재 방지
  */
 @Builder
 @AllArgsConstructor
@@ -29,7 +31,8 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "user_coupon")
+@Table(name = "user_coupon",
+    uniqueConstraints = @UniqueConstraint(name = "uk_user_coupon_user_coupon", columnNames = {"user_id", "coupon_id"}))
 public class UserCoupon extends BaseTime {
     
     @Id
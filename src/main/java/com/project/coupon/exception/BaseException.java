@@ -40,6 +40,19 @@ public abstract class BaseException extends RuntimeException {
         this.errorCode = errorCode;
     }
     
+    /**
+     * 스택 트레이스 생성 여부를 지정해 예외를 생성합니다.
+     * 드롭 중 대량으로 발생하는 예상된 거절(재고 소진·중복·rate limit 등)은 스택 트레이스 없이 생성합니다.
+     * 
+     * @param errorCode 오류 코드
+     * @param message 오류 메시지
+     * @param writableStackTrace 스택 트레이스 생성 여부
+     */
+    protected BaseException(final String errorCode, final String message, final boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.errorCode = errorCode;
+    }
+    
     /**
      * 오류 코드를 반환합니다.
      * 
@@ -16,7 +16,7 @@ public final class CouponExhaustedException extends BaseException {
      * @param couponId 쿠폰 ID
      */
     public CouponExhaustedException(final Long couponId) {
-        super(ERROR_CODE, String.format("쿠폰 재고가 부족합니다. couponId: %d", couponId));
+        super(ERROR_CODE, String.format("쿠폰 재고가 부족합니다. couponId: %d", couponId), false);
     }
     
     /**
@@ -26,6 +26,6 @@ public final class CouponExhaustedException extends BaseException {
      * @param message 추가 메시지
      */
     public CouponExhaustedException(final Long couponId, final String message) {
-        super(ERROR_CODE, String.format("쿠폰 재고가 부족합니다. couponId: %d, %s", couponId, message));
+        super(ERROR_CODE, String.format("쿠폰 재고가 부족합니다. couponId: %d, %s", couponId, message), false);
     }
 }
@@ -17,7 +17,7 @@ public final class DuplicateCouponException extends BaseException {
      * @param couponId 쿠폰 ID
      */
     public DuplicateCouponException(final Long userId, final Long couponId) {
-        super(ERROR_CODE, String.format("이미 발급받은 쿠폰입니다. userId: %d, couponId: %d", userId, couponId));
+        super(ERROR_CODE, String.format("이미 발급받은 쿠폰입니다. userId: %d, couponId: %d", userId, couponId), false);
     }
     
     /**
@@ -29,6 +29,6 @@ public final class DuplicateCouponException extends BaseException {
      */
     public DuplicateCouponException(final Long userId, final Long couponId, final String message) {
         super(ERROR_CODE, String.format("이미 발급받은 쿠폰입니다. userId: %d, couponId: %d, %s", 
-            userId, couponId, message));
+            userId, couponId, message), false);
     }
 }
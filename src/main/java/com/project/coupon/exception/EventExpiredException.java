@@ -18,7 +18,7 @@ public final class EventExpiredException extends BaseException {
      * @param eventId 이벤트 ID
      */
     public EventExpiredException(final Long eventId) {
-        super(ERROR_CODE, String.format("이벤트 기간이 만료되었습니다. eventId: %d", eventId));
+        super(ERROR_CODE, String.format("이벤트 기간이 만료되었습니다. eventId: %d", eventId), false);
     }
 
     /**
@@ -33,7 +33,7 @@ public final class EventExpiredException extends BaseException {
                                  final LocalDateTime endDateTime) {
         super(ERROR_CODE, String.format(
             "이벤트 기간이 만료되었습니다. eventId: %d, 이벤트 기간: %s ~ %s",
-            eventId, startDateTime, endDateTime));
+            eventId, startDateTime, endDateTime), false);
     }
 
     /**
@@ -45,6 +45,6 @@ public final class EventExpiredException extends BaseException {
     public EventExpiredException(final Long eventId, final LocalDateTime startDateTime) {
         super(ERROR_CODE, String.format(
             "이벤트가 아직 시작되지 않았습니다. eventId: %d, 이벤트 시작 일시: %s",
-            eventId, startDateTime));
+            eventId, startDateTime), false);
     }
 }
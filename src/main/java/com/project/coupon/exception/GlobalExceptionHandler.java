@@ -28,6 +28,17 @@ public final class GlobalExceptionHandler {
     
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     
+    private final RejectionLogSampler rejectionLogSampler;
+    
+    /**
+     * 전역 예외 핸들러를 생성합니다.
+     * 
+     * @param rejectionLogSampler 비즈니스 예외 로그 샘플러
+     */
+    public GlobalExceptionHandler(final RejectionLogSampler rejectionLogSampler) {
+        this.rejectionLogSampler = rejectionLogSampler;
+    }
+    
     /**
      * BaseException 및 그 하위 예외를 처리합니다.
      * 
@@ -40,13 +51,17 @@ public final class GlobalExceptionHandler {
             final BaseException exception, 
             final WebRequest request) {
         
-        log.warn("Business exception occurred: {} - {}", 
-            exception.getErrorCode(), exception.getMessage());
+        // 같은 오류 코드는 주기당 1건만 남기고 생략 건수를 함께 기록
+        final long suppressed = rejectionLogSampler.acquire(exception.getErrorCode());
+        if (suppressed != RejectionLogSampler.SUPPRESSED) {
+            log.warn("Business exception occurred: {} - {} (suppressed: {})", 
+                exception.getErrorCode(), exception.getMessage(), suppressed);
+        }
         
         final ErrorResponse errorResponse = ErrorResponse.from(exception, 
             request.getDescription(false).replace("uri=", ""));
         
-        final HttpStatus status = determineHttpStatus(exception);
+        final HttpStatus status = determineHttpStatus(exception.getErrorCode());
         
         return ResponseEntity.status(status).body(errorResponse);
     }
@@ -165,18 +180,20 @@ public final class GlobalExceptionHandler {
     }
     
     /**
-     * 예외 타입에 따라 적절한 HTTP 상태 코드를 결정합니다.
+     * 오류 코드에 따라 적절한 HTTP 상태 코드를 결정합니다.
+     * 미리 직렬화한 발급 거절 응답도 같은 매핑을 사용합니다.
      * 
-     * @param exception 예외 객체
+     * @param errorCode 오류 코드
      * @return HTTP 상태 코드
      */
-    private HttpStatus determineHttpStatus(final BaseException exception) {
-        return switch (exception.getErrorCode()) {
+    public static HttpStatus determineHttpStatus(final String errorCode) {
+        return switch (errorCode) {
             case "COUPON_EXHAUSTED", "DUPLICATE_COUPON", "COUPON_EXPIRED",
-                 "EVENT_EXPIRED" -> HttpStatus.CONFLICT;
+                 "EVENT_EXPIRED", "ISSUE_IN_PROGRESS" -> HttpStatus.CONFLICT;
             case "COUPON_NOT_FOUND", "USER_NOT_FOUND", "EVENT_NOT_FOUND" -> HttpStatus.NOT_FOUND;
             case "INVALID_REQUEST" -> HttpStatus.BAD_REQUEST;
             case "RATE_LIMIT_EXCEEDED" -> HttpStatus.TOO_MANY_REQUESTS;
+            case "QUEUE_TOKEN_REQUIRED" -> HttpStatus.FORBIDDEN;
             case "REDIS_CONNECTION_ERROR" -> HttpStatus.SERVICE_UNAVAILABLE;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
@@ -0,0 +1,20 @@
+package com.project.coupon.exception;
+
+/**
+ * 대기열이 적용된 이벤트에서 유효한 입장 토큰 없이 발급을 요청했을 때 발생하는 예외.
+ *
+ * <p>대기열에 들어가 입장(ADMITTED) 상태에서 받은 토큰을 X-Queue-Token 헤더로 보내야 합니다.
+ */
+public final class QueueTokenRequiredException extends BaseException {
+
+    private static final String ERROR_CODE = "QUEUE_TOKEN_REQUIRED";
+
+    /**
+     * 입장 토큰 필요 예외를 생성합니다.
+     *
+     * @param eventId 이벤트 ID
+     */
+    public QueueTokenRequiredException(final Long eventId) {
+        super(ERROR_CODE, String.format("대기열 입장 토큰이 없거나 만료되었습니다. 대기열에 먼저 참여해 주세요. eventId: %d", eventId), false);
+    }
+}
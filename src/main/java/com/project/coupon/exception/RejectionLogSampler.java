@@ -0,0 +1,51 @@
+package com.project.coupon.exception;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 오류 코드별 거절 로그 샘플러.
+ * 드롭 중 초당 수천 건씩 나오는 같은 거절 로그를 오류 코드마다 주기당 1건으로 줄이고,
+ * 생략한 건수를 다음 로그에 함께 남긴다.
+ */
+@Component
+public final class RejectionLogSampler {
+
+    /** 이번 주기에 이미 로그를 남겼을 때 반환값 */
+    public static final long SUPPRESSED = -1L;
+
+    private final long intervalNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public RejectionLogSampler(@Value("${coupon.log.rejection-sample-ms:1000}") final long intervalMillis) {
+        this.intervalNanos = intervalMillis * 1_000_000L;
+    }
+
+    /**
+     * 로그를 남길 차례인지 확인한다.
+     *
+     * @param errorCode 오류 코드
+     * @return 남길 차례면 직전 로그 이후 생략한 건수(0 이상), 아니면 {@link #SUPPRESSED}
+     */
+    public long acquire(final String errorCode) {
+        Window window = windows.computeIfAbsent(errorCode, key -> new Window());
+        long now = System.nanoTime();
+        long last = window.lastLoggedNanos.get();
+        if (now - last >= intervalNanos && window.lastLoggedNanos.compareAndSet(last, now)) {
+            return window.suppressed.sumThenReset();
+        }
+        window.suppressed.increment();
+        return SUPPRESSED;
+    }
+
+    private static final class Window {
+
+        private final AtomicLong lastLoggedNanos = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+        private final LongAdder suppressed = new LongAdder();
+    }
+}
@@ -9,10 +9,10 @@ public final class TooManyRequestsException extends BaseException {
     private static final String ERROR_CODE = "RATE_LIMIT_EXCEEDED";
 
     public TooManyRequestsException() {
-        super(ERROR_CODE, "요청 한도를 초과했습니다. 잠시 후 다시 시도해 주세요.");
+        super(ERROR_CODE, "요청 한도를 초과했습니다. 잠시 후 다시 시도해 주세요.", false);
     }
 
     public TooManyRequestsException(final String message) {
-        super(ERROR_CODE, message);
+        super(ERROR_CODE, message, false);
     }
 }
@@ -0,0 +1,118 @@
+package com.project.coupon.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * users / events / coupons 대량 적재용 JDBC 리포지토리.
+ * UserCouponJdbcRepository 와 같이 청크 하나를 multi-row INSERT 한 문장으로 실행하고,
+ * 이미 있는 행(PK·유니크 키 중복)은 ON DUPLICATE KEY UPDATE pk = pk 로 건너뛰므로 같은 파일을 다시 적재해도 안전하다.
+ * INSERT IGNORE 와 달리 길이 초과·NOT NULL·잘못된 값·외래 키 위반은 그대로 예외가 되어 호출 측의 행 단위 재시도로 걸러진다.
+ * 영향 행 수는 새로 저장된 행 1, 중복 행 0 이다. (DataSourceConfig 가 useAffectedRows=true 로 연결한다.
+ * MariaDB Connector/J 기본값은 found rows 라 중복 행도 1 로 센다)
+ * ID 컬럼에 null 을 넣으면 AUTO_INCREMENT 로 채번된다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkImportJdbcRepository {
+
+    private static final String USERS_PREFIX =
+        "INSERT INTO users (user_id, user_login_id, user_password, created_at, updated_at) VALUES ";
+    private static final String USERS_ROW = "(?, ?, ?, ?, ?)";
+    private static final String USERS_ON_DUPLICATE = " ON DUPLICATE KEY UPDATE user_id = user_id";
+
+    private static final String EVENTS_PREFIX = "INSERT INTO events "
+        + "(event_id, event_name, event_detail, event_start_datetime, event_end_datetime, created_at, updated_at) VALUES ";
+    private static final String EVENTS_ROW = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final String EVENTS_ON_DUPLICATE = " ON DUPLICATE KEY UPDATE event_id = event_id";
+
+    private static final String COUPONS_PREFIX = "INSERT INTO coupons (coupon_id, event_id, coupon_name, coupon_detail, "
+        + "coupon_apply_start_datetime, coupon_apply_end_datetime, coupon_total_count, created_at, updated_at) VALUES ";
+    private static final String COUPONS_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String COUPONS_ON_DUPLICATE = " ON DUPLICATE KEY UPDATE coupon_id = coupon_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 사용자 행을 저장한다.
+     *
+     * @param rows (user_id 또는 null, user_login_id, 암호화된 user_password) 목록
+     * @return 새로 저장된 행 수
+     */
+    public int insertUsers(final List<Object[]> rows) {
+        return insert(USERS_PREFIX, USERS_ROW, USERS_ON_DUPLICATE, rows);
+    }
+
+    /**
+     * 이벤트 행을 저장한다.
+     *
+     * @param rows (event_id 또는 null, event_name, event_detail, event_start_datetime, event_end_datetime) 목록
+     * @return 새로 저장된 행 수
+     */
+    public int insertEvents(final List<Object[]> rows) {
+        return insert(EVENTS_PREFIX, EVENTS_ROW, EVENTS_ON_DUPLICATE, rows);
+    }
+
+    /**
+     * 쿠폰 행을 저장한다.
+     *
+     * @param rows (coupon_id 또는 null, event_id, coupon_name, coupon_detail, coupon_apply_start_datetime,
+     *             coupon_apply_end_datetime, coupon_total_count) 목록
+     * @return 새로 저장된 행 수
+     */
+    public int insertCoupons(final List<Object[]> rows) {
+        return insert(COUPONS_PREFIX, COUPONS_ROW, COUPONS_ON_DUPLICATE, rows);
+    }
+
+    /**
+     * 주어진 이벤트 ID 중 실제로 있는 ID 를 조회한다. 쿠폰 적재 전 참조 확인용.
+     *
+     * @param eventIds 이벤트 ID 목록 (비어 있으면 빈 목록)
+     * @return 존재하는 이벤트 ID 목록
+     */
+    public List<Long> findExistingEventIds(final Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(eventIds.size(), "?"));
+        return jdbcTemplate.queryForList("SELECT event_id FROM events WHERE event_id IN (" + placeholders + ")",
+            Long.class, eventIds.toArray());
+    }
+
+    /**
+     * 행 목록을 multi-row INSERT 한 문장으로 저장한다. 각 행 뒤에 created_at, updated_at 을 붙인다.
+     */
+    private int insert(final String prefix, final String rowPlaceholder, final String onDuplicate,
+                       final List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        StringBuilder sql = new StringBuilder(prefix.length() + rows.size() * (rowPlaceholder.length() + 1)
+            + onDuplicate.length());
+        sql.append(prefix);
+        List<Object> args = new ArrayList<>(rows.size() * (rows.get(0).length + 2));
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(rowPlaceholder);
+            for (Object value : rows.get(i)) {
+                args.add(value instanceof LocalDateTime dateTime ? Timestamp.valueOf(dateTime) : value);
+            }
+            args.add(now);
+            args.add(now);
+        }
+        sql.append(onDuplicate);
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
@@ -1,8 +1,13 @@
 package com.project.coupon.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.project.coupon.entity.Coupons;
@@ -16,5 +21,70 @@ public interface CouponsRepository extends JpaRepository<Coupons, Long> {
      * @return 쿠폰 목록
      */
     List<Coupons> findAllByEvent_EventId(Long eventId);
-    
+
+    /**
+     * 이벤트 ID 로 쿠폰을 이벤트와 함께 한 번에 조회
+     * @param eventId 이벤트 ID
+     * @return 쿠폰 목록 (이벤트 포함)
+     */
+    @Query("SELECT c FROM Coupons c JOIN FETCH c.event e WHERE e.eventId = :eventId")
+    List<Coupons> findAllWithEventByEventId(@Param("eventId") Long eventId);
+
+    /**
+     * 쿠폰 ID 로 쿠폰을 이벤트와 함께 한 번에 조회
+     * @param couponId 쿠폰 ID
+     * @return 쿠폰 (이벤트 포함)
+     */
+    @Query("SELECT c FROM Coupons c JOIN FETCH c.event WHERE c.couponId = :couponId")
+    Optional<Coupons> findWithEventByCouponId(@Param("couponId") Long couponId);
+
+    /**
+     * 이벤트가 시작됐고 since 이후에 종료되는 쿠폰을 이벤트와 함께 조회
+     * @param now   기준 시각
+     * @param since 이 시각 이후 종료된 이벤트까지 포함
+     * @return 쿠폰 목록 (이벤트 포함)
+     */
+    @Query("SELECT c FROM Coupons c JOIN FETCH c.event e "
+        + "WHERE e.eventStartDatetime <= :now AND e.eventEndDatetime >= :since ORDER BY c.couponId")
+    List<Coupons> findAllWithEventActiveBetween(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    /**
+     * 이벤트의 쿠폰 목록을 coupon_id 오름차순 keyset 페이지로 조회합니다. coupon_detail(TEXT)은 읽지 않습니다.
+     *
+     * @param eventId        이벤트 ID
+     * @param afterCouponId  이전 페이지의 마지막 coupon_id, 처음이면 0
+     * @param pageable       페이지 크기 (첫 페이지만 사용)
+     * @return 쿠폰 목록 projection
+     */
+    @Query("SELECT c.couponId AS couponId, c.couponName AS couponName, "
+        + "c.couponApplyStartDatetime AS couponApplyStartDatetime, c.couponApplyEndDatetime AS couponApplyEndDatetime, "
+        + "c.couponTotalCount AS couponTotalCount FROM Coupons c "
+        + "WHERE c.event.eventId = :eventId AND c.couponId > :afterCouponId ORDER BY c.couponId")
+    List<CouponSummaryRow> findSummariesByEventAfter(@Param("eventId") Long eventId,
+                                                     @Param("afterCouponId") Long afterCouponId,
+                                                     Pageable pageable);
+
+    /**
+     * 쿠폰 ID 를 coupon_id 오름차순 keyset 페이지로 조회합니다. (Redis 키 일괄 이전 등 전체 순회용)
+     *
+     * @param afterCouponId 이전 페이지의 마지막 coupon_id, 처음이면 0
+     * @param pageable      페이지 크기 (첫 페이지만 사용)
+     * @return 쿠폰 ID 목록
+     */
+    @Query("SELECT c.couponId FROM Coupons c WHERE c.couponId > :afterCouponId ORDER BY c.couponId")
+    List<Long> findIdsAfter(@Param("afterCouponId") Long afterCouponId, Pageable pageable);
+
+    /** 쿠폰 목록용 projection (coupon_detail 제외) */
+    interface CouponSummaryRow {
+
+        Long getCouponId();
+
+        String getCouponName();
+
+        LocalDateTime getCouponApplyStartDatetime();
+
+        LocalDateTime getCouponApplyEndDatetime();
+
+        Integer getCouponTotalCount();
+    }
 }
@@ -1,10 +1,78 @@
 package com.project.coupon.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.project.coupon.entity.Events;
 
 @Repository
 public interface EventsRepository extends JpaRepository<Events, Long> {
+
+    /** 이벤트 목록 projection 조회 절 */
+    String SUMMARY_SELECT = "SELECT e.eventId AS eventId, e.eventName AS eventName, "
+        + "e.eventStartDatetime AS eventStartDatetime, e.eventEndDatetime AS eventEndDatetime FROM Events e ";
+
+    /**
+     * until 이전에 시작하고 now 이후에 끝나는 이벤트 조회 (곧 시작하거나 진행 중인 이벤트)
+     * @param until 시작 시각 상한
+     * @param now   기준 시각
+     * @return 이벤트 목록
+     */
+    @Query("SELECT e FROM Events e WHERE e.eventStartDatetime <= :until AND e.eventEndDatetime > :now")
+    List<Events> findAllStartingBefore(@Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+
+    /**
+     * 이벤트 목록을 event_id 내림차순(최근 등록 순) keyset 페이지로 조회합니다. event_detail(TEXT)은 읽지 않습니다.
+     *
+     * @param beforeEventId 이전 페이지의 마지막 event_id, 처음이면 Long.MAX_VALUE
+     * @param pageable      페이지 크기 (첫 페이지만 사용)
+     * @return 이벤트 목록 projection
+     */
+    @Query(SUMMARY_SELECT + "WHERE e.eventId < :beforeEventId ORDER BY e.eventId DESC")
+    List<EventSummaryRow> findSummariesBefore(@Param("beforeEventId") Long beforeEventId, Pageable pageable);
+
+    /**
+     * 진행 중(시작 ≤ now < 종료)인 이벤트를 event_id 내림차순 keyset 페이지로 조회합니다.
+     *
+     * @param now           기준 시각
+     * @param beforeEventId 이전 페이지의 마지막 event_id, 처음이면 Long.MAX_VALUE
+     * @param pageable      페이지 크기 (첫 페이지만 사용)
+     * @return 이벤트 목록 projection
+     */
+    @Query(SUMMARY_SELECT + "WHERE e.eventStartDatetime <= :now AND e.eventEndDatetime > :now "
+        + "AND e.eventId < :beforeEventId ORDER BY e.eventId DESC")
+    List<EventSummaryRow> findActiveSummariesBefore(@Param("now") LocalDateTime now,
+                                                    @Param("beforeEventId") Long beforeEventId,
+                                                    Pageable pageable);
+
+    /**
+     * 시작 전(now < 시작)인 이벤트를 event_id 내림차순 keyset 페이지로 조회합니다.
+     *
+     * @param now           기준 시각
+     * @param beforeEventId 이전 페이지의 마지막 event_id, 처음이면 Long.MAX_VALUE
+     * @param pageable      페이지 크기 (첫 페이지만 사용)
+     * @return 이벤트 목록 projection
+     */
+    @Query(SUMMARY_SELECT + "WHERE e.eventStartDatetime > :now AND e.eventId < :beforeEventId ORDER BY e.eventId DESC")
+    List<EventSummaryRow> findUpcomingSummariesBefore(@Param("now") LocalDateTime now,
+                                                      @Param("beforeEventId") Long beforeEventId,
+                                                      Pageable pageable);
+
+    /** 이벤트 목록용 projection (event_detail 제외) */
+    interface EventSummaryRow {
+
+        Long getEventId();
+
+        String getEventName();
+
+        LocalDateTime getEventStartDatetime();
+
+        LocalDateTime getEventEndDatetime();
+    }
 }
@@ -0,0 +1,93 @@
+package com.project.coupon.repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.project.coupon.dto.IssuedCouponMessage;
+import com.project.coupon.entity.enums.CouponStatus;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * user_coupon 대량 적재용 JDBC 리포지토리.
+ * IDENTITY 전략이라 JPA 로는 배치 INSERT 가 되지 않으므로 multi-row INSERT 를 직접 실행한다.
+ * (user_id, coupon_id) 중복은 ON DUPLICATE KEY 로 무시해 재처리 시에도 한 건만 남도록 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserCouponJdbcRepository {
+
+    private static final String INSERT_PREFIX =
+        "INSERT INTO user_coupon (user_id, coupon_id, coupon_status, created_at, updated_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?)";
+    private static final String ON_DUPLICATE_SUFFIX = " ON DUPLICATE KEY UPDATE user_coupon_id = user_coupon_id";
+    /** (user_id, coupon_id) 두 컬럼만으로 이뤄진 유니크 인덱스 수 */
+    private static final String UNIQUE_KEY_COUNT_SQL =
+        "SELECT COUNT(*) FROM (SELECT index_name FROM information_schema.statistics"
+            + " WHERE table_schema = DATABASE() AND table_name = 'user_coupon' AND non_unique = 0"
+            + " GROUP BY index_name"
+            + " HAVING COUNT(*) = 2 AND SUM(column_name IN ('user_id', 'coupon_id')) = 2) uk";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 발급 이력 목록을 하나의 multi-row INSERT 문으로 저장한다. 문장 단위로 원자적이다.
+     *
+     * @param messages 발급 이력 목록 (비어 있으면 아무것도 하지 않음)
+     * @return 영향받은 행 수
+     */
+    public int insertAll(final List<IssuedCouponMessage> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + messages.size() * (ROW_PLACEHOLDER.length() + 1)
+            + ON_DUPLICATE_SUFFIX.length());
+        sql.append(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(messages.size() * 5);
+        for (int i = 0; i < messages.size(); i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(ROW_PLACEHOLDER);
+            addRowArgs(args, messages.get(i));
+        }
+        sql.append(ON_DUPLICATE_SUFFIX);
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * 발급 이력 한 건을 저장한다. 일괄 INSERT 실패 시 문제 행을 골라내는 용도.
+     *
+     * @param message 발급 이력
+     * @return 영향받은 행 수
+     */
+    public int insertOne(final IssuedCouponMessage message) {
+        List<Object> args = new ArrayList<>(5);
+        addRowArgs(args, message);
+        return jdbcTemplate.update(INSERT_PREFIX + ROW_PLACEHOLDER + ON_DUPLICATE_SUFFIX, args.toArray());
+    }
+
+    /**
+     * user_coupon 에 (user_id, coupon_id) 유니크 키가 있는지 확인한다.
+     * 엔티티의 @UniqueConstraint 는 스키마를 만들 때만 쓰이므로 기존 테이블에는 없을 수 있다.
+     *
+     * @return 유니크 키가 있으면 true
+     */
+    public boolean hasUserCouponUniqueKey() {
+        Integer count = jdbcTemplate.queryForObject(UNIQUE_KEY_COUNT_SQL, Integer.class);
+        return count != null && count > 0;
+    }
+
+    private static void addRowArgs(final List<Object> args, final IssuedCouponMessage message) {
+        Timestamp issuedAt = Timestamp.valueOf(message.getIssuedAt());
+        args.add(message.getUserId());
+        args.add(message.getCouponId());
+        args.add(CouponStatus.NOT_USE.name());
+        args.add(issuedAt);
+        args.add(issuedAt);
+    }
+}
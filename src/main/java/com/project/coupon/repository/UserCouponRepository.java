@@ -1,13 +1,16 @@
 package com.project.coupon.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.project.coupon.entity.UserCoupon;
+import com.project.coupon.entity.enums.CouponStatus;
 
 @Repository
 public interface UserCouponRepository extends JpaRepository<UserCoupon, Long> {
@@ -20,4 +23,67 @@ public interface UserCouponRepository extends JpaRepository<UserCoupon, Long> {
      */
     @Query("SELECT uc FROM UserCoupon uc JOIN FETCH uc.coupon WHERE uc.user.userId = :userId")
     List<UserCoupon> findByUser_UserIdWithCoupon(@Param("userId") Long userId);
+
+    /**
+     * 유저의 보유 쿠폰을 지갑 캐시 적재용 컬럼만 조회합니다. (엔티티 로딩 없이 projection)
+     *
+     * @param userId 유저 ID
+     * @return 쿠폰 ID·user_coupon_id·쿠폰 이름·상태 목록
+     */
+    @Query("SELECT uc.userCouponId AS userCouponId, c.couponId AS couponId, c.couponName AS couponName, "
+        + "uc.couponStatus AS couponStatus FROM UserCoupon uc JOIN uc.coupon c WHERE uc.user.userId = :userId")
+    List<WalletRow> findWalletRows(@Param("userId") Long userId);
+
+    /**
+     * 쿠폰의 발급 행을 user_coupon_id 순 keyset 페이지로 조회합니다. (정합성 점검용, OFFSET 없이 인덱스 범위 조회)
+     *
+     * @param couponId          쿠폰 ID
+     * @param afterUserCouponId 이전 페이지의 마지막 user_coupon_id, 처음이면 0
+     * @param pageable          페이지 크기 (첫 페이지만 사용)
+     * @return user_coupon_id·user_id 목록
+     */
+    @Query("SELECT uc.userCouponId AS userCouponId, uc.user.userId AS userId FROM UserCoupon uc "
+        + "WHERE uc.coupon.couponId = :couponId AND uc.userCouponId > :afterUserCouponId "
+        + "ORDER BY uc.userCouponId")
+    List<IssuedUserRow> findIssuedUsersAfter(@Param("couponId") Long couponId,
+                                             @Param("afterUserCouponId") Long afterUserCouponId,
+                                             Pageable pageable);
+
+    /**
+     * 주어진 유저 중 해당 쿠폰을 발급받은 유저 ID 를 조회합니다. (user_id, coupon_id) 유니크 인덱스를 사용합니다.
+     *
+     * @param couponId 쿠폰 ID
+     * @param userIds  확인할 유저 ID 목록
+     * @return 발급 행이 있는 유저 ID 목록
+     */
+    @Query("SELECT uc.user.userId FROM UserCoupon uc WHERE uc.coupon.couponId = :couponId AND uc.user.userId IN :userIds")
+    List<Long> findIssuedUserIds(@Param("couponId") Long couponId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 쿠폰의 발급 행 수를 조회합니다.
+     *
+     * @param couponId 쿠폰 ID
+     * @return 발급 행 수
+     */
+    long countByCoupon_CouponId(Long couponId);
+
+    /** 지갑 캐시 적재용 보유 쿠폰 projection */
+    interface WalletRow {
+
+        Long getUserCouponId();
+
+        Long getCouponId();
+
+        String getCouponName();
+
+        CouponStatus getCouponStatus();
+    }
+
+    /** 정합성 점검용 발급 행 projection */
+    interface IssuedUserRow {
+
+        Long getUserCouponId();
+
+        Long getUserId();
+    }
 }
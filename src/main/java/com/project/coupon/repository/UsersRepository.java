@@ -1,8 +1,12 @@
 package com.project.coupon.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.project.coupon.entity.Users;
 
@@ -18,5 +22,14 @@ public interface UsersRepository extends JpaRepository<Users, Long> {
      * @return 일치하는 사용자가 있으면 Optional 로 래핑된 Users
      */
     Optional<Users> findByUserLoginId(String userLoginId);
-}
 
+    /**
+     * afterId 보다 큰 사용자 ID 를 오름차순으로 조회 (keyset 페이지네이션).
+     *
+     * @param afterId  마지막으로 읽은 사용자 ID (처음이면 0)
+     * @param pageable 페이지 크기 (page 는 항상 0)
+     * @return 사용자 ID 목록
+     */
+    @Query("SELECT u.userId FROM Users u WHERE u.userId > :afterId ORDER BY u.userId")
+    List<Long> findUserIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -0,0 +1,336 @@
+package com.project.coupon.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.coupon.config.QueueProperties;
+import com.project.coupon.dto.QueueStatusResponse;
+import com.project.coupon.exception.QueueTokenRequiredException;
+import com.project.coupon.exception.RedisConnectionException;
+import com.project.coupon.repository.EventsRepository;
+import com.project.coupon.service.RedisScriptRegistry.LuaScript;
+
+/**
+ * 이벤트 오픈 시점의 가상 대기열(waiting room).
+ * 오픈 직후 몰리는 요청을 발급 경로에 바로 보내지 않고 Redis ZSET 에 줄을 세운 뒤,
+ * 디스패처가 초당 admit-per-second 명씩 앞에서부터 입장 토큰을 발급한다.
+ * 대기열이 적용된 이벤트는 입장 토큰을 가진 사용자만 issueCoupon 을 호출할 수 있다.
+ *
+ * <ul>
+ *   <li>queue:event:{eventId} — 대기 ZSET (member: userId, score: 도착 순번)</li>
+ *   <li>queue:event:{eventId}:seq — 도착 순번 카운터</li>
+ *   <li>queue:event:{eventId}:tokens — 입장 토큰 Hash (userId → token:만료시각ms)</li>
+ *   <li>queue:event:{eventId}:budget:{epochSecond} — 초당 입장 수 (전 노드 합산)</li>
+ *   <li>queue:events — 대기자가 있는 이벤트 ID Set (디스패처 순회 대상)</li>
+ * </ul>
+ * 입장은 이벤트 시작 시각(eventStartDatetime) 이후, 이벤트 활성 키(event:{eventId}:active)가 있을 때만 진행한다.
+ * 활성 키는 예열 시 시작 전에 세워지므로 시작 전에 줄 선 사용자는 오픈 후 초당 admit-per-second 명씩 입장한다.
+ * 스크립트가 이벤트 키와 queue:events 를 함께 다뤄 슬롯이 갈리므로 Redis Cluster 에서는 대기열을 켠 채 기동하지 않는다.
+ */
+@Service
+public class AdmissionQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionQueueService.class);
+
+    public static final String STATUS_WAITING = "WAITING";
+    public static final String STATUS_ADMITTED = "ADMITTED";
+    public static final String STATUS_NOT_QUEUED = "NOT_QUEUED";
+
+    private static final String QUEUE_EVENTS_KEY = "queue:events";
+    private static final long MIN_POLL_MILLIS = 1_000L;
+    private static final long MAX_POLL_MILLIS = 10_000L;
+    /** 이벤트 시작 시각 로컬 캐시 TTL. 시작 시각 변경은 이 시간 안에 반영된다 */
+    private static final Duration EVENT_START_CACHE_TTL = Duration.ofSeconds(60);
+    /** 이벤트가 없을 때 캐시 값. 입장하지 않는다 */
+    private static final long NOT_FOUND = Long.MAX_VALUE;
+
+    /**
+     * 대기열 입장/조회 스크립트.
+     * 유효한 토큰이 있으면 ADMITTED, 대기 중이면 순위, 없으면 ARGV[4]=1 일 때만 줄 끝에 추가한다.
+     * 만료된 토큰은 지우고 다시 줄을 선다.
+     * KEYS[1]=대기 ZSET, KEYS[2]=순번 카운터, KEYS[3]=토큰 Hash, KEYS[4]=queue:events
+     * ARGV[1]=userId, ARGV[2]=eventId, ARGV[3]=현재 시각(ms), ARGV[4]=추가 여부(1/0)
+     * 반환: {ADMITTED, token, expiresAt} | {WAITING, rank} | {NOT_QUEUED}
+     */
+    private static final String QUEUE_ENTER_SCRIPT =
+        "local entry = redis.call('HGET', KEYS[3], ARGV[1])\n"
+            + "if entry then\n"
+            + "  local sep = string.find(entry, ':', 1, true)\n"
+            + "  local expiresAt = string.sub(entry, sep + 1)\n"
+            + "  if tonumber(expiresAt) > tonumber(ARGV[3]) then\n"
+            + "    return {'" + STATUS_ADMITTED + "', string.sub(entry, 1, sep - 1), expiresAt}\n"
+            + "  end\n"
+            + "  redis.call('HDEL', KEYS[3], ARGV[1])\n"
+            + "end\n"
+            + "local rank = redis.call('ZRANK', KEYS[1], ARGV[1])\n"
+            + "if not rank then\n"
+            + "  if ARGV[4] ~= '1' then return {'" + STATUS_NOT_QUEUED + "'} end\n"
+            + "  redis.call('ZADD', KEYS[1], redis.call('INCR', KEYS[2]), ARGV[1])\n"
+            + "  redis.call('SADD', KEYS[4], ARGV[2])\n"
+            + "  rank = redis.call('ZRANK', KEYS[1], ARGV[1])\n"
+            + "end\n"
+            + "return {'" + STATUS_WAITING + "', tostring(rank)}";
+
+    /**
+     * 입장 처리 스크립트. 이번 초의 남은 입장 수만큼 ZPOPMIN 후 토큰을 부여한다.
+     * KEYS[1]=대기 ZSET, KEYS[2]=초당 입장 수, KEYS[3]=토큰 Hash, KEYS[4]=queue:events, KEYS[5]=이벤트 활성 키
+     * ARGV[1]=초당 허용 수, ARGV[2]=토큰 만료 시각(ms), ARGV[3]=토큰 Hash TTL(초), ARGV[4]=eventId, ARGV[5..]=토큰 후보
+     * 반환: 입장 처리한 인원 수
+     */
+    private static final String QUEUE_ADMIT_SCRIPT =
+        "if redis.call('ZCARD', KEYS[1]) == 0 then\n"
+            + "  redis.call('SREM', KEYS[4], ARGV[4])\n"
+            + "  return 0\n"
+            + "end\n"
+            + "if redis.call('EXISTS', KEYS[5]) == 0 then return 0 end\n"
+            + "local used = tonumber(redis.call('GET', KEYS[2]) or '0')\n"
+            + "local n = math.min(tonumber(ARGV[1]) - used, #ARGV - 4)\n"
+            + "if n <= 0 then return 0 end\n"
+            + "local popped = redis.call('ZPOPMIN', KEYS[1], n)\n"
+            + "local admitted = 0\n"
+            + "for i = 1, #popped, 2 do\n"
+            + "  admitted = admitted + 1\n"
+            + "  redis.call('HSET', KEYS[3], popped[i], ARGV[4 + admitted] .. ':' .. ARGV[2])\n"
+            + "end\n"
+            + "if admitted > 0 then\n"
+            + "  redis.call('INCRBY', KEYS[2], admitted)\n"
+            + "  redis.call('EXPIRE', KEYS[2], 2)\n"
+            + "  redis.call('EXPIRE', KEYS[3], ARGV[3])\n"
+            + "end\n"
+            + "return admitted";
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final RedisScriptRegistry redisScriptRegistry;
+    private final QueueProperties queueProperties;
+    private final EventsRepository eventsRepository;
+    /** eventId → 시작 시각(epoch ms) */
+    private final Cache<Long, Long> eventStartMillis = Caffeine.newBuilder()
+        .maximumSize(1_000)
+        .expireAfterWrite(EVENT_START_CACHE_TTL)
+        .build();
+    private final LuaScript<List<String>> queueEnterScript;
+    private final LuaScript<Long> queueAdmitScript;
+
+    @SuppressWarnings("unchecked")
+    public AdmissionQueueService(final RedisTemplate<String, String> stringRedisTemplate,
+                                 final RedisScriptRegistry redisScriptRegistry,
+                                 final QueueProperties queueProperties,
+                                 final EventsRepository eventsRepository) {
+        if (queueProperties.isAnyEnabled() && RedisScriptRegistry.isCluster(stringRedisTemplate)) {
+            throw new IllegalStateException("대기열 스크립트는 여러 슬롯의 키를 함께 다뤄 Redis Cluster 에서 실행할 수 없습니다. "
+                + "coupon.queue.enabled 와 이벤트별 enabled 를 끄거나 단일 Redis 를 사용하세요.");
+        }
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisScriptRegistry = redisScriptRegistry;
+        this.queueProperties = queueProperties;
+        this.eventsRepository = eventsRepository;
+        this.queueEnterScript = redisScriptRegistry.register("queue-enter", QUEUE_ENTER_SCRIPT,
+            (Class<List<String>>) (Class<?>) List.class);
+        this.queueAdmitScript = redisScriptRegistry.register("queue-admit", QUEUE_ADMIT_SCRIPT, Long.class);
+    }
+
+    /**
+     * 대기열에 참여한다. 이미 대기 중이거나 입장한 경우 현재 상태를 그대로 반환한다. (멱등)
+     *
+     * @param eventId 이벤트 ID
+     * @param userId  사용자 ID
+     * @return 대기열 상태
+     */
+    public QueueStatusResponse enter(final Long eventId, final Long userId) {
+        return runEnterScript(eventId, userId, true);
+    }
+
+    /**
+     * 대기열 상태를 조회한다. 대기열에 없으면 NOT_QUEUED 를 반환하고 추가하지 않는다.
+     *
+     * @param eventId 이벤트 ID
+     * @param userId  사용자 ID
+     * @return 대기열 상태
+     */
+    public QueueStatusResponse getStatus(final Long eventId, final Long userId) {
+        return runEnterScript(eventId, userId, false);
+    }
+
+    /**
+     * 발급 요청의 입장 토큰을 검증한다. 대기열이 적용되지 않은 이벤트는 바로 통과한다.
+     *
+     * @param eventId    이벤트 ID
+     * @param userId     사용자 ID
+     * @param queueToken X-Queue-Token 헤더 값 (null 가능)
+     * @throws QueueTokenRequiredException 토큰이 없거나 일치하지 않거나 만료된 경우
+     */
+    public void checkAdmission(final Long eventId, final Long userId, final String queueToken) {
+        if (!isAdmitted(eventId, userId, queueToken)) {
+            throw new QueueTokenRequiredException(eventId);
+        }
+    }
+
+    /**
+     * 발급 요청이 대기열을 통과했는지 반환한다. 대기열이 적용되지 않은 이벤트는 항상 true.
+     * 토큰은 발급 후에도 만료 시각까지 유효하다. (중복 발급은 발급 스크립트가 막으므로 재시도 허용)
+     *
+     * @param eventId    이벤트 ID
+     * @param userId     사용자 ID
+     * @param queueToken X-Queue-Token 헤더 값 (null 가능)
+     * @return 통과면 true, 토큰이 없거나 일치하지 않거나 만료되었으면 false
+     */
+    public boolean isAdmitted(final Long eventId, final Long userId, final String queueToken) {
+        if (!queueProperties.isEnabled(eventId)) {
+            return true;
+        }
+        if (queueToken == null || queueToken.isBlank()) {
+            return false;
+        }
+        Object entry;
+        try {
+            entry = stringRedisTemplate.opsForHash().get(tokensKey(eventId), String.valueOf(userId));
+        } catch (Exception e) {
+            throw new RedisConnectionException("입장 토큰 조회 실패. eventId: " + eventId + ", userId: " + userId, e);
+        }
+        return entry instanceof String value && isValidToken(value, queueToken);
+    }
+
+    /**
+     * 대기자가 있는 이벤트마다 이번 주기 몫만큼 입장 처리한다.
+     * 초당 한도는 Redis 카운터로 전 노드가 공유하므로 여러 노드가 동시에 돌아도 초과하지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${coupon.queue.dispatch-interval-ms:100}")
+    public void dispatch() {
+        Set<String> eventIds;
+        try {
+            eventIds = stringRedisTemplate.opsForSet().members(QUEUE_EVENTS_KEY);
+        } catch (RuntimeException e) {
+            log.warn("대기열 이벤트 목록 조회 실패, 다음 주기에 재시도.", e);
+            return;
+        }
+        if (eventIds == null || eventIds.isEmpty()) {
+            return;
+        }
+        for (String eventId : eventIds) {
+            try {
+                admit(Long.valueOf(eventId), System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.warn("대기열 입장 처리 실패. eventId: {}", eventId, e);
+            }
+        }
+    }
+
+    /**
+     * 이벤트 대기열에서 이번 주기 몫만큼 입장 처리한다. 이벤트 시작 전에는 입장시키지 않는다.
+     *
+     * @param eventId 이벤트 ID
+     * @param now     현재 시각(epoch ms)
+     * @return 입장 처리한 인원 수
+     */
+    long admit(final Long eventId, final long now) {
+        long startMillis = eventStartMillis.get(eventId, this::loadStartMillis);
+        if (now < startMillis) {
+            return 0L;
+        }
+        int rate = queueProperties.admitPerSecond(eventId);
+        int batch = (int) Math.max(1L, Math.min(rate,
+            (rate * queueProperties.getDispatchIntervalMs() + 999L) / 1_000L));
+        long tokenTtlMillis = queueProperties.getTokenTtlSeconds() * 1_000L;
+
+        String[] args = new String[4 + batch];
+        args[0] = String.valueOf(rate);
+        args[1] = String.valueOf(Math.max(now, startMillis) + tokenTtlMillis);
+        args[2] = String.valueOf(queueProperties.getTokenTtlSeconds() + 60L);
+        args[3] = String.valueOf(eventId);
+        for (int i = 0; i < batch; i++) {
+            args[4 + i] = newToken();
+        }
+        List<String> keys = List.of(queueKey(eventId), budgetKey(eventId, now / 1_000L), tokensKey(eventId),
+            QUEUE_EVENTS_KEY, "event:" + eventId + ":active");
+        Long admitted = redisScriptRegistry.execute(queueAdmitScript, keys, args);
+        return admitted != null ? admitted : 0L;
+    }
+
+    private long loadStartMillis(final Long eventId) {
+        return eventsRepository.findById(eventId)
+            .map(event -> event.getEventStartDatetime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+            .orElse(NOT_FOUND);
+    }
+
+    private QueueStatusResponse runEnterScript(final Long eventId, final Long userId, final boolean join) {
+        List<String> keys = List.of(queueKey(eventId), queueKey(eventId) + ":seq", tokensKey(eventId),
+            QUEUE_EVENTS_KEY);
+        List<String> result;
+        try {
+            result = redisScriptRegistry.execute(queueEnterScript, keys, String.valueOf(userId),
+                String.valueOf(eventId), String.valueOf(System.currentTimeMillis()), join ? "1" : "0");
+        } catch (Exception e) {
+            throw new RedisConnectionException("대기열 처리 실패. eventId: " + eventId + ", userId: " + userId, e);
+        }
+        return toResponse(eventId, userId, result);
+    }
+
+    private QueueStatusResponse toResponse(final Long eventId, final Long userId, final List<String> result) {
+        String status = result == null || result.isEmpty() ? STATUS_NOT_QUEUED : result.get(0);
+        QueueStatusResponse.QueueStatusResponseBuilder builder = QueueStatusResponse.builder()
+            .eventId(eventId)
+            .userId(userId)
+            .status(status);
+        if (STATUS_ADMITTED.equals(status)) {
+            return builder.token(result.get(1))
+                .tokenExpiresAt(Long.valueOf(result.get(2)))
+                .pollAfterMillis(0L)
+                .build();
+        }
+        if (STATUS_WAITING.equals(status)) {
+            long position = Long.parseLong(result.get(1)) + 1L;
+            long waitSeconds = position / Math.max(1, queueProperties.admitPerSecond(eventId));
+            return builder.position(position)
+                .estimatedWaitSeconds(waitSeconds)
+                // 입장 예상 시점의 절반마다 조회하도록 유도해 폴링 부하를 대기 순위에 반비례시킨다
+                .pollAfterMillis(Math.min(MAX_POLL_MILLIS, Math.max(MIN_POLL_MILLIS, waitSeconds * 500L)))
+                .build();
+        }
+        return builder.pollAfterMillis(0L).build();
+    }
+
+    private static boolean isValidToken(final String entry, final String queueToken) {
+        int sep = entry.indexOf(':');
+        if (sep < 0) {
+            return false;
+        }
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(entry.substring(sep + 1));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return expiresAt > System.currentTimeMillis()
+            && MessageDigest.isEqual(entry.substring(0, sep).getBytes(StandardCharsets.UTF_8),
+                queueToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String newToken() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    private static String queueKey(final Long eventId) {
+        return "queue:event:" + eventId;
+    }
+
+    private static String tokensKey(final Long eventId) {
+        return queueKey(eventId) + ":tokens";
+    }
+
+    private static String budgetKey(final Long eventId, final long epochSecond) {
+        return queueKey(eventId) + ":budget:" + epochSecond;
+    }
+}
@@ -0,0 +1,374 @@
+package com.project.coupon.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.coupon.dto.ImportResultResponse;
+import com.project.coupon.exception.InvalidRequestException;
+import com.project.coupon.repository.BulkImportJdbcRepository;
+
+/**
+ * users / events / coupons 스트리밍 대량 적재 서비스.
+ * 요청 본문(CSV 또는 JSONL)을 한 줄씩 읽어 chunk-size 행마다 multi-row INSERT 로 저장한다.
+ * 메모리에는 청크 하나만 올라가고, 청크마다 커밋되므로 중간에 끊겨도 이미 저장된 청크는 남는다.
+ *
+ * <ul>
+ *   <li>이미 있는 행(PK·유니크 키 중복)은 건너뛴다. 같은 파일을 다시 보내도 안전하다.</li>
+ *   <li>형식·검증 오류 행은 건너뛰고 줄 번호와 함께 기록한다. 청크 INSERT 가 실패하면 행 단위로 다시 시도해 문제 행만 골라낸다.</li>
+ *   <li>진행 상황은 importId 로 조회할 수 있다. (최근 100건, 1시간 보관)</li>
+ * </ul>
+ * 비밀번호는 BCrypt 해시($2a$ 등)면 그대로 저장하고, 평문이면 행마다 새 솔트로 암호화한다.
+ * 빠른 부하 테스트 데이터는 미리 해시한 값을 넣는다.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    private static final int MAX_ERRORS = 20;
+    private static final long PROGRESS_LOG_EVERY_CHUNKS = 100;
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    /** 적재 대상 */
+    public enum ImportTarget {
+        USERS,
+        EVENTS,
+        COUPONS
+    }
+
+    /** 본문 형식 */
+    public enum ImportFormat {
+        CSV,
+        JSONL
+    }
+
+    private final BulkImportJdbcRepository bulkImportJdbcRepository;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final Cache<String, ImportProgress> progresses = Caffeine.newBuilder()
+        .maximumSize(100)
+        .expireAfterWrite(Duration.ofHours(1))
+        .build();
+
+    public BulkImportService(final BulkImportJdbcRepository bulkImportJdbcRepository,
+                             final CatalogSnapshotCache catalogSnapshotCache,
+                             final PasswordEncoder passwordEncoder,
+                             final ObjectMapper objectMapper,
+                             @Value("${coupon.import.chunk-size:1000}") final int chunkSize) {
+        this.bulkImportJdbcRepository = bulkImportJdbcRepository;
+        this.catalogSnapshotCache = catalogSnapshotCache;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 본문을 끝까지 읽으며 적재한다. 호출 스레드에서 동기로 실행된다.
+     *
+     * @param target   적재 대상
+     * @param format   본문 형식
+     * @param body     요청 본문
+     * @param importId 진행 조회용 ID, null/blank 면 생성
+     * @return 최종 결과
+     * @throws InvalidRequestException 같은 importId 의 적재가 진행 중일 때
+     */
+    public ImportResultResponse importRows(final ImportTarget target, final ImportFormat format,
+                                           final InputStream body, final String importId) {
+        String id = importId == null || importId.isBlank() ? UUID.randomUUID().toString() : importId;
+        ImportProgress progress = new ImportProgress(id, target);
+        ImportProgress running = progresses.asMap().putIfAbsent(id, progress);
+        if (running != null) {
+            if (STATUS_RUNNING.equals(running.status)) {
+                throw new InvalidRequestException("importId", id);
+            }
+            progresses.put(id, progress);
+        }
+
+        RowMapper mapper = new RowMapper(target);
+        ImportRowReader reader = new ImportRowReader(body, format, objectMapper);
+        List<Object[]> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+        try {
+            while (true) {
+                Map<String, String> fields;
+                try {
+                    fields = reader.next();
+                } catch (IllegalArgumentException e) {
+                    progress.rowsRead.incrementAndGet();
+                    progress.fail(reader.lineNumber(), e.getMessage());
+                    continue;
+                }
+                if (fields == null) {
+                    break;
+                }
+                progress.rowsRead.incrementAndGet();
+                try {
+                    chunk.add(mapper.map(fields));
+                    chunkLines.add(reader.lineNumber());
+                } catch (IllegalArgumentException e) {
+                    progress.fail(reader.lineNumber(), e.getMessage());
+                    continue;
+                }
+                if (chunk.size() >= chunkSize) {
+                    flush(target, chunk, chunkLines, progress);
+                }
+            }
+            flush(target, chunk, chunkLines, progress);
+            progress.status = STATUS_COMPLETED;
+        } catch (IOException | RuntimeException e) {
+            progress.status = STATUS_FAILED;
+            progress.error(reader.lineNumber(), "적재 중단: " + e.getMessage());
+            log.error("대량 적재 중단. importId: {}, target: {}, line: {}", id, target, reader.lineNumber(), e);
+        }
+        if (target != ImportTarget.USERS && progress.inserted.get() > 0) {
+            catalogSnapshotCache.invalidate();
+        }
+        ImportResultResponse result = progress.toResponse();
+        log.info("대량 적재 종료. importId: {}, target: {}, status: {}, read: {}, inserted: {}, skipped: {}, failed: {}, "
+                + "elapsedMs: {}", id, target, result.getStatus(), result.getRowsRead(), result.getInserted(),
+            result.getSkipped(), result.getFailed(), result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * 적재 진행 상황을 조회한다.
+     *
+     * @param importId 적재 ID
+     * @return 진행 상황, 없으면 null
+     */
+    public ImportResultResponse getProgress(final String importId) {
+        ImportProgress progress = progresses.getIfPresent(importId);
+        return progress != null ? progress.toResponse() : null;
+    }
+
+    private void flush(final ImportTarget target, final List<Object[]> chunk, final List<Long> chunkLines,
+                       final ImportProgress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        if (target == ImportTarget.COUPONS) {
+            rejectUnknownEvents(chunk, chunkLines, progress);
+        }
+        try {
+            int inserted = insert(target, chunk);
+            progress.inserted.addAndGet(inserted);
+            progress.skipped.addAndGet(chunk.size() - inserted);
+        } catch (DataAccessException e) {
+            log.warn("대량 적재 청크 실패, 행 단위 재시도. target: {}, size: {}", target, chunk.size(), e);
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    int inserted = insert(target, List.<Object[]>of(chunk.get(i)));
+                    progress.inserted.addAndGet(inserted);
+                    progress.skipped.addAndGet(1 - inserted);
+                } catch (DataAccessException rowError) {
+                    progress.fail(chunkLines.get(i), rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        long chunks = progress.chunks.incrementAndGet();
+        if (chunks % PROGRESS_LOG_EVERY_CHUNKS == 0) {
+            log.info("대량 적재 진행. importId: {}, target: {}, read: {}, inserted: {}",
+                progress.importId, target, progress.rowsRead.get(), progress.inserted.get());
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private int insert(final ImportTarget target, final List<Object[]> rows) {
+        return switch (target) {
+            case USERS -> bulkImportJdbcRepository.insertUsers(rows);
+            case EVENTS -> bulkImportJdbcRepository.insertEvents(rows);
+            case COUPONS -> bulkImportJdbcRepository.insertCoupons(rows);
+        };
+    }
+
+    /** 외래 키 위반으로 청크 전체가 행 단위 재시도로 넘어가지 않도록 없는 이벤트를 참조하는 쿠폰 행을 먼저 걸러낸다. */
+    private void rejectUnknownEvents(final List<Object[]> chunk, final List<Long> chunkLines,
+                                     final ImportProgress progress) {
+        Set<Long> eventIds = new HashSet<>();
+        for (Object[] row : chunk) {
+            eventIds.add((Long) row[1]);
+        }
+        Set<Long> existing = new HashSet<>(bulkImportJdbcRepository.findExistingEventIds(eventIds));
+        for (int i = chunk.size() - 1; i >= 0; i--) {
+            Long eventId = (Long) chunk.get(i)[1];
+            if (!existing.contains(eventId)) {
+                progress.fail(chunkLines.get(i), "존재하지 않는 eventId: " + eventId);
+                chunk.remove(i);
+                chunkLines.remove(i);
+            }
+        }
+    }
+
+    /** 필드 맵을 INSERT 인자 배열로 바꾼다. 검증 실패 시 IllegalArgumentException. */
+    private final class RowMapper {
+
+        private final ImportTarget target;
+
+        private RowMapper(final ImportTarget target) {
+            this.target = target;
+        }
+
+        private Object[] map(final Map<String, String> fields) {
+            return switch (target) {
+                case USERS -> new Object[] {
+                    optionalLong(fields, "userid"),
+                    required(fields, "userloginid"),
+                    encodePassword(required(fields, "userpassword"))
+                };
+                case EVENTS -> {
+                    LocalDateTime start = dateTime(fields, "eventstartdatetime");
+                    LocalDateTime end = dateTime(fields, "eventenddatetime");
+                    requireOrdered(start, end, "eventEndDatetime");
+                    yield new Object[] {
+                        optionalLong(fields, "eventid"),
+                        required(fields, "eventname"),
+                        fields.get("eventdetail"),
+                        start,
+                        end
+                    };
+                }
+                case COUPONS -> {
+                    LocalDateTime start = dateTime(fields, "couponapplystartdatetime");
+                    LocalDateTime end = dateTime(fields, "couponapplyenddatetime");
+                    requireOrdered(start, end, "couponApplyEndDatetime");
+                    int totalCount = Integer.parseInt(required(fields, "coupontotalcount"));
+                    if (totalCount < 0) {
+                        throw new IllegalArgumentException("couponTotalCount 는 0 이상이어야 합니다: " + totalCount);
+                    }
+                    yield new Object[] {
+                        optionalLong(fields, "couponid"),
+                        Long.valueOf(required(fields, "eventid")),
+                        required(fields, "couponname"),
+                        fields.get("coupondetail"),
+                        start,
+                        end,
+                        totalCount
+                    };
+                }
+            };
+        }
+
+        private String encodePassword(final String password) {
+            if (password.startsWith("$2a$") || password.startsWith("$2b$") || password.startsWith("$2y$")) {
+                return password;
+            }
+            return passwordEncoder.encode(password);
+        }
+    }
+
+    private static String required(final Map<String, String> fields, final String name) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("필수 값 없음: " + name);
+        }
+        return value.trim();
+    }
+
+    private static Long optionalLong(final Map<String, String> fields, final String name) {
+        String value = fields.get(name);
+        return value == null || value.isBlank() ? null : Long.valueOf(value.trim());
+    }
+
+    private static LocalDateTime dateTime(final Map<String, String> fields, final String name) {
+        String value = required(fields, name);
+        try {
+            return LocalDateTime.parse(value.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("날짜 형식 오류 (yyyy-MM-dd'T'HH:mm:ss): " + name + "=" + value);
+        }
+    }
+
+    private static void requireOrdered(final LocalDateTime start, final LocalDateTime end, final String name) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException(name + " 가 시작 시각보다 이릅니다.");
+        }
+    }
+
+    /** 적재 한 건의 진행 상태. 적재 스레드가 쓰고 조회 요청 스레드가 읽는다. */
+    private static final class ImportProgress {
+
+        private final String importId;
+        private final ImportTarget target;
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong chunks = new AtomicLong();
+        private final List<String> errors = new ArrayList<>();
+        private volatile String status = STATUS_RUNNING;
+        private volatile long elapsedMillis = -1L;
+
+        private ImportProgress(final String importId, final ImportTarget target) {
+            this.importId = importId;
+            this.target = target;
+        }
+
+        private void fail(final long lineNumber, final String message) {
+            failed.incrementAndGet();
+            error(lineNumber, message);
+        }
+
+        private void error(final long lineNumber, final String message) {
+            synchronized (errors) {
+                if (errors.size() < MAX_ERRORS) {
+                    errors.add("line " + lineNumber + ": " + message);
+                }
+            }
+        }
+
+        private ImportResultResponse toResponse() {
+            long elapsed = elapsedMillis;
+            if (elapsed < 0) {
+                elapsed = (System.nanoTime() - startNanos) / 1_000_000;
+                if (!STATUS_RUNNING.equals(status)) {
+                    elapsedMillis = elapsed;
+                }
+            }
+            List<String> errorSnapshot;
+            synchronized (errors) {
+                errorSnapshot = List.copyOf(errors);
+            }
+            return ImportResultResponse.builder()
+                .importId(importId)
+                .target(target.name().toLowerCase(Locale.ROOT))
+                .status(status)
+                .rowsRead(rowsRead.get())
+                .inserted(inserted.get())
+                .skipped(skipped.get())
+                .failed(failed.get())
+                .chunks(chunks.get())
+                .elapsedMillis(elapsed)
+                .rowsPerSecond(elapsed > 0 ? rowsRead.get() * 1000 / elapsed : 0)
+                .errors(errorSnapshot)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.project.coupon.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 이벤트·쿠폰 카탈로그 응답 스냅샷 캐시.
+ * 응답 DTO 를 한 번 직렬화한 JSON 바이트와 내용 해시(ETag)를 JVM 메모리에 두고, 요청마다 같은 바이트를 내보낸다.
+ * 드롭 직전 폴링이 몰려도 DB 조회·Jackson 직렬화 없이 응답하고, If-None-Match 가 같으면 본문 없이 304 로 끝난다.
+ *
+ * <p>관리자 변경(재고 초기화·캐시 무효화·대량 적재) 시 invalidate 로 Redis pub/sub(채널: catalog:invalidate)을 통해
+ * 전 노드의 스냅샷을 비운다. 메시지를 놓쳐도 ttl-seconds 후 다시 만들며, 내용이 같으면 ETag 도 같아 클라이언트는 계속 304 를 받는다.
+ */
+@Service
+public class CatalogSnapshotCache implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotCache.class);
+
+    private static final String INVALIDATE_CHANNEL = "catalog:invalidate";
+    private static final String INVALIDATE_MESSAGE = "all";
+    /** ETag 에 쓰는 SHA-256 앞부분 바이트 수 */
+    private static final int ETAG_BYTES = 16;
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CatalogSnapshot> cache;
+
+    public CatalogSnapshotCache(final RedisTemplate<String, String> stringRedisTemplate,
+                                final ObjectMapper objectMapper,
+                                final RedisMessageListenerContainer redisMessageListenerContainer,
+                                @Value("${coupon.catalog-cache.maximum-size:10000}") final long maximumSize,
+                                @Value("${coupon.catalog-cache.ttl-seconds:300}") final long ttlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATE_CHANNEL));
+    }
+
+    /**
+     * 스냅샷을 조회하고, 없으면 loader 결과를 직렬화해 적재한다. 같은 키의 동시 적재는 한 번만 실행된다.
+     * loader 가 던진 예외(이벤트 없음 등)는 그대로 전달되며 캐시하지 않는다.
+     *
+     * @param key    카탈로그 키 (예: events, event:{id}, event:{id}:coupons)
+     * @param loader 캐시 미스 시 응답 DTO 를 만드는 함수
+     * @return 직렬화된 응답과 ETag
+     */
+    public CatalogSnapshot get(final String key, final Supplier<?> loader) {
+        return cache.get(key, k -> serialize(loader.get()));
+    }
+
+    /**
+     * 카탈로그 데이터 변경 시 호출한다. 이 노드와 전 노드의 스냅샷을 비운다.
+     */
+    public void invalidate() {
+        cache.invalidateAll();
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, INVALIDATE_MESSAGE);
+        } catch (RuntimeException e) {
+            // 다른 노드는 TTL 만료 후 갱신된다.
+            log.warn("카탈로그 캐시 무효화 브로드캐스트 실패", e);
+        }
+    }
+
+    @Override
+    public void onMessage(final Message message, final byte[] pattern) {
+        cache.invalidateAll();
+    }
+
+    private CatalogSnapshot serialize(final Object response) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            return new CatalogSnapshot(body, etag(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("카탈로그 응답 직렬화 실패", e);
+        }
+    }
+
+    private static String etag(final byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, ETAG_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 직렬화된 카탈로그 응답. body 는 공유되므로 수정하지 않는다.
+     */
+    public static final class CatalogSnapshot {
+
+        private final byte[] body;
+        private final String etag;
+
+        private CatalogSnapshot(final byte[] body, final String etag) {
+            this.body = body;
+            this.etag = etag;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * If-None-Match 헤더 값이 이 스냅샷과 일치하는지 확인한다. (목록·약한 검증자 W/·* 허용)
+         *
+         * @param ifNoneMatch If-None-Match 헤더 값 (null 가능)
+         * @return 일치하면 true (304 응답 대상)
+         */
+        public boolean matches(final String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if ("*".equals(tag) || etag.equals(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
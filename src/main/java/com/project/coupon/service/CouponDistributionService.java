@@ -0,0 +1,414 @@
+package com.project.coupon.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.coupon.dto.DistributionProgressResponse;
+import com.project.coupon.dto.IssuedCouponMessage;
+import com.project.coupon.entity.Coupons;
+import com.project.coupon.exception.CouponNotFoundException;
+import com.project.coupon.exception.InvalidRequestException;
+import com.project.coupon.exception.RedisConnectionException;
+import com.project.coupon.repository.CouponsRepository;
+import com.project.coupon.repository.UserCouponJdbcRepository;
+import com.project.coupon.service.BulkImportService.ImportFormat;
+import com.project.coupon.service.RedisScriptRegistry.LuaScript;
+
+/**
+ * 선착순이 아닌, 미리 정한 사용자 목록에 쿠폰 하나를 일괄 지급하는 대량 배포 잡.
+ * 요청 본문(CSV 헤더 userId 또는 JSONL)을 스트리밍으로 읽어 chunk-size 명씩 처리한다.
+ *
+ * <ol>
+ *   <li>사용자 존재 비트맵으로 없는 사용자를 거른다.</li>
+ *   <li>CouponRedisService.grantIssued: 실시간 발급과 같은 issued_users / stock 키에서 중복 체크·차감·등록 (샤드당 스크립트 1회)</li>
+ *   <li>지급·이미 보유 사용자를 user_coupon 에 multi-row INSERT (중복 행은 무시). 이미 보유한 사용자도 넣는 것은
+ *       Redis 반영 후 DB 저장 전에 중단됐던 청크를 재개할 때 행이 빠지지 않게 하기 위해서다.</li>
+ *   <li>새로 지급한 사용자의 마이페이지 지갑 캐시에 항목을 추가하고, 진행 상황을 coupon:distribution:{jobId} Hash 에 저장한다.</li>
+ * </ol>
+ * 같은 jobId 로 같은 목록을 다시 보내면 processed 행까지 건너뛰고 이어서 처리한다. DB 저장이 실패하면 해당 청크의 Redis 지급을
+ * 되돌리고 FAILED 로 멈춘다. 재고가 바닥나면 SOLD_OUT 으로 멈추고, 재고를 늘린 뒤 재개할 수 있다.
+ * 재고 소진으로 지급하지 못한 사용자는 진행 Hash 의 pending 에 남겨 두고, 재개 시 다음 행보다 먼저 다시 지급한다.
+ * max-users-per-second 로 속도를 제한해 실시간 발급과 Redis·DB 를 나눠 쓴다.
+ */
+@Service
+public class CouponDistributionService {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponDistributionService.class);
+
+    private static final String PROGRESS_KEY_PREFIX = "coupon:distribution:";
+    private static final String LOCK_KEY_SUFFIX = ":lock";
+    private static final String USER_ID_FIELD = "userid";
+    private static final String PENDING_SEPARATOR = ",";
+
+    /**
+     * Lua script: 락 소유자일 때만 삭제.
+     * KEYS[1]: lock key, ARGV[1]: 인스턴스 ID
+     */
+    private static final String UNLOCK_SCRIPT =
+        "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end "
+        + "return 0";
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_SOLD_OUT = "SOLD_OUT";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private final CouponsRepository couponsRepository;
+    private final UserCouponJdbcRepository userCouponJdbcRepository;
+    private final CouponRedisService couponRedisService;
+    private final UserExistenceIndex userExistenceIndex;
+    private final UserWalletService userWalletService;
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final RedisScriptRegistry redisScriptRegistry;
+    private final LuaScript<Long> unlockScript;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final long maxUsersPerSecond;
+    private final Duration progressTtl;
+    private final String instanceId = "distributor-" + UUID.randomUUID();
+
+    public CouponDistributionService(final CouponsRepository couponsRepository,
+                                     final UserCouponJdbcRepository userCouponJdbcRepository,
+                                     final CouponRedisService couponRedisService,
+                                     final UserExistenceIndex userExistenceIndex,
+                                     final UserWalletService userWalletService,
+                                     final RedisTemplate<String, String> stringRedisTemplate,
+                                     final RedisScriptRegistry redisScriptRegistry,
+                                     final ObjectMapper objectMapper,
+                                     @Value("${coupon.distribution.chunk-size:500}") final int chunkSize,
+                                     @Value("${coupon.distribution.max-users-per-second:5000}") final long maxUsersPerSecond,
+                                     @Value("${coupon.distribution.progress-ttl-hours:168}") final long progressTtlHours) {
+        this.couponsRepository = couponsRepository;
+        this.userCouponJdbcRepository = userCouponJdbcRepository;
+        this.couponRedisService = couponRedisService;
+        this.userExistenceIndex = userExistenceIndex;
+        this.userWalletService = userWalletService;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisScriptRegistry = redisScriptRegistry;
+        this.unlockScript = redisScriptRegistry.register("distribution-unlock", UNLOCK_SCRIPT, Long.class);
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxUsersPerSecond = maxUsersPerSecond;
+        this.progressTtl = Duration.ofHours(progressTtlHours);
+    }
+
+    /**
+     * 사용자 목록을 끝까지 읽으며 쿠폰을 지급한다. 호출 스레드에서 동기로 실행된다.
+     *
+     * @param couponId 쿠폰 ID
+     * @param format   본문 형식
+     * @param body     사용자 ID 목록 본문
+     * @param jobId    재개·진행 조회용 ID, null/blank 면 생성
+     * @return 최종 진행 상황
+     * @throws CouponNotFoundException 쿠폰이 없을 때
+     * @throws InvalidRequestException 같은 jobId 가 실행 중이거나 다른 쿠폰의 jobId 일 때
+     */
+    public DistributionProgressResponse distribute(final Long couponId, final ImportFormat format,
+                                                   final InputStream body, final String jobId) {
+        Coupons coupon = couponsRepository.findById(couponId)
+            .orElseThrow(() -> new CouponNotFoundException(couponId));
+        String id = jobId == null || jobId.isBlank() ? UUID.randomUUID().toString() : jobId;
+        String progressKey = PROGRESS_KEY_PREFIX + id;
+        String lockKey = progressKey + LOCK_KEY_SUFFIX;
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, instanceId, Duration.ofMinutes(5)))) {
+            throw new InvalidRequestException("jobId", id);
+        }
+        try {
+            Progress progress = Progress.from(id, loadProgress(progressKey), couponId);
+            if (!couponId.equals(progress.couponId)) {
+                throw new InvalidRequestException("jobId", id);
+            }
+            if (STATUS_COMPLETED.equals(progress.status)) {
+                return progress.toResponse();
+            }
+            progress.status = STATUS_RUNNING;
+            progress.error = null;
+            save(progressKey, progress);
+            if (couponRedisService.getStockShardCount(couponId) == 1) {
+                couponRedisService.ensureStockIfAbsent(couponId, coupon.getCouponTotalCount());
+            }
+            run(progressKey, lockKey, progress, coupon.getCouponName(), new ImportRowReader(body, format, objectMapper));
+            save(progressKey, progress);
+            log.info("쿠폰 대량 배포 종료. jobId: {}, couponId: {}, status: {}, processed: {}, granted: {}, "
+                    + "duplicate: {}, exhausted: {}, invalid: {}", id, couponId, progress.status, progress.processed,
+                progress.granted, progress.duplicate, progress.exhausted, progress.invalid);
+            return progress.toResponse();
+        } finally {
+            redisScriptRegistry.execute(unlockScript, List.of(lockKey), instanceId);
+        }
+    }
+
+    /**
+     * 배포 진행 상황을 조회한다.
+     *
+     * @param jobId 배포 잡 ID
+     * @return 진행 상황, 없으면 null
+     */
+    public DistributionProgressResponse getProgress(final String jobId) {
+        Map<String, String> stored = loadProgress(PROGRESS_KEY_PREFIX + jobId);
+        return stored.isEmpty() ? null : Progress.from(jobId, stored, null).toResponse();
+    }
+
+    private void run(final String progressKey, final String lockKey, final Progress progress,
+                     final String couponName, final ImportRowReader reader) {
+        long resumeFrom = progress.processed;
+        long row = 0;
+        long startNanos = System.nanoTime();
+        long rowsThisRun = 0;
+        List<Long> chunk = new ArrayList<>(chunkSize);
+        long chunkInvalid = 0;
+        try {
+            // 지난 실행에서 재고 소진으로 지급하지 못한 사용자를 다음 행보다 먼저 지급한다.
+            if (!progress.pending.isEmpty()) {
+                List<Long> pending = progress.pending;
+                rowsThisRun += pending.size();
+                boolean soldOut = processChunk(progress, couponName, pending, 0, resumeFrom);
+                progress.exhausted -= pending.size();
+                save(progressKey, progress);
+                if (soldOut) {
+                    progress.status = STATUS_SOLD_OUT;
+                    return;
+                }
+            }
+            while (true) {
+                Map<String, String> fields;
+                try {
+                    fields = reader.next();
+                } catch (IllegalArgumentException e) {
+                    if (++row > resumeFrom) {
+                        chunkInvalid++;
+                    }
+                    continue;
+                }
+                if (fields == null) {
+                    break;
+                }
+                if (++row <= resumeFrom) {
+                    continue;
+                }
+                Long userId = parseUserId(fields.get(USER_ID_FIELD));
+                if (userId == null || !userExistenceIndex.exists(userId)) {
+                    chunkInvalid++;
+                } else {
+                    chunk.add(userId);
+                }
+                if (chunk.size() + chunkInvalid >= chunkSize) {
+                    rowsThisRun += chunk.size() + chunkInvalid;
+                    boolean soldOut = processChunk(progress, couponName, chunk, chunkInvalid, row);
+                    save(progressKey, progress);
+                    stringRedisTemplate.expire(lockKey, Duration.ofMinutes(5));
+                    chunk.clear();
+                    chunkInvalid = 0;
+                    if (soldOut) {
+                        progress.status = STATUS_SOLD_OUT;
+                        return;
+                    }
+                    throttle(startNanos, rowsThisRun);
+                }
+            }
+            boolean soldOut = processChunk(progress, couponName, chunk, chunkInvalid, row);
+            progress.status = soldOut ? STATUS_SOLD_OUT : STATUS_COMPLETED;
+        } catch (IOException | RuntimeException e) {
+            progress.status = STATUS_FAILED;
+            progress.error = e.getMessage();
+            log.error("쿠폰 대량 배포 중단. jobId: {}, couponId: {}, processed: {}",
+                progress.jobId, progress.couponId, progress.processed, e);
+        }
+    }
+
+    /**
+     * 청크 하나를 Redis 지급 → DB 저장 순으로 처리하고 진행 위치를 lastRow 로 옮긴다.
+     * 재고 소진으로 지급하지 못한 사용자는 pending 으로 남긴다. (진행 위치는 lastRow 라 재개 시 행을 다시 읽지 않는다)
+     *
+     * @return 재고가 소진돼 지급하지 못한 사용자가 있으면 true
+     */
+    private boolean processChunk(final Progress progress, final String couponName, final List<Long> userIds,
+                                 final long invalid, final long lastRow) {
+        int granted = 0;
+        int duplicate = 0;
+        int exhausted = 0;
+        List<Long> exhaustedUserIds = new ArrayList<>();
+        if (!userIds.isEmpty()) {
+            int[] results = couponRedisService.grantIssued(progress.couponId, userIds);
+            LocalDateTime now = LocalDateTime.now();
+            List<IssuedCouponMessage> rows = new ArrayList<>(userIds.size());
+            List<Long> grantedUserIds = new ArrayList<>(userIds.size());
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == CouponRedisService.ISSUE_SUCCESS) {
+                    granted++;
+                    grantedUserIds.add(userIds.get(i));
+                    rows.add(IssuedCouponMessage.of(progress.couponId, userIds.get(i), now));
+                } else if (results[i] == CouponRedisService.ISSUE_DUPLICATE) {
+                    duplicate++;
+                    rows.add(IssuedCouponMessage.of(progress.couponId, userIds.get(i), now));
+                } else {
+                    exhausted++;
+                    exhaustedUserIds.add(userIds.get(i));
+                }
+            }
+            try {
+                userCouponJdbcRepository.insertAll(rows);
+            } catch (DataAccessException e) {
+                rollbackGranted(progress.couponId, userIds, results);
+                throw e;
+            }
+            userWalletService.recordIssued(progress.couponId, couponName, grantedUserIds);
+        }
+        progress.granted += granted;
+        progress.duplicate += duplicate;
+        progress.exhausted += exhausted;
+        progress.invalid += invalid;
+        progress.processed = lastRow;
+        progress.pending = exhaustedUserIds;
+        return exhausted > 0;
+    }
+
+    private void rollbackGranted(final Long couponId, final List<Long> userIds, final int[] results) {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != CouponRedisService.ISSUE_SUCCESS) {
+                continue;
+            }
+            try {
+                couponRedisService.rollbackIssue(couponId, userIds.get(i));
+            } catch (RedisConnectionException e) {
+                log.error("대량 배포 Redis 롤백 실패. couponId: {}, userId: {}", couponId, userIds.get(i), e);
+            }
+        }
+    }
+
+    /** 이번 실행에서 처리한 행 수가 max-users-per-second 를 넘지 않도록 쉰다. */
+    private void throttle(final long startNanos, final long rows) {
+        if (maxUsersPerSecond <= 0) {
+            return;
+        }
+        long aheadNanos = rows * 1_000_000_000L / maxUsersPerSecond - (System.nanoTime() - startNanos);
+        if (aheadNanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(aheadNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("대량 배포 중단 (interrupted)", e);
+        }
+    }
+
+    private Map<String, String> loadProgress(final String progressKey) {
+        try {
+            Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(progressKey);
+            Map<String, String> stored = new HashMap<>();
+            entries.forEach((field, value) -> stored.put(String.valueOf(field), String.valueOf(value)));
+            return stored;
+        } catch (Exception e) {
+            throw new RedisConnectionException("대량 배포 진행 상황 조회 실패: " + progressKey, e);
+        }
+    }
+
+    private void save(final String progressKey, final Progress progress) {
+        progress.updatedAt = System.currentTimeMillis();
+        try {
+            stringRedisTemplate.opsForHash().putAll(progressKey, progress.toHash());
+            stringRedisTemplate.expire(progressKey, progressTtl);
+        } catch (Exception e) {
+            throw new RedisConnectionException("대량 배포 진행 상황 저장 실패: " + progressKey, e);
+        }
+    }
+
+    private static Long parseUserId(final String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            long userId = Long.parseLong(value.trim());
+            return userId > 0 ? userId : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** coupon:distribution:{jobId} Hash 와 1:1 인 진행 상태 */
+    private static final class Progress {
+
+        private final String jobId;
+        private Long couponId;
+        private String status;
+        private long processed;
+        private long granted;
+        private long duplicate;
+        private long exhausted;
+        private long invalid;
+        /** 재고 소진으로 지급하지 못해 재개 시 먼저 다시 지급할 사용자 */
+        private List<Long> pending = List.of();
+        private String error;
+        private long updatedAt;
+
+        private Progress(final String jobId) {
+            this.jobId = jobId;
+        }
+
+        private static Progress from(final String jobId, final Map<String, String> stored, final Long couponId) {
+            Progress progress = new Progress(jobId);
+            progress.couponId = stored.containsKey("couponId") ? Long.valueOf(stored.get("couponId")) : couponId;
+            progress.status = stored.getOrDefault("status", STATUS_RUNNING);
+            progress.processed = Long.parseLong(stored.getOrDefault("processed", "0"));
+            progress.granted = Long.parseLong(stored.getOrDefault("granted", "0"));
+            progress.duplicate = Long.parseLong(stored.getOrDefault("duplicate", "0"));
+            progress.exhausted = Long.parseLong(stored.getOrDefault("exhausted", "0"));
+            progress.invalid = Long.parseLong(stored.getOrDefault("invalid", "0"));
+            String pending = stored.get("pending");
+            if (pending != null && !pending.isEmpty()) {
+                progress.pending = Arrays.stream(pending.split(PENDING_SEPARATOR)).map(Long::valueOf).toList();
+            }
+            progress.error = stored.get("error");
+            progress.updatedAt = Long.parseLong(stored.getOrDefault("updatedAt", "0"));
+            return progress;
+        }
+
+        private Map<String, String> toHash() {
+            Map<String, String> hash = new HashMap<>();
+            hash.put("couponId", String.valueOf(couponId));
+            hash.put("status", status);
+            hash.put("processed", String.valueOf(processed));
+            hash.put("granted", String.valueOf(granted));
+            hash.put("duplicate", String.valueOf(duplicate));
+            hash.put("exhausted", String.valueOf(exhausted));
+            hash.put("invalid", String.valueOf(invalid));
+            hash.put("pending", pending.stream().map(String::valueOf).collect(Collectors.joining(PENDING_SEPARATOR)));
+            hash.put("error", error != null ? error : "");
+            hash.put("updatedAt", String.valueOf(updatedAt));
+            return hash;
+        }
+
+        private DistributionProgressResponse toResponse() {
+            return DistributionProgressResponse.builder()
+                .jobId(jobId)
+                .couponId(couponId)
+                .status(status)
+                .processed(processed)
+                .granted(granted)
+                .duplicate(duplicate)
+                .exhausted(exhausted)
+                .invalid(invalid)
+                .error(error == null || error.isEmpty() ? null : error)
+                .updatedAt(updatedAt)
+                .build();
+        }
+    }
+}
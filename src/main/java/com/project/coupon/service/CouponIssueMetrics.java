@@ -0,0 +1,203 @@
+package com.project.coupon.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 쿠폰 발급 경로 Micrometer 계측.
+ *
+ * <ul>
+ *   <li>coupon.issue.stage (Timer, tag stage) — 단계별 지연 시간, percentile histogram 포함</li>
+ *   <li>coupon.issue.outcome (Counter, tag coupon·result) — 요청당 한 번, 최종 결과 (success / 오류 코드 소문자 / error)</li>
+ *   <li>coupon.issue.rollback (Counter, tag coupon) — Redis 발급 성공 후 DB 저장·적재 큐 실패로 되돌린 건수 (결과는 outcome 에 따로 집계)</li>
+ *   <li>coupon.issue.lua (Counter, tag coupon·result) — 통합 발급 스크립트 결과 코드 (1, 0, -1, -2, -3)</li>
+ *   <li>coupon.stock.remaining (Gauge, tag coupon) — 최근 발급 요청이 있었던 쿠폰의 Redis 남은 재고</li>
+ * </ul>
+ * 발급 경로에서 미터 조회 비용이 없도록 단계 타이머는 미리 만들고, 쿠폰별 카운터는 맵에 캐시한다.
+ * 재고 게이지는 스크레이프 시 I/O 를 하지 않도록 주기적으로 갱신한 값을 노출한다.
+ */
+@Service
+public class CouponIssueMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponIssueMetrics.class);
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+    /** 존재하지 않는 쿠폰 ID 로 태그가 무한히 늘지 않도록 묶는 값 */
+    private static final String UNKNOWN_COUPON = "unknown";
+    private static final String COUPON_NOT_FOUND = "COUPON_NOT_FOUND";
+
+    /** 발급 경로 단계 */
+    public enum Stage {
+        /** 쿠폰 메타데이터 (near-cache → Redis → DB) */
+        METADATA,
+        /** JVM 로컬 rate limit */
+        RATE_LIMIT_LOCAL,
+        /** 대기열 입장 토큰 확인 */
+        QUEUE_ADMISSION,
+        /** 사용자 존재 확인 */
+        USER_LOOKUP,
+        /** 통합 발급 스크립트 (이벤트 활성·전역 rate limit·재고 시드·중복 체크·차감을 1 RTT 로 처리) */
+        LUA_ISSUE,
+        /** user_coupon DB 저장 */
+        DB_SAVE,
+        /** write-behind 적재 큐 저장 */
+        WRITE_BEHIND_ENQUEUE,
+        /** issueCoupon 전체 */
+        TOTAL
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final CouponRedisService couponRedisService;
+    private final long stockIdleMillis;
+
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<String, Map<String, Counter>> outcomeCounters = new ConcurrentHashMap<>();
+    private final Map<Long, Counter> rollbackCounters = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, Counter>> luaCounters = new ConcurrentHashMap<>();
+    private final Map<Long, TrackedStock> trackedStocks = new ConcurrentHashMap<>();
+
+    public CouponIssueMetrics(final MeterRegistry meterRegistry,
+                              final CouponRedisService couponRedisService,
+                              @Value("${coupon.metrics.stock-idle-ms:600000}") final long stockIdleMillis) {
+        this.meterRegistry = meterRegistry;
+        this.couponRedisService = couponRedisService;
+        this.stockIdleMillis = stockIdleMillis;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("coupon.issue.stage")
+                .description("쿠폰 발급 단계별 지연 시간")
+                .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(50_000))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 단계 소요 시간을 기록한다.
+     *
+     * @param stage     단계
+     * @param startNanos System.nanoTime() 으로 잰 시작 시각
+     */
+    public void recordStage(final Stage stage, final long startNanos) {
+        stageTimers.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 발급 최종 결과를 집계한다.
+     *
+     * @param couponId 쿠폰 ID
+     * @param result   OUTCOME_* 또는 BaseException 오류 코드
+     */
+    public void recordOutcome(final Long couponId, final String result) {
+        String coupon = COUPON_NOT_FOUND.equals(result) ? UNKNOWN_COUPON : String.valueOf(couponId);
+        String resultTag = result.toLowerCase(Locale.ROOT);
+        outcomeCounters.computeIfAbsent(coupon, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(resultTag, key -> Counter.builder("coupon.issue.outcome")
+                .description("쿠폰 발급 결과")
+                .tag("coupon", coupon)
+                .tag("result", resultTag)
+                .register(meterRegistry))
+            .increment();
+    }
+
+    /**
+     * Redis 발급 성공 후 DB 저장·적재 큐 실패로 발급을 되돌린 건을 집계한다.
+     * 해당 요청의 최종 결과는 예외를 잡는 쪽에서 recordOutcome 으로 한 번만 기록한다.
+     *
+     * @param couponId 쿠폰 ID
+     */
+    public void recordRollback(final Long couponId) {
+        rollbackCounters.computeIfAbsent(couponId, key -> Counter.builder("coupon.issue.rollback")
+                .description("Redis 발급 성공 후 저장 실패로 되돌린 발급")
+                .tag("coupon", String.valueOf(key))
+                .register(meterRegistry))
+            .increment();
+    }
+
+    /**
+     * 통합 발급 스크립트 결과 코드를 집계하고 쿠폰 재고 게이지를 추적 대상에 올린다.
+     *
+     * @param couponId 쿠폰 ID
+     * @param code     CouponRedisService.ISSUE_* 결과 코드
+     */
+    public void recordLuaResult(final Long couponId, final int code) {
+        String coupon = String.valueOf(couponId);
+        luaCounters.computeIfAbsent(coupon, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent((long) code, key -> Counter.builder("coupon.issue.lua")
+                .description("통합 발급 스크립트 결과 코드")
+                .tag("coupon", coupon)
+                .tag("result", String.valueOf(code))
+                .register(meterRegistry))
+            .increment();
+        trackStock(couponId);
+    }
+
+    /**
+     * 추적 중인 쿠폰의 남은 재고를 Redis 에서 읽어 게이지 값을 갱신한다.
+     * stock-idle-ms 동안 발급 요청이 없던 쿠폰은 게이지를 제거한다.
+     */
+    @Scheduled(fixedDelayString = "${coupon.metrics.stock-refresh-ms:5000}")
+    public void refreshStockGauges() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, TrackedStock> entry : trackedStocks.entrySet()) {
+            TrackedStock tracked = entry.getValue();
+            if (now - tracked.lastSeenMillis > stockIdleMillis) {
+                trackedStocks.remove(entry.getKey(), tracked);
+                meterRegistry.remove(tracked.gauge);
+                continue;
+            }
+            try {
+                tracked.remaining.set(couponRedisService.getRemainingStock(entry.getKey()));
+            } catch (RuntimeException e) {
+                log.warn("재고 게이지 갱신 실패. couponId: {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    private void trackStock(final Long couponId) {
+        TrackedStock tracked = trackedStocks.get(couponId);
+        if (tracked == null) {
+            tracked = trackedStocks.computeIfAbsent(couponId, this::newTrackedStock);
+        }
+        tracked.lastSeenMillis = System.currentTimeMillis();
+    }
+
+    private TrackedStock newTrackedStock(final Long couponId) {
+        AtomicLong remaining = new AtomicLong(-1L);
+        Gauge gauge = Gauge.builder("coupon.stock.remaining", remaining, AtomicLong::doubleValue)
+            .description("Redis 남은 재고 (-1 = 아직 조회 전)")
+            .tag("coupon", String.valueOf(couponId))
+            .register(meterRegistry);
+        return new TrackedStock(remaining, gauge);
+    }
+
+    private static final class TrackedStock {
+
+        private final AtomicLong remaining;
+        private final Gauge gauge;
+        private volatile long lastSeenMillis;
+
+        private TrackedStock(final AtomicLong remaining, final Gauge gauge) {
+            this.remaining = remaining;
+            this.gauge = gauge;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.project.coupon.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.coupon.dto.CouponSnapshot;
+
+/**
+ * 쿠폰 메타데이터 JVM 로컬 캐시 (Redis coupon:detail 앞단 near-cache).
+ * 크기·TTL 기반으로 제거되며, 관리자가 쿠폰·이벤트를 변경하면 Redis pub/sub 으로 전 노드에 무효화를 전파한다.
+ * 드롭 진행 중에는 메타데이터가 바뀌지 않으므로 발급 요청 대부분이 Redis 조회 없이 처리된다.
+ *
+ * <p>무효화 메시지 형식 (채널: coupon:cache:invalidate): coupon:{couponId} / event:{eventId}
+ */
+@Service
+public class CouponMetadataCache implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponMetadataCache.class);
+
+    private static final String INVALIDATE_CHANNEL = "coupon:cache:invalidate";
+    private static final String COUPON_MESSAGE_PREFIX = "coupon:";
+    private static final String EVENT_MESSAGE_PREFIX = "event:";
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final CouponRedisService couponRedisService;
+    private final Cache<Long, CouponSnapshot> cache;
+
+    public CouponMetadataCache(final RedisTemplate<String, String> stringRedisTemplate,
+                               final CouponRedisService couponRedisService,
+                               final RedisMessageListenerContainer redisMessageListenerContainer,
+                               @Value("${coupon.metadata-cache.maximum-size:10000}") final long maximumSize,
+                               @Value("${coupon.metadata-cache.ttl-seconds:60}") final long ttlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.couponRedisService = couponRedisService;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATE_CHANNEL));
+    }
+
+    /**
+     * 로컬 캐시에서 스냅샷을 조회하고, 없으면 loader 로 적재한다. 같은 키의 동시 적재는 한 번만 실행된다.
+     *
+     * @param couponId 쿠폰 ID
+     * @param loader   캐시 미스 시 적재 함수 (Redis coupon:detail → DB 순)
+     * @return 쿠폰 스냅샷
+     */
+    public CouponSnapshot get(final Long couponId, final Function<Long, CouponSnapshot> loader) {
+        return cache.get(couponId, loader);
+    }
+
+    /**
+     * 로컬 캐시에 있는 스냅샷만 조회한다.
+     *
+     * @param couponId 쿠폰 ID
+     * @return 스냅샷, 없으면 null
+     */
+    public CouponSnapshot getIfPresent(final Long couponId) {
+        return cache.getIfPresent(couponId);
+    }
+
+    /**
+     * 쿠폰 메타데이터 변경 시 호출한다. Redis coupon:detail 을 지우고 전 노드의 로컬 캐시를 무효화한다.
+     *
+     * @param couponId 쿠폰 ID
+     */
+    public void invalidateCoupon(final Long couponId) {
+        couponRedisService.deleteCouponDetail(couponId);
+        cache.invalidate(couponId);
+        publish(COUPON_MESSAGE_PREFIX + couponId);
+    }
+
+    /**
+     * 이벤트 변경 시 호출한다. 소속 쿠폰의 Redis coupon:detail 을 지우고 전 노드의 로컬 캐시를 무효화한다.
+     *
+     * @param eventId   이벤트 ID
+     * @param couponIds 이벤트 소속 쿠폰 ID 목록
+     */
+    public void invalidateEvent(final Long eventId, final Collection<Long> couponIds) {
+        couponIds.forEach(couponRedisService::deleteCouponDetail);
+        evictLocalEvent(eventId);
+        cache.invalidateAll(couponIds);
+        publish(EVENT_MESSAGE_PREFIX + eventId);
+    }
+
+    @Override
+    public void onMessage(final Message message, final byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (body.startsWith(COUPON_MESSAGE_PREFIX)) {
+                cache.invalidate(Long.valueOf(body.substring(COUPON_MESSAGE_PREFIX.length())));
+            } else if (body.startsWith(EVENT_MESSAGE_PREFIX)) {
+                evictLocalEvent(Long.valueOf(body.substring(EVENT_MESSAGE_PREFIX.length())));
+            } else {
+                log.warn("알 수 없는 캐시 무효화 메시지: {}", body);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("캐시 무효화 메시지 형식 오류: {}", body, e);
+        }
+    }
+
+    private void evictLocalEvent(final Long eventId) {
+        cache.asMap().values().removeIf(snapshot -> eventId.equals(snapshot.getEventId()));
+    }
+
+    private void publish(final String message) {
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, message);
+        } catch (RuntimeException e) {
+            // 다른 노드는 TTL 만료 후 갱신된다.
+            log.warn("캐시 무효화 브로드캐스트 실패. message: {}", message, e);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.project.coupon.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Service;
+
+import com.project.coupon.config.RateLimitProperties;
+import com.project.coupon.config.RateLimitProperties.Policy;
+import com.project.coupon.dto.RateLimitStatsResponse;
+
+/**
+ * 2단 rate limit 의 JVM 로컬 앞단.
+ * 이벤트·userId·IP 별 token bucket(용량 = 윈도우 내 최대 요청 수, 윈도우 동안 용량만큼 충전)으로
+ * 한 노드에서만 봐도 한도를 넘은 요청을 Redis 호출 전에 거절한다.
+ * 전역 한도는 Redis(rate:user / rate:ip, 통합 발급 스크립트)가 최종 판단한다.
+ *
+ * <p>버킷 키에 eventId 를 넣어 이벤트마다 그 이벤트 정책의 용량으로 버킷을 만든다.
+ * 유저·IP 버킷은 둘 다 토큰이 있을 때만 함께 꺼내므로, IP 한도로 거절된 요청이 유저 토큰을 쓰지 않는다.
+ * 버킷은 키 해시로 나눈 stripe 별 LRU 맵에 두고 stripe 단위로만 잠근다. (두 stripe 는 번호 순으로 잠가 교착을 막는다)
+ * 로컬·전역 거절 수를 누적한다.
+ */
+@Service
+public class CouponRateLimiter {
+
+    private static final int STRIPES = 64;
+    private static final String USER_KEY_PREFIX = "u:";
+    private static final String IP_KEY_PREFIX = "i:";
+    private static final String KEY_SEPARATOR = ":";
+
+    private final RateLimitProperties rateLimitProperties;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final LongAdder localRejected = new LongAdder();
+    private final LongAdder globalRejected = new LongAdder();
+
+    public CouponRateLimiter(final RateLimitProperties rateLimitProperties) {
+        this.rateLimitProperties = rateLimitProperties;
+        int maxKeysPerStripe = Math.max(1, rateLimitProperties.getLocalMaxKeys() / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(i, maxKeysPerStripe);
+        }
+    }
+
+    /**
+     * 이벤트에 적용할 rate limit 정책을 반환한다.
+     *
+     * @param eventId 이벤트 ID
+     * @return rate limit 정책
+     */
+    public Policy policyFor(final Long eventId) {
+        return rateLimitProperties.policyFor(eventId);
+    }
+
+    /**
+     * 로컬 token bucket 에서 이벤트의 userId·IP 토큰을 하나씩 꺼낸다. 둘 중 하나라도 비어 있으면 어느 쪽도 꺼내지 않는다. I/O 없음.
+     *
+     * @param eventId  이벤트 ID
+     * @param policy   이벤트에 적용할 정책 ({@link #policyFor})
+     * @param userId   유저 ID
+     * @param clientIp 클라이언트 IP (null/blank면 유저만 체크)
+     * @return 허용이면 true, 로컬 한도 초과면 false (로컬 거절로 집계)
+     */
+    public boolean tryAcquireLocal(final Long eventId, final Policy policy, final Long userId, final String clientIp) {
+        return tryAcquireLocal(eventId, policy, userId, clientIp, System.nanoTime());
+    }
+
+    boolean tryAcquireLocal(final Long eventId, final Policy policy, final Long userId, final String clientIp,
+                            final long nowNanos) {
+        if (!rateLimitProperties.isLocalEnabled()) {
+            return true;
+        }
+        String scope = eventId + KEY_SEPARATOR;
+        String userKey = USER_KEY_PREFIX + scope + userId;
+        boolean allowed = clientIp == null || clientIp.isBlank()
+            ? tryAcquire(userKey, policy, nowNanos)
+            : tryAcquireBoth(userKey, IP_KEY_PREFIX + scope + clientIp, policy, nowNanos);
+        if (!allowed) {
+            localRejected.increment();
+        }
+        return allowed;
+    }
+
+    /**
+     * Redis 전역 한도에서 거절된 요청을 집계한다.
+     */
+    public void recordGlobalRejection() {
+        globalRejected.increment();
+    }
+
+    /**
+     * 로컬·전역 거절 수를 반환한다.
+     *
+     * @return rate limit 통계
+     */
+    public RateLimitStatsResponse getStats() {
+        int buckets = 0;
+        for (Stripe stripe : stripes) {
+            buckets += stripe.size();
+        }
+        return RateLimitStatsResponse.builder()
+            .localRejected(localRejected.sum())
+            .globalRejected(globalRejected.sum())
+            .localBuckets(buckets)
+            .build();
+    }
+
+    private boolean tryAcquire(final String key, final Policy policy, final long nowNanos) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            TokenBucket bucket = stripe.bucket(key, policy, nowNanos);
+            bucket.refill(policy, nowNanos);
+            return bucket.tryTake();
+        }
+    }
+
+    private boolean tryAcquireBoth(final String userKey, final String ipKey, final Policy policy, final long nowNanos) {
+        Stripe userStripe = stripeFor(userKey);
+        Stripe ipStripe = stripeFor(ipKey);
+        Stripe first = userStripe.index <= ipStripe.index ? userStripe : ipStripe;
+        Stripe second = first == userStripe ? ipStripe : userStripe;
+        synchronized (first) {
+            synchronized (second) {
+                TokenBucket user = userStripe.bucket(userKey, policy, nowNanos);
+                TokenBucket ip = ipStripe.bucket(ipKey, policy, nowNanos);
+                user.refill(policy, nowNanos);
+                ip.refill(policy, nowNanos);
+                if (!user.hasToken() || !ip.hasToken()) {
+                    return false;
+                }
+                user.tryTake();
+                ip.tryTake();
+                return true;
+            }
+        }
+    }
+
+    private Stripe stripeFor(final String key) {
+        return stripes[Math.floorMod(key.hashCode(), STRIPES)];
+    }
+
+    /** 버킷 맵 한 조각. 접근 순서 LinkedHashMap 으로 오래 쓰이지 않은 키부터 제거한다. 맵 접근은 stripe 를 잠근 채로만 한다 */
+    private static final class Stripe {
+
+        private final int index;
+        private final Map<String, TokenBucket> buckets;
+
+        private Stripe(final int index, final int maxKeys) {
+            this.index = index;
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, TokenBucket> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+
+        private TokenBucket bucket(final String key, final Policy policy, final long nowNanos) {
+            TokenBucket bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = new TokenBucket(policy.getMaxRequests(), nowNanos);
+                buckets.put(key, bucket);
+            }
+            return bucket;
+        }
+
+        private synchronized int size() {
+            return buckets.size();
+        }
+    }
+
+    /** 용량 maxRequests, windowSeconds 동안 용량만큼 충전되는 token bucket. stripe lock 안에서만 접근 */
+    private static final class TokenBucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(final double tokens, final long nowNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = nowNanos;
+        }
+
+        private void refill(final Policy policy, final long nowNanos) {
+            double capacity = policy.getMaxRequests();
+            double refillPerNano = capacity / (policy.getWindowSeconds() * 1_000_000_000.0);
+            tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = nowNanos;
+        }
+
+        private boolean hasToken() {
+            return tokens >= 1.0;
+        }
+
+        private boolean tryTake() {
+            if (!hasToken()) {
+                return false;
+            }
+            tokens -= 1.0;
+            return true;
+        }
+    }
+}
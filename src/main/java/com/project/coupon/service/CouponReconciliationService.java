@@ -0,0 +1,413 @@
+package com.project.coupon.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.project.coupon.entity.Coupons;
+import com.project.coupon.repository.CouponsRepository;
+import com.project.coupon.repository.UserCouponRepository;
+import com.project.coupon.repository.UserCouponRepository.IssuedUserRow;
+import com.project.coupon.service.CouponRedisService.IssuedScanPage;
+import com.project.coupon.service.RedisScriptRegistry.LuaScript;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Redis 발급 데이터와 user_coupon 의 불일치(drift)를 점진적으로 찾는 정합성 점검 잡.
+ * rollbackIssue 자체가 실패하거나 Lua 성공 후 DB 저장 전에 프로세스가 죽으면 두 저장소가 어긋난다.
+ *
+ * <p>한 tick 에 한 쿠폰의 한 페이지(batch-size)만 처리해 Redis·DB 를 오래 점유하지 않는다.
+ * <ul>
+ *   <li>Redis → DB: 중복 방지 데이터를 샤드별 커서로 나눠 읽고(SSCAN / GETRANGE) user_coupon 을 IN 조회</li>
+ *   <li>DB → Redis: user_coupon 을 user_coupon_id keyset 페이지로 읽고 SISMEMBER / GETBIT 파이프라인으로 확인</li>
+ *   <li>쿠폰 한 바퀴가 끝나면 재고(남은 재고 + 발급 등록 수 - 총 수량)와 발급 수(Redis - DB) 차이를 게이지로 갱신</li>
+ * </ul>
+ * 발급 직후 DB 저장 전(또는 write-behind 적재 대기) 상태를 불일치로 보지 않도록, 한 번 발견된 건은
+ * grace-ms 가 지난 뒤 다음 바퀴에서 다시 발견될 때 확정한다. Redis 에만 있는 건은 write-behind 큐가 비어 있을 때만 확정한다.
+ * repair 가 켜져 있으면 확정 건을 복구한다. (Redis 에만 있음 → rollbackIssue, DB 에만 있음 → restoreIssued)
+ *
+ * <p>여러 인스턴스 중 reconcile:lock 을 가진 한 곳에서만 실행한다. 진행 상태는 인스턴스 메모리에 있으므로
+ * 락이 다른 인스턴스로 넘어가면 점검은 처음부터 다시 시작한다.
+ */
+@Service
+public class CouponReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponReconciliationService.class);
+
+    private static final String LOCK_KEY = "reconcile:lock";
+    /** 쿠폰·유형별로 들고 있는 미확정 건 상한 (대량 불일치 시 메모리 보호) */
+    private static final int MAX_SUSPECTS = 10_000;
+    /** 게이지 type: 남은 재고 + Redis 발급 등록 수 - 총 수량 */
+    private static final String STOCK = "STOCK";
+    /** 게이지 type: Redis 발급 등록 수 - user_coupon 행 수 */
+    private static final String ISSUED_COUNT = "ISSUED_COUNT";
+
+    /**
+     * Lua script: 점검 락 획득 또는 연장.
+     * KEYS[1]: lock key, ARGV[1]: 인스턴스 ID, ARGV[2]: TTL(ms)
+     * Return: 1 = 보유, 0 = 다른 인스턴스가 보유
+     */
+    private static final String LOCK_SCRIPT =
+        "local owner = redis.call('GET', KEYS[1]) "
+        + "if not owner then "
+        + "  redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) "
+        + "  return 1 "
+        + "end "
+        + "if owner == ARGV[1] then "
+        + "  redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+        + "  return 1 "
+        + "end "
+        + "return 0";
+
+    /** 불일치 유형 */
+    public enum DriftType {
+        /** Redis 에 발급 등록이 있지만 user_coupon 행이 없음 */
+        REDIS_ONLY,
+        /** user_coupon 행이 있지만 Redis 에 발급 등록이 없음 */
+        DB_ONLY
+    }
+
+    private final CouponsRepository couponsRepository;
+    private final UserCouponRepository userCouponRepository;
+    private final CouponRedisService couponRedisService;
+    private final UserCouponWriteBehindService userCouponWriteBehindService;
+    private final UserWalletService userWalletService;
+    private final RedisScriptRegistry redisScriptRegistry;
+    private final MeterRegistry meterRegistry;
+    private final LuaScript<Long> lockScript;
+
+    private final boolean enabled;
+    private final boolean repair;
+    private final int batchSize;
+    private final long graceMillis;
+    private final Duration lookback;
+    private final String lockTtlMillis;
+    private final String instanceId = "reconciler-" + UUID.randomUUID();
+
+    private final Map<DriftType, Counter> mismatchCounters = new EnumMap<>(DriftType.class);
+    private final Map<DriftType, Counter> repairedCounters = new EnumMap<>(DriftType.class);
+    private final Map<Long, CouponDrift> drifts = new ConcurrentHashMap<>();
+
+    /** 이번 바퀴에 남은 쿠폰 (스케줄러 스레드 전용) */
+    private final Deque<Coupons> pendingCoupons = new ArrayDeque<>();
+    private CouponProgress current;
+
+    public CouponReconciliationService(final CouponsRepository couponsRepository,
+                                       final UserCouponRepository userCouponRepository,
+                                       final CouponRedisService couponRedisService,
+                                       final UserCouponWriteBehindService userCouponWriteBehindService,
+                                       final UserWalletService userWalletService,
+                                       final RedisScriptRegistry redisScriptRegistry,
+                                       final MeterRegistry meterRegistry,
+                                       @Value("${coupon.reconcile.enabled:false}") final boolean enabled,
+                                       @Value("${coupon.reconcile.repair:false}") final boolean repair,
+                                       @Value("${coupon.reconcile.batch-size:200}") final int batchSize,
+                                       @Value("${coupon.reconcile.grace-ms:60000}") final long graceMillis,
+                                       @Value("${coupon.reconcile.lookback-hours:24}") final long lookbackHours,
+                                       @Value("${coupon.reconcile.interval-ms:1000}") final long intervalMillis) {
+        this.couponsRepository = couponsRepository;
+        this.userCouponRepository = userCouponRepository;
+        this.couponRedisService = couponRedisService;
+        this.userCouponWriteBehindService = userCouponWriteBehindService;
+        this.userWalletService = userWalletService;
+        this.redisScriptRegistry = redisScriptRegistry;
+        this.meterRegistry = meterRegistry;
+        this.lockScript = redisScriptRegistry.register("reconcile-lock", LOCK_SCRIPT, Long.class);
+        this.enabled = enabled;
+        this.repair = repair;
+        this.batchSize = batchSize;
+        this.graceMillis = graceMillis;
+        this.lookback = Duration.ofHours(lookbackHours);
+        this.lockTtlMillis = String.valueOf(Math.max(intervalMillis * 10, 10_000L));
+        for (DriftType type : DriftType.values()) {
+            String tag = type.name().toLowerCase(Locale.ROOT);
+            mismatchCounters.put(type, Counter.builder("coupon.reconcile.mismatch")
+                .description("확정된 Redis/DB 발급 불일치 건수")
+                .tag("type", tag)
+                .register(meterRegistry));
+            repairedCounters.put(type, Counter.builder("coupon.reconcile.repaired")
+                .description("정합성 점검이 복구한 건수")
+                .tag("type", tag)
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 점검을 한 걸음(한 페이지) 진행한다.
+     */
+    @Scheduled(fixedDelayString = "${coupon.reconcile.interval-ms:1000}")
+    public void reconcileStep() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!holdLock()) {
+                current = null;
+                pendingCoupons.clear();
+                return;
+            }
+            step();
+        } catch (RuntimeException e) {
+            log.warn("정합성 점검 실패, 다음 tick 에 이어서 진행. couponId: {}",
+                current != null ? current.couponId : null, e);
+        }
+    }
+
+    private boolean holdLock() {
+        Long held = redisScriptRegistry.execute(lockScript, List.of(LOCK_KEY), instanceId, lockTtlMillis);
+        return held != null && held == 1L;
+    }
+
+    private void step() {
+        if (current == null) {
+            current = nextCoupon();
+            if (current == null) {
+                return;
+            }
+        }
+        CouponProgress progress = current;
+        long now = System.currentTimeMillis();
+        if (!progress.redisDone) {
+            scanRedisPage(progress, now);
+        } else if (!progress.dbDone) {
+            scanDbPage(progress, now);
+        } else {
+            finish(progress);
+            current = null;
+        }
+    }
+
+    private CouponProgress nextCoupon() {
+        if (pendingCoupons.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Coupons> coupons = couponsRepository.findAllWithEventActiveBetween(now.minus(lookback), now);
+            pendingCoupons.addAll(coupons);
+            Set<Long> activeIds = new HashSet<>();
+            coupons.forEach(coupon -> activeIds.add(coupon.getCouponId()));
+            for (Map.Entry<Long, CouponDrift> entry : drifts.entrySet()) {
+                if (!activeIds.contains(entry.getKey())) {
+                    drifts.remove(entry.getKey());
+                    entry.getValue().gauges.values().forEach(meterRegistry::remove);
+                }
+            }
+        }
+        Coupons coupon = pendingCoupons.poll();
+        if (coupon == null) {
+            return null;
+        }
+        return new CouponProgress(coupon.getCouponId(), coupon.getCouponTotalCount(),
+            couponRedisService.getStockShardCount(coupon.getCouponId()));
+    }
+
+    /** Redis → DB: 중복 방지 데이터 한 페이지를 읽어 user_coupon 에 없는 유저를 찾는다. */
+    private void scanRedisPage(final CouponProgress progress, final long now) {
+        IssuedScanPage page = couponRedisService.scanIssuedUsers(
+            progress.couponId, progress.shard, progress.cursor, batchSize);
+        List<Long> userIds = page.getUserIds();
+        if (!userIds.isEmpty()) {
+            Set<Long> persisted = new HashSet<>(userCouponRepository.findIssuedUserIds(progress.couponId, userIds));
+            List<Long> missing = new ArrayList<>();
+            for (Long userId : userIds) {
+                if (!persisted.contains(userId)) {
+                    missing.add(userId);
+                }
+            }
+            if (!missing.isEmpty()) {
+                // write-behind 큐에 남은 건은 아직 DB 반영 전이므로 큐가 빌 때까지 확정하지 않는다.
+                boolean confirmable = userCouponWriteBehindService.getBacklog() == 0L;
+                onMismatch(progress, DriftType.REDIS_ONLY, missing, now, confirmable);
+            }
+        }
+        if (page.isFinished()) {
+            progress.shard++;
+            progress.cursor = CouponRedisService.SCAN_CURSOR_START;
+            progress.redisDone = progress.shard >= progress.shardCount;
+        } else {
+            progress.cursor = page.getNextCursor();
+        }
+    }
+
+    /** DB → Redis: user_coupon keyset 페이지를 읽어 Redis 에 발급 등록이 없는 유저를 찾는다. */
+    private void scanDbPage(final CouponProgress progress, final long now) {
+        List<IssuedUserRow> rows = userCouponRepository.findIssuedUsersAfter(
+            progress.couponId, progress.lastUserCouponId, PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) {
+            progress.dbDone = true;
+            return;
+        }
+        List<Long> userIds = new ArrayList<>(rows.size());
+        for (IssuedUserRow row : rows) {
+            userIds.add(row.getUserId());
+        }
+        List<Long> missing = couponRedisService.findNotIssued(progress.couponId, userIds);
+        if (!missing.isEmpty()) {
+            onMismatch(progress, DriftType.DB_ONLY, missing, now, true);
+        }
+        progress.lastUserCouponId = rows.get(rows.size() - 1).getUserCouponId();
+        progress.dbDone = rows.size() < batchSize;
+    }
+
+    /**
+     * 불일치 후보를 처리한다. 처음 발견된 건은 후보로만 기록하고,
+     * 이전 바퀴부터 grace-ms 이상 계속 발견된 건은 확정해 집계·복구한다.
+     */
+    private void onMismatch(final CouponProgress progress, final DriftType type, final List<Long> userIds,
+                            final long now, final boolean confirmable) {
+        CouponDrift drift = drift(progress.couponId);
+        Map<Long, Suspect> previous = drift.suspects.get(type);
+        Map<Long, Suspect> found = progress.found.get(type);
+        for (Long userId : userIds) {
+            Suspect suspect = previous.get(userId);
+            if (suspect == null) {
+                suspect = found.get(userId);
+            }
+            if (suspect == null) {
+                suspect = new Suspect(now);
+            }
+            if (confirmable && now - suspect.firstSeenMillis >= graceMillis) {
+                if (!suspect.reported) {
+                    suspect.reported = true;
+                    mismatchCounters.get(type).increment();
+                    log.warn("Redis/DB 발급 불일치 확정. type: {}, couponId: {}, userId: {}",
+                        type, progress.couponId, userId);
+                }
+                if (repair && repair(type, progress.couponId, userId)) {
+                    continue;
+                }
+            }
+            if (found.size() < MAX_SUSPECTS) {
+                found.put(userId, suspect);
+            }
+        }
+    }
+
+    private boolean repair(final DriftType type, final Long couponId, final Long userId) {
+        try {
+            if (type == DriftType.REDIS_ONLY) {
+                couponRedisService.rollbackIssue(couponId, userId);
+                userWalletService.removeIssued(userId, couponId);
+            } else if (!couponRedisService.restoreIssued(couponId, userId)) {
+                return true;
+            }
+            repairedCounters.get(type).increment();
+            log.info("Redis/DB 발급 불일치 복구. type: {}, couponId: {}, userId: {}", type, couponId, userId);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Redis/DB 발급 불일치 복구 실패. type: {}, couponId: {}, userId: {}", type, couponId, userId, e);
+            return false;
+        }
+    }
+
+    /**
+     * 쿠폰 한 바퀴를 마무리한다. 이번 바퀴에 다시 발견되지 않은 후보는 해소된 것으로 보고 버리고,
+     * 확정 건수와 재고·발급 수 차이를 게이지에 반영한다.
+     */
+    private void finish(final CouponProgress progress) {
+        CouponDrift drift = drift(progress.couponId);
+        for (DriftType type : DriftType.values()) {
+            Map<Long, Suspect> found = progress.found.get(type);
+            drift.suspects.put(type, found);
+            long confirmed = found.values().stream().filter(suspect -> suspect.reported).count();
+            drift.values.get(type.name()).set(confirmed);
+        }
+        long remaining = couponRedisService.getRemainingStock(progress.couponId);
+        long issued = couponRedisService.countIssued(progress.couponId);
+        long persisted = userCouponRepository.countByCoupon_CouponId(progress.couponId);
+        long stockDrift = progress.totalCount != null ? remaining + issued - progress.totalCount : 0L;
+        drift.values.get(STOCK).set(stockDrift);
+        drift.values.get(ISSUED_COUNT).set(issued - persisted);
+        if (stockDrift != 0L) {
+            log.warn("재고 불일치. couponId: {}, remaining: {}, issued: {}, total: {}",
+                progress.couponId, remaining, issued, progress.totalCount);
+        }
+    }
+
+    private CouponDrift drift(final Long couponId) {
+        return drifts.computeIfAbsent(couponId, this::newDrift);
+    }
+
+    private CouponDrift newDrift(final Long couponId) {
+        CouponDrift drift = new CouponDrift();
+        List<String> types = List.of(DriftType.REDIS_ONLY.name(), DriftType.DB_ONLY.name(), STOCK, ISSUED_COUNT);
+        for (String type : types) {
+            AtomicLong value = new AtomicLong();
+            drift.values.put(type, value);
+            drift.gauges.put(type, Gauge.builder("coupon.reconcile.drift", value, AtomicLong::doubleValue)
+                .description("최근 점검 바퀴의 Redis/DB 불일치 (발급 건수 또는 재고 차이)")
+                .tag("coupon", String.valueOf(couponId))
+                .tag("type", type.toLowerCase(Locale.ROOT))
+                .register(meterRegistry));
+        }
+        return drift;
+    }
+
+    /** 쿠폰별 확정·미확정 불일치와 게이지 */
+    private static final class CouponDrift {
+
+        private final Map<DriftType, Map<Long, Suspect>> suspects = new EnumMap<>(DriftType.class);
+        private final Map<String, AtomicLong> values = new HashMap<>();
+        private final Map<String, Gauge> gauges = new HashMap<>();
+
+        private CouponDrift() {
+            for (DriftType type : DriftType.values()) {
+                suspects.put(type, new HashMap<>());
+            }
+        }
+    }
+
+    /** 불일치 후보 한 건 */
+    private static final class Suspect {
+
+        private final long firstSeenMillis;
+        private boolean reported;
+
+        private Suspect(final long firstSeenMillis) {
+            this.firstSeenMillis = firstSeenMillis;
+        }
+    }
+
+    /** 점검 중인 쿠폰의 진행 위치 */
+    private static final class CouponProgress {
+
+        private final Long couponId;
+        private final Integer totalCount;
+        private final int shardCount;
+        private final Map<DriftType, Map<Long, Suspect>> found = new EnumMap<>(DriftType.class);
+        private int shard;
+        private String cursor = CouponRedisService.SCAN_CURSOR_START;
+        private boolean redisDone;
+        private long lastUserCouponId;
+        private boolean dbDone;
+
+        private CouponProgress(final Long couponId, final Integer totalCount, final int shardCount) {
+            this.couponId = couponId;
+            this.totalCount = totalCount;
+            this.shardCount = shardCount;
+            for (DriftType type : DriftType.values()) {
+                found.put(type, new HashMap<>());
+            }
+        }
+    }
+}
@@ -1,27 +1,58 @@
 package com.project.coupon.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.coupon.config.RateLimitProperties.Policy;
+import com.project.coupon.exception.InvalidRequestException;
 import com.project.coupon.exception.RedisConnectionException;
-
-import lombok.RequiredArgsConstructor;
+import com.project.coupon.service.RedisScriptRegistry.LuaScript;
 
 /**
  * 쿠폰 발급의 선착순·중복 방지를 위한 Redis 연산 서비스.
  * Lua 스크립트로 중복 체크·재고 차감·발급 등록을 원자적으로 수행한다.
  * redis.mdc: event:active, rate:user/ip, coupon:detail, coupon:active 지원.
+ * 모든 Lua 스크립트는 RedisScriptRegistry 에 등록해 EVALSHA 로 실행한다.
+ *
+ * <p>쿠폰 키는 쿠폰 ID 를 해시 태그로 감싼다(coupon:{id}:stock, coupon:{id}:issued_users 등).
+ * 한 쿠폰의 재고·중복 방지·레이아웃 키는 Redis Cluster 에서 같은 슬롯에 있어 한 스크립트로 다룰 수 있고,
+ * 쿠폰마다 슬롯이 달라 발급 부하가 노드에 나뉜다. 이벤트 활성·rate limit 키는 쿠폰과 슬롯이 달라
+ * 클러스터 모드에서는 통합 스크립트 대신 확인 → 쿠폰 슬롯 스크립트 순으로 나눠 실행한다.
+ *
+ * <p>인기 쿠폰은 재고를 N 개 샤드(coupon:{id:n}:stock, coupon:{id:n}:issued_users)로 나눌 수 있다.
+ * 샤드마다 해시 태그가 달라 클러스터에서는 한 쿠폰의 샤드가 여러 슬롯(노드)에 나뉘고, 한 샤드의 재고·중복 방지 키는 같은 슬롯에 있다.
+ * 유저는 userId 해시로 정해진 홈 샤드에서 중복 체크·차감하고, 홈 샤드 재고가 비면 다른 샤드 재고를 가져온다.
+ *
+ * <p>중복 방지는 쿠폰별로 Set(issued_users, 기본) 또는 비트맵(issued_bits, SETBIT/GETBIT on userId)을 선택할 수 있다.
+ * 사용자 ID 가 밀집 Long 이므로 수신자가 많은 쿠폰은 비트맵이 유저당 1bit 로 훨씬 작다.
  */
 @Service
-@RequiredArgsConstructor
 public class CouponRedisService {
 
-    private static final String STOCK_KEY_PREFIX = "coupon:";
+    private static final String STOCK_KEY_PREFIX = "coupon:{";
+    /** 해시 태그 끝. 태그 안의 쿠폰 ID(샤드 키는 쿠폰 ID·샤드 번호)로만 슬롯이 정해진다 */
+    private static final String STOCK_KEY_TAG_END = "}";
+    /** 해시 태그 도입 전 키 접두사 (coupon:{id}:stock 이전의 coupon:id:stock). 이전 전용 */
+    private static final String LEGACY_KEY_PREFIX = "coupon:";
     private static final String STOCK_KEY_SUFFIX = ":stock";
     private static final String ISSUED_USERS_KEY_SUFFIX = ":issued_users";
+    private static final String ISSUED_BITS_KEY_SUFFIX = ":issued_bits";
+    private static final String STOCK_SHARDS_KEY_SUFFIX = ":stock_shards";
+    private static final String ISSUED_MODE_KEY_SUFFIX = ":issued_mode";
     private static final String EVENT_ACTIVE_KEY_PREFIX = "event:";
     private static final String EVENT_ACTIVE_SUFFIX = ":active";
     private static final String RATE_USER_PREFIX = "rate:user:";
@@ -29,50 +60,633 @@ public class CouponRedisService {
     private static final String COUPON_DETAIL_KEY_PREFIX = "coupon:detail:";
     private static final String COUPON_ACTIVE_KEY_PREFIX = "coupon:active:";
 
-    /** Rate limit: 윈도우(초), redis.mdc 3.4 */
-    private static final long RATE_LIMIT_WINDOW_SECONDS = 60L;
-    /** Rate limit: 윈도우 내 최대 요청 수 */
-    private static final int RATE_LIMIT_MAX_REQUESTS = 10;
+    /** Rate limit 기본 정책: 60초 윈도우, 10회 (redis.mdc 3.4). 이벤트별 정책은 RateLimitProperties */
+    private static final Policy DEFAULT_RATE_LIMIT = new Policy(60L, 10);
+
+    /** 쿠폰당 최대 재고 샤드 수 */
+    public static final int MAX_STOCK_SHARDS = 64;
+    /** 샤드 레이아웃 로컬 캐시 TTL. 재초기화로 샤드 수가 바뀌면 이 시간 안에 전 노드가 수렴한다 */
+    private static final Duration STOCK_LAYOUT_CACHE_TTL = Duration.ofSeconds(5);
+    /** Redis 비트맵 최대 offset (2^32 - 1) */
+    private static final long MAX_BIT_OFFSET = (1L << 32) - 1;
 
     /**
-     * Lua script: 중복 체크 → 재고 DECR → 실패 시 롤백, 성공 시 SADD.
-     * KEYS[1]: issued_users key, KEYS[2]: stock key, ARGV[1]: userId
-     * Return: 1 = 발급 성공, 0 = 재고 소진, -1 = 이미 발급됨
+     * Lua 공통 함수: 중복 방지 자료구조 조회·등록. bitmap 이 '1' 이면 GETBIT/SETBIT, 아니면 SISMEMBER/SADD.
+     */
+    private static final String ISSUED_FUNCTIONS =
+        "local function isIssued(key, member, bitmap) "
+        + "  if bitmap == '1' then return redis.call('GETBIT', key, member) == 1 end "
+        + "  return redis.call('SISMEMBER', key, member) == 1 "
+        + "end "
+        + "local function markIssued(key, member, bitmap) "
+        + "  if bitmap == '1' then redis.call('SETBIT', key, member, 1) "
+        + "  else redis.call('SADD', key, member) end "
+        + "end ";
+
+    /**
+     * Lua script: 중복 체크 → 재고 DECR → 실패 시 롤백, 성공 시 발급 등록.
+     * KEYS[1]: issued key (Set 또는 비트맵), KEYS[2]: stock key,
+     * ARGV[1]: 중복 방지 멤버 (Set 이면 userId, 비트맵이면 bit offset),
+     * ARGV[2]: '1' 이면 재고 부족 시에도 자리를 예약 (샤드 모드), ARGV[3]: '1' 이면 비트맵 (ARGV[2], ARGV[3] 생략 가능)
+     * Return: 1 = 발급 성공, 0 = 재고 소진, -1 = 이미 발급됨, -4 = 샤드 재고 소진·자리 예약됨
      */
     private static final String COUPON_ISSUE_SCRIPT =
-        "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then "
+        ISSUED_FUNCTIONS
+        + "if isIssued(KEYS[1], ARGV[1], ARGV[3]) then "
         + "  return -1 "
         + "end "
         + "local remaining = redis.call('DECR', KEYS[2]) "
         + "if remaining < 0 then "
         + "  redis.call('INCR', KEYS[2]) "
+        + "  if ARGV[2] == '1' then "
+        + "    markIssued(KEYS[1], ARGV[1], ARGV[3]) "
+        + "    return -4 "
+        + "  end "
         + "  return 0 "
         + "end "
-        + "redis.call('SADD', KEYS[1], ARGV[1]) "
+        + "markIssued(KEYS[1], ARGV[1], ARGV[3]) "
         + "return 1";
 
+    /**
+     * Lua 공통 함수: 쿠폰 슬롯 발급. 재고 NX 시드 → 중복 체크 → 재고 DECR → 발급 등록. 두 키는 같은 해시 태그(쿠폰 또는 샤드)를 쓴다.
+     * seed 가 음수면 시드 생략, reserve 가 '1' 이면 재고 부족 시에도 자리를 예약하고 {-4, 0} 반환 (샤드 모드)
+     * Return: {결과 코드, 남은 재고}
+     */
+    private static final String ISSUE_SLOT_FUNCTION =
+        "local function issueSlot(stockKey, issuedKey, member, seed, reserve, bitmap) "
+        + "  if tonumber(seed) >= 0 then "
+        + "    redis.call('SET', stockKey, seed, 'NX') "
+        + "  end "
+        + "  if isIssued(issuedKey, member, bitmap) then "
+        + "    return {-1, tonumber(redis.call('GET', stockKey) or '0')} "
+        + "  end "
+        + "  local remaining = redis.call('DECR', stockKey) "
+        + "  if remaining < 0 then "
+        + "    redis.call('INCR', stockKey) "
+        + "    if reserve == '1' then "
+        + "      markIssued(issuedKey, member, bitmap) "
+        + "      return {-4, 0} "
+        + "    end "
+        + "    return {0, 0} "
+        + "  end "
+        + "  markIssued(issuedKey, member, bitmap) "
+        + "  return {1, remaining} "
+        + "end ";
+
+    /**
+     * Lua script: 발급 1회에 필요한 Redis 검사를 한 번의 왕복으로 처리한다.
+     * 이벤트 활성 → 유저/IP rate limit → 재고 NX 시드 → 중복 체크 → 재고 DECR → SADD.
+     * KEYS[1]: event active key, KEYS[2]: rate user key, KEYS[3]: rate ip key,
+     * KEYS[4]: stock key, KEYS[5]: issued key (Set 또는 비트맵)
+     * ARGV[1]: 중복 방지 멤버 (Set 이면 userId, 비트맵이면 bit offset), ARGV[2]: rate 윈도우(초),
+     * ARGV[3]: 윈도우 내 최대 요청 수, ARGV[4]: 재고 시드 값(음수면 시드 생략), ARGV[5]: '1' 이면 IP rate limit 적용,
+     * ARGV[6]: '1' 이면 재고 부족 시에도 자리를 예약하고 {-4, 0} 반환 (샤드 모드), ARGV[7]: '1' 이면 비트맵
+     * Return: {결과 코드, 남은 재고}. 결과 코드는 ISSUE_* 상수 참고 (남은 재고 -1 = 미확인)
+     * 키 슬롯이 서로 달라 단일 Redis(비클러스터)에서만 사용한다.
+     */
+    private static final String COUPON_ISSUE_ATOMIC_SCRIPT =
+        ISSUED_FUNCTIONS
+        + ISSUE_SLOT_FUNCTION
+        + "if redis.call('EXISTS', KEYS[1]) == 0 then "
+        + "  return {-2, -1} "
+        + "end "
+        + "local userCount = redis.call('INCR', KEYS[2]) "
+        + "if userCount == 1 then redis.call('EXPIRE', KEYS[2], ARGV[2]) end "
+        + "if userCount > tonumber(ARGV[3]) then "
+        + "  return {-3, -1} "
+        + "end "
+        + "if ARGV[5] == '1' then "
+        + "  local ipCount = redis.call('INCR', KEYS[3]) "
+        + "  if ipCount == 1 then redis.call('EXPIRE', KEYS[3], ARGV[2]) end "
+        + "  if ipCount > tonumber(ARGV[3]) then "
+        + "    return {-3, -1} "
+        + "  end "
+        + "end "
+        + "return issueSlot(KEYS[4], KEYS[5], ARGV[1], ARGV[4], ARGV[6], ARGV[7])";
+
+    /**
+     * Lua script: 클러스터 모드 발급의 쿠폰 슬롯 단계. 이벤트 활성·rate limit 확인 후 실행한다.
+     * KEYS[1]: stock key, KEYS[2]: issued key (같은 해시 태그)
+     * ARGV[1]: 중복 방지 멤버, ARGV[2]: 재고 시드 값(음수면 시드 생략), ARGV[3]: '1' 이면 샤드 모드 자리 예약, ARGV[4]: '1' 이면 비트맵
+     * Return: {결과 코드, 남은 재고}
+     */
+    private static final String COUPON_ISSUE_SLOT_SCRIPT =
+        ISSUED_FUNCTIONS
+        + ISSUE_SLOT_FUNCTION
+        + "return issueSlot(KEYS[1], KEYS[2], ARGV[1], ARGV[2], ARGV[3], ARGV[4])";
+
+    /**
+     * Lua script: 해시 태그 도입 전 키를 새 이름으로 옮긴다. 단일 Redis 에서만 실행한다. (이전 키끼리 슬롯이 다르다)
+     * KEYS: {이전 키, 새 키} 쌍 목록. 이전 키가 있는 쌍 중 새 키도 이미 있는 쌍이 하나라도 있으면
+     * 아무것도 옮기지 않는다. (새 레이아웃 데이터를 덮어쓰지 않도록 쿠폰 단위로 전부 옮기거나 전부 남긴다)
+     * Return: 옮긴 키 수, 충돌이면 -(충돌 키 수)
+     */
+    private static final String LEGACY_KEY_MIGRATE_SCRIPT =
+        "local conflicts = 0 "
+        + "for i = 1, #KEYS, 2 do "
+        + "  if redis.call('EXISTS', KEYS[i]) == 1 and redis.call('EXISTS', KEYS[i + 1]) == 1 then "
+        + "    conflicts = conflicts + 1 "
+        + "  end "
+        + "end "
+        + "if conflicts > 0 then return -conflicts end "
+        + "local moved = 0 "
+        + "for i = 1, #KEYS, 2 do "
+        + "  if redis.call('EXISTS', KEYS[i]) == 1 then "
+        + "    moved = moved + redis.call('RENAMENX', KEYS[i], KEYS[i + 1]) "
+        + "  end "
+        + "end "
+        + "return moved";
+
+    /** 통합 발급 스크립트 결과: 발급 성공 */
+    public static final int ISSUE_SUCCESS = 1;
+    /** 통합 발급 스크립트 결과: 재고 소진 */
+    public static final int ISSUE_EXHAUSTED = 0;
+    /** 통합 발급 스크립트 결과: 이미 발급됨 */
+    public static final int ISSUE_DUPLICATE = -1;
+    /** 통합 발급 스크립트 결과: 이벤트 비활성 (event:{eventId}:active 없음) */
+    public static final int ISSUE_EVENT_INACTIVE = -2;
+    /** 통합 발급 스크립트 결과: rate limit 초과 */
+    public static final int ISSUE_RATE_LIMITED = -3;
+    /** 스크립트 내부 결과: 홈 샤드 재고 소진, 중복 방지 자리만 예약됨 (다른 샤드로 failover) */
+    private static final int ISSUE_SHARD_EMPTY = -4;
+
+    /**
+     * Lua script: 재고 샤드 하나에서 1 차감. 샤드 failover 용.
+     * KEYS[1]: stock shard key
+     * Return: 차감 후 남은 재고, 재고 없으면 -1
+     */
+    private static final String STOCK_TAKE_SCRIPT =
+        "local remaining = redis.call('DECR', KEYS[1]) "
+        + "if remaining < 0 then "
+        + "  redis.call('INCR', KEYS[1]) "
+        + "  return -1 "
+        + "end "
+        + "return remaining";
+
     /** Rate limit: INCR + 최초 시 EXPIRE. KEYS[1]: rate key, ARGV[1]: TTL(초) */
     private static final String RATE_INCR_SCRIPT =
         "local v = redis.call('INCR', KEYS[1]) "
         + "if v == 1 then redis.call('EXPIRE', KEYS[1], ARGV[1]) end "
         + "return v";
 
+    /**
+     * Lua script: DB 에만 있는 발급 건의 Redis 상태 복구 (정합성 점검 repair).
+     * 아직 발급 등록이 없으면 등록하고 재고가 남아 있을 때만 1 차감한다.
+     * KEYS[1]: issued key, KEYS[2]: stock key, ARGV[1]: 중복 방지 멤버, ARGV[2]: '1' 이면 비트맵
+     * Return: 1 = 복구함, 0 = 이미 등록돼 있음
+     */
+    private static final String RESTORE_ISSUED_SCRIPT =
+        ISSUED_FUNCTIONS
+        + "if isIssued(KEYS[1], ARGV[1], ARGV[2]) then return 0 end "
+        + "markIssued(KEYS[1], ARGV[1], ARGV[2]) "
+        + "local stock = tonumber(redis.call('GET', KEYS[2]) or '0') "
+        + "if stock > 0 then redis.call('DECR', KEYS[2]) end "
+        + "return 1";
+
+    /**
+     * Lua script: 지정 유저 목록에 쿠폰 일괄 지급 (대량 배포). 유저별로 중복 체크 → 재고 차감 → 발급 등록.
+     * 재고는 KEYS[2] 부터 순서대로 남은 키에서 가져온다. (샤드 모드면 홈 샤드 먼저, 이후 다른 샤드. 클러스터에서는 홈 샤드만)
+     * KEYS[1]: issued key, KEYS[2..]: stock keys, ARGV[1]: '1' 이면 비트맵, ARGV[2..]: 중복 방지 멤버
+     * Return: 유저별 결과 목록 (1 = 지급, 0 = 재고 소진, -1 = 이미 발급됨)
+     */
+    private static final String COUPON_GRANT_SCRIPT =
+        ISSUED_FUNCTIONS
+        + "local results = {} "
+        + "local s = 2 "
+        + "for i = 2, #ARGV do "
+        + "  local member = ARGV[i] "
+        + "  if isIssued(KEYS[1], member, ARGV[1]) then "
+        + "    results[#results + 1] = -1 "
+        + "  else "
+        + "    local taken = false "
+        + "    while s <= #KEYS do "
+        + "      if tonumber(redis.call('GET', KEYS[s]) or '0') > 0 then "
+        + "        redis.call('DECR', KEYS[s]) "
+        + "        taken = true "
+        + "        break "
+        + "      end "
+        + "      s = s + 1 "
+        + "    end "
+        + "    if taken then "
+        + "      markIssued(KEYS[1], member, ARGV[1]) "
+        + "      results[#results + 1] = 1 "
+        + "    else "
+        + "      results[#results + 1] = 0 "
+        + "    end "
+        + "  end "
+        + "end "
+        + "return results";
+
+    /** 비트맵 스캔 시 GETRANGE 한 번에 읽는 바이트 수 (32,768 offset) */
+    private static final int BITMAP_SCAN_CHUNK_BYTES = 4096;
+    /** 스캔 시작·종료 커서 (SSCAN 과 같은 규약) */
+    public static final String SCAN_CURSOR_START = "0";
+
     private final RedisTemplate<String, String> stringRedisTemplate;
+    private final RedisScriptRegistry redisScriptRegistry;
+    private final CouponSoldOutRegistry couponSoldOutRegistry;
+    private final LuaScript<Long> couponIssueScript;
+    private final LuaScript<List<Long>> couponIssueAtomicScript;
+    private final LuaScript<List<Long>> couponIssueSlotScript;
+    private final LuaScript<Long> legacyKeyMigrateScript;
+    private final LuaScript<Long> rateIncrScript;
+    private final LuaScript<Long> stockTakeScript;
+    private final LuaScript<Long> restoreIssuedScript;
+    private final LuaScript<List<Long>> couponGrantScript;
+    /** Redis Cluster 연결 여부. 슬롯이 다른 키를 한 스크립트·다중 키 명령으로 묶지 않는다 */
+    private final boolean clusterMode;
+    /** couponId → 재고 샤드 수·중복 방지 방식 */
+    private final Cache<Long, StockLayout> stockLayouts = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .expireAfterWrite(STOCK_LAYOUT_CACHE_TTL)
+        .build();
+
+    @SuppressWarnings("unchecked")
+    public CouponRedisService(final RedisTemplate<String, String> stringRedisTemplate,
+                              final RedisScriptRegistry redisScriptRegistry,
+                              final CouponSoldOutRegistry couponSoldOutRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisScriptRegistry = redisScriptRegistry;
+        this.couponSoldOutRegistry = couponSoldOutRegistry;
+        this.couponIssueScript = redisScriptRegistry.register("coupon-issue", COUPON_ISSUE_SCRIPT, Long.class);
+        this.couponIssueAtomicScript = redisScriptRegistry.register("coupon-issue-atomic",
+            COUPON_ISSUE_ATOMIC_SCRIPT, (Class<List<Long>>) (Class<?>) List.class);
+        this.couponIssueSlotScript = redisScriptRegistry.register("coupon-issue-slot",
+            COUPON_ISSUE_SLOT_SCRIPT, (Class<List<Long>>) (Class<?>) List.class);
+        this.legacyKeyMigrateScript = redisScriptRegistry.register("legacy-key-migrate",
+            LEGACY_KEY_MIGRATE_SCRIPT, Long.class);
+        this.clusterMode = RedisScriptRegistry.isCluster(stringRedisTemplate);
+        this.rateIncrScript = redisScriptRegistry.register("rate-incr", RATE_INCR_SCRIPT, Long.class);
+        this.stockTakeScript = redisScriptRegistry.register("stock-take", STOCK_TAKE_SCRIPT, Long.class);
+        this.restoreIssuedScript = redisScriptRegistry.register("restore-issued", RESTORE_ISSUED_SCRIPT, Long.class);
+        this.couponGrantScript = redisScriptRegistry.register("coupon-grant",
+            COUPON_GRANT_SCRIPT, (Class<List<Long>>) (Class<?>) List.class);
+    }
 
     /**
      * 쿠폰이 열릴 때(이벤트 시작 등) Redis에 초기 재고를 저장한다.
-     * DB의 coupon_total_count(초기 개수)를 그대로 세팅할 때 사용.
+     * DB의 coupon_total_count(초기 개수)를 그대로 세팅할 때 사용. 재고가 돌아오므로 sold-out 플래그를 해제한다.
      *
      * @param couponId   쿠폰 ID
      * @param totalCount 초기 재고 수 (coupon_total_count)
      */
     public void initializeStock(final Long couponId, final int totalCount) {
-        String key = stockKey(couponId);
+        initializeStock(couponId, totalCount, 1, IssuedUsersMode.SET);
+    }
+
+    /**
+     * 초기 재고를 shardCount 개 샤드로 나눠 저장하고 중복 방지 방식을 정한다.
+     * shardCount 가 1 이면 단일 키(coupon:{id}:stock)를 사용한다. 나머지는 앞쪽 샤드에 1개씩 더 배분한다.
+     * 재고 값과 레이아웃 키는 MSET 한 번으로 세팅하고, 이전 레이아웃에서 쓰던 재고 키는 삭제한다.
+     * 중복 방지 데이터도 레이아웃을 따르므로 레이아웃은 발급 시작 전에 정해야 한다.
+     *
+     * @param couponId        쿠폰 ID
+     * @param totalCount      초기 재고 수 (coupon_total_count)
+     * @param shardCount      재고 샤드 수 (1 ~ MAX_STOCK_SHARDS)
+     * @param issuedUsersMode 중복 방지 방식 (SET / BITMAP)
+     * @throws InvalidRequestException 샤드 수가 범위를 벗어날 때
+     */
+    public void initializeStock(final Long couponId, final int totalCount, final int shardCount,
+                                final IssuedUsersMode issuedUsersMode) {
+        if (shardCount < 1 || shardCount > MAX_STOCK_SHARDS) {
+            throw new InvalidRequestException("stockShards", shardCount);
+        }
+        try {
+            int previousShardCount = loadStockLayout(couponId).shardCount;
+            Map<String, String> values = new HashMap<>();
+            List<String> staleKeys = new ArrayList<>();
+            collectStockWrites(couponId, totalCount, shardCount, issuedUsersMode, previousShardCount, values, staleKeys);
+            stringRedisTemplate.opsForValue().multiSet(values);
+            stringRedisTemplate.delete(staleKeys);
+        } catch (Exception e) {
+            throw new RedisConnectionException("재고 초기값 저장 실패. couponId: " + couponId, e);
+        }
+        stockLayouts.put(couponId, new StockLayout(shardCount, issuedUsersMode));
+        if (totalCount > 0) {
+            couponSoldOutRegistry.markAvailable(couponId);
+        }
+    }
+
+    /**
+     * 이벤트 한 건의 재고·레이아웃·활성 플래그·쿠폰 상세 캐시를 한 번에 세팅한다.
+     * 기존 레이아웃 조회(MGET) 1회 + 쓰기 파이프라인 1회로, 쿠폰 수와 무관하게 왕복 2번이다.
+     * overwrite 가 false 면 재고 키가 이미 있는 쿠폰(수동 초기화·이전 warm-up)은 재고를 건드리지 않고
+     * 활성 플래그·상세 캐시만 갱신한다.
+     *
+     * @param eventId         이벤트 ID
+     * @param eventTtlSeconds event:{eventId}:active TTL(초), 0 이하면 설정하지 않음
+     * @param seeds           쿠폰별 시드 값
+     * @param overwrite       true 면 기존 재고를 덮어쓴다 (재초기화)
+     * @return 재고를 새로 세팅한 쿠폰 수
+     * @throws InvalidRequestException 샤드 수가 범위를 벗어날 때
+     */
+    public int seedEvent(final Long eventId, final long eventTtlSeconds, final List<StockSeed> seeds,
+                         final boolean overwrite) {
+        List<String> layoutKeys = new ArrayList<>(seeds.size() * 2);
+        for (StockSeed seed : seeds) {
+            if (seed.shardCount < 1 || seed.shardCount > MAX_STOCK_SHARDS) {
+                throw new InvalidRequestException("stockShards", seed.shardCount);
+            }
+            layoutKeys.add(stockKey(seed.couponId));
+            layoutKeys.add(stockShardsKey(seed.couponId));
+        }
+        List<StockSeed> seeded = new ArrayList<>();
+        try {
+            List<String> current = layoutKeys.isEmpty() ? List.of() : stringRedisTemplate.opsForValue().multiGet(layoutKeys);
+            Map<String, String> values = new HashMap<>();
+            List<String> staleKeys = new ArrayList<>();
+            for (int i = 0; i < seeds.size(); i++) {
+                StockSeed seed = seeds.get(i);
+                String previousSingle = current != null ? current.get(i * 2) : null;
+                String previousShards = current != null ? current.get(i * 2 + 1) : null;
+                if (!overwrite && (previousSingle != null || previousShards != null)) {
+                    continue;
+                }
+                int previousShardCount = previousShards != null ? Integer.parseInt(previousShards) : 1;
+                collectStockWrites(seed.couponId, seed.totalCount, seed.shardCount, seed.issuedUsersMode,
+                    previousShardCount, values, staleKeys);
+                seeded.add(seed);
+            }
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                if (eventTtlSeconds > 0) {
+                    connection.stringCommands().setEx(raw(eventActiveKey(eventId)), eventTtlSeconds, raw("true"));
+                }
+                // 클러스터에서는 쿠폰마다 슬롯이 달라 다중 키 명령 대신 키별 명령을 파이프라인에 넣는다.
+                if (clusterMode) {
+                    values.forEach((key, value) -> connection.stringCommands().set(raw(key), raw(value)));
+                    staleKeys.forEach(key -> connection.keyCommands().del(raw(key)));
+                } else {
+                    if (!values.isEmpty()) {
+                        Map<byte[], byte[]> rawValues = new HashMap<>();
+                        values.forEach((key, value) -> rawValues.put(raw(key), raw(value)));
+                        connection.stringCommands().mSet(rawValues);
+                    }
+                    if (!staleKeys.isEmpty()) {
+                        connection.keyCommands().del(staleKeys.stream().map(CouponRedisService::raw).toArray(byte[][]::new));
+                    }
+                }
+                for (StockSeed seed : seeds) {
+                    if (seed.activeTtlSeconds > 0) {
+                        connection.stringCommands().setEx(raw(COUPON_ACTIVE_KEY_PREFIX + seed.couponId),
+                            seed.activeTtlSeconds, raw("true"));
+                    }
+                    if (seed.detailJson != null) {
+                        connection.stringCommands().setEx(raw(COUPON_DETAIL_KEY_PREFIX + seed.couponId),
+                            COUPON_DETAIL_TTL_SECONDS, raw(seed.detailJson));
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            throw new RedisConnectionException("이벤트 재고 시드 실패. eventId: " + eventId, e);
+        }
+        for (StockSeed seed : seeded) {
+            stockLayouts.put(seed.couponId, new StockLayout(seed.shardCount, seed.issuedUsersMode));
+            if (seed.totalCount > 0) {
+                couponSoldOutRegistry.markAvailable(seed.couponId);
+            }
+        }
+        return seeded.size();
+    }
+
+    /**
+     * 레이아웃에 맞는 재고·레이아웃 키 값과, 이전 레이아웃에서 쓰던 삭제 대상 키를 모은다.
+     * 나머지 재고는 앞쪽 샤드에 1개씩 더 배분한다.
+     */
+    private static void collectStockWrites(final Long couponId, final int totalCount, final int shardCount,
+                                           final IssuedUsersMode issuedUsersMode, final int previousShardCount,
+                                           final Map<String, String> values, final List<String> staleKeys) {
+        if (shardCount == 1) {
+            values.put(stockKey(couponId), String.valueOf(totalCount));
+            staleKeys.add(stockShardsKey(couponId));
+        } else {
+            for (int shard = 0; shard < shardCount; shard++) {
+                int share = totalCount / shardCount + (shard < totalCount % shardCount ? 1 : 0);
+                values.put(stockKey(couponId, shard), String.valueOf(share));
+            }
+            values.put(stockShardsKey(couponId), String.valueOf(shardCount));
+            staleKeys.add(stockKey(couponId));
+        }
+        if (previousShardCount > 1) {
+            for (int shard = shardCount == 1 ? 0 : shardCount; shard < previousShardCount; shard++) {
+                staleKeys.add(stockKey(couponId, shard));
+            }
+        }
+        if (issuedUsersMode == IssuedUsersMode.BITMAP) {
+            values.put(issuedModeKey(couponId), issuedUsersMode.name());
+        } else {
+            staleKeys.add(issuedModeKey(couponId));
+        }
+    }
+
+    /**
+     * 쿠폰의 재고 샤드 수를 조회한다. 로컬 캐시(TTL 5초) → Redis coupon:{id}:stock_shards 순.
+     *
+     * @param couponId 쿠폰 ID
+     * @return 샤드 수, 단일 키 모드면 1
+     */
+    public int getStockShardCount(final Long couponId) {
+        return getStockLayout(couponId).shardCount;
+    }
+
+    /**
+     * 쿠폰의 중복 방지 방식을 조회한다. 로컬 캐시(TTL 5초) → Redis coupon:{id}:issued_mode 순.
+     *
+     * @param couponId 쿠폰 ID
+     * @return 중복 방지 방식, 설정이 없으면 SET
+     */
+    public IssuedUsersMode getIssuedUsersMode(final Long couponId) {
+        return getStockLayout(couponId).issuedUsersMode;
+    }
+
+    /**
+     * 남은 재고를 조회한다. 샤드 모드면 전 샤드 값을 MGET 으로 읽어 합산한다.
+     *
+     * @param couponId 쿠폰 ID
+     * @return 남은 재고, 재고 키가 없으면 0
+     */
+    public long getRemainingStock(final Long couponId) {
+        int shardCount = getStockShardCount(couponId);
+        List<String> keys = new ArrayList<>(shardCount);
+        if (shardCount == 1) {
+            keys.add(stockKey(couponId));
+        } else {
+            for (int shard = 0; shard < shardCount; shard++) {
+                keys.add(stockKey(couponId, shard));
+            }
+        }
         try {
-            stringRedisTemplate.opsForValue().set(key, String.valueOf(totalCount));
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+            long remaining = 0L;
+            if (values != null) {
+                for (String value : values) {
+                    if (value != null) {
+                        remaining += Math.max(0L, Long.parseLong(value));
+                    }
+                }
+            }
+            return remaining;
         } catch (Exception e) {
-            throw new RedisConnectionException("재고 초기값 저장 실패: " + key, e);
+            throw new RedisConnectionException("남은 재고 조회 실패. couponId: " + couponId, e);
+        }
+    }
+
+    /**
+     * 여러 쿠폰의 남은 재고를 한 번에 조회한다. 레이아웃은 로컬 캐시를 쓰고 미스만 MGET 1회로 채우며,
+     * 재고 값은 전 쿠폰·전 샤드 키를 MGET 1회로 읽는다. (재고 스트림 poller 용, 쿠폰 수와 무관하게 최대 2 RTT)
+     *
+     * @param couponIds 쿠폰 ID 목록
+     * @return couponId → 남은 재고 (입력 순서 유지), 재고 키가 없으면 null
+     */
+    public Map<Long, Long> getRemainingStocks(final List<Long> couponIds) {
+        Map<Long, Long> remaining = new LinkedHashMap<>();
+        if (couponIds.isEmpty()) {
+            return remaining;
+        }
+        try {
+            Map<Long, StockLayout> layouts = stockLayouts.getAll(couponIds, this::loadStockLayouts);
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(stockKeys(couponIds, layouts));
+            int index = 0;
+            for (Long couponId : couponIds) {
+                int shardCount = layouts.getOrDefault(couponId, StockLayout.DEFAULT).shardCount;
+                remaining.put(couponId, sumStock(values, index, shardCount));
+                index += shardCount;
+            }
+            return remaining;
+        } catch (Exception e) {
+            throw new RedisConnectionException("남은 재고 일괄 조회 실패. coupons: " + couponIds.size(), e);
+        }
+    }
+
+    /**
+     * 여러 쿠폰의 남은 재고와 한 유저의 발급 여부를 함께 조회한다.
+     * 전 쿠폰·전 샤드 재고 MGET 과 쿠폰별 홈 샤드 SISMEMBER(비트맵 모드면 GETBIT)를 한 파이프라인(1 RTT)으로 보낸다.
+     * 레이아웃은 로컬 캐시를 쓰고 미스만 MGET 1회로 채운다.
+     *
+     * @param couponIds 쿠폰 ID 목록
+     * @param userId    유저 ID
+     * @return couponId → 남은 재고·발급 여부 (입력 순서 유지)
+     */
+    public Map<Long, UserStockState> getUserStockStates(final List<Long> couponIds, final Long userId) {
+        Map<Long, UserStockState> states = new LinkedHashMap<>();
+        if (couponIds.isEmpty()) {
+            return states;
+        }
+        Map<Long, StockLayout> layouts;
+        try {
+            layouts = stockLayouts.getAll(couponIds, this::loadStockLayouts);
+        } catch (Exception e) {
+            throw new RedisConnectionException("재고 레이아웃 조회 실패. coupons: " + couponIds.size(), e);
+        }
+        List<IssueSlot> slots = new ArrayList<>(couponIds.size());
+        for (Long couponId : couponIds) {
+            slots.add(IssueSlot.of(couponId, userId, layouts.getOrDefault(couponId, StockLayout.DEFAULT)));
+        }
+        byte[][] stockKeys = stockKeys(couponIds, layouts).stream()
+            .map(CouponRedisService::raw)
+            .toArray(byte[][]::new);
+        try {
+            List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                // 클러스터에서는 쿠폰마다 슬롯이 달라 MGET 대신 키별 GET 을 파이프라인에 넣는다.
+                if (clusterMode) {
+                    for (byte[] stockKey : stockKeys) {
+                        connection.stringCommands().get(stockKey);
+                    }
+                } else {
+                    connection.stringCommands().mGet(stockKeys);
+                }
+                for (int i = 0; i < slots.size(); i++) {
+                    IssueSlot slot = slots.get(i);
+                    if (layouts.getOrDefault(couponIds.get(i), StockLayout.DEFAULT).isBitmap()) {
+                        connection.stringCommands().getBit(raw(slot.issuedKey), Long.parseLong(slot.member));
+                    } else {
+                        connection.setCommands().sIsMember(raw(slot.issuedKey), raw(slot.member));
+                    }
+                }
+                return null;
+            });
+            int issuedOffset = clusterMode ? stockKeys.length : 1;
+            @SuppressWarnings("unchecked")
+            List<String> values = clusterMode
+                ? replies.subList(0, stockKeys.length).stream().map(String.class::cast).toList()
+                : (List<String>) replies.get(0);
+            int index = 0;
+            for (int i = 0; i < couponIds.size(); i++) {
+                Long couponId = couponIds.get(i);
+                int shardCount = layouts.getOrDefault(couponId, StockLayout.DEFAULT).shardCount;
+                states.put(couponId, new UserStockState(sumStock(values, index, shardCount),
+                    Boolean.TRUE.equals(replies.get(issuedOffset + i))));
+                index += shardCount;
+            }
+            return states;
+        } catch (Exception e) {
+            throw new RedisConnectionException("재고·발급 여부 조회 실패. userId: " + userId, e);
+        }
+    }
+
+    /** 쿠폰 순서대로 재고 키를 나열한다. 샤드 모드면 샤드 0..N-1 키를 연속으로 넣는다. */
+    private static List<String> stockKeys(final List<Long> couponIds, final Map<Long, StockLayout> layouts) {
+        List<String> keys = new ArrayList<>(couponIds.size());
+        for (Long couponId : couponIds) {
+            int shardCount = layouts.getOrDefault(couponId, StockLayout.DEFAULT).shardCount;
+            if (shardCount == 1) {
+                keys.add(stockKey(couponId));
+            } else {
+                for (int shard = 0; shard < shardCount; shard++) {
+                    keys.add(stockKey(couponId, shard));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /** MGET 결과의 [from, from + shardCount) 구간 합계. 키가 모두 없으면 null */
+    private static Long sumStock(final List<String> values, final int from, final int shardCount) {
+        Long sum = null;
+        for (int i = from; i < from + shardCount; i++) {
+            String value = values != null ? values.get(i) : null;
+            if (value != null) {
+                sum = (sum != null ? sum : 0L) + Math.max(0L, Long.parseLong(value));
+            }
+        }
+        return sum;
+    }
+
+    private StockLayout getStockLayout(final Long couponId) {
+        try {
+            return stockLayouts.get(couponId, this::loadStockLayout);
+        } catch (Exception e) {
+            throw new RedisConnectionException("재고 레이아웃 조회 실패. couponId: " + couponId, e);
+        }
+    }
+
+    private StockLayout loadStockLayout(final Long couponId) {
+        List<String> values = stringRedisTemplate.opsForValue()
+            .multiGet(List.of(stockShardsKey(couponId), issuedModeKey(couponId)));
+        if (values == null) {
+            return StockLayout.DEFAULT;
+        }
+        int shardCount = values.get(0) != null ? Integer.parseInt(values.get(0)) : 1;
+        IssuedUsersMode mode = values.get(1) != null ? IssuedUsersMode.valueOf(values.get(1)) : IssuedUsersMode.SET;
+        return new StockLayout(shardCount, mode);
+    }
+
+    private Map<Long, StockLayout> loadStockLayouts(final Set<? extends Long> couponIds) {
+        List<Long> ids = new ArrayList<>(couponIds);
+        List<String> keys = new ArrayList<>(ids.size() * 2);
+        for (Long couponId : ids) {
+            keys.add(stockShardsKey(couponId));
+            keys.add(issuedModeKey(couponId));
+        }
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+        Map<Long, StockLayout> layouts = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String shards = values != null ? values.get(i * 2) : null;
+            String mode = values != null ? values.get(i * 2 + 1) : null;
+            layouts.put(ids.get(i), new StockLayout(shards != null ? Integer.parseInt(shards) : 1,
+                mode != null ? IssuedUsersMode.valueOf(mode) : IssuedUsersMode.SET));
         }
+        return layouts;
     }
 
     /**
@@ -89,28 +703,310 @@ public class CouponRedisService {
     }
 
     /**
-     * Lua 스크립트로 선착순·중복 방지 쿠폰 발급을 시도한다.
+     * Lua 스크립트로 선착순·중복 방지 쿠폰 발급을 시도한다. 재고 소진 시 sold-out 플래그를 세운다.
+     * 샤드 모드면 홈 샤드에서 시도하고, 홈 샤드 재고가 비면 다른 샤드 재고를 가져온다.
      *
      * @param couponId 쿠폰 ID
      * @param userId   유저 ID
      * @return 1 발급 성공, 0 재고 소진, -1 이미 발급됨
      */
     public int tryIssue(final Long couponId, final Long userId) {
-        String issuedKey = issuedUsersKey(couponId);
-        String stockKey = stockKey(couponId);
-        String userIdStr = String.valueOf(userId);
-
-        DefaultRedisScript<Long> script = new DefaultRedisScript<>(COUPON_ISSUE_SCRIPT, Long.class);
+        StockLayout layout = getStockLayout(couponId);
+        IssueSlot slot = IssueSlot.of(couponId, userId, layout);
+        int result;
         try {
-            Long result = stringRedisTemplate.execute(
-                script,
-                java.util.List.of(issuedKey, stockKey),
-                userIdStr
+            Long value = redisScriptRegistry.execute(
+                couponIssueScript,
+                List.of(slot.issuedKey, slot.stockKey),
+                slot.member,
+                layout.isSharded() ? "1" : "0",
+                layout.isBitmap() ? "1" : "0"
             );
-            return result != null ? result.intValue() : 0;
+            result = value != null ? value.intValue() : 0;
+            if (result == ISSUE_SHARD_EMPTY) {
+                result = takeFromOtherShards(couponId, slot, layout) >= 0 ? ISSUE_SUCCESS : ISSUE_EXHAUSTED;
+            }
         } catch (Exception e) {
             throw new RedisConnectionException("쿠폰 발급 Redis 처리 실패. couponId: " + couponId, e);
         }
+        if (result == 0) {
+            couponSoldOutRegistry.markSoldOut(couponId);
+        }
+        return result;
+    }
+
+    /**
+     * 이벤트 활성·rate limit·재고 시드·중복 체크·재고 차감을 하나의 Lua 스크립트로 수행한다.
+     * isEventActive → checkAndIncrementRate → ensureStockIfAbsent → tryIssue 를 1 RTT 로 대체한다.
+     * 재고 소진 시 sold-out 플래그를 세운다.
+     * 샤드 모드면 홈 샤드 키로 실행하고(재고 시드 생략), 홈 샤드 재고가 비면 다른 샤드 재고를 가져온다.
+     *
+     * @param couponId     쿠폰 ID
+     * @param eventId      이벤트 ID
+     * @param userId       유저 ID
+     * @param clientIp     클라이언트 IP (null/blank면 유저만 체크)
+     * @param initialStock 재고 키가 없을 때 세팅할 초기 재고 (coupon_total_count)
+     * @return 결과 코드와 남은 재고
+     */
+    public IssueResult tryIssueAtomic(final Long couponId, final Long eventId, final Long userId,
+                                      final String clientIp, final int initialStock) {
+        return tryIssueAtomic(couponId, eventId, userId, clientIp, initialStock, DEFAULT_RATE_LIMIT);
+    }
+
+    /**
+     * 이벤트별 rate limit 정책으로 통합 발급 스크립트를 실행한다.
+     * 클러스터 모드면 이벤트 활성·rate limit 을 먼저 확인한 뒤 쿠폰 슬롯 스크립트를 실행한다.
+     *
+     * @param couponId     쿠폰 ID
+     * @param eventId      이벤트 ID
+     * @param userId       유저 ID
+     * @param clientIp     클라이언트 IP (null/blank면 유저만 체크)
+     * @param initialStock 재고 키가 없을 때 세팅할 초기 재고 (coupon_total_count)
+     * @param rateLimit    Redis 전역 rate limit 정책
+     * @return 결과 코드와 남은 재고
+     */
+    public IssueResult tryIssueAtomic(final Long couponId, final Long eventId, final Long userId,
+                                      final String clientIp, final int initialStock, final Policy rateLimit) {
+        boolean checkIp = clientIp != null && !clientIp.isBlank();
+        StockLayout layout = getStockLayout(couponId);
+        IssueSlot slot = IssueSlot.of(couponId, userId, layout);
+        IssueResult result;
+        try {
+            if (clusterMode) {
+                result = issueOnCluster(slot, layout, eventId, userId, checkIp ? clientIp : null, initialStock, rateLimit);
+            } else {
+                List<String> keys = List.of(
+                    eventActiveKey(eventId),
+                    RATE_USER_PREFIX + userId,
+                    RATE_IP_PREFIX + (checkIp ? clientIp : ""),
+                    slot.stockKey,
+                    slot.issuedKey);
+                result = IssueResult.from(redisScriptRegistry.execute(
+                    couponIssueAtomicScript,
+                    keys,
+                    slot.member,
+                    String.valueOf(rateLimit.getWindowSeconds()),
+                    String.valueOf(rateLimit.getMaxRequests()),
+                    String.valueOf(layout.isSharded() ? -1 : initialStock),
+                    checkIp ? "1" : "0",
+                    layout.isSharded() ? "1" : "0",
+                    layout.isBitmap() ? "1" : "0"));
+            }
+            if (result.getCode() == ISSUE_SHARD_EMPTY) {
+                long remaining = takeFromOtherShards(couponId, slot, layout);
+                result = remaining >= 0
+                    ? new IssueResult(ISSUE_SUCCESS, remaining)
+                    : new IssueResult(ISSUE_EXHAUSTED, 0L);
+            }
+        } catch (Exception e) {
+            throw new RedisConnectionException("쿠폰 발급 Redis 처리 실패. couponId: " + couponId, e);
+        }
+        if (result.getCode() == ISSUE_EXHAUSTED) {
+            couponSoldOutRegistry.markSoldOut(couponId);
+        }
+        return result;
+    }
+
+    /**
+     * 클러스터 모드 발급. 이벤트 활성·rate limit 키는 쿠폰 키와 슬롯이 달라 한 스크립트로 묶을 수 없으므로
+     * 이벤트 활성(EXISTS) → 유저·IP rate limit → 쿠폰 슬롯 스크립트 순으로 실행한다. (최대 4 RTT, 단계별로 원자적)
+     *
+     * @param clientIp IP rate limit 대상, null 이면 유저만 체크
+     */
+    private IssueResult issueOnCluster(final IssueSlot slot, final StockLayout layout, final Long eventId,
+                                       final Long userId, final String clientIp, final int initialStock,
+                                       final Policy rateLimit) {
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(eventActiveKey(eventId)))) {
+            return new IssueResult(ISSUE_EVENT_INACTIVE, -1L);
+        }
+        if (incrWithTtl(RATE_USER_PREFIX + userId, rateLimit.getWindowSeconds()) > rateLimit.getMaxRequests()
+            || clientIp != null
+            && incrWithTtl(RATE_IP_PREFIX + clientIp, rateLimit.getWindowSeconds()) > rateLimit.getMaxRequests()) {
+            return new IssueResult(ISSUE_RATE_LIMITED, -1L);
+        }
+        return IssueResult.from(redisScriptRegistry.execute(
+            couponIssueSlotScript,
+            List.of(slot.stockKey, slot.issuedKey),
+            slot.member,
+            String.valueOf(layout.isSharded() ? -1 : initialStock),
+            layout.isSharded() ? "1" : "0",
+            layout.isBitmap() ? "1" : "0"));
+    }
+
+    /**
+     * 홈 샤드 재고가 비었을 때 다른 샤드에서 재고 1개를 가져온다. 홈 샤드 중복 방지 데이터에는 이미 자리가 예약되어 있다.
+     * 모든 샤드가 비었으면 예약을 해제한다. 특정 샤드로 몰리지 않도록 임의의 샤드부터 순회한다.
+     *
+     * @return 재고를 가져온 샤드의 남은 재고, 전 샤드 소진이면 -1
+     */
+    private long takeFromOtherShards(final Long couponId, final IssueSlot slot, final StockLayout layout) {
+        int shardCount = layout.shardCount;
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int shard = (start + i) % shardCount;
+            if (shard == slot.shard) {
+                continue;
+            }
+            Long remaining = redisScriptRegistry.execute(stockTakeScript, List.of(stockKey(couponId, shard)));
+            if (remaining != null && remaining >= 0) {
+                return remaining;
+            }
+        }
+        removeIssued(slot, layout);
+        return -1L;
+    }
+
+    private void removeIssued(final IssueSlot slot, final StockLayout layout) {
+        if (layout.isBitmap()) {
+            stringRedisTemplate.opsForValue().setBit(slot.issuedKey, Long.parseLong(slot.member), false);
+        } else {
+            stringRedisTemplate.opsForSet().remove(slot.issuedKey, slot.member);
+        }
+    }
+
+    // ----- 대량 배포 -----
+
+    /**
+     * 유저 목록에 쿠폰을 일괄 지급한다. 홈 샤드별로 묶어 스크립트 한 번씩 실행하므로
+     * 단일 키 모드면 목록 전체가 1 RTT 이고, 실시간 발급과 같은 중복 방지·재고 키를 원자적으로 사용한다.
+     * 클러스터 샤드 모드에서는 샤드마다 슬롯이 달라 스크립트에 홈 샤드 키만 넘기고,
+     * 홈 샤드 재고가 모자란 유저는 실시간 발급과 같이 자리를 예약한 뒤 다른 샤드 재고를 가져온다.
+     * 재고가 모두 소진되면 sold-out 플래그를 세운다.
+     *
+     * @param couponId 쿠폰 ID
+     * @param userIds  지급 대상 유저 ID 목록
+     * @return userIds 와 같은 순서의 결과 (ISSUE_SUCCESS, ISSUE_EXHAUSTED, ISSUE_DUPLICATE)
+     */
+    public int[] grantIssued(final Long couponId, final List<Long> userIds) {
+        StockLayout layout = getStockLayout(couponId);
+        Map<Integer, List<Integer>> indexesByShard = new HashMap<>();
+        List<IssueSlot> slots = new ArrayList<>(userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            IssueSlot slot = IssueSlot.of(couponId, userIds.get(i), layout);
+            slots.add(slot);
+            indexesByShard.computeIfAbsent(slot.shard, shard -> new ArrayList<>()).add(i);
+        }
+        int[] results = new int[userIds.size()];
+        boolean exhausted = false;
+        for (Map.Entry<Integer, List<Integer>> entry : indexesByShard.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            IssueSlot first = slots.get(indexes.get(0));
+            List<String> keys = new ArrayList<>(layout.shardCount + 1);
+            keys.add(first.issuedKey);
+            keys.add(first.stockKey);
+            for (int shard = 0; layout.isSharded() && !clusterMode && shard < layout.shardCount; shard++) {
+                if (shard != first.shard) {
+                    keys.add(stockKey(couponId, shard));
+                }
+            }
+            String[] args = new String[indexes.size() + 1];
+            args[0] = layout.isBitmap() ? "1" : "0";
+            for (int i = 0; i < indexes.size(); i++) {
+                args[i + 1] = slots.get(indexes.get(i)).member;
+            }
+            List<Long> groupResults = redisScriptRegistry.execute(couponGrantScript, keys, args);
+            boolean otherShardsEmpty = !clusterMode || !layout.isSharded();
+            for (int i = 0; i < indexes.size(); i++) {
+                int code = groupResults != null && i < groupResults.size()
+                    ? groupResults.get(i).intValue() : ISSUE_EXHAUSTED;
+                if (code == ISSUE_EXHAUSTED && !otherShardsEmpty) {
+                    code = grantFromOtherShards(couponId, slots.get(indexes.get(i)), layout);
+                    otherShardsEmpty = code == ISSUE_EXHAUSTED;
+                }
+                results[indexes.get(i)] = code;
+                exhausted |= code == ISSUE_EXHAUSTED;
+            }
+        }
+        if (exhausted) {
+            couponSoldOutRegistry.markSoldOut(couponId);
+        }
+        return results;
+    }
+
+    /**
+     * 클러스터 샤드 모드 일괄 지급에서 홈 샤드 재고가 모자란 유저 한 명을 지급한다.
+     * 홈 샤드 스크립트로 중복 체크와 자리 예약을 하고, 예약됐으면 다른 샤드 재고를 가져온다. (전 샤드 소진이면 예약 해제)
+     *
+     * @return ISSUE_SUCCESS, ISSUE_EXHAUSTED, ISSUE_DUPLICATE
+     */
+    private int grantFromOtherShards(final Long couponId, final IssueSlot slot, final StockLayout layout) {
+        Long value = redisScriptRegistry.execute(couponIssueScript, List.of(slot.issuedKey, slot.stockKey),
+            slot.member, "1", layout.isBitmap() ? "1" : "0");
+        int code = value != null ? value.intValue() : ISSUE_EXHAUSTED;
+        if (code != ISSUE_SHARD_EMPTY) {
+            return code;
+        }
+        return takeFromOtherShards(couponId, slot, layout) >= 0 ? ISSUE_SUCCESS : ISSUE_EXHAUSTED;
+    }
+
+    // ----- 해시 태그 키 이전 -----
+
+    /**
+     * 해시 태그 도입 전 키(coupon:{id}:stock 이전의 coupon:id:stock 등)를 새 이름으로 옮긴다.
+     * 이전 샤드 수를 MGET 1회로 읽고, 쿠폰마다 스크립트 1회로 재고·중복 방지·레이아웃 키를 원자적으로 RENAMENX 한다.
+     * 이미 옮긴 쿠폰은 이전 키가 없어 아무것도 하지 않으므로 여러 번 실행해도 된다.
+     * 새 키가 이미 있는 쿠폰(새 버전이 이미 발급을 받았거나 재고를 시드함)은 옮기지 않고 나머지를 처리한 뒤 실패시킨다.
+     * 이전 버전 인스턴스가 모두 내려간 뒤 실행해야 한다. (이전 키로 발급 중이면 옮긴 뒤의 차감이 사라진다)
+     * 이전 키끼리는 슬롯이 달라 단일 Redis 에서만 실행할 수 있다. (클러스터로 옮기기 전에 실행)
+     *
+     * @param couponIds 쿠폰 ID 목록
+     * @return 옮긴 키 수
+     * @throws IllegalStateException 클러스터 연결에서 호출했거나 새 키가 이미 있는 쿠폰이 있을 때
+     */
+    public long migrateLegacyKeys(final List<Long> couponIds) {
+        if (clusterMode) {
+            throw new IllegalStateException("이전 키 이전은 단일 Redis 에서만 실행할 수 있습니다.");
+        }
+        if (couponIds.isEmpty()) {
+            return 0L;
+        }
+        long moved = 0L;
+        List<Long> conflicted = new ArrayList<>();
+        try {
+            List<String> shardCounts = stringRedisTemplate.opsForValue().multiGet(couponIds.stream()
+                .map(couponId -> legacyKey(couponId, STOCK_SHARDS_KEY_SUFFIX))
+                .toList());
+            for (int i = 0; i < couponIds.size(); i++) {
+                Long couponId = couponIds.get(i);
+                String shards = shardCounts != null ? shardCounts.get(i) : null;
+                Long count = redisScriptRegistry.execute(legacyKeyMigrateScript,
+                    legacyKeyPairs(couponId, shards != null ? Integer.parseInt(shards) : 1));
+                if (count != null && count < 0) {
+                    conflicted.add(couponId);
+                } else {
+                    moved += count != null ? count : 0L;
+                }
+            }
+        } catch (Exception e) {
+            throw new RedisConnectionException("이전 키 이전 실패. coupons: " + couponIds.size(), e);
+        }
+        stockLayouts.invalidateAll(couponIds);
+        if (!conflicted.isEmpty()) {
+            throw new IllegalStateException("새 키가 이미 있어 이전 키를 옮기지 않았습니다. 이전 키와 새 키를 확인한 뒤 정리하세요. "
+                + "couponIds: " + conflicted);
+        }
+        return moved;
+    }
+
+    /** {이전 키, 새 키} 쌍. 샤드 모드면 샤드별 재고·중복 방지 키도 포함한다. */
+    private static List<String> legacyKeyPairs(final Long couponId, final int shardCount) {
+        List<String> keys = new ArrayList<>();
+        for (String suffix : List.of(STOCK_KEY_SUFFIX, ISSUED_USERS_KEY_SUFFIX, ISSUED_BITS_KEY_SUFFIX,
+            STOCK_SHARDS_KEY_SUFFIX, ISSUED_MODE_KEY_SUFFIX)) {
+            keys.add(legacyKey(couponId, suffix));
+            keys.add(couponTag(couponId) + suffix);
+        }
+        for (int shard = 0; shardCount > 1 && shard < shardCount; shard++) {
+            for (String suffix : List.of(STOCK_KEY_SUFFIX, ISSUED_USERS_KEY_SUFFIX, ISSUED_BITS_KEY_SUFFIX)) {
+                keys.add(legacyKey(couponId, suffix) + ":" + shard);
+                keys.add(shardTag(couponId, shard) + suffix);
+            }
+        }
+        return keys;
+    }
+
+    private static String legacyKey(final Long couponId, final String suffix) {
+        return LEGACY_KEY_PREFIX + couponId + suffix;
     }
 
     // ----- event:{eventId}:active (redis.mdc 3.3) -----
@@ -156,16 +1052,28 @@ public class CouponRedisService {
      * @return 허용 여부
      */
     public boolean checkAndIncrementRate(final Long userId, final String clientIp) {
+        return checkAndIncrementRate(userId, clientIp, DEFAULT_RATE_LIMIT);
+    }
+
+    /**
+     * 지정한 정책으로 rate limit 확인 후 카운트를 증가시킨다.
+     *
+     * @param userId    유저 ID
+     * @param clientIp  클라이언트 IP (null/blank면 유저만 체크)
+     * @param rateLimit rate limit 정책
+     * @return 허용 여부
+     */
+    public boolean checkAndIncrementRate(final Long userId, final String clientIp, final Policy rateLimit) {
         try {
             String userKey = RATE_USER_PREFIX + userId;
-            Long userCount = incrWithTtl(userKey, RATE_LIMIT_WINDOW_SECONDS);
-            if (userCount > RATE_LIMIT_MAX_REQUESTS) {
+            Long userCount = incrWithTtl(userKey, rateLimit.getWindowSeconds());
+            if (userCount > rateLimit.getMaxRequests()) {
                 return false;
             }
             if (clientIp != null && !clientIp.isBlank()) {
                 String ipKey = RATE_IP_PREFIX + clientIp;
-                Long ipCount = incrWithTtl(ipKey, RATE_LIMIT_WINDOW_SECONDS);
-                if (ipCount > RATE_LIMIT_MAX_REQUESTS) {
+                Long ipCount = incrWithTtl(ipKey, rateLimit.getWindowSeconds());
+                if (ipCount > rateLimit.getMaxRequests()) {
                     return false;
                 }
             }
@@ -176,8 +1084,7 @@ public class CouponRedisService {
     }
 
     private Long incrWithTtl(final String key, final long ttlSeconds) {
-        DefaultRedisScript<Long> script = new DefaultRedisScript<>(RATE_INCR_SCRIPT, Long.class);
-        Long v = stringRedisTemplate.execute(script, java.util.List.of(key), String.valueOf(ttlSeconds));
+        Long v = redisScriptRegistry.execute(rateIncrScript, List.of(key), String.valueOf(ttlSeconds));
         return v != null ? v : 0L;
     }
 
@@ -185,21 +1092,186 @@ public class CouponRedisService {
 
     /**
      * Lua 발급 성공 후 DB 저장 실패 시 Redis를 원상 복구한다.
-     * INCR stock, SREM issued_users.
+     * INCR stock, 중복 방지 등록 해제(SREM 또는 SETBIT 0). 재고가 돌아오므로 sold-out 플래그를 해제한다.
+     * 샤드 모드면 재고를 어느 샤드에서 가져왔든 홈 샤드에 돌려준다.
      *
      * @param couponId 쿠폰 ID
      * @param userId   유저 ID
      */
     public void rollbackIssue(final Long couponId, final Long userId) {
-        String stockKey = stockKey(couponId);
-        String issuedKey = issuedUsersKey(couponId);
-        String userIdStr = String.valueOf(userId);
+        StockLayout layout = getStockLayout(couponId);
+        IssueSlot slot = IssueSlot.of(couponId, userId, layout);
         try {
-            stringRedisTemplate.opsForValue().increment(stockKey);
-            stringRedisTemplate.opsForSet().remove(issuedKey, userIdStr);
+            stringRedisTemplate.opsForValue().increment(slot.stockKey);
+            removeIssued(slot, layout);
         } catch (Exception e) {
             throw new RedisConnectionException("쿠폰 발급 롤백 실패. couponId: " + couponId, e);
         }
+        couponSoldOutRegistry.markAvailable(couponId);
+    }
+
+    // ----- Redis ↔ user_coupon 정합성 점검 -----
+
+    /**
+     * 중복 방지 데이터를 커서 단위로 나눠 읽는다. 한 번에 한 샤드의 일부만 읽어 Redis 를 오래 점유하지 않는다.
+     * SET 모드는 SSCAN, BITMAP 모드는 GETRANGE 로 바이트 구간을 읽어 켜진 bit 를 userId 로 되돌린다.
+     * (비트맵 샤드 모드: userId = offset * N + shard)
+     *
+     * @param couponId 쿠폰 ID
+     * @param shard    샤드 번호 (단일 키 모드면 0)
+     * @param cursor   이전 호출의 nextCursor, 처음이면 SCAN_CURSOR_START
+     * @param count    한 번에 읽을 대략적인 유저 수
+     * @return 읽은 userId 와 다음 커서 (다음 커서가 SCAN_CURSOR_START 면 해당 샤드 완료)
+     */
+    public IssuedScanPage scanIssuedUsers(final Long couponId, final int shard, final String cursor, final int count) {
+        StockLayout layout = getStockLayout(couponId);
+        try {
+            if (layout.isBitmap()) {
+                String key = layout.isSharded() ? issuedBitsKey(couponId, shard) : issuedBitsKey(couponId);
+                return scanBitmap(key, shard, layout.shardCount, Long.parseLong(cursor), count);
+            }
+            String key = layout.isSharded() ? issuedUsersKey(couponId, shard) : issuedUsersKey(couponId);
+            return scanSet(key, cursor, count);
+        } catch (Exception e) {
+            throw new RedisConnectionException("발급 유저 스캔 실패. couponId: " + couponId + ", shard: " + shard, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private IssuedScanPage scanSet(final String key, final String cursor, final int count) {
+        List<Object> reply = stringRedisTemplate.execute((RedisCallback<List<Object>>) connection ->
+            (List<Object>) connection.execute("SSCAN", raw(key), raw(cursor), raw("COUNT"), raw(String.valueOf(count))));
+        if (reply == null || reply.size() < 2) {
+            return new IssuedScanPage(SCAN_CURSOR_START, List.of());
+        }
+        List<Long> userIds = new ArrayList<>();
+        for (Object member : (List<Object>) reply.get(1)) {
+            userIds.add(Long.valueOf(new String((byte[]) member, StandardCharsets.UTF_8)));
+        }
+        return new IssuedScanPage(new String((byte[]) reply.get(0), StandardCharsets.UTF_8), userIds);
+    }
+
+    private IssuedScanPage scanBitmap(final String key, final int shard, final int shardCount,
+                                      final long fromBit, final int count) {
+        long startByte = fromBit / 8;
+        byte[] chunk = stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+            connection.stringCommands().getRange(raw(key), startByte, startByte + BITMAP_SCAN_CHUNK_BYTES - 1));
+        if (chunk == null || chunk.length == 0) {
+            return new IssuedScanPage(SCAN_CURSOR_START, List.of());
+        }
+        List<Long> userIds = new ArrayList<>();
+        long endBit = (startByte + chunk.length) * 8;
+        for (long bit = fromBit; bit < endBit; bit++) {
+            int value = chunk[(int) (bit / 8 - startByte)];
+            if (value == 0) {
+                bit |= 7;
+                continue;
+            }
+            // Redis 비트맵은 바이트 안에서 최상위 bit 가 offset 0 이다.
+            if ((value & (0x80 >>> (bit % 8))) != 0) {
+                userIds.add(bit * shardCount + shard);
+                if (userIds.size() >= count) {
+                    return new IssuedScanPage(String.valueOf(bit + 1), userIds);
+                }
+            }
+        }
+        String next = chunk.length < BITMAP_SCAN_CHUNK_BYTES ? SCAN_CURSOR_START : String.valueOf(endBit);
+        return new IssuedScanPage(next, userIds);
+    }
+
+    /**
+     * 주어진 유저 중 Redis 중복 방지 데이터에 발급 등록이 없는 유저를 고른다. SISMEMBER / GETBIT 를 파이프라인으로 한 번에 보낸다.
+     *
+     * @param couponId 쿠폰 ID
+     * @param userIds  확인할 유저 ID 목록
+     * @return Redis 에 등록이 없는 유저 ID 목록
+     */
+    public List<Long> findNotIssued(final Long couponId, final List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        StockLayout layout = getStockLayout(couponId);
+        List<IssueSlot> slots = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            slots.add(IssueSlot.of(couponId, userId, layout));
+        }
+        try {
+            List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (IssueSlot slot : slots) {
+                    byte[] rawKey = raw(slot.issuedKey);
+                    if (layout.isBitmap()) {
+                        connection.stringCommands().getBit(rawKey, Long.parseLong(slot.member));
+                    } else {
+                        connection.setCommands().sIsMember(rawKey, raw(slot.member));
+                    }
+                }
+                return null;
+            });
+            List<Long> missing = new ArrayList<>();
+            for (int i = 0; i < userIds.size(); i++) {
+                if (!Boolean.TRUE.equals(replies.get(i))) {
+                    missing.add(userIds.get(i));
+                }
+            }
+            return missing;
+        } catch (Exception e) {
+            throw new RedisConnectionException("발급 등록 확인 실패. couponId: " + couponId, e);
+        }
+    }
+
+    /**
+     * Redis 중복 방지 데이터에 등록된 발급 수. 전 샤드의 SCARD / BITCOUNT 합계.
+     *
+     * @param couponId 쿠폰 ID
+     * @return 발급 등록 수
+     */
+    public long countIssued(final Long couponId) {
+        StockLayout layout = getStockLayout(couponId);
+        List<String> keys = new ArrayList<>(layout.shardCount);
+        for (int shard = 0; shard < layout.shardCount; shard++) {
+            if (layout.isBitmap()) {
+                keys.add(layout.isSharded() ? issuedBitsKey(couponId, shard) : issuedBitsKey(couponId));
+            } else {
+                keys.add(layout.isSharded() ? issuedUsersKey(couponId, shard) : issuedUsersKey(couponId));
+            }
+        }
+        try {
+            List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keys) {
+                    byte[] rawKey = raw(key);
+                    if (layout.isBitmap()) {
+                        connection.stringCommands().bitCount(rawKey);
+                    } else {
+                        connection.setCommands().sCard(rawKey);
+                    }
+                }
+                return null;
+            });
+            long issued = 0L;
+            for (Object reply : replies) {
+                if (reply != null) {
+                    issued += ((Number) reply).longValue();
+                }
+            }
+            return issued;
+        } catch (Exception e) {
+            throw new RedisConnectionException("발급 등록 수 조회 실패. couponId: " + couponId, e);
+        }
+    }
+
+    /**
+     * DB 에는 있지만 Redis 에 발급 등록이 없는 건을 복구한다. 홈 샤드에 등록하고 홈 샤드 재고가 남아 있으면 1 차감한다.
+     *
+     * @param couponId 쿠폰 ID
+     * @param userId   유저 ID
+     * @return 복구했으면 true, 이미 등록돼 있으면 false
+     */
+    public boolean restoreIssued(final Long couponId, final Long userId) {
+        StockLayout layout = getStockLayout(couponId);
+        IssueSlot slot = IssueSlot.of(couponId, userId, layout);
+        Long result = redisScriptRegistry.execute(restoreIssuedScript,
+            List.of(slot.issuedKey, slot.stockKey), slot.member, layout.isBitmap() ? "1" : "0");
+        return result != null && result == 1L;
     }
 
     // ----- coupon:detail:{couponId} (project.mdc 3.3) -----
@@ -236,6 +1308,20 @@ public class CouponRedisService {
         }
     }
 
+    /**
+     * 쿠폰 상세 캐시를 삭제한다. 관리자 변경 시 다음 조회에서 DB 기준으로 다시 적재되도록 한다.
+     *
+     * @param couponId 쿠폰 ID
+     */
+    public void deleteCouponDetail(final Long couponId) {
+        String key = COUPON_DETAIL_KEY_PREFIX + couponId;
+        try {
+            stringRedisTemplate.delete(key);
+        } catch (Exception e) {
+            throw new RedisConnectionException("쿠폰 상세 캐시 삭제 실패: " + key, e);
+        }
+    }
+
     /** 쿠폰 상세 캐시 기본 TTL(초) */
     public static final long COUPON_DETAIL_TTL_SECONDS = 3600L;
 
@@ -271,15 +1357,241 @@ public class CouponRedisService {
         }
     }
 
+    /**
+     * tryIssueAtomic 결과. 결과 코드(ISSUE_*)와 스크립트 실행 시점의 남은 재고.
+     */
+    public static final class IssueResult {
+
+        private final int code;
+        private final long remainingStock;
+
+        private IssueResult(final int code, final long remainingStock) {
+            this.code = code;
+            this.remainingStock = remainingStock;
+        }
+
+        static IssueResult from(final List<Long> scriptResult) {
+            if (scriptResult == null || scriptResult.size() < 2) {
+                return new IssueResult(ISSUE_EXHAUSTED, 0L);
+            }
+            return new IssueResult(scriptResult.get(0).intValue(), scriptResult.get(1));
+        }
+
+        /** @return 결과 코드 (ISSUE_SUCCESS, ISSUE_EXHAUSTED, ISSUE_DUPLICATE, ISSUE_EVENT_INACTIVE, ISSUE_RATE_LIMITED) */
+        public int getCode() {
+            return code;
+        }
+
+        /** @return 남은 재고, 확인하지 못한 경우 -1 */
+        public long getRemainingStock() {
+            return remainingStock;
+        }
+    }
+
+    /**
+     * seedEvent 입력. 쿠폰 한 건의 재고 레이아웃과 활성 TTL, 상세 캐시 JSON.
+     */
+    public static final class StockSeed {
+
+        private final Long couponId;
+        private final int totalCount;
+        private final int shardCount;
+        private final IssuedUsersMode issuedUsersMode;
+        private final long activeTtlSeconds;
+        private final String detailJson;
+
+        /**
+         * @param couponId         쿠폰 ID
+         * @param totalCount       초기 재고 수
+         * @param shardCount       재고 샤드 수 (1 = 단일 키)
+         * @param issuedUsersMode  중복 방지 방식
+         * @param activeTtlSeconds coupon:active:{couponId} TTL(초), 0 이하면 설정하지 않음
+         * @param detailJson       coupon:detail:{couponId} 에 넣을 JSON, null 이면 설정하지 않음
+         */
+        public StockSeed(final Long couponId, final int totalCount, final int shardCount,
+                         final IssuedUsersMode issuedUsersMode, final long activeTtlSeconds, final String detailJson) {
+            this.couponId = couponId;
+            this.totalCount = totalCount;
+            this.shardCount = shardCount;
+            this.issuedUsersMode = issuedUsersMode;
+            this.activeTtlSeconds = activeTtlSeconds;
+            this.detailJson = detailJson;
+        }
+    }
+
+    /**
+     * scanIssuedUsers 결과. 이번에 읽은 userId 와 다음 커서.
+     */
+    public static final class IssuedScanPage {
+
+        private final String nextCursor;
+        private final List<Long> userIds;
+
+        private IssuedScanPage(final String nextCursor, final List<Long> userIds) {
+            this.nextCursor = nextCursor;
+            this.userIds = userIds;
+        }
+
+        /** @return 다음 호출에 넘길 커서 */
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        /** @return 이번에 읽은 userId 목록 */
+        public List<Long> getUserIds() {
+            return userIds;
+        }
+
+        /** @return 해당 샤드를 끝까지 읽었으면 true */
+        public boolean isFinished() {
+            return SCAN_CURSOR_START.equals(nextCursor);
+        }
+    }
+
+    /**
+     * getUserStockStates 결과. 남은 재고(재고 키가 없으면 null)와 유저의 발급 여부.
+     */
+    public static final class UserStockState {
+
+        private final Long remainingStock;
+        private final boolean issued;
+
+        private UserStockState(final Long remainingStock, final boolean issued) {
+            this.remainingStock = remainingStock;
+            this.issued = issued;
+        }
+
+        /** @return 남은 재고, 재고가 초기화되지 않았으면 null */
+        public Long getRemainingStock() {
+            return remainingStock;
+        }
+
+        /** @return 유저가 이미 발급받았으면 true */
+        public boolean isIssued() {
+            return issued;
+        }
+    }
+
+    /**
+     * 쿠폰별 중복 방지 방식.
+     * SET: coupon:{id}:issued_users (userId 문자열 Set), BITMAP: coupon:{id}:issued_bits (userId 를 bit offset 으로 SETBIT)
+     */
+    public enum IssuedUsersMode {
+        SET,
+        BITMAP
+    }
+
+    /** 쿠폰별 Redis 재고 레이아웃 (로컬 캐시 값) */
+    private static final class StockLayout {
+
+        private static final StockLayout DEFAULT = new StockLayout(1, IssuedUsersMode.SET);
+
+        private final int shardCount;
+        private final IssuedUsersMode issuedUsersMode;
+
+        private StockLayout(final int shardCount, final IssuedUsersMode issuedUsersMode) {
+            this.shardCount = shardCount;
+            this.issuedUsersMode = issuedUsersMode;
+        }
+
+        private boolean isSharded() {
+            return shardCount > 1;
+        }
+
+        private boolean isBitmap() {
+            return issuedUsersMode == IssuedUsersMode.BITMAP;
+        }
+    }
+
+    /**
+     * 유저 한 명의 발급에 쓰이는 재고 키·중복 방지 키·멤버.
+     * 비트맵 샤드 모드에서는 홈 샤드가 userId % N 이므로 offset 을 userId / N 으로 압축해 전 샤드 합계가 단일 비트맵과 같다.
+     */
+    private static final class IssueSlot {
+
+        private final int shard;
+        private final String stockKey;
+        private final String issuedKey;
+        private final String member;
+
+        private IssueSlot(final int shard, final String stockKey, final String issuedKey, final String member) {
+            this.shard = shard;
+            this.stockKey = stockKey;
+            this.issuedKey = issuedKey;
+            this.member = member;
+        }
+
+        private static IssueSlot of(final Long couponId, final Long userId, final StockLayout layout) {
+            int shard = homeShard(userId, layout.shardCount);
+            String stockKey = layout.isSharded() ? stockKey(couponId, shard) : stockKey(couponId);
+            if (!layout.isBitmap()) {
+                String issuedKey = layout.isSharded() ? issuedUsersKey(couponId, shard) : issuedUsersKey(couponId);
+                return new IssueSlot(shard, stockKey, issuedKey, String.valueOf(userId));
+            }
+            long offset = Math.floorDiv(userId, (long) layout.shardCount);
+            if (userId < 0 || offset > MAX_BIT_OFFSET) {
+                throw new InvalidRequestException("userId", userId);
+            }
+            String issuedKey = layout.isSharded() ? issuedBitsKey(couponId, shard) : issuedBitsKey(couponId);
+            return new IssueSlot(shard, stockKey, issuedKey, String.valueOf(offset));
+        }
+    }
+
     private static String stockKey(final Long couponId) {
-        return STOCK_KEY_PREFIX + couponId + STOCK_KEY_SUFFIX;
+        return couponTag(couponId) + STOCK_KEY_SUFFIX;
     }
 
     private static String issuedUsersKey(final Long couponId) {
-        return STOCK_KEY_PREFIX + couponId + ISSUED_USERS_KEY_SUFFIX;
+        return couponTag(couponId) + ISSUED_USERS_KEY_SUFFIX;
+    }
+
+    private static String stockKey(final Long couponId, final int shard) {
+        return shardTag(couponId, shard) + STOCK_KEY_SUFFIX;
+    }
+
+    private static String issuedUsersKey(final Long couponId, final int shard) {
+        return shardTag(couponId, shard) + ISSUED_USERS_KEY_SUFFIX;
+    }
+
+    private static String issuedBitsKey(final Long couponId) {
+        return couponTag(couponId) + ISSUED_BITS_KEY_SUFFIX;
+    }
+
+    private static String issuedBitsKey(final Long couponId, final int shard) {
+        return shardTag(couponId, shard) + ISSUED_BITS_KEY_SUFFIX;
+    }
+
+    private static String stockShardsKey(final Long couponId) {
+        return couponTag(couponId) + STOCK_SHARDS_KEY_SUFFIX;
+    }
+
+    private static String issuedModeKey(final Long couponId) {
+        return couponTag(couponId) + ISSUED_MODE_KEY_SUFFIX;
+    }
+
+    /** coupon:{couponId} — 한 쿠폰의 키가 같은 클러스터 슬롯에 놓이도록 하는 해시 태그 */
+    private static String couponTag(final Long couponId) {
+        return STOCK_KEY_PREFIX + couponId + STOCK_KEY_TAG_END;
+    }
+
+    /** coupon:{couponId:shard} — 샤드마다 슬롯을 나누고, 한 샤드의 재고·중복 방지 키는 같은 슬롯에 두는 해시 태그 */
+    private static String shardTag(final Long couponId, final int shard) {
+        return STOCK_KEY_PREFIX + couponId + ":" + shard + STOCK_KEY_TAG_END;
+    }
+
+    /**
+     * 홈 샤드를 정한다. 같은 유저는 항상 같은 샤드의 중복 방지 데이터를 사용한다.
+     * 사용자 ID 가 밀집 증가 Long 이므로 userId % N 으로도 균등하게 분산되고, 비트맵 offset 압축(userId / N)이 가능하다.
+     */
+    private static int homeShard(final Long userId, final int shardCount) {
+        return (int) Math.floorMod(userId, (long) shardCount);
     }
 
     private static String eventActiveKey(final Long eventId) {
         return EVENT_ACTIVE_KEY_PREFIX + eventId + EVENT_ACTIVE_SUFFIX;
     }
+
+    private static byte[] raw(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
 }
@@ -1,6 +1,7 @@
 package com.project.coupon.service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,21 +9,24 @@ import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.coupon.config.RateLimitProperties.Policy;
 import com.project.coupon.dto.CouponCacheDto;
+import com.project.coupon.dto.CouponSnapshot;
 import com.project.coupon.entity.Coupons;
-import com.project.coupon.entity.Events;
 import com.project.coupon.entity.UserCoupon;
-import com.project.coupon.entity.Users;
 import com.project.coupon.entity.enums.CouponStatus;
+import com.project.coupon.exception.BaseException;
 import com.project.coupon.exception.CouponExhaustedException;
 import com.project.coupon.exception.CouponNotFoundException;
 import com.project.coupon.exception.DuplicateCouponException;
 import com.project.coupon.exception.EventExpiredException;
+import com.project.coupon.exception.QueueTokenRequiredException;
 import com.project.coupon.exception.TooManyRequestsException;
 import com.project.coupon.exception.UserNotFoundException;
 import com.project.coupon.repository.CouponsRepository;
 import com.project.coupon.repository.UserCouponRepository;
 import com.project.coupon.repository.UsersRepository;
+import com.project.coupon.service.CouponIssueMetrics.Stage;
 
 import lombok.RequiredArgsConstructor;
 
@@ -36,40 +40,47 @@ public class CouponService {
     private final UsersRepository usersRepository;
     private final UserCouponRepository userCouponRepository;
     private final CouponRedisService couponRedisService;
+    private final CouponMetadataCache couponMetadataCache;
+    private final CouponSoldOutRegistry couponSoldOutRegistry;
+    private final CouponRateLimiter couponRateLimiter;
+    private final UserExistenceIndex userExistenceIndex;
+    private final AdmissionQueueService admissionQueueService;
+    private final CouponIssueMetrics couponIssueMetrics;
+    private final UserCouponWriteBehindService userCouponWriteBehindService;
+    private final UserWalletService userWalletService;
+    private final IssueIdempotencyService issueIdempotencyService;
     private final ObjectMapper objectMapper;
 
     /**
-     * 캐시 또는 DB에서 쿠폰을 조회한다. project.mdc 3.3: 캐시 히트 시 DB 미조회.
+     * 쿠폰 메타데이터 스냅샷을 조회한다.
+     * JVM 로컬 캐시 → Redis coupon:detail → DB 순. project.mdc 3.3: 캐시 히트 시 DB 미조회.
+     *
+     * @param couponId 쿠폰 ID
+     * @return 쿠폰 스냅샷
+     * @throws CouponNotFoundException 쿠폰이 없을 때
      */
-    public Coupons getCouponFromCacheOrDb(final Long couponId) {
+    public CouponSnapshot getCouponSnapshot(final Long couponId) {
+        return couponMetadataCache.get(couponId, this::loadCouponSnapshot);
+    }
+
+    private CouponSnapshot loadCouponSnapshot(final Long couponId) {
         var cached = couponRedisService.getCouponDetail(couponId);
         if (cached.isPresent()) {
             try {
                 CouponCacheDto dto = objectMapper.readValue(cached.get(), CouponCacheDto.class);
-                return toCouponFromCache(dto);
+                return CouponSnapshot.from(dto);
             } catch (JsonProcessingException e) {
                 log.warn("Coupon cache deserialize failed, couponId: {}", couponId, e);
             }
         }
-        Coupons coupon = couponsRepository.findById(couponId)
+        Coupons coupon = couponsRepository.findWithEventByCouponId(couponId)
             .orElseThrow(() -> new CouponNotFoundException(couponId));
         putCouponDetailCache(coupon);
-        return coupon;
+        return CouponSnapshot.from(coupon);
     }
 
     private void putCouponDetailCache(final Coupons coupon) {
-        CouponCacheDto dto = CouponCacheDto.builder()
-            .couponId(coupon.getCouponId())
-            .eventId(coupon.getEvent().getEventId())
-            .couponName(coupon.getCouponName())
-            .couponDetail(coupon.getCouponDetail())
-            .couponApplyStartDatetime(coupon.getCouponApplyStartDatetime())
-            .couponApplyEndDatetime(coupon.getCouponApplyEndDatetime())
-            .couponTotalCount(coupon.getCouponTotalCount())
-            .eventStartDatetime(coupon.getEvent().getEventStartDatetime())
-            .eventEndDatetime(coupon.getEvent().getEventEndDatetime())
-            .eventName(coupon.getEvent().getEventName())
-            .build();
+        CouponCacheDto dto = CouponCacheDto.from(coupon);
         try {
             String json = objectMapper.writeValueAsString(dto);
             couponRedisService.setCouponDetail(coupon.getCouponId(), json, CouponRedisService.COUPON_DETAIL_TTL_SECONDS);
@@ -78,70 +89,189 @@ public class CouponService {
         }
     }
 
-    private static Coupons toCouponFromCache(final CouponCacheDto dto) {
-        Events event = Events.builder()
-            .eventId(dto.getEventId())
-            .eventName(dto.getEventName() != null ? dto.getEventName() : "")
-            .eventStartDatetime(dto.getEventStartDatetime())
-            .eventEndDatetime(dto.getEventEndDatetime())
-            .build();
-        return Coupons.builder()
-            .couponId(dto.getCouponId())
-            .event(event)
-            .couponName(dto.getCouponName())
-            .couponDetail(dto.getCouponDetail())
-            .couponApplyStartDatetime(dto.getCouponApplyStartDatetime())
-            .couponApplyEndDatetime(dto.getCouponApplyEndDatetime())
-            .couponTotalCount(dto.getCouponTotalCount())
-            .build();
-    }
-
     /**
      * 유저에게 쿠폰 발급.
-     * redis.mdc 플로우: 인증 → Rate limit → 이벤트 활성 → Lua → DB 저장.
+     * redis.mdc 플로우: 인증 → 이벤트 기간 → (이벤트 활성·Rate limit·Lua 를 단일 스크립트로) → DB 저장.
+     * write-behind 모드면 DB 저장 대신 적재 큐에 넣고 즉시 반환한다.
+     * 노드 로컬 sold-out 플래그가 서 있으면 어떤 I/O 도 없이 재고 소진으로 거절한다.
+     * rate limit 은 JVM 로컬 token bucket 으로 먼저 거르고, Redis 전역 한도는 통합 스크립트에서 확인한다.
      *
      * @param userId   유저 ID
      * @param couponId 쿠폰 ID
      * @param clientIp 클라이언트 IP (rate limit용, null 가능)
      */
     public void issueCoupon(final Long userId, final Long couponId, final String clientIp) {
-        Coupons coupon = getCouponFromCacheOrDb(couponId);
-        Users user = usersRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException(userId));
+        issueCoupon(userId, couponId, clientIp, null);
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        Long eventId = coupon.getEvent().getEventId();
+    /**
+     * 대기열 입장 토큰과 함께 쿠폰을 발급한다.
+     * 대기열이 적용된 이벤트는 유효한 입장 토큰이 있어야 발급 경로로 들어간다.
+     * 거절은 ID 를 담은 BaseException 으로 던진다. 고부하 경로는 {@link #tryIssueCoupon} 을 사용한다.
+     *
+     * @param userId     유저 ID
+     * @param couponId   쿠폰 ID
+     * @param clientIp   클라이언트 IP (rate limit용, null 가능)
+     * @param queueToken 대기열 입장 토큰 (null 가능)
+     */
+    public void issueCoupon(final Long userId, final Long couponId, final String clientIp, final String queueToken) {
+        IssueOutcome outcome = tryIssueCoupon(userId, couponId, clientIp, queueToken);
+        // switch 식이라 IssueOutcome 에 값이 추가되면 여기서 컴파일 오류가 난다.
+        RuntimeException rejection = switch (outcome) {
+            case SUCCESS -> null;
+            case EXHAUSTED -> new CouponExhaustedException(couponId);
+            case DUPLICATE -> new DuplicateCouponException(userId, couponId);
+            case RATE_LIMITED -> new TooManyRequestsException();
+            case QUEUE_TOKEN_REQUIRED -> new QueueTokenRequiredException(getCouponSnapshot(couponId).getEventId());
+            case EVENT_NOT_STARTED -> {
+                CouponSnapshot coupon = getCouponSnapshot(couponId);
+                yield new EventExpiredException(coupon.getEventId(), coupon.getEventStartDatetime());
+            }
+            case EVENT_ENDED -> {
+                CouponSnapshot coupon = getCouponSnapshot(couponId);
+                yield new EventExpiredException(coupon.getEventId(), coupon.getEventStartDatetime(),
+                    coupon.getEventEndDatetime());
+            }
+            case EVENT_INACTIVE -> new EventExpiredException(getCouponSnapshot(couponId).getEventId());
+            // Idempotency-Key 없이 호출하므로 나오지 않는다.
+            case IN_PROGRESS -> new IllegalStateException("Idempotency-Key 없는 발급에서 처리 중 결과가 반환됨. couponId: " + couponId);
+        };
+        if (rejection != null) {
+            throw rejection;
+        }
+    }
 
-        if (!couponRedisService.isEventActive(eventId)) {
-            throw new EventExpiredException(eventId);
+    /**
+     * 쿠폰을 발급하고 결과를 반환한다.
+     * 예상된 거절(재고 소진·중복·rate limit·기간 외·대기열 미입장)은 예외 없이 IssueOutcome 으로 돌려주므로
+     * 스택 트레이스 생성·예외 핸들러 로그 없이 미리 직렬화한 응답으로 처리할 수 있다.
+     * 쿠폰·유저 없음, Redis 장애 등 예상 밖 오류만 예외로 던진다.
+     *
+     * @param userId     유저 ID
+     * @param couponId   쿠폰 ID
+     * @param clientIp   클라이언트 IP (rate limit용, null 가능)
+     * @param queueToken 대기열 입장 토큰 (null 가능)
+     * @return 발급 결과
+     */
+    public IssueOutcome tryIssueCoupon(final Long userId, final Long couponId, final String clientIp,
+                                       final String queueToken) {
+        long start = System.nanoTime();
+        try {
+            IssueOutcome outcome = issue(userId, couponId, clientIp, queueToken);
+            couponIssueMetrics.recordOutcome(couponId,
+                outcome.isSuccess() ? CouponIssueMetrics.OUTCOME_SUCCESS : outcome.getErrorCode());
+            return outcome;
+        } catch (BaseException e) {
+            couponIssueMetrics.recordOutcome(couponId, e.getErrorCode());
+            throw e;
+        } catch (RuntimeException e) {
+            couponIssueMetrics.recordOutcome(couponId, CouponIssueMetrics.OUTCOME_ERROR);
+            throw e;
+        } finally {
+            couponIssueMetrics.recordStage(Stage.TOTAL, start);
         }
-        if (now.isBefore(coupon.getEvent().getEventStartDatetime())) {
-            throw new EventExpiredException(eventId, coupon.getEvent().getEventStartDatetime());
+    }
+
+    /**
+     * Idempotency-Key 와 함께 쿠폰을 발급한다.
+     * 같은 키로 이미 처리된 요청이면 저장된 결과를 Redis GET 한 번으로 돌려주고 rate limit·재고·DB 는 건드리지 않는다.
+     * 키가 없으면 {@link #tryIssueCoupon(Long, Long, String, String)} 과 같다.
+     *
+     * @param userId         유저 ID
+     * @param couponId       쿠폰 ID
+     * @param clientIp       클라이언트 IP (rate limit용, null 가능)
+     * @param queueToken     대기열 입장 토큰 (null 가능)
+     * @param idempotencyKey Idempotency-Key 헤더 값 (null 가능)
+     * @return 발급 결과 (같은 키를 처리 중이면 IN_PROGRESS)
+     */
+    public IssueOutcome tryIssueCoupon(final Long userId, final Long couponId, final String clientIp,
+                                       final String queueToken, final String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return tryIssueCoupon(userId, couponId, clientIp, queueToken);
         }
-        if (now.isAfter(coupon.getEvent().getEventEndDatetime())) {
-            throw new EventExpiredException(eventId,
-                coupon.getEvent().getEventStartDatetime(),
-                coupon.getEvent().getEventEndDatetime());
+        IssueOutcome stored = issueIdempotencyService.reserve(userId, couponId, idempotencyKey);
+        if (stored != null) {
+            return stored;
         }
-        // 쿠폰 발급 가능 여부는 이벤트 기간만 검사. couponApplyStart/End는 발급과 무관(다른 코드에서 사용).
+        IssueOutcome outcome;
+        try {
+            outcome = tryIssueCoupon(userId, couponId, clientIp, queueToken);
+        } catch (RuntimeException e) {
+            issueIdempotencyService.release(userId, idempotencyKey);
+            throw e;
+        }
+        issueIdempotencyService.complete(userId, couponId, idempotencyKey, outcome);
+        return outcome;
+    }
+
+    private IssueOutcome issue(final Long userId, final Long couponId, final String clientIp, final String queueToken) {
+        // 이미 소진이 확인된 쿠폰은 I/O 없이 거절
+        if (couponSoldOutRegistry.isSoldOut(couponId)) {
+            return IssueOutcome.EXHAUSTED;
+        }
+        long stageStart = System.nanoTime();
+        CouponSnapshot coupon = getCouponSnapshot(couponId);
+        couponIssueMetrics.recordStage(Stage.METADATA, stageStart);
+        Long eventId = coupon.getEventId();
+        // 한 노드에서만 봐도 한도를 넘은 요청은 Redis 호출 전에 거절
+        stageStart = System.nanoTime();
+        Policy rateLimit = couponRateLimiter.policyFor(eventId);
+        boolean allowed = couponRateLimiter.tryAcquireLocal(eventId, rateLimit, userId, clientIp);
+        couponIssueMetrics.recordStage(Stage.RATE_LIMIT_LOCAL, stageStart);
+        if (!allowed) {
+            return IssueOutcome.RATE_LIMITED;
+        }
+        // 대기열 적용 이벤트는 입장 토큰 보유자만 통과
+        stageStart = System.nanoTime();
+        boolean admitted = admissionQueueService.isAdmitted(eventId, userId, queueToken);
+        couponIssueMetrics.recordStage(Stage.QUEUE_ADMISSION, stageStart);
+        if (!admitted) {
+            return IssueOutcome.QUEUE_TOKEN_REQUIRED;
+        }
+        // users SELECT 대신 로컬 비트맵으로 존재 확인
+        stageStart = System.nanoTime();
+        boolean userExists = userExistenceIndex.exists(userId);
+        couponIssueMetrics.recordStage(Stage.USER_LOOKUP, stageStart);
+        if (!userExists) {
+            throw new UserNotFoundException(userId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
 
-        if (!couponRedisService.checkAndIncrementRate(userId, clientIp)) {
-            throw new TooManyRequestsException();
+        if (now.isBefore(coupon.getEventStartDatetime())) {
+            return IssueOutcome.EVENT_NOT_STARTED;
+        }
+        if (now.isAfter(coupon.getEventEndDatetime())) {
+            return IssueOutcome.EVENT_ENDED;
         }
+        // 쿠폰 발급 가능 여부는 이벤트 기간만 검사. couponApplyStart/End는 발급과 무관(다른 코드에서 사용).
 
-        couponRedisService.ensureStockIfAbsent(couponId, coupon.getCouponTotalCount());
-        int result = couponRedisService.tryIssue(couponId, userId);
+        // 이벤트 활성 → rate limit → 재고 시드 → 중복 체크 → 차감을 Redis 1 RTT 로 처리
+        stageStart = System.nanoTime();
+        int result = couponRedisService.tryIssueAtomic(
+            couponId, eventId, userId, clientIp, coupon.getCouponTotalCount(), rateLimit).getCode();
+        couponIssueMetrics.recordStage(Stage.LUA_ISSUE, stageStart);
+        couponIssueMetrics.recordLuaResult(couponId, result);
 
-        if (result == -1) {
-            throw new DuplicateCouponException(userId, couponId);
+        if (result != CouponRedisService.ISSUE_SUCCESS) {
+            if (result == CouponRedisService.ISSUE_RATE_LIMITED) {
+                couponRateLimiter.recordGlobalRejection();
+            }
+            return toOutcome(result);
         }
-        if (result == 0) {
-            throw new CouponExhaustedException(couponId);
+
+        if (userCouponWriteBehindService.isEnabled()) {
+            stageStart = System.nanoTime();
+            enqueueIssued(couponId, userId);
+            couponIssueMetrics.recordStage(Stage.WRITE_BEHIND_ENQUEUE, stageStart);
+            userWalletService.recordIssued(couponId, coupon.getCouponName(), List.of(userId));
+            return IssueOutcome.SUCCESS;
         }
 
+        stageStart = System.nanoTime();
         Coupons couponRef = couponsRepository.getReferenceById(couponId);
         UserCoupon userCoupon = UserCoupon.builder()
-            .user(user)
+            .user(usersRepository.getReferenceById(userId))
             .coupon(couponRef)
             .couponStatus(CouponStatus.NOT_USE)
             .build();
@@ -149,8 +279,34 @@ public class CouponService {
             userCouponRepository.save(userCoupon);
         } catch (Exception e) {
             couponRedisService.rollbackIssue(couponId, userId);
+            couponIssueMetrics.recordRollback(couponId);
             log.error("Redis 발급 성공 후 DB 저장 실패. couponId: {}, userId: {}", couponId, userId, e);
             throw e;
+        } finally {
+            couponIssueMetrics.recordStage(Stage.DB_SAVE, stageStart);
+        }
+        userWalletService.recordIssued(couponId, coupon.getCouponName(), List.of(userId));
+        return IssueOutcome.SUCCESS;
+    }
+
+    private static IssueOutcome toOutcome(final int scriptResult) {
+        return switch (scriptResult) {
+            case CouponRedisService.ISSUE_SUCCESS -> IssueOutcome.SUCCESS;
+            case CouponRedisService.ISSUE_EVENT_INACTIVE -> IssueOutcome.EVENT_INACTIVE;
+            case CouponRedisService.ISSUE_RATE_LIMITED -> IssueOutcome.RATE_LIMITED;
+            case CouponRedisService.ISSUE_DUPLICATE -> IssueOutcome.DUPLICATE;
+            default -> IssueOutcome.EXHAUSTED;
+        };
+    }
+
+    private void enqueueIssued(final Long couponId, final Long userId) {
+        try {
+            userCouponWriteBehindService.enqueue(couponId, userId);
+        } catch (RuntimeException e) {
+            couponRedisService.rollbackIssue(couponId, userId);
+            couponIssueMetrics.recordRollback(couponId);
+            log.error("Redis 발급 성공 후 적재 큐 저장 실패. couponId: {}, userId: {}", couponId, userId, e);
+            throw e;
         }
     }
 }
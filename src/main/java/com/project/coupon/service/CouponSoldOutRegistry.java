@@ -0,0 +1,115 @@
+package com.project.coupon.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+/**
+ * 노드 로컬 재고 소진(sold-out) 플래그.
+ * 발급 스크립트가 처음 0(재고 소진)을 반환하면 플래그를 세우고 pub/sub 으로 전 노드에 알린다.
+ * 이후 해당 쿠폰 요청은 유저 조회·rate limit·Lua 실행 없이 JVM 안에서 바로 거절된다.
+ *
+ * <p>rollbackIssue·재고 재초기화로 재고가 돌아오면 플래그를 해제하고 전파한다.
+ * 해제 메시지가 유실될 수 있으므로 플래그는 recheck 주기가 지나면 만료되어 Redis 로 다시 확인한다.
+ *
+ * <p>메시지 형식 (채널: coupon:soldout): SOLD_OUT:{couponId} / AVAILABLE:{couponId}
+ */
+@Service
+public class CouponSoldOutRegistry implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponSoldOutRegistry.class);
+
+    private static final String SOLD_OUT_CHANNEL = "coupon:soldout";
+    private static final String SOLD_OUT_PREFIX = "SOLD_OUT:";
+    private static final String AVAILABLE_PREFIX = "AVAILABLE:";
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final long recheckMillis;
+
+    /** couponId → 소진 플래그를 세운 시각(ms) */
+    private final Map<Long, Long> soldOutSince = new ConcurrentHashMap<>();
+
+    public CouponSoldOutRegistry(final RedisTemplate<String, String> stringRedisTemplate,
+                                 final RedisMessageListenerContainer redisMessageListenerContainer,
+                                 @Value("${coupon.sold-out.recheck-ms:5000}") final long recheckMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.recheckMillis = recheckMillis;
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(SOLD_OUT_CHANNEL));
+    }
+
+    /**
+     * 로컬 플래그로 재고 소진 여부를 확인한다. I/O 없음.
+     * recheck 주기가 지난 플래그는 제거하고 false 를 반환해 Redis 로 다시 확인하게 한다.
+     *
+     * @param couponId 쿠폰 ID
+     * @return 소진 플래그가 유효하면 true
+     */
+    public boolean isSoldOut(final Long couponId) {
+        Long since = soldOutSince.get(couponId);
+        if (since == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - since > recheckMillis) {
+            soldOutSince.remove(couponId, since);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 재고 소진을 기록한다. 새로 세워진 경우에만 전 노드에 전파한다.
+     *
+     * @param couponId 쿠폰 ID
+     */
+    public void markSoldOut(final Long couponId) {
+        if (soldOutSince.put(couponId, System.currentTimeMillis()) == null) {
+            publish(SOLD_OUT_PREFIX + couponId);
+        }
+    }
+
+    /**
+     * 재고가 돌아왔음을 기록하고 전 노드에 전파한다.
+     *
+     * @param couponId 쿠폰 ID
+     */
+    public void markAvailable(final Long couponId) {
+        soldOutSince.remove(couponId);
+        publish(AVAILABLE_PREFIX + couponId);
+    }
+
+    @Override
+    public void onMessage(final Message message, final byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (body.startsWith(SOLD_OUT_PREFIX)) {
+                soldOutSince.putIfAbsent(Long.valueOf(body.substring(SOLD_OUT_PREFIX.length())),
+                    System.currentTimeMillis());
+            } else if (body.startsWith(AVAILABLE_PREFIX)) {
+                soldOutSince.remove(Long.valueOf(body.substring(AVAILABLE_PREFIX.length())));
+            } else {
+                log.warn("알 수 없는 sold-out 메시지: {}", body);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("sold-out 메시지 형식 오류: {}", body, e);
+        }
+    }
+
+    private void publish(final String message) {
+        try {
+            stringRedisTemplate.convertAndSend(SOLD_OUT_CHANNEL, message);
+        } catch (RuntimeException e) {
+            // 다른 노드는 자체 Redis 결과 또는 recheck 만료로 수렴한다.
+            log.warn("sold-out 브로드캐스트 실패. message: {}", message, e);
+        }
+    }
+}
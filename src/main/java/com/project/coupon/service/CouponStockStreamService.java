@@ -0,0 +1,297 @@
+package com.project.coupon.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.coupon.dto.StockStreamResponse;
+import com.project.coupon.dto.StockStreamResponse.CouponStock;
+import com.project.coupon.entity.Coupons;
+import com.project.coupon.exception.EventNotFoundException;
+import com.project.coupon.exception.RedisConnectionException;
+import com.project.coupon.exception.TooManyRequestsException;
+import com.project.coupon.repository.CouponsRepository;
+import com.project.coupon.repository.EventsRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 이벤트별 남은 재고 SSE 스트림.
+ * 노드마다 poller 하나가 구독자가 있는 모든 이벤트의 쿠폰 재고를 MGET 으로 한 번에 읽고(레이아웃 미스 포함 최대 2 RTT),
+ * 바뀐 이벤트만 JSON 을 한 번 직렬화해 SSE 프레임으로 만든 뒤 구독자 전원에게 같은 프레임을 보낸다.
+ * 구독자 수와 무관하게 노드당 Redis 비용은 interval-ms 마다 일정하다.
+ *
+ * <ul>
+ *   <li>stock — 이벤트 소속 쿠폰 전체의 남은 재고 (구독 직후 1회 + 변경 시)</li>
+ *   <li>sold-out — 남은 재고가 0 이 된 쿠폰 ({"couponId": ...})</li>
+ * </ul>
+ * 전송은 구독자별 큐와 가상 스레드로 poller 와 분리한다. 느린 클라이언트는 큐가 max-pending 을 넘으면 연결을 끊고,
+ * 클라이언트(EventSource)는 자동 재연결해 최신 stock 을 다시 받는다. 변경이 없으면 heartbeat-seconds 마다 주석 프레임을 보낸다.
+ * 이벤트의 쿠폰 목록은 첫 구독 때 읽으며, 구독자가 모두 떠나면 스트림을 닫는다.
+ */
+@Service
+public class CouponStockStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponStockStreamService.class);
+
+    private static final String STOCK_EVENT = "stock";
+    private static final String SOLD_OUT_EVENT = "sold-out";
+    private static final String COUPON_ID_FIELD = "couponId";
+
+    private final CouponRedisService couponRedisService;
+    private final EventsRepository eventsRepository;
+    private final CouponsRepository couponsRepository;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+    private final int maxSubscribers;
+    private final int maxPending;
+
+    private final Map<Long, EventStream> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CouponStockStreamService(final CouponRedisService couponRedisService,
+                                    final EventsRepository eventsRepository,
+                                    final CouponsRepository couponsRepository,
+                                    final ObjectMapper objectMapper,
+                                    @Value("${coupon.stock-stream.timeout-seconds:1800}") final long timeoutSeconds,
+                                    @Value("${coupon.stock-stream.heartbeat-seconds:15}") final long heartbeatSeconds,
+                                    @Value("${coupon.stock-stream.max-subscribers:10000}") final int maxSubscribers,
+                                    @Value("${coupon.stock-stream.max-pending:16}") final int maxPending) {
+        this.couponRedisService = couponRedisService;
+        this.eventsRepository = eventsRepository;
+        this.couponsRepository = couponsRepository;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutSeconds * 1_000L;
+        this.heartbeatMillis = heartbeatSeconds * 1_000L;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * 이벤트 재고 스트림을 구독한다. 마지막으로 읽은 재고가 있으면 바로 보낸다.
+     *
+     * @param eventId 이벤트 ID
+     * @return SSE emitter
+     * @throws EventNotFoundException   이벤트가 없을 때
+     * @throws TooManyRequestsException 노드 구독자 수가 max-subscribers 에 도달했을 때
+     */
+    public SseEmitter subscribe(final Long eventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new TooManyRequestsException("재고 스트림 구독자가 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        EventStream stream;
+        try {
+            stream = streams.compute(eventId, (id, existing) -> {
+                EventStream target = existing != null ? existing : openStream(id);
+                target.subscribers.add(subscriber);
+                return target;
+            });
+        } catch (RuntimeException e) {
+            subscriberCount.decrementAndGet();
+            throw e;
+        }
+        emitter.onCompletion(() -> unsubscribe(eventId, subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(eventId, subscriber));
+        Set<DataWithMediaType> latest = stream.latestFrame;
+        if (latest != null) {
+            subscriber.offer(latest);
+        }
+        return emitter;
+    }
+
+    /**
+     * 구독 중인 이벤트의 재고를 읽어 변경분을 전송한다.
+     */
+    @Scheduled(fixedDelayString = "${coupon.stock-stream.interval-ms:500}")
+    public void poll() {
+        if (streams.isEmpty()) {
+            return;
+        }
+        List<EventStream> active = new ArrayList<>(streams.values());
+        List<Long> couponIds = new ArrayList<>();
+        for (EventStream stream : active) {
+            couponIds.addAll(stream.couponIds);
+        }
+        Map<Long, Long> remaining;
+        try {
+            remaining = couponRedisService.getRemainingStocks(couponIds);
+        } catch (RedisConnectionException e) {
+            log.warn("재고 스트림 조회 실패, 다음 주기에 재시도. coupons: {}", couponIds.size(), e);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (EventStream stream : active) {
+            try {
+                publish(stream, remaining, now);
+            } catch (RuntimeException e) {
+                log.warn("재고 스트림 전송 실패. eventId: {}", stream.eventId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        streams.values().forEach(stream -> stream.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        sender.shutdown();
+    }
+
+    private EventStream openStream(final Long eventId) {
+        if (!eventsRepository.existsById(eventId)) {
+            throw new EventNotFoundException(eventId);
+        }
+        List<Long> couponIds = couponsRepository.findAllByEvent_EventId(eventId).stream()
+            .map(Coupons::getCouponId)
+            .toList();
+        return new EventStream(eventId, couponIds);
+    }
+
+    private void unsubscribe(final Long eventId, final Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        streams.computeIfPresent(eventId, (id, stream) -> {
+            stream.subscribers.remove(subscriber);
+            return stream.subscribers.isEmpty() ? null : stream;
+        });
+    }
+
+    private void publish(final EventStream stream, final Map<Long, Long> remaining, final long now) {
+        List<CouponStock> coupons = new ArrayList<>(stream.couponIds.size());
+        List<Long> soldOut = new ArrayList<>();
+        boolean changed = stream.latestFrame == null;
+        for (Long couponId : stream.couponIds) {
+            Long current = remaining.get(couponId);
+            Long previous = stream.lastRemaining.get(couponId);
+            if (!Objects.equals(current, previous)) {
+                changed = true;
+                if (current != null && current == 0L && previous != null && previous > 0L) {
+                    soldOut.add(couponId);
+                }
+            }
+            stream.lastRemaining.put(couponId, current);
+            coupons.add(CouponStock.builder()
+                .couponId(couponId)
+                .remainingStock(current)
+                .soldOut(current != null && current == 0L)
+                .build());
+        }
+        if (changed) {
+            stream.latestFrame = frame(STOCK_EVENT, StockStreamResponse.builder()
+                .eventId(stream.eventId)
+                .coupons(coupons)
+                .build());
+            broadcast(stream, stream.latestFrame, now);
+            for (Long couponId : soldOut) {
+                broadcast(stream, frame(SOLD_OUT_EVENT, Map.of(COUPON_ID_FIELD, couponId)), now);
+            }
+        } else if (now - stream.lastSentAt >= heartbeatMillis) {
+            broadcast(stream, SseEmitter.event().comment("heartbeat").build(), now);
+        }
+    }
+
+    private void broadcast(final EventStream stream, final Set<DataWithMediaType> frame, final long now) {
+        stream.lastSentAt = now;
+        for (Subscriber subscriber : stream.subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    /** SSE 프레임을 한 번만 직렬화한다. 반환된 프레임은 모든 구독자가 공유한다. */
+    private Set<DataWithMediaType> frame(final String name, final Object payload) {
+        try {
+            return SseEmitter.event().name(name).data(objectMapper.writeValueAsString(payload)).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("재고 스트림 직렬화 실패", e);
+        }
+    }
+
+    /** 이벤트 하나의 구독자와 마지막 재고 상태. 상태 필드는 poller 스레드만 쓴다. */
+    private static final class EventStream {
+
+        private final Long eventId;
+        private final List<Long> couponIds;
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final Map<Long, Long> lastRemaining = new HashMap<>();
+        private volatile Set<DataWithMediaType> latestFrame;
+        private long lastSentAt;
+
+        private EventStream(final Long eventId, final List<Long> couponIds) {
+            this.eventId = eventId;
+            this.couponIds = couponIds;
+        }
+    }
+
+    /** 구독자별 전송 큐. 한 번에 한 가상 스레드만 비우므로 프레임 순서가 유지된다. */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(final SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(final Set<DataWithMediaType> frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPending) {
+                // 따라오지 못하는 클라이언트는 끊고 재연결 시 최신 stock 부터 다시 받게 한다.
+                emitter.complete();
+                return;
+            }
+            pending.add(frame);
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<DataWithMediaType> frame;
+                while ((frame = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(frame);
+                    } catch (IOException | IllegalStateException e) {
+                        emitter.completeWithError(e);
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -2,17 +2,41 @@ package com.project.coupon.service;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.coupon.dto.CatalogPageResponse;
+import com.project.coupon.dto.CouponCacheDto;
 import com.project.coupon.dto.CouponResponse;
+import com.project.coupon.dto.CouponStockResponse;
+import com.project.coupon.dto.CouponSummaryResponse;
+import com.project.coupon.dto.CouponUserStatusResponse;
 import com.project.coupon.dto.EventResponse;
+import com.project.coupon.dto.EventSummaryResponse;
 import com.project.coupon.entity.Coupons;
 import com.project.coupon.entity.Events;
+import com.project.coupon.exception.CouponNotFoundException;
 import com.project.coupon.exception.EventNotFoundException;
+import com.project.coupon.exception.InvalidRequestException;
 import com.project.coupon.repository.CouponsRepository;
+import com.project.coupon.repository.CouponsRepository.CouponSummaryRow;
 import com.project.coupon.repository.EventsRepository;
+import com.project.coupon.repository.EventsRepository.EventSummaryRow;
+import com.project.coupon.service.CouponRedisService.IssuedUsersMode;
+import com.project.coupon.service.CatalogSnapshotCache.CatalogSnapshot;
+import com.project.coupon.service.CouponRedisService.StockSeed;
+import com.project.coupon.service.CouponRedisService.UserStockState;
 
 import lombok.RequiredArgsConstructor;
 
@@ -20,9 +44,46 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class EventService {
 
+    private static final Logger log = LoggerFactory.getLogger(EventService.class);
+
+    /** 목록 페이지 최대 크기 */
+    private static final int MAX_PAGE_SIZE = 100;
+    /** 이벤트 → 쿠폰 ID 목록 로컬 캐시 TTL. 다른 노드의 쿠폰 추가는 이 시간 안에 반영된다. */
+    private static final Duration EVENT_COUPON_IDS_TTL = Duration.ofSeconds(60);
+
+    /** 이벤트 목록 필터 */
+    public enum EventFilter {
+        /** 전체 */
+        ALL,
+        /** 진행 중 (시작 ≤ 현재 < 종료) */
+        ACTIVE,
+        /** 시작 전 */
+        UPCOMING
+    }
+
     private final EventsRepository eventsRepository;
     private final CouponsRepository couponsRepository;
     private final CouponRedisService couponRedisService;
+    private final CouponMetadataCache couponMetadataCache;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ObjectMapper objectMapper;
+    /** eventId → 소속 쿠폰 ID 목록 (상태 조회가 DB 를 읽지 않도록) */
+    private final Cache<Long, List<Long>> eventCouponIds = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .expireAfterWrite(EVENT_COUPON_IDS_TTL)
+        .build();
+
+    /** 이벤트 일괄 초기화 시 적용할 재고 샤드 수 (1 = 샤드 미사용) */
+    @Value("${coupon.stock-shard.count:1}")
+    private int stockShardCount;
+
+    /** 재고가 이 값 이상인 쿠폰만 샤드로 나눈다 */
+    @Value("${coupon.stock-shard.min-total:10000}")
+    private int stockShardMinTotal;
+
+    /** 재고가 이 값 이상인 쿠폰은 중복 방지를 비트맵으로 관리한다 (기본: 사용 안 함) */
+    @Value("${coupon.issued-users.bitmap-min-total:2147483647}")
+    private int issuedBitmapMinTotal;
 
     /**
      * 전체 이벤트 조회
@@ -35,6 +96,67 @@ public class EventService {
             .toList();
     }
 
+    /**
+     * 전체 이벤트 목록 응답을 직렬화된 스냅샷으로 조회한다. 변경 전까지 DB 조회·직렬화 없이 같은 바이트를 반환한다.
+     *
+     * @return 이벤트 목록 JSON 과 ETag
+     */
+    public CatalogSnapshot getEventsSnapshot() {
+        return catalogSnapshotCache.get("events", this::getEvents);
+    }
+
+    /**
+     * 이벤트 상세 응답을 직렬화된 스냅샷으로 조회한다.
+     *
+     * @param eventId 이벤트 ID
+     * @return 이벤트 JSON 과 ETag
+     * @throws EventNotFoundException 이벤트가 없을 때
+     */
+    public CatalogSnapshot getEventSnapshot(final Long eventId) {
+        return catalogSnapshotCache.get("event:" + eventId, () -> getEventById(eventId));
+    }
+
+    /**
+     * 이벤트별 쿠폰 목록 응답을 직렬화된 스냅샷으로 조회한다.
+     *
+     * @param eventId 이벤트 ID
+     * @return 쿠폰 목록 JSON 과 ETag
+     */
+    public CatalogSnapshot getCouponsSnapshot(final Long eventId) {
+        return catalogSnapshotCache.get("event:" + eventId + ":coupons", () -> getCouponsByEventId(eventId));
+    }
+
+    /**
+     * 이벤트 목록을 event_id 내림차순(최근 등록 순) keyset 페이지로 조회한다.
+     * event_detail(TEXT) 없이 목록 컬럼만 projection 으로 읽으므로 이벤트 수와 무관하게 페이지 크기만큼만 전송한다.
+     *
+     * @param filter 전체 / 진행 중 / 시작 전
+     * @param cursor 이전 페이지의 nextCursor, 첫 페이지면 null
+     * @param size   페이지 크기 (1~100)
+     * @return 이벤트 목록 페이지
+     * @throws InvalidRequestException size 범위 오류
+     */
+    public CatalogPageResponse<EventSummaryResponse> getEventPage(final EventFilter filter, final Long cursor,
+                                                                  final int size) {
+        validatePageSize(size);
+        Long before = cursor != null ? cursor : Long.MAX_VALUE;
+        PageRequest limit = PageRequest.of(0, size + 1);
+        LocalDateTime now = LocalDateTime.now();
+        List<EventSummaryRow> rows = switch (filter) {
+            case ACTIVE -> eventsRepository.findActiveSummariesBefore(now, before, limit);
+            case UPCOMING -> eventsRepository.findUpcomingSummariesBefore(now, before, limit);
+            default -> eventsRepository.findSummariesBefore(before, limit);
+        };
+        List<EventSummaryResponse> items = rows.stream()
+            .limit(size)
+            .map(EventSummaryResponse::from)
+            .toList();
+        return CatalogPageResponse.<EventSummaryResponse>builder()
+            .items(items)
+            .nextCursor(rows.size() > size ? items.get(size - 1).getEventId() : null)
+            .build();
+    }
+
     /**
      * 이벤트 ID 로 이벤트 조회
      *
@@ -59,9 +181,65 @@ public class EventService {
             .toList();
     }
 
+    /**
+     * 이벤트의 쿠폰 목록을 coupon_id 오름차순 keyset 페이지로 조회한다. coupon_detail(TEXT)은 읽지 않는다.
+     *
+     * @param eventId 이벤트 ID
+     * @param cursor  이전 페이지의 nextCursor, 첫 페이지면 null
+     * @param size    페이지 크기 (1~100)
+     * @return 쿠폰 목록 페이지
+     * @throws InvalidRequestException size 범위 오류
+     */
+    public CatalogPageResponse<CouponSummaryResponse> getCouponPage(final Long eventId, final Long cursor,
+                                                                    final int size) {
+        validatePageSize(size);
+        List<CouponSummaryRow> rows = couponsRepository.findSummariesByEventAfter(
+            eventId, cursor != null ? cursor : 0L, PageRequest.of(0, size + 1));
+        List<CouponSummaryResponse> items = rows.stream()
+            .limit(size)
+            .map(CouponSummaryResponse::from)
+            .toList();
+        return CatalogPageResponse.<CouponSummaryResponse>builder()
+            .items(items)
+            .nextCursor(rows.size() > size ? items.get(size - 1).getCouponId() : null)
+            .build();
+    }
+
+    /**
+     * 이벤트 소속 쿠폰 전체의 남은 재고와 유저의 발급 여부를 조회한다.
+     * 쿠폰 ID 목록은 로컬 캐시에서 읽고, 재고·발급 여부는 Redis 파이프라인 1회로 함께 읽는다.
+     * (레이아웃 캐시 미스가 있으면 MGET 1회 추가)
+     *
+     * @param eventId 이벤트 ID
+     * @param userId  유저 ID
+     * @return 쿠폰별 남은 재고·발급 여부 (couponId 오름차순, 소속 쿠폰이 없으면 빈 리스트)
+     */
+    public List<CouponUserStatusResponse> getCouponStatuses(final Long eventId, final Long userId) {
+        List<Long> couponIds = eventCouponIds.get(eventId, id -> couponsRepository.findAllByEvent_EventId(id).stream()
+            .map(Coupons::getCouponId)
+            .sorted()
+            .toList());
+        Map<Long, UserStockState> states = couponRedisService.getUserStockStates(couponIds, userId);
+        return couponIds.stream()
+            .map(couponId -> {
+                UserStockState state = states.get(couponId);
+                Long remaining = state.getRemainingStock();
+                return CouponUserStatusResponse.builder()
+                    .couponId(couponId)
+                    .remainingStock(remaining)
+                    .soldOut(remaining != null && remaining == 0L)
+                    .issued(state.isIssued())
+                    .build();
+            })
+            .toList();
+    }
+
     /**
      * 이벤트가 열릴 때 해당 이벤트의 모든 쿠폰 초기 재고를 Redis에 저장하고,
-     * event:{eventId}:active, coupon:active:{couponId} TTL을 설정한다.
+     * event:{eventId}:active, coupon:active:{couponId} TTL을 설정한다. (파이프라인 1회, 기존 재고는 덮어씀)
+     * DB 변경이 반영되도록 쿠폰 메타데이터 캐시(Redis·전 노드 로컬)도 무효화한다.
+     * 재고가 coupon.stock-shard.min-total 이상인 쿠폰은 coupon.stock-shard.count 개 샤드로 나누고,
+     * coupon.issued-users.bitmap-min-total 이상인 쿠폰은 중복 방지를 비트맵으로 관리한다.
      *
      * @param eventId 이벤트 ID
      */
@@ -69,19 +247,126 @@ public class EventService {
         Events event = eventsRepository.findById(eventId)
             .orElseThrow(() -> new EventNotFoundException(eventId));
         LocalDateTime now = LocalDateTime.now();
+        List<Coupons> coupons = couponsRepository.findAllByEvent_EventId(eventId);
+        List<StockSeed> seeds = coupons.stream()
+            .map(coupon -> toStockSeed(coupon, now, null))
+            .toList();
+        couponRedisService.seedEvent(eventId, secondsUntil(now, event.getEventEndDatetime()), seeds, true);
+        couponMetadataCache.invalidateEvent(eventId, coupons.stream().map(Coupons::getCouponId).toList());
+        catalogSnapshotCache.invalidate();
+        eventCouponIds.invalidate(eventId);
+    }
 
-        long eventTtlSeconds = Duration.between(now, event.getEventEndDatetime()).getSeconds();
-        if (eventTtlSeconds > 0) {
-            couponRedisService.setEventActive(eventId, eventTtlSeconds);
+    /**
+     * 곧 시작할 이벤트를 미리 데운다. 재고가 아직 없는 쿠폰만 시드하고(수동 초기화 값은 유지),
+     * 활성 플래그와 쿠폰 상세 캐시(coupon:detail)는 모든 쿠폰에 대해 파이프라인 1회로 세팅한다.
+     *
+     * @param event 이벤트
+     * @return 재고를 새로 세팅한 쿠폰 수
+     */
+    public int warmUpEvent(final Events event) {
+        LocalDateTime now = LocalDateTime.now();
+        List<StockSeed> seeds = new ArrayList<>();
+        for (Coupons coupon : couponsRepository.findAllWithEventByEventId(event.getEventId())) {
+            seeds.add(toStockSeed(coupon, now, toDetailJson(coupon)));
         }
+        return couponRedisService.seedEvent(event.getEventId(), secondsUntil(now, event.getEventEndDatetime()),
+            seeds, false);
+    }
 
-        List<Coupons> coupons = couponsRepository.findAllByEvent_EventId(eventId);
-        for (Coupons coupon : coupons) {
-            couponRedisService.initializeStock(coupon.getCouponId(), coupon.getCouponTotalCount());
-            long couponTtlSeconds = Duration.between(now, coupon.getCouponApplyEndDatetime()).getSeconds();
-            if (couponTtlSeconds > 0) {
-                couponRedisService.setCouponActive(coupon.getCouponId(), couponTtlSeconds);
-            }
+    private StockSeed toStockSeed(final Coupons coupon, final LocalDateTime now, final String detailJson) {
+        int shards = coupon.getCouponTotalCount() >= stockShardMinTotal ? stockShardCount : 1;
+        IssuedUsersMode mode = coupon.getCouponTotalCount() >= issuedBitmapMinTotal
+            ? IssuedUsersMode.BITMAP : IssuedUsersMode.SET;
+        return new StockSeed(coupon.getCouponId(), coupon.getCouponTotalCount(), shards, mode,
+            secondsUntil(now, coupon.getCouponApplyEndDatetime()), detailJson);
+    }
+
+    private String toDetailJson(final Coupons coupon) {
+        try {
+            return objectMapper.writeValueAsString(CouponCacheDto.from(coupon));
+        } catch (JsonProcessingException e) {
+            log.warn("Coupon cache serialize failed, couponId: {}", coupon.getCouponId(), e);
+            return null;
+        }
+    }
+
+    private static long secondsUntil(final LocalDateTime now, final LocalDateTime end) {
+        return Duration.between(now, end).getSeconds();
+    }
+
+    /**
+     * 단일 쿠폰의 초기 재고를 지정한 샤드 수·중복 방지 방식으로 Redis에 저장하고 coupon:active:{couponId} TTL을 설정한다.
+     * 발급이 몰릴 쿠폰만 골라 샤드·비트맵 모드로 열 때 사용한다.
+     *
+     * @param couponId        쿠폰 ID
+     * @param shards          재고 샤드 수 (1 = 단일 키)
+     * @param issuedUsersMode 중복 방지 방식
+     * @throws CouponNotFoundException 쿠폰이 없을 때
+     */
+    public void initializeCouponStock(final Long couponId, final int shards, final IssuedUsersMode issuedUsersMode) {
+        Coupons coupon = couponsRepository.findById(couponId)
+            .orElseThrow(() -> new CouponNotFoundException(couponId));
+        initializeCouponStock(coupon, shards, issuedUsersMode, LocalDateTime.now());
+        couponMetadataCache.invalidateCoupon(couponId);
+        catalogSnapshotCache.invalidate();
+    }
+
+    /**
+     * 쿠폰의 Redis 재고 현황을 조회한다. 샤드 모드면 전 샤드 합계.
+     *
+     * @param couponId 쿠폰 ID
+     * @return 재고 현황
+     */
+    public CouponStockResponse getCouponStock(final Long couponId) {
+        return CouponStockResponse.builder()
+            .couponId(couponId)
+            .remainingStock(couponRedisService.getRemainingStock(couponId))
+            .stockShards(couponRedisService.getStockShardCount(couponId))
+            .issuedUsersMode(couponRedisService.getIssuedUsersMode(couponId).name())
+            .build();
+    }
+
+    private void initializeCouponStock(final Coupons coupon, final int shards,
+                                       final IssuedUsersMode issuedUsersMode, final LocalDateTime now) {
+        couponRedisService.initializeStock(coupon.getCouponId(), coupon.getCouponTotalCount(), shards, issuedUsersMode);
+        long couponTtlSeconds = secondsUntil(now, coupon.getCouponApplyEndDatetime());
+        if (couponTtlSeconds > 0) {
+            couponRedisService.setCouponActive(coupon.getCouponId(), couponTtlSeconds);
+        }
+    }
+
+    /**
+     * 이벤트 및 소속 쿠폰의 메타데이터 캐시와 카탈로그 응답 스냅샷을 무효화한다. (관리자 DB 변경 후 호출)
+     *
+     * @param eventId 이벤트 ID
+     * @throws EventNotFoundException 이벤트가 없을 때
+     */
+    public void evictEventCaches(final Long eventId) {
+        if (!eventsRepository.existsById(eventId)) {
+            throw new EventNotFoundException(eventId);
+        }
+        List<Long> couponIds = couponsRepository.findAllByEvent_EventId(eventId).stream()
+            .map(Coupons::getCouponId)
+            .toList();
+        couponMetadataCache.invalidateEvent(eventId, couponIds);
+        catalogSnapshotCache.invalidate();
+        eventCouponIds.invalidate(eventId);
+    }
+
+    /**
+     * 쿠폰 메타데이터 캐시와 카탈로그 응답 스냅샷을 무효화한다. (관리자 DB 변경 후 호출)
+     *
+     * @param couponId 쿠폰 ID
+     */
+    public void evictCouponCache(final Long couponId) {
+        couponMetadataCache.invalidateCoupon(couponId);
+        catalogSnapshotCache.invalidate();
+    }
+
+    private static void validatePageSize(final int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("size", size);
         }
     }
 }
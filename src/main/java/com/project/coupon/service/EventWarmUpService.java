@@ -0,0 +1,170 @@
+package com.project.coupon.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.project.coupon.entity.Coupons;
+import com.project.coupon.entity.Events;
+import com.project.coupon.repository.CouponsRepository;
+import com.project.coupon.repository.EventsRepository;
+import com.project.coupon.service.RedisScriptRegistry.LuaScript;
+
+/**
+ * 이벤트 자동 warm-up 스케줄러.
+ * 수동 initialize-coupons 호출 없이도 eventStartDatetime 전에 발급 경로가 쓰는 상태를 미리 채운다.
+ *
+ * <ul>
+ *   <li>클러스터 공용(한 인스턴스만): 재고·레이아웃·이벤트/쿠폰 활성 플래그·coupon:detail 을 파이프라인 1회로 세팅.
+ *       warmup:event:{id}:lock 을 가진 인스턴스만 실행하고, 완료 후 event:{id}:warmed 를 이벤트 종료까지 남긴다.</li>
+ *   <li>노드 로컬(모든 인스턴스): 시작 local-lead-seconds 전에 쿠폰 메타데이터 near-cache 와
+ *       사용자 존재 비트맵을 채운다. rate limit 은 로컬 bucket·Redis 카운터 모두 첫 요청 시 생기므로 미리 만들 것이 없다.</li>
+ * </ul>
+ * 이미 재고가 있는 쿠폰(수동 초기화 등)은 재고를 덮어쓰지 않는다. 이미 시작했지만 warm-up 되지 않은 이벤트도 대상이다.
+ */
+@Service
+public class EventWarmUpService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventWarmUpService.class);
+
+    private static final String LOCK_KEY_PREFIX = "warmup:event:";
+    private static final String LOCK_KEY_SUFFIX = ":lock";
+    private static final String WARMED_KEY_PREFIX = "event:";
+    private static final String WARMED_KEY_SUFFIX = ":warmed";
+
+    /**
+     * Lua script: 락 소유자일 때만 삭제.
+     * KEYS[1]: lock key, ARGV[1]: 인스턴스 ID
+     */
+    private static final String UNLOCK_SCRIPT =
+        "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end "
+        + "return 0";
+
+    private final EventsRepository eventsRepository;
+    private final CouponsRepository couponsRepository;
+    private final EventService eventService;
+    private final CouponService couponService;
+    private final UserExistenceIndex userExistenceIndex;
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final RedisScriptRegistry redisScriptRegistry;
+    private final LuaScript<Long> unlockScript;
+
+    private final boolean enabled;
+    private final long leadSeconds;
+    private final long localLeadSeconds;
+    private final Duration lockTtl;
+    private final String instanceId = "warmup-" + UUID.randomUUID();
+
+    /** 이 노드에서 로컬 warm-up 을 마친 이벤트 (스케줄러 스레드 전용) */
+    private final Set<Long> locallyWarmed = new HashSet<>();
+
+    public EventWarmUpService(final EventsRepository eventsRepository,
+                              final CouponsRepository couponsRepository,
+                              final EventService eventService,
+                              final CouponService couponService,
+                              final UserExistenceIndex userExistenceIndex,
+                              final RedisTemplate<String, String> stringRedisTemplate,
+                              final RedisScriptRegistry redisScriptRegistry,
+                              @Value("${coupon.warm-up.enabled:true}") final boolean enabled,
+                              @Value("${coupon.warm-up.lead-seconds:300}") final long leadSeconds,
+                              @Value("${coupon.warm-up.local-lead-seconds:30}") final long localLeadSeconds,
+                              @Value("${coupon.warm-up.lock-ttl-ms:30000}") final long lockTtlMillis) {
+        this.eventsRepository = eventsRepository;
+        this.couponsRepository = couponsRepository;
+        this.eventService = eventService;
+        this.couponService = couponService;
+        this.userExistenceIndex = userExistenceIndex;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisScriptRegistry = redisScriptRegistry;
+        this.unlockScript = redisScriptRegistry.register("warmup-unlock", UNLOCK_SCRIPT, Long.class);
+        this.enabled = enabled;
+        this.leadSeconds = leadSeconds;
+        this.localLeadSeconds = localLeadSeconds;
+        this.lockTtl = Duration.ofMillis(lockTtlMillis);
+    }
+
+    /**
+     * lead-seconds 안에 시작하거나 진행 중인 이벤트를 warm-up 한다.
+     */
+    @Scheduled(fixedDelayString = "${coupon.warm-up.interval-ms:10000}")
+    public void warmUpUpcomingEvents() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Events> events;
+        try {
+            events = eventsRepository.findAllStartingBefore(now.plusSeconds(leadSeconds), now);
+        } catch (RuntimeException e) {
+            log.warn("warm-up 대상 이벤트 조회 실패.", e);
+            return;
+        }
+        Set<Long> eventIds = new HashSet<>();
+        for (Events event : events) {
+            eventIds.add(event.getEventId());
+            try {
+                warmUpShared(event);
+            } catch (RuntimeException e) {
+                log.warn("이벤트 warm-up 실패, 다음 주기에 재시도. eventId: {}", event.getEventId(), e);
+            }
+            if (!event.getEventStartDatetime().isAfter(now.plusSeconds(localLeadSeconds))) {
+                warmUpLocal(event);
+            }
+        }
+        locallyWarmed.retainAll(eventIds);
+    }
+
+    private void warmUpShared(final Events event) {
+        Long eventId = event.getEventId();
+        String warmedKey = WARMED_KEY_PREFIX + eventId + WARMED_KEY_SUFFIX;
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(warmedKey))) {
+            return;
+        }
+        String lockKey = LOCK_KEY_PREFIX + eventId + LOCK_KEY_SUFFIX;
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, instanceId, lockTtl))) {
+            return;
+        }
+        try {
+            // 락 대기 사이 다른 인스턴스가 끝냈을 수 있다.
+            if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(warmedKey))) {
+                return;
+            }
+            long startNanos = System.nanoTime();
+            int seeded = eventService.warmUpEvent(event);
+            Duration untilEnd = Duration.between(LocalDateTime.now(), event.getEventEndDatetime());
+            stringRedisTemplate.opsForValue().set(warmedKey, instanceId,
+                untilEnd.isNegative() || untilEnd.isZero() ? Duration.ofSeconds(1) : untilEnd);
+            log.info("이벤트 warm-up 완료. eventId: {}, seededCoupons: {}, startAt: {}, tookMs: {}",
+                eventId, seeded, event.getEventStartDatetime(), (System.nanoTime() - startNanos) / 1_000_000);
+        } finally {
+            redisScriptRegistry.execute(unlockScript, List.of(lockKey), instanceId);
+        }
+    }
+
+    private void warmUpLocal(final Events event) {
+        Long eventId = event.getEventId();
+        if (locallyWarmed.contains(eventId)) {
+            return;
+        }
+        try {
+            // 시작 직전 가입자까지 비트맵에 반영해 오픈 직후 users 조회가 몰리지 않게 한다.
+            userExistenceIndex.refresh();
+            for (Coupons coupon : couponsRepository.findAllByEvent_EventId(eventId)) {
+                couponService.getCouponSnapshot(coupon.getCouponId());
+            }
+            locallyWarmed.add(eventId);
+        } catch (RuntimeException e) {
+            log.warn("이벤트 로컬 warm-up 실패, 다음 주기에 재시도. eventId: {}", eventId, e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.project.coupon.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.coupon.service.BulkImportService.ImportFormat;
+
+/**
+ * 대량 적재 요청 본문을 한 줄씩 읽어 필드 맵으로 바꾼다. 본문 전체를 메모리에 올리지 않는다.
+ *
+ * <ul>
+ *   <li>CSV: 첫 줄이 헤더. 큰따옴표로 감싼 값과 "" 이스케이프를 지원하고, 값 안의 줄바꿈은 지원하지 않는다.</li>
+ *   <li>JSONL: 한 줄에 JSON 객체 하나. 값은 문자열로 읽는다.</li>
+ * </ul>
+ * 필드 이름은 소문자로 바꾸고 '_' 를 뺀 형태로 정규화한다. (userLoginId, user_login_id → userloginid)
+ */
+final class ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber;
+
+    ImportRowReader(final InputStream body, final ImportFormat format, final ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 다음 행을 읽는다. 빈 줄은 건너뛴다.
+     *
+     * @return 정규화된 필드 이름 → 값, 본문 끝이면 null
+     * @throws IllegalArgumentException 행 형식이 잘못됐을 때 (다음 호출은 다음 행부터 읽는다)
+     * @throws IOException 본문 읽기 실패 시
+     */
+    Map<String, String> next() throws IOException {
+        String line = nextLine();
+        if (line == null) {
+            return null;
+        }
+        if (format == ImportFormat.JSONL) {
+            return parseJson(line);
+        }
+        if (header == null) {
+            header = new ArrayList<>();
+            for (String name : parseCsv(line)) {
+                header.add(normalize(name));
+            }
+            line = nextLine();
+            if (line == null) {
+                return null;
+            }
+        }
+        List<String> values = parseCsv(line);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("컬럼 수 불일치. expected: " + header.size() + ", actual: " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return fields;
+    }
+
+    /** @return 마지막으로 읽은 줄 번호 (1부터) */
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+        } while (line.isBlank());
+        return line;
+    }
+
+    private Map<String, String> parseJson(final String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON 형식 오류: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("JSON 객체가 아닙니다.");
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            if (!field.getValue().isNull()) {
+                fields.put(normalize(field.getKey()), field.getValue().asText());
+            }
+        }
+        return fields;
+    }
+
+    private static List<String> parseCsv(final String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("닫히지 않은 따옴표");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static String normalize(final String name) {
+        return name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
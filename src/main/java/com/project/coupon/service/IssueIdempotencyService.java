@@ -0,0 +1,146 @@
+package com.project.coupon.service;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import com.project.coupon.exception.InvalidRequestException;
+import com.project.coupon.exception.RedisConnectionException;
+import com.project.coupon.service.RedisScriptRegistry.LuaScript;
+
+/**
+ * 쿠폰 발급 Idempotency-Key 저장소.
+ * 타임아웃으로 재시도한 요청이 rate limit·재고 스크립트·DB 를 다시 거치지 않고 첫 결과를 그대로 받도록 한다.
+ *
+ * <ul>
+ *   <li>issue:idempotency:{userId}:{key} — String ("couponId:결과"), 처리 중에는 결과 자리에 PENDING</li>
+ * </ul>
+ * 첫 요청은 조회와 PENDING 예약을 스크립트 1회로 처리하고, 끝나면 결과를 ttl-seconds 동안 저장한다.
+ * 재시도는 같은 스크립트의 GET 한 번으로 저장된 결과를 받는다. 처리 중이면 IN_PROGRESS 를 돌려준다.
+ * rate limit·대기열 미입장처럼 다시 시도하면 달라질 수 있는 거절과 예외는 저장하지 않고 예약을 지운다.
+ */
+@Service
+public class IssueIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueIdempotencyService.class);
+
+    private static final String KEY_PREFIX = "issue:idempotency:";
+    private static final String SEPARATOR = ":";
+    private static final String PENDING = "PENDING";
+    /** UUID·ULID 등 클라이언트 생성 키 */
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    /** 재시도해도 결과가 같은 발급 결과만 저장한다 */
+    private static final Set<IssueOutcome> STORED_OUTCOMES = EnumSet.of(IssueOutcome.SUCCESS,
+        IssueOutcome.DUPLICATE, IssueOutcome.EXHAUSTED, IssueOutcome.EVENT_NOT_STARTED,
+        IssueOutcome.EVENT_ENDED, IssueOutcome.EVENT_INACTIVE);
+
+    /**
+     * 저장된 결과를 조회하고, 없으면 PENDING 으로 예약한다.
+     * KEYS[1]=멱등 키, ARGV[1]=예약 값, ARGV[2]=예약 TTL(초)
+     * 반환: 저장된 값, 새로 예약했으면 nil
+     */
+    private static final String RESERVE_SCRIPT =
+        "local stored = redis.call('GET', KEYS[1])\n"
+            + "if stored then return stored end\n"
+            + "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])\n"
+            + "return false";
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final RedisScriptRegistry redisScriptRegistry;
+    private final LuaScript<String> reserveScript;
+    private final Duration ttl;
+    private final long pendingSeconds;
+
+    public IssueIdempotencyService(final RedisTemplate<String, String> stringRedisTemplate,
+                                   final RedisScriptRegistry redisScriptRegistry,
+                                   @Value("${coupon.idempotency.ttl-seconds:600}") final long ttlSeconds,
+                                   @Value("${coupon.idempotency.pending-seconds:30}") final long pendingSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisScriptRegistry = redisScriptRegistry;
+        this.reserveScript = redisScriptRegistry.register("issue-idempotency-reserve", RESERVE_SCRIPT, String.class);
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.pendingSeconds = pendingSeconds;
+    }
+
+    /**
+     * 저장된 발급 결과를 조회하고, 없으면 이 요청이 처리하도록 예약한다.
+     *
+     * @param userId   유저 ID
+     * @param couponId 쿠폰 ID
+     * @param key      Idempotency-Key 헤더 값
+     * @return 저장된 결과 (처리 중이면 IN_PROGRESS), 새로 예약했으면 null
+     * @throws InvalidRequestException 키 형식 오류이거나 같은 키를 다른 쿠폰에 사용했을 때
+     */
+    public IssueOutcome reserve(final Long userId, final Long couponId, final String key) {
+        if (!KEY_PATTERN.matcher(key).matches()) {
+            throw new InvalidRequestException("Idempotency-Key", key);
+        }
+        String stored;
+        try {
+            stored = redisScriptRegistry.execute(reserveScript, List.of(redisKey(userId, key)),
+                value(couponId, PENDING), String.valueOf(pendingSeconds));
+        } catch (Exception e) {
+            throw new RedisConnectionException("발급 멱등 키 조회 실패. userId: " + userId, e);
+        }
+        if (stored == null) {
+            return null;
+        }
+        int sep = stored.indexOf(SEPARATOR);
+        if (!stored.substring(0, sep).equals(String.valueOf(couponId))) {
+            throw new InvalidRequestException("Idempotency-Key", key);
+        }
+        String outcome = stored.substring(sep + 1);
+        return PENDING.equals(outcome) ? IssueOutcome.IN_PROGRESS : IssueOutcome.valueOf(outcome);
+    }
+
+    /**
+     * 예약한 요청의 발급 결과를 저장한다. 저장 대상이 아닌 결과면 예약을 지운다.
+     * 실패해도 발급 결과는 유지되므로 로그만 남긴다. (재시도는 PENDING 만료 후 다시 처리된다)
+     *
+     * @param userId   유저 ID
+     * @param couponId 쿠폰 ID
+     * @param key      Idempotency-Key 헤더 값
+     * @param outcome  발급 결과
+     */
+    public void complete(final Long userId, final Long couponId, final String key, final IssueOutcome outcome) {
+        if (!STORED_OUTCOMES.contains(outcome)) {
+            release(userId, key);
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForValue().set(redisKey(userId, key), value(couponId, outcome.name()), ttl);
+        } catch (Exception e) {
+            log.warn("발급 멱등 결과 저장 실패. userId: {}, couponId: {}, outcome: {}", userId, couponId, outcome, e);
+        }
+    }
+
+    /**
+     * 예외로 끝난 요청의 예약을 지워 재시도가 다시 처리되게 한다.
+     *
+     * @param userId 유저 ID
+     * @param key    Idempotency-Key 헤더 값
+     */
+    public void release(final Long userId, final String key) {
+        try {
+            stringRedisTemplate.delete(redisKey(userId, key));
+        } catch (Exception e) {
+            log.warn("발급 멱등 예약 해제 실패. userId: {}", userId, e);
+        }
+    }
+
+    private static String redisKey(final Long userId, final String key) {
+        return KEY_PREFIX + userId + SEPARATOR + key;
+    }
+
+    private static String value(final Long couponId, final String outcome) {
+        return couponId + SEPARATOR + outcome;
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.coupon.service;
+
+/**
+ * 쿠폰 발급 결과.
+ * 드롭 중 대부분을 차지하는 예상된 거절(재고 소진·중복·rate limit·기간 외·대기열 미입장)은 예외 대신 이 값으로 돌려준다.
+ * 거절 값의 오류 코드는 BaseException 오류 코드와 같고, 메시지는 ID 를 담지 않는 고정 문구라 응답 본문을 미리 직렬화할 수 있다.
+ */
+public enum IssueOutcome {
+
+    SUCCESS(null, null),
+    EXHAUSTED("COUPON_EXHAUSTED", "쿠폰 재고가 부족합니다."),
+    DUPLICATE("DUPLICATE_COUPON", "이미 발급받은 쿠폰입니다."),
+    RATE_LIMITED("RATE_LIMIT_EXCEEDED", "요청 한도를 초과했습니다. 잠시 후 다시 시도해 주세요."),
+    EVENT_NOT_STARTED("EVENT_EXPIRED", "이벤트가 아직 시작되지 않았습니다."),
+    EVENT_ENDED("EVENT_EXPIRED", "이벤트 기간이 만료되었습니다."),
+    EVENT_INACTIVE("EVENT_EXPIRED", "진행 중인 이벤트가 아닙니다."),
+    QUEUE_TOKEN_REQUIRED("QUEUE_TOKEN_REQUIRED", "대기열 입장 토큰이 없거나 만료되었습니다. 대기열에 먼저 참여해 주세요."),
+    IN_PROGRESS("ISSUE_IN_PROGRESS", "같은 Idempotency-Key 의 발급 요청을 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+
+    private final String errorCode;
+    private final String message;
+
+    IssueOutcome(final String errorCode, final String message) {
+        this.errorCode = errorCode;
+        this.message = message;
+    }
+
+    /**
+     * @return 거절 오류 코드 (SUCCESS 는 null)
+     */
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * @return 고정 거절 메시지 (SUCCESS 는 null)
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isSuccess() {
+        return this == SUCCESS;
+    }
+}
@@ -0,0 +1,68 @@
+package com.project.coupon.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.project.coupon.repository.CouponsRepository;
+
+/**
+ * 해시 태그 키 이전. coupon.redis.migrate-legacy-keys=true 면 기동 완료 시 전체 쿠폰의 Redis 키를
+ * 해시 태그 도입 전 이름(coupon:id:stock)에서 새 이름(coupon:{id}:stock)으로 옮긴다.
+ *
+ * <p>롤링 배포 중에는 실행하지 않는다. 이전 버전 인스턴스가 이전 키로 재고를 차감하는 동안 옮기면 그 차감이 새 키에 반영되지 않아
+ * 초과 발급될 수 있고, 이 리스너가 도는 동안에도 웹 서버는 이미 요청을 받고 있다.
+ * 이전 버전 인스턴스를 모두 내려 발급을 멈춘 뒤, 새 버전 한 대만 이 플래그로 띄워 옮기고 나머지를 띄운다.
+ * 새 키가 이미 있는 쿠폰은 덮어쓰지 않고 기동을 실패시킨다.
+ * 단일 Redis 에서 한 번 실행해 두고 클러스터로 전환한 뒤에는 끈다.
+ */
+@Service
+public class RedisKeyMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisKeyMigrationService.class);
+
+    private final CouponRedisService couponRedisService;
+    private final CouponsRepository couponsRepository;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public RedisKeyMigrationService(final CouponRedisService couponRedisService,
+                                    final CouponsRepository couponsRepository,
+                                    @Value("${coupon.redis.migrate-legacy-keys:false}") final boolean enabled,
+                                    @Value("${coupon.redis.migrate-batch-size:500}") final int batchSize) {
+        this.couponRedisService = couponRedisService;
+        this.couponsRepository = couponsRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 전체 쿠폰을 coupon_id 순으로 batch-size 개씩 읽어 키를 옮긴다. 실패하거나 새 키와 충돌하면 예외로 기동을 중단한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+        long coupons = 0L;
+        long moved = 0L;
+        Long after = 0L;
+        List<Long> couponIds;
+        do {
+            couponIds = couponsRepository.findIdsAfter(after, PageRequest.of(0, batchSize));
+            if (couponIds.isEmpty()) {
+                break;
+            }
+            moved += couponRedisService.migrateLegacyKeys(couponIds);
+            coupons += couponIds.size();
+            after = couponIds.get(couponIds.size() - 1);
+        } while (couponIds.size() == batchSize);
+        log.info("Redis 해시 태그 키 이전 완료. coupons: {}, movedKeys: {}", coupons, moved);
+    }
+}
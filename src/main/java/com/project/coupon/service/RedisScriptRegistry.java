@@ -0,0 +1,255 @@
+package com.project.coupon.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import com.project.coupon.dto.RedisScriptStatsResponse;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lua 스크립트 레지스트리.
+ * 스크립트를 이름으로 한 번만 등록해 SHA1 을 미리 계산하고, 기동 시 SCRIPT LOAD 로 적재한 뒤
+ * 호출마다 EVALSHA 만 보낸다. Redis 재시작·failover 로 NOSCRIPT 가 오면 EVAL 로 실행하며 다시 적재한다.
+ * 스크립트별 호출 수·오류 수·재적재 수·지연 시간을 누적한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class RedisScriptRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisScriptRegistry.class);
+
+    private static final String NO_SCRIPT_ERROR = "NOSCRIPT";
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+
+    private final Map<String, LuaScript<?>> scripts = new ConcurrentHashMap<>();
+
+    /**
+     * 스크립트를 등록한다. 같은 이름으로 다시 등록하면 기존 스크립트를 반환한다.
+     *
+     * @param name       스크립트 이름 (통계 표시용)
+     * @param source     Lua 소스
+     * @param resultType 결과 타입 (Long, List 등)
+     * @param <T>        결과 타입
+     * @return 실행 핸들
+     */
+    @SuppressWarnings("unchecked")
+    public <T> LuaScript<T> register(final String name, final String source, final Class<T> resultType) {
+        return (LuaScript<T>) scripts.computeIfAbsent(name, key -> new LuaScript<>(key, source, resultType));
+    }
+
+    /**
+     * 등록된 모든 스크립트를 SCRIPT LOAD 로 적재한다. 실패해도 첫 호출 시 NOSCRIPT 복구로 다시 적재된다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        for (LuaScript<?> script : scripts.values()) {
+            try {
+                stringRedisTemplate.execute((RedisCallback<String>) connection -> load(connection, script));
+            } catch (RuntimeException e) {
+                log.warn("Lua 스크립트 적재 실패, 첫 호출 시 재시도. script: {}", script.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * EVALSHA 로 스크립트를 실행한다.
+     *
+     * @param script 등록된 스크립트
+     * @param keys   KEYS
+     * @param args   ARGV
+     * @param <T>    결과 타입
+     * @return 스크립트 결과 (bulk string 은 String 으로 변환)
+     */
+    public <T> T execute(final LuaScript<T> script, final List<String> keys, final String... args) {
+        byte[][] keysAndArgs = serialize(keys, args);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = stringRedisTemplate.execute((RedisCallback<T>) connection ->
+                evalSha(connection, script, keys.size(), keysAndArgs));
+            failed = false;
+            return result;
+        } finally {
+            script.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * 스크립트별 누적 통계를 반환한다.
+     *
+     * @return 스크립트 이름 순 통계 목록
+     */
+    public List<RedisScriptStatsResponse> getStats() {
+        return scripts.values().stream()
+            .sorted(Comparator.comparing(LuaScript::getName))
+            .map(LuaScript::toStats)
+            .toList();
+    }
+
+    /**
+     * Redis Cluster 연결인지 확인한다. 클러스터에서는 한 스크립트·파이프라인 다중 키 명령의 키가 같은 슬롯이어야 한다.
+     *
+     * @param redisTemplate Redis 템플릿
+     * @return Lettuce 클러스터 연결이면 true
+     */
+    public static boolean isCluster(final RedisTemplate<?, ?> redisTemplate) {
+        return redisTemplate != null
+            && redisTemplate.getConnectionFactory() instanceof LettuceConnectionFactory factory
+            && factory.isClusterAware();
+    }
+
+    private <T> T evalSha(final RedisConnection connection, final LuaScript<T> script,
+                          final int numKeys, final byte[][] keysAndArgs) {
+        try {
+            return script.convert(connection.scriptingCommands()
+                .evalSha(script.getSha1(), script.getReturnType(), numKeys, keysAndArgs));
+        } catch (RuntimeException e) {
+            if (!isNoScript(e)) {
+                throw e;
+            }
+            // EVAL 은 실행과 함께 키가 있는 노드에 스크립트를 캐시한다. (클러스터에서 SCRIPT LOAD 는 다른 노드로 갈 수 있다)
+            log.info("NOSCRIPT 응답, EVAL 로 재적재. script: {}", script.getName());
+            script.reloads.increment();
+            return script.convert(connection.scriptingCommands()
+                .eval(script.sourceBytes, script.getReturnType(), numKeys, keysAndArgs));
+        }
+    }
+
+    private static String load(final RedisConnection connection, final LuaScript<?> script) {
+        String sha1 = connection.scriptingCommands().scriptLoad(script.sourceBytes);
+        if (!script.getSha1().equals(sha1)) {
+            log.warn("SCRIPT LOAD SHA1 불일치. script: {}, local: {}, redis: {}", script.getName(), script.getSha1(), sha1);
+        }
+        return sha1;
+    }
+
+    private static byte[][] serialize(final List<String> keys, final String[] args) {
+        byte[][] keysAndArgs = new byte[keys.size() + args.length][];
+        int i = 0;
+        for (String key : keys) {
+            keysAndArgs[i++] = key.getBytes(StandardCharsets.UTF_8);
+        }
+        for (String arg : args) {
+            keysAndArgs[i++] = arg.getBytes(StandardCharsets.UTF_8);
+        }
+        return keysAndArgs;
+    }
+
+    private static boolean isNoScript(final Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains(NO_SCRIPT_ERROR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 등록된 Lua 스크립트 핸들. 소스·SHA1·반환 타입과 호출 통계를 보관한다.
+     *
+     * @param <T> 결과 타입
+     */
+    public static final class LuaScript<T> {
+
+        private final String name;
+        private final byte[] sourceBytes;
+        private final String sha1;
+        private final ReturnType returnType;
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder reloads = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private LuaScript(final String name, final String source, final Class<T> resultType) {
+            this.name = name;
+            this.sourceBytes = source.getBytes(StandardCharsets.UTF_8);
+            this.sha1 = sha1Hex(sourceBytes);
+            this.returnType = ReturnType.fromJavaType(resultType);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getSha1() {
+            return sha1;
+        }
+
+        ReturnType getReturnType() {
+            return returnType;
+        }
+
+        @SuppressWarnings("unchecked")
+        T convert(final Object raw) {
+            return (T) decode(raw);
+        }
+
+        private static Object decode(final Object raw) {
+            if (raw instanceof byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            if (raw instanceof List<?> list) {
+                List<Object> decoded = new ArrayList<>(list.size());
+                for (Object element : list) {
+                    decoded.add(decode(element));
+                }
+                return decoded;
+            }
+            return raw;
+        }
+
+        private void record(final long elapsedNanos, final boolean failed) {
+            calls.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        private RedisScriptStatsResponse toStats() {
+            long callCount = calls.sum();
+            return RedisScriptStatsResponse.builder()
+                .name(name)
+                .sha1(sha1)
+                .calls(callCount)
+                .errors(errors.sum())
+                .reloads(reloads.sum())
+                .avgMicros(callCount == 0 ? 0.0 : totalNanos.sum() / 1_000.0 / callCount)
+                .maxMicros(maxNanos.get() / 1_000.0)
+                .build();
+        }
+
+        private static String sha1Hex(final byte[] source) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(source));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-1 을 사용할 수 없습니다.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.project.coupon.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.project.coupon.dto.IssuedCouponMessage;
+import com.project.coupon.exception.RedisConnectionException;
+import com.project.coupon.repository.UserCouponJdbcRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * user_coupon write-behind 적재 서비스.
+ * Redis 발급 성공 건을 Redis Stream(coupon:issue:stream)에 넣고, 백그라운드 drainer 가
+ * consumer group 으로 읽어 multi-row INSERT 로 일괄 저장한 뒤 ACK 한다.
+ *
+ * <ul>
+ *   <li>DB 일시 장애(연결 실패 등): ACK 하지 않고 pending 으로 남겨 재시도</li>
+ *   <li>행 단위 영구 실패: maxAttempts 회 전달 후 dead-letter 스트림으로 이동, rollbackIssue 로 Redis 복구, 지갑 항목 삭제</li>
+ *   <li>다른 인스턴스가 죽어 남긴 pending 은 claim-idle 경과 후 회수해 처리</li>
+ * </ul>
+ * redis.mdc 6: DB 저장 실패 보상 전략.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserCouponWriteBehindService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCouponWriteBehindService.class);
+
+    private static final String STREAM_KEY = "coupon:issue:stream";
+    private static final String DEAD_LETTER_KEY = "coupon:issue:dead_letter";
+    private static final String CONSUMER_GROUP = "user-coupon-writer";
+    private static final String FIELD_COUPON_ID = "couponId";
+    private static final String FIELD_USER_ID = "userId";
+    private static final String FIELD_ISSUED_AT = "issuedAt";
+    private static final String FIELD_REASON = "reason";
+
+    /** 한 번의 drain 호출에서 연속으로 읽을 최대 배치 수 (스케줄러 스레드 독점 방지) */
+    private static final int MAX_BATCHES_PER_DRAIN = 20;
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final UserCouponJdbcRepository userCouponJdbcRepository;
+    private final CouponRedisService couponRedisService;
+    private final UserWalletService userWalletService;
+
+    private final String consumerName = "writer-" + UUID.randomUUID();
+
+    @Value("${coupon.issue.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${coupon.issue.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${coupon.issue.write-behind.max-attempts:5}")
+    private long maxAttempts;
+
+    @Value("${coupon.issue.write-behind.claim-idle-ms:30000}")
+    private long claimIdleMillis;
+
+    /**
+     * write-behind 모드 사용 여부.
+     *
+     * @return true 면 발급 이력을 큐에 적재하고 DB 저장은 drainer 가 수행
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 발급 이력 수. 처리 완료(ACK)된 항목은 스트림에서 삭제하므로 XLEN 이 곧 미처리 건수다.
+     *
+     * @return 적재 대기 건수, 비활성이면 0
+     * @throws RedisConnectionException 조회 실패 시
+     */
+    public long getBacklog() {
+        if (!enabled) {
+            return 0L;
+        }
+        try {
+            Long size = streamOps().size(STREAM_KEY);
+            return size != null ? size : 0L;
+        } catch (Exception e) {
+            throw new RedisConnectionException("발급 이력 큐 길이 조회 실패. stream: " + STREAM_KEY, e);
+        }
+    }
+
+    /**
+     * user_coupon 유니크 키를 확인하고, consumer group 이 없으면 스트림과 함께 생성한다.
+     * 재전달된 메시지는 (user_id, coupon_id) 유니크 키와 ON DUPLICATE KEY 로만 걸러지므로,
+     * 키가 없으면 중복 행이 쌓이지 않도록 기동을 중단한다. (DDL 은 service/README.md 5 참고)
+     *
+     * @throws IllegalStateException user_coupon 에 (user_id, coupon_id) 유니크 키가 없을 때
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createConsumerGroup() {
+        if (!enabled) {
+            return;
+        }
+        if (!userCouponJdbcRepository.hasUserCouponUniqueKey()) {
+            throw new IllegalStateException("write-behind 를 켜려면 user_coupon(user_id, coupon_id) 유니크 키가 필요합니다."
+                + " uk_user_coupon_user_coupon 을 추가한 뒤 다시 기동하세요.");
+        }
+        byte[] rawKey = stringRedisTemplate.getStringSerializer().serialize(STREAM_KEY);
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) connection ->
+                createGroup(connection, rawKey));
+        } catch (RuntimeException e) {
+            if (!containsMessage(e, "BUSYGROUP")) {
+                log.error("write-behind consumer group 생성 실패. stream: {}", STREAM_KEY, e);
+            }
+        }
+    }
+
+    private static String createGroup(final RedisConnection connection, final byte[] rawKey) {
+        return connection.streamCommands().xGroupCreate(rawKey, CONSUMER_GROUP, ReadOffset.from("0"), true);
+    }
+
+    /**
+     * Redis 발급 성공 건을 적재 큐에 넣는다.
+     *
+     * @param couponId 쿠폰 ID
+     * @param userId   유저 ID
+     * @throws RedisConnectionException 큐 적재 실패 시
+     */
+    public void enqueue(final Long couponId, final Long userId) {
+        Map<String, String> fields = Map.of(
+            FIELD_COUPON_ID, String.valueOf(couponId),
+            FIELD_USER_ID, String.valueOf(userId),
+            FIELD_ISSUED_AT, String.valueOf(System.currentTimeMillis()));
+        try {
+            streamOps().add(STREAM_KEY, fields);
+        } catch (Exception e) {
+            throw new RedisConnectionException("발급 이력 큐 적재 실패. couponId: " + couponId, e);
+        }
+    }
+
+    /**
+     * 큐에서 새 발급 이력을 읽어 일괄 저장한다.
+     */
+    @Scheduled(fixedDelayString = "${coupon.issue.write-behind.drain-interval-ms:200}")
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_DRAIN; i++) {
+                List<MapRecord<String, String, String>> records = streamOps().read(
+                    Consumer.from(CONSUMER_GROUP, consumerName),
+                    StreamReadOptions.empty().count(batchSize),
+                    StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()));
+                if (records == null || records.isEmpty()) {
+                    return;
+                }
+                persist(records, Map.of());
+                if (records.size() < batchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("write-behind drain 실패. stream: {}", STREAM_KEY, e);
+        }
+    }
+
+    /**
+     * claim-idle 이상 ACK 되지 않은 pending 이력을 회수해 재처리한다.
+     * 죽은 인스턴스의 미처리 건과 일시 장애로 남은 건이 모두 여기서 재시도된다.
+     */
+    @Scheduled(fixedDelayString = "${coupon.issue.write-behind.reclaim-interval-ms:5000}")
+    public void reclaimPending() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Duration claimIdle = Duration.ofMillis(claimIdleMillis);
+            PendingMessages pending = streamOps().pending(STREAM_KEY, CONSUMER_GROUP, Range.unbounded(), batchSize);
+            List<RecordId> staleIds = new ArrayList<>();
+            Map<RecordId, Long> deliveryCounts = new HashMap<>();
+            for (PendingMessage message : pending) {
+                if (message.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) >= 0) {
+                    staleIds.add(message.getId());
+                    // claim 자체가 전달 횟수를 1 증가시킨다.
+                    deliveryCounts.put(message.getId(), message.getTotalDeliveryCount() + 1);
+                }
+            }
+            if (staleIds.isEmpty()) {
+                return;
+            }
+            List<MapRecord<String, String, String>> claimed = streamOps().claim(
+                STREAM_KEY, CONSUMER_GROUP, consumerName, claimIdle, staleIds.toArray(new RecordId[0]));
+            persist(claimed, deliveryCounts);
+        } catch (RuntimeException e) {
+            log.warn("write-behind pending 회수 실패. stream: {}", STREAM_KEY, e);
+        }
+    }
+
+    private void persist(final List<MapRecord<String, String, String>> records,
+                         final Map<RecordId, Long> deliveryCounts) {
+        List<MapRecord<String, String, String>> valid = new ArrayList<>(records.size());
+        List<IssuedCouponMessage> messages = new ArrayList<>(records.size());
+        List<RecordId> completed = new ArrayList<>(records.size());
+        for (MapRecord<String, String, String> record : records) {
+            try {
+                messages.add(toMessage(record.getValue()));
+                valid.add(record);
+            } catch (RuntimeException e) {
+                log.error("write-behind 메시지 형식 오류, dead-letter 이동. recordId: {}", record.getId(), e);
+                moveToDeadLetter(record.getValue(), "MALFORMED");
+                completed.add(record.getId());
+            }
+        }
+
+        try {
+            userCouponJdbcRepository.insertAll(messages);
+            valid.forEach(record -> completed.add(record.getId()));
+        } catch (DataAccessException e) {
+            if (isTransient(e)) {
+                log.warn("user_coupon 일괄 INSERT 일시 실패, pending 유지 후 재시도. size: {}", messages.size(), e);
+            } else {
+                log.warn("user_coupon 일괄 INSERT 실패, 건별 재시도. size: {}", messages.size(), e);
+                insertOneByOne(valid, messages, deliveryCounts, completed);
+            }
+        }
+        acknowledge(completed);
+    }
+
+    private void insertOneByOne(final List<MapRecord<String, String, String>> records,
+                                final List<IssuedCouponMessage> messages,
+                                final Map<RecordId, Long> deliveryCounts,
+                                final List<RecordId> completed) {
+        for (int i = 0; i < records.size(); i++) {
+            MapRecord<String, String, String> record = records.get(i);
+            IssuedCouponMessage message = messages.get(i);
+            try {
+                userCouponJdbcRepository.insertOne(message);
+                completed.add(record.getId());
+            } catch (DataAccessException e) {
+                long deliveries = deliveryCounts.getOrDefault(record.getId(), 1L);
+                if (isTransient(e) || deliveries < maxAttempts) {
+                    log.warn("user_coupon 저장 실패, 재시도 예정. couponId: {}, userId: {}, attempt: {}",
+                        message.getCouponId(), message.getUserId(), deliveries, e);
+                    continue;
+                }
+                log.error("user_coupon 저장 영구 실패, dead-letter 이동 및 Redis 롤백. couponId: {}, userId: {}",
+                    message.getCouponId(), message.getUserId(), e);
+                moveToDeadLetter(record.getValue(), e.getClass().getSimpleName());
+                rollbackQuietly(message);
+                completed.add(record.getId());
+            }
+        }
+    }
+
+    private void moveToDeadLetter(final Map<String, String> fields, final String reason) {
+        Map<String, String> deadLetter = new HashMap<>(fields);
+        deadLetter.put(FIELD_REASON, reason);
+        try {
+            streamOps().add(DEAD_LETTER_KEY, deadLetter);
+        } catch (RuntimeException e) {
+            log.error("dead-letter 적재 실패. fields: {}", deadLetter, e);
+        }
+    }
+
+    private void rollbackQuietly(final IssuedCouponMessage message) {
+        try {
+            couponRedisService.rollbackIssue(message.getCouponId(), message.getUserId());
+        } catch (RuntimeException e) {
+            log.error("dead-letter 건 Redis 롤백 실패. couponId: {}, userId: {}",
+                message.getCouponId(), message.getUserId(), e);
+        }
+        // 발급 시 지갑에 먼저 넣은 항목도 지운다.
+        userWalletService.removeIssued(message.getUserId(), message.getCouponId());
+    }
+
+    private void acknowledge(final List<RecordId> recordIds) {
+        if (recordIds.isEmpty()) {
+            return;
+        }
+        RecordId[] ids = recordIds.toArray(new RecordId[0]);
+        streamOps().acknowledge(STREAM_KEY, CONSUMER_GROUP, ids);
+        streamOps().delete(STREAM_KEY, ids);
+    }
+
+    private StreamOperations<String, String, String> streamOps() {
+        return stringRedisTemplate.opsForStream();
+    }
+
+    private static IssuedCouponMessage toMessage(final Map<String, String> fields) {
+        LocalDateTime issuedAt = LocalDateTime.ofInstant(
+            Instant.ofEpochMilli(Long.parseLong(fields.get(FIELD_ISSUED_AT))), ZoneId.systemDefault());
+        return IssuedCouponMessage.of(
+            Long.valueOf(fields.get(FIELD_COUPON_ID)),
+            Long.valueOf(fields.get(FIELD_USER_ID)),
+            issuedAt);
+    }
+
+    private static boolean isTransient(final DataAccessException e) {
+        return e instanceof TransientDataAccessException
+            || e instanceof RecoverableDataAccessException
+            || e instanceof DataAccessResourceFailureException;
+    }
+
+    private static boolean containsMessage(final Throwable e, final String text) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains(text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,175 @@
+package com.project.coupon.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.project.coupon.repository.UsersRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 유효한 사용자 ID 의 JVM 로컬 비트맵.
+ * 발급 경로에서 users 테이블 SELECT 없이 사용자 존재 여부를 판단하기 위해 사용한다.
+ * 사용자 ID 는 IDENTITY 로 증가하는 밀집 Long 이므로 ID 당 1bit (1,000만 명 ≈ 1.2MB).
+ *
+ * <ul>
+ *   <li>기동 시 users 를 keyset 페이지로 읽어 전체 적재, 이후 주기적으로 새 ID 만 증분 적재</li>
+ *   <li>비트가 없고 적재 범위 밖(신규 가입 가능)인 ID 만 DB 로 확인 후 비트를 세운다</li>
+ *   <li>사용자 삭제 API 가 없으므로 비트 해제는 하지 않는다</li>
+ * </ul>
+ * 읽기는 lock-free, 쓰기(적재·확장)는 단일 lock 으로 직렬화한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserExistenceIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserExistenceIndex.class);
+
+    private static final int INITIAL_WORDS = 1 << 14;
+    /** 비트맵으로 관리하는 최대 사용자 ID. 초과 ID 는 항상 DB 로 확인 */
+    private static final long MAX_INDEXED_USER_ID = 1L << 30;
+    /** 증분 적재 시 커밋 지연으로 늦게 보이는 ID 를 잡기 위해 다시 읽는 구간 */
+    private static final long RESCAN_MARGIN = 1_000L;
+
+    private final UsersRepository usersRepository;
+
+    private final Object writeLock = new Object();
+    private volatile AtomicLongArray words = new AtomicLongArray(INITIAL_WORDS);
+    private volatile long maxLoadedUserId;
+    private volatile boolean loaded;
+
+    @Value("${coupon.user-index.page-size:10000}")
+    private int pageSize;
+
+    /**
+     * 사용자 존재 여부를 확인한다. 대부분 I/O 없이 비트맵으로 판단한다.
+     *
+     * @param userId 사용자 ID
+     * @return 존재하면 true
+     */
+    public boolean exists(final Long userId) {
+        if (userId == null || userId <= 0) {
+            return false;
+        }
+        if (isSet(userId)) {
+            return true;
+        }
+        if (loaded && userId <= maxLoadedUserId - RESCAN_MARGIN) {
+            // 전체 적재가 끝난 구간에서 비트가 없으면 존재하지 않는 ID
+            return false;
+        }
+        boolean exists = usersRepository.existsById(userId);
+        if (exists) {
+            add(userId);
+        }
+        return exists;
+    }
+
+    /**
+     * 사용자 ID 를 비트맵에 추가한다. (가입·대량 적재 직후 호출)
+     *
+     * @param userIds 사용자 ID 목록
+     */
+    public void addAll(final Collection<Long> userIds) {
+        synchronized (writeLock) {
+            for (Long userId : userIds) {
+                setBit(userId);
+            }
+        }
+    }
+
+    /**
+     * 기동 완료 시 전체 사용자 ID 를 적재한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        try {
+            long count = loadAfter(0L);
+            loaded = true;
+            log.info("사용자 존재 비트맵 적재 완료. users: {}, maxUserId: {}", count, maxLoadedUserId);
+        } catch (RuntimeException e) {
+            log.warn("사용자 존재 비트맵 적재 실패, DB 조회로 동작하며 다음 주기에 재시도.", e);
+        }
+    }
+
+    /**
+     * 마지막 적재 이후 추가된 사용자 ID 를 증분 적재한다.
+     */
+    @Scheduled(fixedDelayString = "${coupon.user-index.refresh-ms:30000}",
+        initialDelayString = "${coupon.user-index.refresh-ms:30000}")
+    public void refresh() {
+        if (!loaded) {
+            loadAll();
+            return;
+        }
+        try {
+            loadAfter(Math.max(0L, maxLoadedUserId - RESCAN_MARGIN));
+        } catch (RuntimeException e) {
+            log.warn("사용자 존재 비트맵 증분 적재 실패.", e);
+        }
+    }
+
+    private long loadAfter(final long afterUserId) {
+        long cursor = afterUserId;
+        long count = 0;
+        while (true) {
+            List<Long> userIds = usersRepository.findUserIdsAfter(cursor, PageRequest.of(0, pageSize));
+            if (userIds.isEmpty()) {
+                return count;
+            }
+            addAll(userIds);
+            count += userIds.size();
+            cursor = userIds.get(userIds.size() - 1);
+            if (cursor > maxLoadedUserId) {
+                maxLoadedUserId = cursor;
+            }
+            if (userIds.size() < pageSize) {
+                return count;
+            }
+        }
+    }
+
+    private void add(final Long userId) {
+        synchronized (writeLock) {
+            setBit(userId);
+        }
+    }
+
+    private boolean isSet(final long userId) {
+        if (userId > MAX_INDEXED_USER_ID) {
+            return false;
+        }
+        AtomicLongArray current = words;
+        int wordIndex = (int) (userId >>> 6);
+        return wordIndex < current.length() && (current.get(wordIndex) & (1L << userId)) != 0;
+    }
+
+    /** writeLock 보유 상태에서만 호출 */
+    private void setBit(final Long userId) {
+        if (userId == null || userId <= 0 || userId > MAX_INDEXED_USER_ID) {
+            return;
+        }
+        int wordIndex = (int) (userId >>> 6);
+        AtomicLongArray current = words;
+        if (wordIndex >= current.length()) {
+            int newLength = Math.max(wordIndex + 1, (int) Math.min(Integer.MAX_VALUE, current.length() * 2L));
+            AtomicLongArray grown = new AtomicLongArray(newLength);
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            words = grown;
+            current = grown;
+        }
+        current.getAndAccumulate(wordIndex, 1L << userId, (a, b) -> a | b);
+    }
+}
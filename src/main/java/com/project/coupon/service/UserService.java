@@ -1,15 +1,9 @@
 package com.project.coupon.service;
 
-import java.util.List;
-
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import com.project.coupon.dto.UserCouponItemResponse;
 import com.project.coupon.dto.UserResponse;
-import com.project.coupon.exception.UserNotFoundException;
-import com.project.coupon.repository.UserCouponRepository;
-import com.project.coupon.repository.UsersRepository;
+import com.project.coupon.dto.WalletPageResponse;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,26 +11,34 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserService {
 
-    private final UsersRepository usersRepository;
-    private final UserCouponRepository userCouponRepository;
+    /** 마이페이지 첫 화면에 보여줄 보유 쿠폰 수 */
+    public static final int DEFAULT_WALLET_PAGE_SIZE = 20;
+
+    private final UserWalletService userWalletService;
 
     /**
      * 페이지 진입 시 유저 정보 가져오기
-     * 유저 이름 + 보유 쿠폰 목록, 상태
+     * 유저 이름 + 보유 쿠폰 첫 페이지, 상태
+     * 이름은 로그인 세션 값, 쿠폰은 Redis 지갑 캐시에서 읽으므로 지갑이 적재돼 있으면 DB 를 조회하지 않는다.
      *
-     * @param userId 유저 ID
-     * @return 유저 정보 (이름, 보유 쿠폰 목록 및 상태)
+     * @param userId   유저 ID
+     * @param userName 유저 이름 (로그인 ID)
+     * @return 유저 정보 (이름, 보유 쿠폰 첫 페이지 및 상태, 다음 페이지 커서)
      */
-    @Transactional(readOnly = true)
-    public UserResponse getUserInfo(final Long userId) {
-        final var user = usersRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException(userId));
-
-        final List<UserCouponItemResponse> ownedCoupons = userCouponRepository.findByUser_UserIdWithCoupon(userId)
-            .stream()
-            .map(UserCouponItemResponse::from)
-            .toList();
+    public UserResponse getUserInfo(final Long userId, final String userName) {
+        WalletPageResponse firstPage = userWalletService.getPage(userId, null, DEFAULT_WALLET_PAGE_SIZE);
+        return UserResponse.of(userId, userName, firstPage);
+    }
 
-        return UserResponse.of(user, ownedCoupons);
+    /**
+     * 보유 쿠폰 목록을 couponId 내림차순 keyset 페이지로 조회한다.
+     *
+     * @param userId 유저 ID
+     * @param cursor 이전 페이지의 nextCursor, 첫 페이지면 null
+     * @param size   페이지 크기 (1~100)
+     * @return 보유 쿠폰 페이지
+     */
+    public WalletPageResponse getWallet(final Long userId, final Long cursor, final int size) {
+        return userWalletService.getPage(userId, cursor, size);
     }
 }
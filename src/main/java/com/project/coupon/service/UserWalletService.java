@@ -0,0 +1,258 @@
+package com.project.coupon.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import com.project.coupon.dto.UserCouponItemResponse;
+import com.project.coupon.dto.WalletPageResponse;
+import com.project.coupon.entity.enums.CouponStatus;
+import com.project.coupon.exception.InvalidRequestException;
+import com.project.coupon.exception.RedisConnectionException;
+import com.project.coupon.repository.UserCouponRepository;
+import com.project.coupon.repository.UserCouponRepository.WalletRow;
+import com.project.coupon.service.RedisScriptRegistry.LuaScript;
+
+/**
+ * 마이페이지 보유 쿠폰 목록(지갑) Redis 캐시.
+ * 발급 직후 당첨자가 한꺼번에 새로고침해도 user_coupon JOIN 없이 Redis 에서 페이지를 읽는다.
+ *
+ * <ul>
+ *   <li>wallet:user:{userId} — Hash (couponId → "상태|userCouponId|쿠폰 이름"), 필드 "~" 는 DB 적재 완료 표시</li>
+ *   <li>wallet:user:{userId}:idx — ZSET (member·score: couponId), couponId 내림차순 keyset 페이지용</li>
+ * </ul>
+ * {userId} 는 해시 태그라 한 유저의 두 키는 Redis Cluster 에서 같은 슬롯에 있다.
+ * 발급 성공 시 항목을 바로 추가하므로 write-behind 로 아직 DB 에 없는 쿠폰도 보인다.
+ * 적재 표시가 없으면 첫 조회 때 DB 에서 한 번 읽어 채우고, 그 사이 발급으로 들어온 항목은 그대로 둔다.
+ * 쓰기마다 TTL 을 다시 걸어 DB 를 직접 수정한 경우에도 ttl-seconds 안에 DB 기준으로 돌아온다.
+ */
+@Service
+public class UserWalletService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserWalletService.class);
+
+    private static final String WALLET_KEY_PREFIX = "wallet:user:{";
+    private static final String WALLET_KEY_TAG_END = "}";
+    private static final String WALLET_INDEX_SUFFIX = ":idx";
+    private static final String LOADED_FIELD = "~";
+    private static final String SEPARATOR = "|";
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * 유저들에게 같은 쿠폰 항목을 추가한다. 적재 전 지갑에도 추가한다. (적재 시 DB 행과 합쳐진다)
+     * 클러스터에서는 유저마다 슬롯이 달라 유저 한 명씩 실행한다.
+     * KEYS[2i-1]=지갑 Hash, KEYS[2i]=지갑 ZSET, ARGV[1]=TTL(초), ARGV[2]=couponId, ARGV[3]=항목 값
+     */
+    private static final String WALLET_ADD_SCRIPT =
+        "for i = 1, #KEYS, 2 do\n"
+            + "  redis.call('HSET', KEYS[i], ARGV[2], ARGV[3])\n"
+            + "  redis.call('ZADD', KEYS[i + 1], ARGV[2], ARGV[2])\n"
+            + "  redis.call('EXPIRE', KEYS[i], ARGV[1])\n"
+            + "  redis.call('EXPIRE', KEYS[i + 1], ARGV[1])\n"
+            + "end\n"
+            + "return #KEYS / 2";
+
+    /**
+     * DB 에서 읽은 보유 쿠폰으로 지갑을 채우고 적재 완료 표시를 남긴다.
+     * KEYS[1]=지갑 Hash, KEYS[2]=지갑 ZSET, ARGV[1]=TTL(초), ARGV[2..]=couponId, 항목 값 쌍
+     */
+    private static final String WALLET_LOAD_SCRIPT =
+        "for i = 2, #ARGV, 2 do\n"
+            + "  redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])\n"
+            + "  redis.call('ZADD', KEYS[2], ARGV[i], ARGV[i])\n"
+            + "end\n"
+            + "redis.call('HSET', KEYS[1], '" + LOADED_FIELD + "', '1')\n"
+            + "redis.call('EXPIRE', KEYS[1], ARGV[1])\n"
+            + "redis.call('EXPIRE', KEYS[2], ARGV[1])\n"
+            + "return 1";
+
+    /**
+     * 항목을 지운다. 롤백된 발급(적재 실패·Redis 에만 있는 발급)이 지갑에 남지 않게 한다.
+     * KEYS[1]=지갑 Hash, KEYS[2]=지갑 ZSET, ARGV[1]=couponId
+     */
+    private static final String WALLET_REMOVE_SCRIPT =
+        "redis.call('ZREM', KEYS[2], ARGV[1])\n"
+            + "return redis.call('HDEL', KEYS[1], ARGV[1])";
+
+    /**
+     * couponId 내림차순 한 페이지를 읽는다. 적재 완료 표시가 없으면 nil.
+     * KEYS[1]=지갑 Hash, KEYS[2]=지갑 ZSET, ARGV[1]=최대 score ('+inf' 또는 '(cursor'), ARGV[2]=개수
+     * 반환: {couponId, 항목 값, couponId, 항목 값, ...}
+     */
+    private static final String WALLET_PAGE_SCRIPT =
+        "if redis.call('HEXISTS', KEYS[1], '" + LOADED_FIELD + "') == 0 then return false end\n"
+            + "local ids = redis.call('ZREVRANGEBYSCORE', KEYS[2], ARGV[1], '-inf', 'LIMIT', 0, ARGV[2])\n"
+            + "if #ids == 0 then return {} end\n"
+            + "local values = redis.call('HMGET', KEYS[1], unpack(ids))\n"
+            + "local page = {}\n"
+            + "for i = 1, #ids do\n"
+            + "  if values[i] then\n"
+            + "    page[#page + 1] = ids[i]\n"
+            + "    page[#page + 1] = values[i]\n"
+            + "  end\n"
+            + "end\n"
+            + "return page";
+
+    private final RedisScriptRegistry redisScriptRegistry;
+    private final UserCouponRepository userCouponRepository;
+    private final LuaScript<Long> walletAddScript;
+    private final LuaScript<Long> walletLoadScript;
+    private final LuaScript<Long> walletRemoveScript;
+    private final LuaScript<List<String>> walletPageScript;
+    private final long ttlSeconds;
+    private final boolean clusterMode;
+
+    @SuppressWarnings("unchecked")
+    public UserWalletService(final RedisTemplate<String, String> stringRedisTemplate,
+                             final RedisScriptRegistry redisScriptRegistry,
+                             final UserCouponRepository userCouponRepository,
+                             @Value("${coupon.wallet.ttl-seconds:3600}") final long ttlSeconds) {
+        this.redisScriptRegistry = redisScriptRegistry;
+        this.userCouponRepository = userCouponRepository;
+        this.ttlSeconds = ttlSeconds;
+        this.clusterMode = RedisScriptRegistry.isCluster(stringRedisTemplate);
+        this.walletAddScript = redisScriptRegistry.register("wallet-add", WALLET_ADD_SCRIPT, Long.class);
+        this.walletLoadScript = redisScriptRegistry.register("wallet-load", WALLET_LOAD_SCRIPT, Long.class);
+        this.walletRemoveScript = redisScriptRegistry.register("wallet-remove", WALLET_REMOVE_SCRIPT, Long.class);
+        this.walletPageScript = redisScriptRegistry.register("wallet-page", WALLET_PAGE_SCRIPT,
+            (Class<List<String>>) (Class<?>) List.class);
+    }
+
+    /**
+     * 보유 쿠폰을 couponId 내림차순으로 한 페이지 조회한다. 지갑이 적재돼 있으면 DB 를 읽지 않는다.
+     *
+     * @param userId 유저 ID
+     * @param cursor 이전 페이지의 nextCursor, 첫 페이지면 null
+     * @param size   페이지 크기 (1~100)
+     * @return 보유 쿠폰 페이지
+     * @throws InvalidRequestException size 범위 오류
+     */
+    public WalletPageResponse getPage(final Long userId, final Long cursor, final int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("size", size);
+        }
+        List<String> keys = List.of(walletKey(userId), walletIndexKey(userId));
+        String maxScore = cursor != null ? "(" + cursor : "+inf";
+        String limit = String.valueOf(size + 1);
+        List<String> page = readPage(keys, maxScore, limit);
+        if (page == null) {
+            load(userId, keys);
+            page = readPage(keys, maxScore, limit);
+        }
+        return toPage(page != null ? page : List.of(), size);
+    }
+
+    /**
+     * 쿠폰 발급 항목을 지갑에 추가한다. 실패해도 발급은 유지되므로 로그만 남긴다. (TTL 만료 후 DB 기준으로 재적재)
+     *
+     * @param couponId   쿠폰 ID
+     * @param couponName 쿠폰 이름
+     * @param userIds    발급받은 유저 ID 목록
+     */
+    public void recordIssued(final Long couponId, final String couponName, final List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        String value = entry(CouponStatus.NOT_USE, null, couponName);
+        try {
+            if (clusterMode) {
+                for (Long userId : userIds) {
+                    addEntry(List.of(walletKey(userId), walletIndexKey(userId)), couponId, value);
+                }
+                return;
+            }
+            List<String> keys = new ArrayList<>(userIds.size() * 2);
+            for (Long userId : userIds) {
+                keys.add(walletKey(userId));
+                keys.add(walletIndexKey(userId));
+            }
+            addEntry(keys, couponId, value);
+        } catch (Exception e) {
+            log.warn("지갑 발급 항목 추가 실패. couponId: {}, users: {}", couponId, userIds.size(), e);
+        }
+    }
+
+    /**
+     * 롤백된 발급 항목을 지갑에서 지운다. 실패하면 TTL 만료 후 DB 기준 재적재 때 사라지므로 로그만 남긴다.
+     *
+     * @param userId   유저 ID
+     * @param couponId 쿠폰 ID
+     */
+    public void removeIssued(final Long userId, final Long couponId) {
+        try {
+            redisScriptRegistry.execute(walletRemoveScript, List.of(walletKey(userId), walletIndexKey(userId)),
+                String.valueOf(couponId));
+        } catch (Exception e) {
+            log.warn("지갑 발급 항목 삭제 실패. userId: {}, couponId: {}", userId, couponId, e);
+        }
+    }
+
+    private void addEntry(final List<String> keys, final Long couponId, final String value) {
+        redisScriptRegistry.execute(walletAddScript, keys, String.valueOf(ttlSeconds), String.valueOf(couponId), value);
+    }
+
+    private void load(final Long userId, final List<String> keys) {
+        List<WalletRow> rows = userCouponRepository.findWalletRows(userId);
+        String[] args = new String[rows.size() * 2 + 1];
+        args[0] = String.valueOf(ttlSeconds);
+        int i = 1;
+        for (WalletRow row : rows) {
+            args[i++] = String.valueOf(row.getCouponId());
+            args[i++] = entry(row.getCouponStatus(), row.getUserCouponId(), row.getCouponName());
+        }
+        try {
+            redisScriptRegistry.execute(walletLoadScript, keys, args);
+        } catch (Exception e) {
+            throw new RedisConnectionException("지갑 적재 실패: " + keys.get(0), e);
+        }
+    }
+
+    private List<String> readPage(final List<String> keys, final String maxScore, final String limit) {
+        try {
+            return redisScriptRegistry.execute(walletPageScript, keys, maxScore, limit);
+        } catch (Exception e) {
+            throw new RedisConnectionException("지갑 조회 실패: " + keys.get(0), e);
+        }
+    }
+
+    private static WalletPageResponse toPage(final List<String> page, final int size) {
+        int count = Math.min(page.size() / 2, size);
+        List<UserCouponItemResponse> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(toItem(Long.valueOf(page.get(i * 2)), page.get(i * 2 + 1)));
+        }
+        Long nextCursor = page.size() / 2 > size ? items.get(count - 1).getCouponId() : null;
+        return WalletPageResponse.builder()
+            .items(items)
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    private static UserCouponItemResponse toItem(final Long couponId, final String entry) {
+        String[] parts = entry.split("\\" + SEPARATOR, 3);
+        return UserCouponItemResponse.builder()
+            .userCouponId(parts[1].isEmpty() ? null : Long.valueOf(parts[1]))
+            .couponId(couponId)
+            .couponName(parts[2])
+            .couponStatus(CouponStatus.valueOf(parts[0]))
+            .build();
+    }
+
+    private static String entry(final CouponStatus status, final Long userCouponId, final String couponName) {
+        return status.name() + SEPARATOR + (userCouponId != null ? userCouponId : "") + SEPARATOR
+            + (couponName != null ? couponName : "");
+    }
+
+    private static String walletKey(final Long userId) {
+        return WALLET_KEY_PREFIX + userId + WALLET_KEY_TAG_END;
+    }
+
+    private static String walletIndexKey(final Long userId) {
+        return walletKey(userId) + WALLET_INDEX_SUFFIX;
+    }
+}
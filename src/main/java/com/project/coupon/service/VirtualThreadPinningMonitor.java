@@ -0,0 +1,163 @@
+package com.project.coupon.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.project.coupon.dto.VirtualThreadPinningResponse;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * 가상 스레드 pinning 진단.
+ * JFR jdk.VirtualThreadPinned 이벤트를 스트리밍으로 받아, 스택에 포함된 클라이언트(JDBC·Hikari·Lettuce 등)별로 집계하고
+ * 처음 보는 스택 위치는 로그로 남긴다. JDK 21 은 synchronized 안에서 블로킹하면 carrier 스레드를 점유(pin)한다.
+ *
+ * <p>coupon.virtual-threads.pinning-monitor.enabled=true 일 때만 동작한다. (virtual 프로파일 기본 활성)
+ */
+@Service
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String OTHER = "other";
+    /** 스택 프레임 클래스 접두사 → 클라이언트 이름. 위에서부터 먼저 일치하는 항목으로 분류 */
+    private static final Map<String, String> CLIENT_PACKAGES = new LinkedHashMap<>();
+
+    static {
+        CLIENT_PACKAGES.put("org.mariadb.jdbc.", "mariadb-jdbc");
+        CLIENT_PACKAGES.put("com.zaxxer.hikari.", "hikari");
+        CLIENT_PACKAGES.put("org.hibernate.", "hibernate");
+        CLIENT_PACKAGES.put("io.lettuce.", "lettuce");
+        CLIENT_PACKAGES.put("org.apache.commons.pool2.", "commons-pool2");
+        CLIENT_PACKAGES.put("org.springframework.data.redis.", "spring-data-redis");
+        CLIENT_PACKAGES.put("com.github.benmanes.caffeine.", "caffeine");
+    }
+
+    private final boolean enabled;
+    private final Duration threshold;
+
+    private final LongAdder totalPinned = new LongAdder();
+    private final AtomicLong maxPinnedNanos = new AtomicLong();
+    private final Map<String, LongAdder> pinnedByClient = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> pinnedBySite = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${coupon.virtual-threads.pinning-monitor.enabled:false}") final boolean enabled,
+            @Value("${coupon.virtual-threads.pinning-monitor.threshold-ms:20}") final long thresholdMillis) {
+        this.enabled = enabled;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    /**
+     * 기동 완료 시 JFR 스트리밍을 시작한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || recordingStream != null) {
+            return;
+        }
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::record);
+            stream.startAsync();
+            recordingStream = stream;
+            log.info("가상 스레드 pinning 모니터 시작. threshold: {}ms", threshold.toMillis());
+        } catch (RuntimeException e) {
+            log.warn("가상 스레드 pinning 모니터 시작 실패.", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        RecordingStream stream = recordingStream;
+        if (stream != null) {
+            stream.close();
+            recordingStream = null;
+        }
+    }
+
+    /**
+     * 누적 pinning 통계를 반환한다.
+     *
+     * @return 클라이언트별·스택 위치별 pinning 수 (위치는 상위 20개)
+     */
+    public VirtualThreadPinningResponse getStats() {
+        Map<String, Long> byClient = new LinkedHashMap<>();
+        pinnedByClient.entrySet().stream()
+            .sorted(Map.Entry.<String, LongAdder>comparingByValue(
+                (a, b) -> Long.compare(b.sum(), a.sum())))
+            .forEach(entry -> byClient.put(entry.getKey(), entry.getValue().sum()));
+        Map<String, Long> bySite = new LinkedHashMap<>();
+        pinnedBySite.entrySet().stream()
+            .sorted(Map.Entry.<String, LongAdder>comparingByValue(
+                (a, b) -> Long.compare(b.sum(), a.sum())))
+            .limit(20)
+            .forEach(entry -> bySite.put(entry.getKey(), entry.getValue().sum()));
+        return VirtualThreadPinningResponse.builder()
+            .enabled(recordingStream != null)
+            .thresholdMillis(threshold.toMillis())
+            .totalPinned(totalPinned.sum())
+            .maxPinnedMillis(maxPinnedNanos.get() / 1_000_000.0)
+            .pinnedByClient(byClient)
+            .pinnedBySite(bySite)
+            .build();
+    }
+
+    private void record(final RecordedEvent event) {
+        totalPinned.increment();
+        maxPinnedNanos.accumulateAndGet(event.getDuration().toNanos(), Math::max);
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String client = classify(frames);
+        String site = firstApplicationOrClientFrame(frames);
+        pinnedByClient.computeIfAbsent(client, key -> new LongAdder()).increment();
+        boolean firstSeen = pinnedBySite.putIfAbsent(site, new LongAdder()) == null;
+        pinnedBySite.get(site).increment();
+        if (firstSeen) {
+            log.warn("가상 스레드 pinning 감지. client: {}, site: {}, duration: {}ms",
+                client, site, event.getDuration().toMillis());
+        }
+    }
+
+    private static String classify(final List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String className = frame.getMethod().getType().getName();
+            for (Map.Entry<String, String> entry : CLIENT_PACKAGES.entrySet()) {
+                if (className.startsWith(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return OTHER;
+    }
+
+    private static String firstApplicationOrClientFrame(final List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String className = frame.getMethod().getType().getName();
+            if (!className.startsWith("java.") && !className.startsWith("jdk.") && !className.startsWith("sun.")) {
+                return className + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return frames.isEmpty() ? OTHER : frames.get(0).getMethod().getType().getName();
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.coupon.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.coupon.exception.GlobalExceptionHandler;
+import com.project.coupon.exception.RejectionLogSampler;
+import com.project.coupon.service.IssueOutcome;
+
+/**
+ * 발급 결과 → 상태 코드 매핑과 미리 직렬화한 거절 본문 형태 검증.
+ */
+class IssueRejectionResponsesTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String PATH = "/api/coupons/1/issue";
+
+    private static final Map<IssueOutcome, HttpStatus> EXPECTED_STATUSES = Map.of(
+        IssueOutcome.EXHAUSTED, HttpStatus.CONFLICT,
+        IssueOutcome.DUPLICATE, HttpStatus.CONFLICT,
+        IssueOutcome.RATE_LIMITED, HttpStatus.TOO_MANY_REQUESTS,
+        IssueOutcome.EVENT_NOT_STARTED, HttpStatus.CONFLICT,
+        IssueOutcome.EVENT_ENDED, HttpStatus.CONFLICT,
+        IssueOutcome.EVENT_INACTIVE, HttpStatus.CONFLICT,
+        IssueOutcome.QUEUE_TOKEN_REQUIRED, HttpStatus.FORBIDDEN,
+        IssueOutcome.IN_PROGRESS, HttpStatus.CONFLICT);
+
+    private IssueRejectionResponses responses;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        responses = new IssueRejectionResponses(OBJECT_MAPPER, new RejectionLogSampler(1000L));
+    }
+
+    @Test
+    void successHasEmptyOkBody() {
+        ResponseEntity<byte[]> response = responses.toResponse(IssueOutcome.SUCCESS, PATH);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void everyRejectionHasExpectedStatus() {
+        for (IssueOutcome outcome : IssueOutcome.values()) {
+            if (outcome.isSuccess()) {
+                continue;
+            }
+            assertThat(EXPECTED_STATUSES).containsKey(outcome);
+            assertThat(responses.toResponse(outcome, PATH).getStatusCode()).as(outcome.name())
+                .isEqualTo(EXPECTED_STATUSES.get(outcome));
+            assertThat(GlobalExceptionHandler.determineHttpStatus(outcome.getErrorCode())).as(outcome.name())
+                .isEqualTo(EXPECTED_STATUSES.get(outcome));
+        }
+    }
+
+    @Test
+    void rejectionBodyMatchesErrorResponseShape() throws IOException {
+        LocalDateTime before = LocalDateTime.now().withNano(0);
+        ResponseEntity<byte[]> response = responses.toResponse(IssueOutcome.EXHAUSTED, PATH);
+        LocalDateTime after = LocalDateTime.now();
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        JsonNode body = OBJECT_MAPPER.readTree(response.getBody());
+        assertThat(body.size()).isEqualTo(4);
+        assertThat(body.get("errorCode").asText()).isEqualTo("COUPON_EXHAUSTED");
+        assertThat(body.get("message").asText()).isEqualTo(IssueOutcome.EXHAUSTED.getMessage());
+        assertThat(body.get("path").asText()).isEqualTo(PATH);
+        LocalDateTime timestamp = LocalDateTime.parse(body.get("timestamp").asText(),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        assertThat(timestamp).isBetween(before, after);
+    }
+
+    @Test
+    void pathIsJsonEscaped() throws IOException {
+        String path = "/api/coupons/1/issue\"x\\y";
+
+        JsonNode body = OBJECT_MAPPER.readTree(responses.toResponse(IssueOutcome.DUPLICATE, path).getBody());
+
+        assertThat(body.get("path").asText()).isEqualTo(path);
+    }
+}
@@ -0,0 +1,156 @@
+package com.project.coupon.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import com.project.coupon.config.QueueProperties;
+import com.project.coupon.dto.QueueStatusResponse;
+import com.project.coupon.entity.Events;
+import com.project.coupon.repository.EventsRepository;
+
+/**
+ * 대기열 입장/조회·입장 처리 스크립트 검증. 스크립트는 InProcessRedis 의 LuaJ 로 실행한다.
+ */
+class AdmissionQueueServiceTest {
+
+    private static final Long EVENT_ID = 42L;
+    private static final Long PAST_EVENT_ID = 43L;
+    private static final LocalDateTime START = LocalDateTime.now().withNano(0).plusMinutes(10);
+    private static final long START_MILLIS = START.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    private static final long TOKEN_TTL_MILLIS = 300_000L;
+
+    private InProcessRedis redis;
+    private AdmissionQueueService queueService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redis = new InProcessRedis();
+        redis.set("event:" + EVENT_ID + ":active", "1");
+        redis.set("event:" + PAST_EVENT_ID + ":active", "1");
+
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.get(anyString(), any()))
+            .thenAnswer(invocation -> redis.hashGet(invocation.getArgument(0), invocation.getArgument(1)));
+
+        EventsRepository eventsRepository = mock(EventsRepository.class);
+        when(eventsRepository.findById(EVENT_ID)).thenReturn(Optional.of(event(EVENT_ID, START)));
+        when(eventsRepository.findById(PAST_EVENT_ID))
+            .thenReturn(Optional.of(event(PAST_EVENT_ID, START.minusHours(1))));
+
+        QueueProperties queueProperties = new QueueProperties();
+        queueProperties.setEnabled(true);
+        queueProperties.setAdmitPerSecond(2);
+        queueProperties.setDispatchIntervalMs(1_000L);
+        queueService = new AdmissionQueueService(redisTemplate, redis.scriptRegistry(), queueProperties,
+            eventsRepository);
+    }
+
+    @Test
+    void enterQueuesInArrivalOrderAndIsIdempotent() {
+        assertThat(queueService.enter(EVENT_ID, 1L).getPosition()).isEqualTo(1L);
+        assertThat(queueService.enter(EVENT_ID, 2L).getPosition()).isEqualTo(2L);
+
+        QueueStatusResponse again = queueService.enter(EVENT_ID, 1L);
+
+        assertThat(again.getStatus()).isEqualTo(AdmissionQueueService.STATUS_WAITING);
+        assertThat(again.getPosition()).isEqualTo(1L);
+        assertThat(redis.range("queue:event:" + EVENT_ID)).containsExactly("1", "2");
+        assertThat(redis.members("queue:events")).containsExactly(String.valueOf(EVENT_ID));
+    }
+
+    @Test
+    void statusDoesNotJoinQueue() {
+        QueueStatusResponse status = queueService.getStatus(EVENT_ID, 1L);
+
+        assertThat(status.getStatus()).isEqualTo(AdmissionQueueService.STATUS_NOT_QUEUED);
+        assertThat(redis.range("queue:event:" + EVENT_ID)).isEmpty();
+        assertThat(redis.members("queue:events")).isEmpty();
+    }
+
+    @Test
+    void noOneIsAdmittedBeforeEventStartEvenWhenActiveKeyIsSet() {
+        queueService.enter(EVENT_ID, 1L);
+
+        assertThat(queueService.admit(EVENT_ID, START_MILLIS - 1L)).isZero();
+
+        assertThat(queueService.getStatus(EVENT_ID, 1L).getStatus()).isEqualTo(AdmissionQueueService.STATUS_WAITING);
+        assertThat(redis.range("queue:event:" + EVENT_ID)).containsExactly("1");
+    }
+
+    @Test
+    void admitsUpToRatePerSecondFromHeadWithTokenValidFromStart() {
+        queueService.enter(EVENT_ID, 1L);
+        queueService.enter(EVENT_ID, 2L);
+        queueService.enter(EVENT_ID, 3L);
+
+        assertThat(queueService.admit(EVENT_ID, START_MILLIS)).isEqualTo(2L);
+        // 같은 초 안의 두 번째 주기는 초당 한도를 이미 썼으므로 입장시키지 않는다.
+        assertThat(queueService.admit(EVENT_ID, START_MILLIS + 500L)).isZero();
+
+        QueueStatusResponse admitted = queueService.getStatus(EVENT_ID, 1L);
+        assertThat(admitted.getStatus()).isEqualTo(AdmissionQueueService.STATUS_ADMITTED);
+        assertThat(admitted.getTokenExpiresAt()).isEqualTo(START_MILLIS + TOKEN_TTL_MILLIS);
+        assertThat(queueService.isAdmitted(EVENT_ID, 1L, admitted.getToken())).isTrue();
+        assertThat(queueService.isAdmitted(EVENT_ID, 2L, admitted.getToken())).isFalse();
+        assertThat(queueService.getStatus(EVENT_ID, 3L).getPosition()).isEqualTo(1L);
+
+        assertThat(queueService.admit(EVENT_ID, START_MILLIS + 1_000L)).isEqualTo(1L);
+        assertThat(queueService.getStatus(EVENT_ID, 3L).getStatus()).isEqualTo(AdmissionQueueService.STATUS_ADMITTED);
+    }
+
+    @Test
+    void notAdmittedWithoutActiveKey() {
+        redis.clear();
+        queueService.enter(EVENT_ID, 1L);
+
+        assertThat(queueService.admit(EVENT_ID, START_MILLIS)).isZero();
+        assertThat(redis.range("queue:event:" + EVENT_ID)).containsExactly("1");
+    }
+
+    @Test
+    void emptyQueueIsDroppedFromDispatchSet() {
+        queueService.enter(EVENT_ID, 1L);
+        queueService.admit(EVENT_ID, START_MILLIS);
+
+        assertThat(queueService.admit(EVENT_ID, START_MILLIS + 1_000L)).isZero();
+        assertThat(redis.members("queue:events")).isEmpty();
+    }
+
+    @Test
+    void expiredTokenRejoinsQueueAtTail() {
+        queueService.enter(PAST_EVENT_ID, 1L);
+        long pastStart = START_MILLIS - 3_600_000L;
+        queueService.admit(PAST_EVENT_ID, pastStart);
+        queueService.enter(PAST_EVENT_ID, 2L);
+
+        QueueStatusResponse rejoined = queueService.enter(PAST_EVENT_ID, 1L);
+
+        assertThat(rejoined.getStatus()).isEqualTo(AdmissionQueueService.STATUS_WAITING);
+        assertThat(rejoined.getPosition()).isEqualTo(2L);
+        assertThat(redis.hashGet("queue:event:" + PAST_EVENT_ID + ":tokens", "1")).isNull();
+    }
+
+    private static Events event(final Long eventId, final LocalDateTime start) {
+        return Events.builder()
+            .eventId(eventId)
+            .eventName("event-" + eventId)
+            .eventStartDatetime(start)
+            .eventEndDatetime(start.plusDays(1))
+            .build();
+    }
+}
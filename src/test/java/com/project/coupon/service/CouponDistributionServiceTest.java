@@ -0,0 +1,216 @@
+package com.project.coupon.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.coupon.dto.DistributionProgressResponse;
+import com.project.coupon.entity.Coupons;
+import com.project.coupon.exception.InvalidRequestException;
+import com.project.coupon.repository.CouponsRepository;
+import com.project.coupon.repository.UserCouponJdbcRepository;
+import com.project.coupon.service.BulkImportService.ImportFormat;
+
+/**
+ * 대량 배포 청크 처리·재개 검증. 재고와 발급 이력은 grantIssued 를 대신하는 메모리 카운터로,
+ * 진행 Hash 는 메모리 Map 으로 대신한다.
+ */
+class CouponDistributionServiceTest {
+
+    private static final Long COUPON_ID = 1L;
+    private static final String JOB_ID = "job-1";
+    private static final String PROGRESS_KEY = "coupon:distribution:" + JOB_ID;
+
+    private CouponRedisService couponRedisService;
+    private UserCouponJdbcRepository userCouponJdbcRepository;
+    private UserWalletService userWalletService;
+    private StubScriptRegistry scriptRegistry;
+    private CouponDistributionService distributionService;
+
+    private final Map<String, Map<Object, Object>> hashes = new HashMap<>();
+    private final Set<Long> issued = new HashSet<>();
+    private final List<List<Long>> grantCalls = new ArrayList<>();
+    private int stock;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        CouponsRepository couponsRepository = mock(CouponsRepository.class);
+        when(couponsRepository.findById(COUPON_ID)).thenReturn(Optional.of(
+            Coupons.builder().couponId(COUPON_ID).couponName("welcome").couponTotalCount(100).build()));
+        userCouponJdbcRepository = mock(UserCouponJdbcRepository.class);
+        UserExistenceIndex userExistenceIndex = mock(UserExistenceIndex.class);
+        when(userExistenceIndex.exists(anyLong())).thenAnswer(invocation -> (Long) invocation.getArgument(0) < 1_000L);
+        userWalletService = mock(UserWalletService.class);
+
+        couponRedisService = mock(CouponRedisService.class);
+        when(couponRedisService.getStockShardCount(COUPON_ID)).thenReturn(1);
+        when(couponRedisService.grantIssued(eq(COUPON_ID), anyList())).thenAnswer(invocation -> {
+            List<Long> userIds = List.copyOf(invocation.getArgument(1));
+            grantCalls.add(userIds);
+            int[] results = new int[userIds.size()];
+            for (int i = 0; i < userIds.size(); i++) {
+                if (issued.contains(userIds.get(i))) {
+                    results[i] = CouponRedisService.ISSUE_DUPLICATE;
+                } else if (stock > 0) {
+                    stock--;
+                    issued.add(userIds.get(i));
+                    results[i] = CouponRedisService.ISSUE_SUCCESS;
+                } else {
+                    results[i] = CouponRedisService.ISSUE_EXHAUSTED;
+                }
+            }
+            return results;
+        });
+
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(hashOperations.entries(anyString()))
+            .thenAnswer(invocation -> new HashMap<>(hashes.getOrDefault(invocation.getArgument(0), Map.of())));
+        doAnswer(invocation -> {
+            hashes.computeIfAbsent(invocation.getArgument(0), key -> new HashMap<>())
+                .putAll(invocation.getArgument(1));
+            return null;
+        }).when(hashOperations).putAll(anyString(), anyMap());
+
+        scriptRegistry = new StubScriptRegistry();
+        distributionService = new CouponDistributionService(couponsRepository, userCouponJdbcRepository,
+            couponRedisService, userExistenceIndex, userWalletService, redisTemplate, scriptRegistry,
+            new ObjectMapper(), 2, 0L, 1L);
+    }
+
+    @Test
+    void grantsInChunksAndCountsInvalidRows() {
+        stock = 10;
+
+        DistributionProgressResponse progress = distribute("userId\n1\nabc\n2\n3\n5000\n");
+
+        assertThat(progress.getStatus()).isEqualTo(CouponDistributionService.STATUS_COMPLETED);
+        assertThat(progress.getProcessed()).isEqualTo(5L);
+        assertThat(progress.getGranted()).isEqualTo(3L);
+        assertThat(progress.getInvalid()).isEqualTo(2L);
+        assertThat(grantCalls).containsExactly(List.of(1L), List.of(2L, 3L));
+        verify(userWalletService).recordIssued(COUPON_ID, "welcome", List.of(2L, 3L));
+    }
+
+    @Test
+    void resumeAfterSoldOutGrantsUsersLeftInExhaustedChunk() {
+        String body = "userId\n1\n2\n3\n4\n5\n";
+        stock = 3;
+
+        DistributionProgressResponse soldOut = distribute(body);
+
+        assertThat(soldOut.getStatus()).isEqualTo(CouponDistributionService.STATUS_SOLD_OUT);
+        assertThat(soldOut.getProcessed()).isEqualTo(4L);
+        assertThat(soldOut.getGranted()).isEqualTo(3L);
+        assertThat(soldOut.getExhausted()).isEqualTo(1L);
+        assertThat(hashes.get(PROGRESS_KEY)).containsEntry("pending", "4");
+
+        // 재고를 늘리고 같은 jobId 로 재개하면 남은 사용자 4 를 먼저 지급한 뒤 5 행부터 이어간다.
+        stock = 5;
+        DistributionProgressResponse resumed = distribute(body);
+
+        assertThat(resumed.getStatus()).isEqualTo(CouponDistributionService.STATUS_COMPLETED);
+        assertThat(resumed.getProcessed()).isEqualTo(5L);
+        assertThat(resumed.getGranted()).isEqualTo(5L);
+        assertThat(resumed.getExhausted()).isZero();
+        assertThat(resumed.getDuplicate()).isZero();
+        assertThat(issued).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(grantCalls).containsExactly(List.of(1L, 2L), List.of(3L, 4L), List.of(4L), List.of(5L));
+        assertThat(hashes.get(PROGRESS_KEY)).containsEntry("pending", "");
+    }
+
+    @Test
+    void resumeStaysSoldOutWhileStockIsEmpty() {
+        String body = "userId\n1\n2\n3\n";
+        stock = 1;
+        distribute(body);
+
+        DistributionProgressResponse again = distribute(body);
+
+        assertThat(again.getStatus()).isEqualTo(CouponDistributionService.STATUS_SOLD_OUT);
+        assertThat(again.getProcessed()).isEqualTo(2L);
+        assertThat(again.getExhausted()).isEqualTo(1L);
+        assertThat(hashes.get(PROGRESS_KEY)).containsEntry("pending", "2");
+        assertThat(grantCalls).containsExactly(List.of(1L, 2L), List.of(2L));
+    }
+
+    @Test
+    void dbFailureRollsBackChunkAndResumesFromSameRow() {
+        String body = "userId\n1\n2\n3\n";
+        stock = 10;
+        when(userCouponJdbcRepository.insertAll(anyList()))
+            .thenReturn(1)
+            .thenThrow(new DataIntegrityViolationException("deadlock"))
+            .thenReturn(1);
+
+        DistributionProgressResponse failed = distribute(body);
+
+        assertThat(failed.getStatus()).isEqualTo(CouponDistributionService.STATUS_FAILED);
+        assertThat(failed.getProcessed()).isEqualTo(2L);
+        verify(couponRedisService).rollbackIssue(COUPON_ID, 3L);
+        verify(couponRedisService, never()).rollbackIssue(COUPON_ID, 1L);
+
+        issued.remove(3L);
+        DistributionProgressResponse resumed = distribute(body);
+
+        assertThat(resumed.getStatus()).isEqualTo(CouponDistributionService.STATUS_COMPLETED);
+        assertThat(grantCalls).containsExactly(List.of(1L, 2L), List.of(3L), List.of(3L));
+    }
+
+    @Test
+    void releasesLockOnlyThroughOwnerCheckedScript() {
+        stock = 10;
+
+        distribute("userId\n1\n");
+
+        assertThat(scriptRegistry.calls()).hasSize(1);
+        assertThat(scriptRegistry.calls().get(0)).startsWith("distribution-unlock [" + PROGRESS_KEY + ":lock] [distributor-");
+    }
+
+    @Test
+    void rejectsJobIdOfAnotherCoupon() {
+        hashes.put(PROGRESS_KEY, new HashMap<>(Map.of("couponId", "2", "status", "SOLD_OUT")));
+
+        assertThatThrownBy(() -> distribute("userId\n1\n")).isInstanceOf(InvalidRequestException.class);
+        assertThat(grantCalls).isEmpty();
+    }
+
+    private DistributionProgressResponse distribute(final String body) {
+        return distributionService.distribute(COUPON_ID, ImportFormat.CSV,
+            new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), JOB_ID);
+    }
+}
@@ -0,0 +1,170 @@
+package com.project.coupon.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 발급 경로 Redis 왕복 비교 벤치마크.
+ * 기존 다중 호출 경로(isEventActive → checkAndIncrementRate → ensureStockIfAbsent → tryIssue)와
+ * 통합 스크립트(tryIssueAtomic)의 지연 시간을 측정한다.
+ *
+ * <p>로컬 Redis 가 필요하다. REDIS_HOST / REDIS_PORT 환경 변수로 대상 지정, 연결 불가 시 skip.
+ * 실행: ./gradlew benchmarkTest
+ */
+@Tag("benchmark")
+class CouponIssuePathBenchmarkTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+    private static final int STOCK = ITERATIONS / 2;
+    private static final long EVENT_ID = 9_000_001L;
+    private static final long MULTI_CALL_COUPON_ID = 9_000_001L;
+    private static final long ATOMIC_COUPON_ID = 9_000_002L;
+    private static final long WARMUP_COUPON_ID = 9_000_003L;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static CouponRedisService couponRedisService;
+
+    @BeforeAll
+    static void setUp() {
+        String host = System.getenv().getOrDefault("REDIS_HOST", "localhost");
+        int port = Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379"));
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        assumeTrue(isReachable(), "Redis 에 연결할 수 없어 벤치마크를 건너뜁니다.");
+        couponRedisService = new CouponRedisService(redisTemplate, new RedisScriptRegistry(redisTemplate),
+            new CouponSoldOutRegistry(redisTemplate, new RedisMessageListenerContainer(), 0L));
+        couponRedisService.setEventActive(EVENT_ID, 600L);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (redisTemplate != null && isReachable()) {
+            List<String> keys = new ArrayList<>(List.of("event:" + EVENT_ID + ":active"));
+            for (long couponId : new long[] {MULTI_CALL_COUPON_ID, ATOMIC_COUPON_ID, WARMUP_COUPON_ID}) {
+                keys.add("coupon:{" + couponId + "}:stock");
+                keys.add("coupon:{" + couponId + "}:issued_users");
+            }
+            redisTemplate.delete(keys);
+            deleteRateKeys();
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void compareMultiCallPathWithAtomicScript() {
+        runMultiCallPath(WARMUP_COUPON_ID, 0, WARMUP);
+        runAtomicPath(WARMUP_COUPON_ID, WARMUP, WARMUP);
+        deleteRateKeys();
+
+        long[] multiCall = new long[ITERATIONS];
+        int multiCallIssued = runMultiCallPath(MULTI_CALL_COUPON_ID, 0, ITERATIONS, multiCall);
+        deleteRateKeys();
+
+        long[] atomic = new long[ITERATIONS];
+        int atomicIssued = runAtomicPath(ATOMIC_COUPON_ID, 0, ITERATIONS, atomic);
+
+        report("multi-call", multiCall);
+        report("atomic", atomic);
+
+        assertThat(multiCallIssued).isEqualTo(STOCK);
+        assertThat(atomicIssued).isEqualTo(STOCK);
+    }
+
+    private static void runMultiCallPath(final long couponId, final int userOffset, final int count) {
+        runMultiCallPath(couponId, userOffset, count, new long[count]);
+    }
+
+    private static int runMultiCallPath(final long couponId, final int userOffset, final int count,
+                                        final long[] elapsedNanos) {
+        int issued = 0;
+        for (int i = 0; i < count; i++) {
+            long userId = userOffset + i + 1L;
+            String clientIp = ip(i);
+            long start = System.nanoTime();
+            if (couponRedisService.isEventActive(EVENT_ID)
+                && couponRedisService.checkAndIncrementRate(userId, clientIp)) {
+                couponRedisService.ensureStockIfAbsent(couponId, STOCK);
+                if (couponRedisService.tryIssue(couponId, userId) == 1) {
+                    issued++;
+                }
+            }
+            elapsedNanos[i] = System.nanoTime() - start;
+        }
+        return issued;
+    }
+
+    private static void runAtomicPath(final long couponId, final int userOffset, final int count) {
+        runAtomicPath(couponId, userOffset, count, new long[count]);
+    }
+
+    private static int runAtomicPath(final long couponId, final int userOffset, final int count,
+                                     final long[] elapsedNanos) {
+        int issued = 0;
+        for (int i = 0; i < count; i++) {
+            long userId = userOffset + i + 1L;
+            long start = System.nanoTime();
+            int code = couponRedisService.tryIssueAtomic(couponId, EVENT_ID, userId, ip(i), STOCK).getCode();
+            elapsedNanos[i] = System.nanoTime() - start;
+            if (code == CouponRedisService.ISSUE_SUCCESS) {
+                issued++;
+            }
+        }
+        return issued;
+    }
+
+    private static void report(final String name, final long[] elapsedNanos) {
+        long[] sorted = elapsedNanos.clone();
+        Arrays.sort(sorted);
+        double avgMicros = Arrays.stream(sorted).average().orElse(0) / 1_000.0;
+        System.out.printf("[%s] n=%d avg=%.1fus p50=%.1fus p99=%.1fus max=%.1fus%n",
+            name, sorted.length, avgMicros,
+            percentile(sorted, 0.50) / 1_000.0,
+            percentile(sorted, 0.99) / 1_000.0,
+            sorted[sorted.length - 1] / 1_000.0);
+    }
+
+    private static long percentile(final long[] sorted, final double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static String ip(final int i) {
+        return "10.1." + (i / 256 % 256) + "." + (i % 256);
+    }
+
+    private static void deleteRateKeys() {
+        List<String> keys = new ArrayList<>(ITERATIONS * 2);
+        for (int i = 0; i < ITERATIONS + WARMUP; i++) {
+            keys.add("rate:user:" + (i + 1));
+            keys.add("rate:ip:" + ip(i));
+        }
+        redisTemplate.delete(keys);
+    }
+
+    private static boolean isReachable() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return "PONG".equals(connection.ping());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.coupon.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.coupon.config.RateLimitProperties;
+import com.project.coupon.config.RateLimitProperties.Policy;
+
+/**
+ * JVM 로컬 token bucket 검증. 시각은 nanoTime 인자로 직접 넘긴다.
+ */
+class CouponRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final Long EVENT_ID = 1L;
+    private static final Policy TWO_PER_MINUTE = new Policy(60L, 2);
+
+    private RateLimitProperties properties;
+    private CouponRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        rateLimiter = new CouponRateLimiter(properties);
+    }
+
+    @Test
+    void rejectsWhenCapacityIsUsed() {
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, null, 0L)).isTrue();
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, null, 0L)).isTrue();
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, null, 0L)).isFalse();
+        assertThat(rateLimiter.getStats().getLocalRejected()).isEqualTo(1L);
+    }
+
+    @Test
+    void refillsProportionallyToElapsedTime() {
+        rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, null, 0L);
+        rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, null, 0L);
+
+        // 60초에 2개 충전 → 29초 후에는 1개 미만, 30초 후에 1개
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, null, 29 * SECOND)).isFalse();
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, null, 30 * SECOND)).isTrue();
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, null, 30 * SECOND)).isFalse();
+    }
+
+    @Test
+    void bucketsArePerEventWithEachEventsCapacity() {
+        Policy onePerMinute = new Policy(60L, 1);
+        Policy threePerMinute = new Policy(60L, 3);
+
+        assertThat(rateLimiter.tryAcquireLocal(1L, onePerMinute, 10L, null, 0L)).isTrue();
+        assertThat(rateLimiter.tryAcquireLocal(1L, onePerMinute, 10L, null, 0L)).isFalse();
+
+        // 같은 유저라도 다른 이벤트는 그 이벤트 정책의 용량으로 새 버킷을 쓴다.
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquireLocal(2L, threePerMinute, 10L, null, 0L)).isTrue();
+        }
+        assertThat(rateLimiter.tryAcquireLocal(2L, threePerMinute, 10L, null, 0L)).isFalse();
+    }
+
+    @Test
+    void ipRejectionDoesNotConsumeUserToken() {
+        // 다른 유저들이 같은 IP 의 토큰을 모두 쓴다.
+        rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 20L, "10.0.0.1", 0L);
+        rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 21L, "10.0.0.1", 0L);
+
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, "10.0.0.1", 0L)).isFalse();
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, "10.0.0.1", 0L)).isFalse();
+
+        // IP 로 거절된 동안 유저 토큰은 그대로 남아 있다.
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, "10.0.0.2", 0L)).isTrue();
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, "10.0.0.2", 0L)).isTrue();
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, "10.0.0.2", 0L)).isFalse();
+    }
+
+    @Test
+    void userRejectionDoesNotConsumeIpToken() {
+        rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, "10.0.0.1", 0L);
+        rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, "10.0.0.2", 0L);
+
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, "10.0.0.3", 0L)).isFalse();
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 11L, "10.0.0.3", 0L)).isTrue();
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 12L, "10.0.0.3", 0L)).isTrue();
+    }
+
+    @Test
+    void blankIpChecksUserOnly() {
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, " ", 0L)).isTrue();
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, "", 0L)).isTrue();
+        assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, null, 0L)).isFalse();
+        assertThat(rateLimiter.getStats().getLocalBuckets()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledLocalTierAllowsEverything() {
+        properties.setLocalEnabled(false);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquireLocal(EVENT_ID, TWO_PER_MINUTE, 10L, "10.0.0.1", 0L)).isTrue();
+        }
+        assertThat(rateLimiter.getStats().getLocalRejected()).isZero();
+    }
+}
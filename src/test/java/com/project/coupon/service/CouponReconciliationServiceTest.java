@@ -0,0 +1,184 @@
+package com.project.coupon.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.project.coupon.entity.Coupons;
+import com.project.coupon.repository.CouponsRepository;
+import com.project.coupon.repository.UserCouponRepository;
+import com.project.coupon.repository.UserCouponRepository.IssuedUserRow;
+import com.project.coupon.service.CouponRedisService.IssuedScanPage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 정합성 점검의 후보 → 확정 → 복구 흐름 검증.
+ * Redis 발급 등록은 유저 1, 2, 3, user_coupon 은 유저 1, 2, 4 로 두어 3 은 Redis 에만, 4 는 DB 에만 있다.
+ */
+class CouponReconciliationServiceTest {
+
+    private static final Long COUPON_ID = 1L;
+    /** 쿠폰 하나(샤드 1개) 한 바퀴: Redis 페이지 → DB 페이지 → 마무리 */
+    private static final int STEPS_PER_ROUND = 3;
+    private static final long GRACE_MILLIS = 20L;
+
+    private CouponsRepository couponsRepository;
+    private UserCouponRepository userCouponRepository;
+    private CouponRedisService couponRedisService;
+    private UserCouponWriteBehindService writeBehindService;
+    private UserWalletService userWalletService;
+    private StubScriptRegistry scriptRegistry;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        couponsRepository = mock(CouponsRepository.class);
+        when(couponsRepository.findAllWithEventActiveBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
+            .thenReturn(List.of(Coupons.builder().couponId(COUPON_ID).couponTotalCount(10).build()));
+
+        couponRedisService = mock(CouponRedisService.class);
+        when(couponRedisService.getStockShardCount(COUPON_ID)).thenReturn(1);
+        IssuedScanPage page = mock(IssuedScanPage.class);
+        when(page.getUserIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(page.isFinished()).thenReturn(true);
+        when(couponRedisService.scanIssuedUsers(eq(COUPON_ID), eq(0), anyString(), anyInt())).thenReturn(page);
+        when(couponRedisService.findNotIssued(COUPON_ID, List.of(1L, 2L, 4L))).thenReturn(List.of(4L));
+        when(couponRedisService.restoreIssued(COUPON_ID, 4L)).thenReturn(true);
+        when(couponRedisService.getRemainingStock(COUPON_ID)).thenReturn(7L);
+        when(couponRedisService.countIssued(COUPON_ID)).thenReturn(3L);
+
+        userCouponRepository = mock(UserCouponRepository.class);
+        when(userCouponRepository.findIssuedUserIds(COUPON_ID, List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 2L));
+        when(userCouponRepository.findIssuedUsersAfter(eq(COUPON_ID), eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(row(11L, 1L), row(12L, 2L), row(14L, 4L)));
+        when(userCouponRepository.countByCoupon_CouponId(COUPON_ID)).thenReturn(3L);
+
+        writeBehindService = mock(UserCouponWriteBehindService.class);
+        userWalletService = mock(UserWalletService.class);
+        scriptRegistry = new StubScriptRegistry();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void firstSightingIsOnlySuspect() {
+        CouponReconciliationService service = service(false, GRACE_MILLIS);
+
+        runSteps(service, STEPS_PER_ROUND);
+
+        assertThat(mismatches("redis_only")).isZero();
+        assertThat(mismatches("db_only")).isZero();
+        assertThat(drift("redis_only")).isZero();
+        assertThat(drift("stock")).isZero();
+        assertThat(drift("issued_count")).isZero();
+        verify(couponRedisService, never()).rollbackIssue(anyLong(), anyLong());
+    }
+
+    @Test
+    void suspectSeenAgainAfterGraceIsConfirmedOnce() throws InterruptedException {
+        CouponReconciliationService service = service(false, GRACE_MILLIS);
+        runSteps(service, STEPS_PER_ROUND);
+        Thread.sleep(GRACE_MILLIS + 10L);
+
+        runSteps(service, STEPS_PER_ROUND * 2);
+
+        assertThat(mismatches("redis_only")).isEqualTo(1.0);
+        assertThat(mismatches("db_only")).isEqualTo(1.0);
+        assertThat(drift("redis_only")).isEqualTo(1.0);
+        assertThat(drift("db_only")).isEqualTo(1.0);
+        verify(couponRedisService, never()).rollbackIssue(anyLong(), anyLong());
+        verify(couponRedisService, never()).restoreIssued(anyLong(), anyLong());
+    }
+
+    @Test
+    void redisOnlyIsNotConfirmedWhileWriteBehindBacklogRemains() throws InterruptedException {
+        when(writeBehindService.getBacklog()).thenReturn(5L);
+        CouponReconciliationService service = service(false, GRACE_MILLIS);
+        runSteps(service, STEPS_PER_ROUND);
+        Thread.sleep(GRACE_MILLIS + 10L);
+
+        runSteps(service, STEPS_PER_ROUND);
+
+        assertThat(mismatches("redis_only")).isZero();
+        assertThat(mismatches("db_only")).isEqualTo(1.0);
+    }
+
+    @Test
+    void repairRollsBackRedisOnlyAndRestoresDbOnly() {
+        CouponReconciliationService service = service(true, 0L);
+
+        runSteps(service, STEPS_PER_ROUND);
+
+        verify(couponRedisService).rollbackIssue(COUPON_ID, 3L);
+        verify(userWalletService).removeIssued(3L, COUPON_ID);
+        verify(couponRedisService).restoreIssued(COUPON_ID, 4L);
+        assertThat(meterRegistry.get("coupon.reconcile.repaired").tag("type", "redis_only").counter().count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.get("coupon.reconcile.repaired").tag("type", "db_only").counter().count())
+            .isEqualTo(1.0);
+        // 복구한 건은 후보로 남기지 않는다.
+        assertThat(drift("redis_only")).isZero();
+        assertThat(drift("db_only")).isZero();
+    }
+
+    @Test
+    void doesNothingWithoutLock() {
+        CouponReconciliationService service = service(true, 0L);
+        scriptRegistry.willReturn("reconcile-lock", 0L);
+
+        service.reconcileStep();
+
+        verifyNoInteractions(couponsRepository, userCouponRepository);
+    }
+
+    private CouponReconciliationService service(final boolean repair, final long graceMillis) {
+        return new CouponReconciliationService(couponsRepository, userCouponRepository, couponRedisService,
+            writeBehindService, userWalletService, scriptRegistry, meterRegistry,
+            true, repair, 200, graceMillis, 24L, 1_000L);
+    }
+
+    private void runSteps(final CouponReconciliationService service, final int steps) {
+        for (int i = 0; i < steps; i++) {
+            scriptRegistry.willReturn("reconcile-lock", 1L);
+            service.reconcileStep();
+        }
+    }
+
+    private double mismatches(final String type) {
+        return meterRegistry.get("coupon.reconcile.mismatch").tag("type", type).counter().count();
+    }
+
+    private double drift(final String type) {
+        return meterRegistry.get("coupon.reconcile.drift").tag("coupon", String.valueOf(COUPON_ID))
+            .tag("type", type).gauge().value();
+    }
+
+    private static IssuedUserRow row(final Long userCouponId, final Long userId) {
+        return new IssuedUserRow() {
+            @Override
+            public Long getUserCouponId() {
+                return userCouponId;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+        };
+    }
+}
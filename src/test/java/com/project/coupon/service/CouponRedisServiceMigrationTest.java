@@ -0,0 +1,73 @@
+package com.project.coupon.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 해시 태그 도입 전 키 이전 검증. 스크립트는 InProcessRedis 의 LuaJ 로 실행한다.
+ */
+class CouponRedisServiceMigrationTest {
+
+    private InProcessRedis redis;
+    private CouponRedisService couponRedisService;
+
+    @BeforeEach
+    void setUp() {
+        redis = new InProcessRedis();
+        StringRedisTemplate template = redis.redisTemplate();
+        couponRedisService = new CouponRedisService(template, redis.scriptRegistry(),
+            new CouponSoldOutRegistry(template, new RedisMessageListenerContainer(), 0L));
+    }
+
+    @Test
+    void movesLegacyKeysAndIsIdempotent() {
+        redis.set("coupon:1:stock", "10");
+        redis.set("coupon:1:issued_mode", "SET");
+
+        assertThat(couponRedisService.migrateLegacyKeys(List.of(1L))).isEqualTo(2L);
+
+        assertThat(redis.get("coupon:{1}:stock")).isEqualTo("10");
+        assertThat(redis.get("coupon:{1}:issued_mode")).isEqualTo("SET");
+        assertThat(redis.get("coupon:1:stock")).isNull();
+        assertThat(couponRedisService.migrateLegacyKeys(List.of(1L))).isZero();
+    }
+
+    @Test
+    void movesShardKeysOfShardedLegacyLayout() {
+        redis.set("coupon:1:stock_shards", "2");
+        redis.set("coupon:1:stock:0", "5");
+        redis.set("coupon:1:stock:1", "4");
+
+        assertThat(couponRedisService.migrateLegacyKeys(List.of(1L))).isEqualTo(3L);
+
+        assertThat(redis.get("coupon:{1}:stock_shards")).isEqualTo("2");
+        assertThat(redis.get("coupon:{1:0}:stock")).isEqualTo("5");
+        assertThat(redis.get("coupon:{1:1}:stock")).isEqualTo("4");
+    }
+
+    @Test
+    void leavesCouponUntouchedWhenNewKeyAlreadyExists() {
+        redis.set("coupon:1:stock", "10");
+        redis.set("coupon:2:stock", "5");
+        redis.set("coupon:2:issued_mode", "SET");
+        redis.set("coupon:{2}:stock", "7");
+
+        assertThatThrownBy(() -> couponRedisService.migrateLegacyKeys(List.of(1L, 2L)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("[2]");
+
+        // 충돌한 쿠폰은 새 키를 덮어쓰지 않고 이전 키를 하나도 옮기지 않는다. 다른 쿠폰은 옮긴다.
+        assertThat(redis.get("coupon:{2}:stock")).isEqualTo("7");
+        assertThat(redis.get("coupon:2:stock")).isEqualTo("5");
+        assertThat(redis.get("coupon:2:issued_mode")).isEqualTo("SET");
+        assertThat(redis.get("coupon:{2}:issued_mode")).isNull();
+        assertThat(redis.get("coupon:{1}:stock")).isEqualTo("10");
+    }
+}
@@ -0,0 +1,178 @@
+package com.project.coupon.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.coupon.dto.CatalogPageResponse;
+import com.project.coupon.dto.CouponSummaryResponse;
+import com.project.coupon.dto.EventSummaryResponse;
+import com.project.coupon.exception.InvalidRequestException;
+import com.project.coupon.repository.CouponsRepository;
+import com.project.coupon.repository.CouponsRepository.CouponSummaryRow;
+import com.project.coupon.repository.EventsRepository;
+import com.project.coupon.repository.EventsRepository.EventSummaryRow;
+import com.project.coupon.service.EventService.EventFilter;
+
+/**
+ * 이벤트·쿠폰 목록 keyset 페이지의 cursor 처리 검증. 리포지토리는 size + 1 건까지 돌려주는 mock 으로 대신한다.
+ */
+class EventServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 10, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2026, 1, 2, 10, 0);
+
+    private EventsRepository eventsRepository;
+    private CouponsRepository couponsRepository;
+    private EventService eventService;
+
+    @BeforeEach
+    void setUp() {
+        eventsRepository = mock(EventsRepository.class);
+        couponsRepository = mock(CouponsRepository.class);
+        eventService = new EventService(eventsRepository, couponsRepository, null, null, null, new ObjectMapper());
+    }
+
+    @Test
+    void firstEventPageStartsFromLargestIdAndReturnsCursorWhenMoreRemain() {
+        when(eventsRepository.findSummariesBefore(Long.MAX_VALUE, PageRequest.of(0, 3)))
+            .thenReturn(eventRows(30L, 29L, 28L));
+
+        CatalogPageResponse<EventSummaryResponse> page = eventService.getEventPage(EventFilter.ALL, null, 2);
+
+        assertThat(page.getItems()).extracting(EventSummaryResponse::getEventId).containsExactly(30L, 29L);
+        assertThat(page.getNextCursor()).isEqualTo(29L);
+    }
+
+    @Test
+    void lastEventPageHasNoCursor() {
+        when(eventsRepository.findSummariesBefore(29L, PageRequest.of(0, 3))).thenReturn(eventRows(28L, 27L));
+
+        CatalogPageResponse<EventSummaryResponse> page = eventService.getEventPage(EventFilter.ALL, 29L, 2);
+
+        assertThat(page.getItems()).extracting(EventSummaryResponse::getEventId).containsExactly(28L, 27L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void eventFilterSelectsQuery() {
+        when(eventsRepository.findActiveSummariesBefore(any(LocalDateTime.class), eq(10L), eq(PageRequest.of(0, 2))))
+            .thenReturn(eventRows(9L));
+        when(eventsRepository.findUpcomingSummariesBefore(any(LocalDateTime.class), eq(10L), eq(PageRequest.of(0, 2))))
+            .thenReturn(eventRows(8L));
+
+        assertThat(eventService.getEventPage(EventFilter.ACTIVE, 10L, 1).getItems())
+            .extracting(EventSummaryResponse::getEventId).containsExactly(9L);
+        assertThat(eventService.getEventPage(EventFilter.UPCOMING, 10L, 1).getItems())
+            .extracting(EventSummaryResponse::getEventId).containsExactly(8L);
+    }
+
+    @Test
+    void firstCouponPageStartsAfterZeroAndReturnsCursorWhenMoreRemain() {
+        when(couponsRepository.findSummariesByEventAfter(5L, 0L, PageRequest.of(0, 4)))
+            .thenReturn(couponRows(101L, 102L, 103L, 104L));
+
+        CatalogPageResponse<CouponSummaryResponse> page = eventService.getCouponPage(5L, null, 3);
+
+        assertThat(page.getItems()).extracting(CouponSummaryResponse::getCouponId).containsExactly(101L, 102L, 103L);
+        assertThat(page.getNextCursor()).isEqualTo(103L);
+    }
+
+    @Test
+    void couponPageContinuesFromCursor() {
+        when(couponsRepository.findSummariesByEventAfter(5L, 103L, PageRequest.of(0, 4)))
+            .thenReturn(couponRows(104L, 105L, 106L));
+
+        CatalogPageResponse<CouponSummaryResponse> page = eventService.getCouponPage(5L, 103L, 3);
+
+        assertThat(page.getItems()).extracting(CouponSummaryResponse::getCouponId).containsExactly(104L, 105L, 106L);
+        assertThat(page.getNextCursor()).isNull();
+        verify(couponsRepository).findSummariesByEventAfter(5L, 103L, PageRequest.of(0, 4));
+    }
+
+    @Test
+    void emptyPageHasNoCursor() {
+        when(couponsRepository.findSummariesByEventAfter(5L, 0L, PageRequest.of(0, 11))).thenReturn(List.of());
+
+        CatalogPageResponse<CouponSummaryResponse> page = eventService.getCouponPage(5L, null, 10);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsPageSizeOutOfRange() {
+        assertThatThrownBy(() -> eventService.getEventPage(EventFilter.ALL, null, 0))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> eventService.getCouponPage(5L, null, 101))
+            .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(eventsRepository, couponsRepository);
+    }
+
+    private static List<EventSummaryRow> eventRows(final long... ids) {
+        return LongStream.of(ids).<EventSummaryRow>mapToObj(id -> new EventSummaryRow() {
+            @Override
+            public Long getEventId() {
+                return id;
+            }
+
+            @Override
+            public String getEventName() {
+                return "event-" + id;
+            }
+
+            @Override
+            public LocalDateTime getEventStartDatetime() {
+                return START;
+            }
+
+            @Override
+            public LocalDateTime getEventEndDatetime() {
+                return END;
+            }
+        }).toList();
+    }
+
+    private static List<CouponSummaryRow> couponRows(final long... ids) {
+        return LongStream.of(ids).<CouponSummaryRow>mapToObj(id -> new CouponSummaryRow() {
+            @Override
+            public Long getCouponId() {
+                return id;
+            }
+
+            @Override
+            public String getCouponName() {
+                return "coupon-" + id;
+            }
+
+            @Override
+            public LocalDateTime getCouponApplyStartDatetime() {
+                return START;
+            }
+
+            @Override
+            public LocalDateTime getCouponApplyEndDatetime() {
+                return END;
+            }
+
+            @Override
+            public Integer getCouponTotalCount() {
+                return 100;
+            }
+        }).toList();
+    }
+}
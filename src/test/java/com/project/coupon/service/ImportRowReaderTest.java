@@ -0,0 +1,99 @@
+package com.project.coupon.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.coupon.service.BulkImportService.ImportFormat;
+
+/**
+ * 대량 적재 본문 CSV / JSONL 파싱 검증.
+ */
+class ImportRowReaderTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    void csvNormalizesHeaderAndReadsRows() throws IOException {
+        ImportRowReader reader = reader(ImportFormat.CSV,
+            "\uFEFFuser_id,userLoginId, USER_PASSWORD\n"
+                + "1,alice,pw1\n"
+                + "\n"
+                + ",bob,pw2\n");
+
+        assertThat(reader.next()).containsExactlyInAnyOrderEntriesOf(
+            Map.of("userid", "1", "userloginid", "alice", "userpassword", "pw1"));
+        assertThat(reader.lineNumber()).isEqualTo(2L);
+        assertThat(reader.next()).containsEntry("userid", "").containsEntry("userloginid", "bob");
+        assertThat(reader.lineNumber()).isEqualTo(4L);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void csvSupportsQuotedCommasAndEscapedQuotes() throws IOException {
+        ImportRowReader reader = reader(ImportFormat.CSV,
+            "eventName,eventDetail\n"
+                + "\"Drop, summer\",\"say \"\"hi\"\"\"\n");
+
+        assertThat(reader.next())
+            .containsEntry("eventname", "Drop, summer")
+            .containsEntry("eventdetail", "say \"hi\"");
+    }
+
+    @Test
+    void csvRejectsBadRowAndContinuesWithNext() throws IOException {
+        ImportRowReader reader = reader(ImportFormat.CSV,
+            "a,b\n"
+                + "1,2,3\n"
+                + "\"open,4\n"
+                + "5,6\n");
+
+        assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("컬럼 수");
+        assertThat(reader.lineNumber()).isEqualTo(2L);
+        assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("따옴표");
+        assertThat(reader.lineNumber()).isEqualTo(3L);
+        assertThat(reader.next()).containsEntry("a", "5").containsEntry("b", "6");
+    }
+
+    @Test
+    void csvWithHeaderOnlyHasNoRows() throws IOException {
+        assertThat(reader(ImportFormat.CSV, "a,b\n\n").next()).isNull();
+    }
+
+    @Test
+    void jsonlReadsValuesAsTextAndSkipsNulls() throws IOException {
+        ImportRowReader reader = reader(ImportFormat.JSONL,
+            "{\"coupon_id\": 7, \"couponName\": \"A\", \"couponDetail\": null, \"couponTotalCount\": 100}\n"
+                + "\n"
+                + "{\"couponName\": \"B\"}\n");
+
+        assertThat(reader.next()).containsExactlyInAnyOrderEntriesOf(
+            Map.of("couponid", "7", "couponname", "A", "coupontotalcount", "100"));
+        assertThat(reader.next()).containsExactlyInAnyOrderEntriesOf(Map.of("couponname", "B"));
+        assertThat(reader.lineNumber()).isEqualTo(3L);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void jsonlRejectsMalformedLinesAndContinues() throws IOException {
+        ImportRowReader reader = reader(ImportFormat.JSONL,
+            "{\"a\": \n"
+                + "[1, 2]\n"
+                + "{\"a\": \"ok\"}\n");
+
+        assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("JSON 형식 오류");
+        assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("JSON 객체");
+        assertThat(reader.next()).containsEntry("a", "ok");
+    }
+
+    private static ImportRowReader reader(final ImportFormat format, final String body) {
+        return new ImportRowReader(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, OBJECT_MAPPER);
+    }
+}
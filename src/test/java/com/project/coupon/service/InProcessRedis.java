@@ -0,0 +1,275 @@
+package com.project.coupon.service;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaInteger;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.VarArgFunction;
+import org.luaj.vm2.lib.jse.JsePlatform;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.project.coupon.service.RedisScriptRegistry.LuaScript;
+
+/**
+ * 벤치마크·단위 테스트용 in-process Redis 대역.
+ * Lua 스크립트를 네트워크 없이 LuaJ 로 실행하고, redis.call 은 JVM 맵으로 처리한다.
+ * 벤치마크 측정값에는 Redis 서버 대신 LuaJ·HashMap 비용이 포함되므로 릴리스 간 상대 비교용으로만 쓴다.
+ *
+ * <p>스크립트가 쓰는 명령만 지원한다: EXISTS GET SET(NX) INCR INCRBY DECR EXPIRE SISMEMBER SADD SREM GETBIT SETBIT
+ * HGET HSET HDEL ZADD ZCARD ZRANK ZPOPMIN RENAMENX. TTL 은 무시한다. 인스턴스는 스레드 하나에서만 사용한다.
+ */
+final class InProcessRedis {
+
+    private final Map<String, String> strings = new HashMap<>();
+    private final Map<String, Set<String>> sets = new HashMap<>();
+    private final Map<String, BitSet> bitmaps = new HashMap<>();
+    private final Map<String, Map<String, String>> hashes = new HashMap<>();
+    private final Map<String, Map<String, Long>> zsets = new HashMap<>();
+
+    private final Globals globals = JsePlatform.standardGlobals();
+    private final Map<String, LuaValue> chunks = new HashMap<>();
+
+    InProcessRedis() {
+        LuaTable redis = new LuaTable();
+        redis.set("call", new VarArgFunction() {
+            @Override
+            public Varargs invoke(final Varargs args) {
+                return call(args);
+            }
+        });
+        globals.set("redis", redis);
+    }
+
+    /** 문자열 값을 직접 넣는다. (재고·레이아웃·이벤트 활성 키 시드) */
+    void set(final String key, final String value) {
+        strings.put(key, value);
+    }
+
+    String get(final String key) {
+        return strings.get(key);
+    }
+
+    /** Hash 필드 값, 없으면 null */
+    String hashGet(final String key, final String field) {
+        return hashes.getOrDefault(key, Map.of()).get(field);
+    }
+
+    Set<String> members(final String key) {
+        return Set.copyOf(sets.getOrDefault(key, Set.of()));
+    }
+
+    /** ZSET 멤버를 점수 오름차순으로 */
+    List<String> range(final String key) {
+        return sortedMembers(key);
+    }
+
+    void clear() {
+        strings.clear();
+        sets.clear();
+        bitmaps.clear();
+        hashes.clear();
+        zsets.clear();
+    }
+
+    /** 등록 시 스크립트를 컴파일하고 execute 를 LuaJ 실행으로 대체한 레지스트리 */
+    RedisScriptRegistry scriptRegistry() {
+        return new RedisScriptRegistry(null) {
+            @Override
+            public <T> LuaScript<T> register(final String name, final String source, final Class<T> resultType) {
+                LuaScript<T> script = super.register(name, source, resultType);
+                chunks.put(script.getSha1(), globals.load(source, name));
+                return script;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T execute(final LuaScript<T> script, final List<String> keys, final String... args) {
+                globals.set("KEYS", toLuaList(keys.toArray(String[]::new)));
+                globals.set("ARGV", toLuaList(args));
+                return (T) toReply(chunks.get(script.getSha1()).call());
+            }
+        };
+    }
+
+    /** 재고 레이아웃 조회(MGET)만 이 저장소에서 읽는 템플릿 */
+    @SuppressWarnings("unchecked")
+    StringRedisTemplate redisTemplate() {
+        ValueOperations<String, String> valueOperations = (ValueOperations<String, String>) Proxy.newProxyInstance(
+            ValueOperations.class.getClassLoader(), new Class<?>[] {ValueOperations.class}, (proxy, method, args) -> {
+                if ("multiGet".equals(method.getName())) {
+                    List<String> values = new ArrayList<>();
+                    for (Object key : (Iterable<?>) args[0]) {
+                        values.add(strings.get((String) key));
+                    }
+                    return values;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        return new StringRedisTemplate() {
+            @Override
+            public ValueOperations<String, String> opsForValue() {
+                return valueOperations;
+            }
+        };
+    }
+
+    private LuaValue call(final Varargs args) {
+        String command = args.checkjstring(1).toUpperCase();
+        String key = args.checkjstring(2);
+        return switch (command) {
+            case "EXISTS" -> integer(exists(key) ? 1 : 0);
+            case "GET" -> strings.containsKey(key) ? LuaValue.valueOf(strings.get(key)) : LuaValue.FALSE;
+            case "SET" -> set(key, args.checkjstring(3), args.narg() > 3 && "NX".equalsIgnoreCase(args.checkjstring(4)));
+            case "INCR" -> incrBy(key, 1L);
+            case "INCRBY" -> incrBy(key, Long.parseLong(args.checkjstring(3)));
+            case "DECR" -> incrBy(key, -1L);
+            case "EXPIRE" -> integer(1);
+            case "SISMEMBER" -> integer(sets.getOrDefault(key, Set.of()).contains(args.checkjstring(3)) ? 1 : 0);
+            case "SADD" -> integer(sets.computeIfAbsent(key, k -> new HashSet<>()).add(args.checkjstring(3)) ? 1 : 0);
+            case "SREM" -> integer(sets.containsKey(key) && sets.get(key).remove(args.checkjstring(3)) ? 1 : 0);
+            case "GETBIT" -> integer(bitmaps.containsKey(key) && bitmaps.get(key).get(offset(args)) ? 1 : 0);
+            case "SETBIT" -> {
+                BitSet bits = bitmaps.computeIfAbsent(key, k -> new BitSet());
+                int offset = offset(args);
+                boolean previous = bits.get(offset);
+                bits.set(offset, "1".equals(args.checkjstring(4)));
+                yield integer(previous ? 1 : 0);
+            }
+            case "HGET" -> {
+                String value = hashes.getOrDefault(key, Map.of()).get(args.checkjstring(3));
+                yield value != null ? LuaValue.valueOf(value) : LuaValue.FALSE;
+            }
+            case "HSET" -> integer(hashes.computeIfAbsent(key, k -> new HashMap<>())
+                .put(args.checkjstring(3), args.checkjstring(4)) == null ? 1 : 0);
+            case "HDEL" -> integer(hdel(key, args.checkjstring(3)) ? 1 : 0);
+            case "ZADD" -> integer(zsets.computeIfAbsent(key, k -> new HashMap<>())
+                .put(args.checkjstring(4), Long.parseLong(args.checkjstring(3))) == null ? 1 : 0);
+            case "ZCARD" -> integer(zsets.getOrDefault(key, Map.of()).size());
+            case "ZRANK" -> {
+                int rank = sortedMembers(key).indexOf(args.checkjstring(3));
+                yield rank >= 0 ? integer(rank) : LuaValue.FALSE;
+            }
+            case "RENAMENX" -> integer(renameNx(key, args.checkjstring(3)) ? 1 : 0);
+            case "ZPOPMIN" -> zpopmin(key, args.narg() > 2 ? Integer.parseInt(args.checkjstring(3)) : 1);
+            default -> throw new LuaError("지원하지 않는 명령: " + command);
+        };
+    }
+
+    private LuaValue set(final String key, final String value, final boolean nx) {
+        if (nx && strings.containsKey(key)) {
+            return LuaValue.FALSE;
+        }
+        strings.put(key, value);
+        LuaTable ok = new LuaTable();
+        ok.set("ok", "OK");
+        return ok;
+    }
+
+    private boolean renameNx(final String key, final String newKey) {
+        if (!exists(key)) {
+            throw new LuaError("ERR no such key");
+        }
+        if (exists(newKey)) {
+            return false;
+        }
+        for (Map<String, ?> values : List.<Map<String, ?>>of(strings, sets, bitmaps, hashes, zsets)) {
+            move(values, key, newKey);
+        }
+        return true;
+    }
+
+    private boolean exists(final String key) {
+        return strings.containsKey(key) || sets.containsKey(key) || bitmaps.containsKey(key)
+            || hashes.containsKey(key) || zsets.containsKey(key);
+    }
+
+    private static <V> void move(final Map<String, V> values, final String key, final String newKey) {
+        if (values.containsKey(key)) {
+            values.put(newKey, values.remove(key));
+        }
+    }
+
+    private boolean hdel(final String key, final String field) {
+        Map<String, String> hash = hashes.get(key);
+        if (hash == null || hash.remove(field) == null) {
+            return false;
+        }
+        if (hash.isEmpty()) {
+            hashes.remove(key);
+        }
+        return true;
+    }
+
+    private List<String> sortedMembers(final String key) {
+        Map<String, Long> zset = zsets.getOrDefault(key, Map.of());
+        return zset.keySet().stream()
+            .sorted(Comparator.<String>comparingLong(zset::get).thenComparing(Comparator.naturalOrder()))
+            .collect(Collectors.toList());
+    }
+
+    private LuaValue zpopmin(final String key, final int count) {
+        List<LuaValue> popped = new ArrayList<>();
+        for (String member : sortedMembers(key).stream().limit(count).toList()) {
+            popped.add(LuaValue.valueOf(member));
+            popped.add(LuaValue.valueOf(String.valueOf(zsets.get(key).remove(member))));
+        }
+        if (zsets.containsKey(key) && zsets.get(key).isEmpty()) {
+            zsets.remove(key);
+        }
+        return LuaValue.listOf(popped.toArray(LuaValue[]::new));
+    }
+
+    private LuaValue incrBy(final String key, final long delta) {
+        long value = Long.parseLong(strings.getOrDefault(key, "0")) + delta;
+        strings.put(key, String.valueOf(value));
+        return integer(value);
+    }
+
+    private static int offset(final Varargs args) {
+        return Math.toIntExact(Long.parseLong(args.checkjstring(3)));
+    }
+
+    private static LuaValue integer(final long value) {
+        return LuaInteger.valueOf(value);
+    }
+
+    private static LuaTable toLuaList(final String[] values) {
+        LuaValue[] luaValues = new LuaValue[values.length];
+        for (int i = 0; i < values.length; i++) {
+            luaValues[i] = LuaValue.valueOf(values[i]);
+        }
+        return LuaValue.listOf(luaValues);
+    }
+
+    /** Redis 의 Lua → RESP 변환 규칙: 숫자는 정수(Long), 테이블은 배열, false/nil 은 null */
+    private static Object toReply(final LuaValue value) {
+        if (value.type() == LuaValue.TNUMBER) {
+            return (long) value.todouble();
+        }
+        if (value.isstring()) {
+            return value.tojstring();
+        }
+        if (value.istable()) {
+            List<Object> list = new ArrayList<>();
+            for (int i = 1; i <= value.length(); i++) {
+                list.add(toReply(value.get(i)));
+            }
+            return list;
+        }
+        return null;
+    }
+}
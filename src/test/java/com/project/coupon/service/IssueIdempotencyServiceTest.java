@@ -0,0 +1,121 @@
+package com.project.coupon.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.project.coupon.exception.InvalidRequestException;
+import com.project.coupon.exception.RedisConnectionException;
+
+/**
+ * Idempotency-Key 예약·결과 저장 상태 처리 검증. Redis 는 StubScriptRegistry 와 mock 템플릿으로 대신한다.
+ */
+class IssueIdempotencyServiceTest {
+
+    private static final Long USER_ID = 7L;
+    private static final Long COUPON_ID = 42L;
+    private static final String KEY = "retry-1";
+    private static final String REDIS_KEY = "issue:idempotency:7:retry-1";
+    private static final String RESERVE = "issue-idempotency-reserve";
+
+    private RedisTemplate<String, String> redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private StubScriptRegistry scriptRegistry;
+    private IssueIdempotencyService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        scriptRegistry = new StubScriptRegistry();
+        service = new IssueIdempotencyService(redisTemplate, scriptRegistry, 600L, 30L);
+    }
+
+    @Test
+    void reservesNewKeyAsPending() {
+        assertThat(service.reserve(USER_ID, COUPON_ID, KEY)).isNull();
+        assertThat(scriptRegistry.lastKeys()).containsExactly(REDIS_KEY);
+        assertThat(scriptRegistry.lastArgs()).containsExactly("42:PENDING", "30");
+    }
+
+    @Test
+    void returnsInProgressWhileFirstRequestIsPending() {
+        scriptRegistry.willReturn(RESERVE, "42:PENDING");
+
+        assertThat(service.reserve(USER_ID, COUPON_ID, KEY)).isEqualTo(IssueOutcome.IN_PROGRESS);
+    }
+
+    @Test
+    void returnsStoredOutcome() {
+        scriptRegistry.willReturn(RESERVE, "42:DUPLICATE");
+
+        assertThat(service.reserve(USER_ID, COUPON_ID, KEY)).isEqualTo(IssueOutcome.DUPLICATE);
+    }
+
+    @Test
+    void rejectsKeyUsedForAnotherCoupon() {
+        scriptRegistry.willReturn(RESERVE, "43:SUCCESS");
+
+        assertThatThrownBy(() -> service.reserve(USER_ID, COUPON_ID, KEY)).isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void rejectsMalformedKeyWithoutCallingRedis() {
+        assertThatThrownBy(() -> service.reserve(USER_ID, COUPON_ID, "has space")).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> service.reserve(USER_ID, COUPON_ID, "k".repeat(65))).isInstanceOf(InvalidRequestException.class);
+        assertThat(scriptRegistry.calls()).isEmpty();
+    }
+
+    @Test
+    void wrapsRedisFailureOnReserve() {
+        scriptRegistry.failWith(new IllegalStateException("connection refused"));
+
+        assertThatThrownBy(() -> service.reserve(USER_ID, COUPON_ID, KEY)).isInstanceOf(RedisConnectionException.class);
+    }
+
+    @Test
+    void storesRepeatableOutcomes() {
+        service.complete(USER_ID, COUPON_ID, KEY, IssueOutcome.SUCCESS);
+        service.complete(USER_ID, COUPON_ID, KEY, IssueOutcome.EXHAUSTED);
+
+        verify(valueOperations).set(REDIS_KEY, "42:SUCCESS", Duration.ofSeconds(600));
+        verify(valueOperations).set(REDIS_KEY, "42:EXHAUSTED", Duration.ofSeconds(600));
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    void releasesReservationForRetryableOutcomes() {
+        service.complete(USER_ID, COUPON_ID, KEY, IssueOutcome.RATE_LIMITED);
+        service.complete(USER_ID, COUPON_ID, KEY, IssueOutcome.QUEUE_TOKEN_REQUIRED);
+
+        verify(redisTemplate, times(2)).delete(REDIS_KEY);
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void completeAndReleaseSwallowRedisFailures() {
+        when(redisTemplate.delete(REDIS_KEY)).thenThrow(new IllegalStateException("connection refused"));
+        doThrow(new IllegalStateException("connection refused"))
+            .when(valueOperations).set(REDIS_KEY, "42:SUCCESS", Duration.ofSeconds(600));
+
+        assertThatCode(() -> service.complete(USER_ID, COUPON_ID, KEY, IssueOutcome.SUCCESS)).doesNotThrowAnyException();
+        assertThatCode(() -> service.release(USER_ID, KEY)).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,158 @@
+package com.project.coupon.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.project.coupon.service.CouponRedisService.IssuedUsersMode;
+
+/**
+ * 중복 방지 자료구조 메모리 비교.
+ * userId 1..N 이 모두 발급받은 상태에서 Set(issued_users)과 비트맵(issued_bits)의 MEMORY USAGE 를 측정한다.
+ *
+ * <p>로컬 Redis 가 필요하다. REDIS_HOST / REDIS_PORT 환경 변수로 대상 지정, 연결 불가 시 skip.
+ * 실행: ./gradlew benchmarkTest
+ */
+@Tag("benchmark")
+class IssuedUsersMemoryFootprintTest {
+
+    private static final int BATCH = 1_000;
+    private static final long COUPON_ID = 9_000_101L;
+    private static final String SET_KEY = "coupon:{" + COUPON_ID + "}:issued_users";
+    private static final String BITMAP_KEY = "coupon:{" + COUPON_ID + "}:issued_bits";
+    private static final long ISSUE_COUPON_ID = 9_000_102L;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        String host = System.getenv().getOrDefault("REDIS_HOST", "localhost");
+        int port = Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379"));
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        assumeTrue(isReachable(), "Redis 에 연결할 수 없어 벤치마크를 건너뜁니다.");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (redisTemplate != null && isReachable()) {
+            deleteKeys();
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void compareSetAndBitmapAtOneMillionUsers() {
+        compare(1_000_000);
+    }
+
+    @Test
+    void compareSetAndBitmapAtTenMillionUsers() {
+        compare(10_000_000);
+    }
+
+    @Test
+    void bitmapModeDetectsDuplicateAndRollsBack() {
+        CouponRedisService couponRedisService = new CouponRedisService(redisTemplate,
+            new RedisScriptRegistry(redisTemplate),
+            new CouponSoldOutRegistry(redisTemplate, new RedisMessageListenerContainer(), 0L));
+        for (int shards : new int[] {1, 4}) {
+            couponRedisService.initializeStock(ISSUE_COUPON_ID, 2, shards, IssuedUsersMode.BITMAP);
+
+            assertThat(couponRedisService.tryIssue(ISSUE_COUPON_ID, 7L)).isEqualTo(CouponRedisService.ISSUE_SUCCESS);
+            assertThat(couponRedisService.tryIssue(ISSUE_COUPON_ID, 7L)).isEqualTo(CouponRedisService.ISSUE_DUPLICATE);
+            couponRedisService.rollbackIssue(ISSUE_COUPON_ID, 7L);
+            assertThat(couponRedisService.tryIssue(ISSUE_COUPON_ID, 7L)).isEqualTo(CouponRedisService.ISSUE_SUCCESS);
+            assertThat(couponRedisService.tryIssue(ISSUE_COUPON_ID, 8L)).isEqualTo(CouponRedisService.ISSUE_SUCCESS);
+            assertThat(couponRedisService.tryIssue(ISSUE_COUPON_ID, 9L)).isEqualTo(CouponRedisService.ISSUE_EXHAUSTED);
+            assertThat(couponRedisService.getRemainingStock(ISSUE_COUPON_ID)).isZero();
+            deleteKeys();
+        }
+    }
+
+    private static void compare(final int users) {
+        deleteKeys();
+        fillSet(users);
+        fillBitmap(users);
+
+        long setBytes = memoryUsage(SET_KEY);
+        long bitmapBytes = memoryUsage(BITMAP_KEY);
+        System.out.printf("[issued-users n=%,d] set=%,d bytes (%.1f B/user) bitmap=%,d bytes (%.3f B/user) ratio=%.1fx%n",
+            users, setBytes, (double) setBytes / users, bitmapBytes, (double) bitmapBytes / users,
+            (double) setBytes / bitmapBytes);
+
+        assertThat(redisTemplate.opsForSet().size(SET_KEY)).isEqualTo(users);
+        assertThat(bitmapBytes).isLessThan(setBytes);
+        deleteKeys();
+    }
+
+    private static void fillSet(final int users) {
+        for (int from = 1; from <= users; from += BATCH * 100) {
+            final int start = from;
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int batchStart = start; batchStart < start + BATCH * 100 && batchStart <= users; batchStart += BATCH) {
+                    int size = Math.min(BATCH, users - batchStart + 1);
+                    byte[][] members = new byte[size][];
+                    for (int i = 0; i < size; i++) {
+                        members[i] = String.valueOf(batchStart + i).getBytes(StandardCharsets.UTF_8);
+                    }
+                    connection.setCommands().sAdd(bytes(SET_KEY), members);
+                }
+                return null;
+            });
+        }
+    }
+
+    private static void fillBitmap(final int users) {
+        for (int from = 1; from <= users; from += BATCH * 100) {
+            final int start = from;
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int userId = start; userId < start + BATCH * 100 && userId <= users; userId++) {
+                    connection.stringCommands().setBit(bytes(BITMAP_KEY), userId, true);
+                }
+                return null;
+            });
+        }
+    }
+
+    private static long memoryUsage(final String key) {
+        Object usage = redisTemplate.execute((RedisCallback<Object>) connection ->
+            connection.execute("MEMORY", bytes("USAGE"), bytes(key), bytes("SAMPLES"), bytes("0")));
+        return usage instanceof Number number ? number.longValue() : -1L;
+    }
+
+    private static void deleteKeys() {
+        redisTemplate.delete(List.of(SET_KEY, BITMAP_KEY));
+        redisTemplate.delete(redisTemplate.keys("coupon:{" + ISSUE_COUPON_ID + "}:*"));
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean isReachable() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return "PONG".equals(connection.ping());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.project.coupon.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.project.coupon.config.RateLimitProperties.Policy;
+import com.project.coupon.service.CouponRedisService.IssueResult;
+import com.project.coupon.service.CouponRedisService.IssuedUsersMode;
+import com.project.coupon.service.CouponRedisService.StockSeed;
+import com.project.coupon.service.CouponRedisService.UserStockState;
+
+/**
+ * Redis Cluster 키 레이아웃 검증.
+ * 쿠폰 키가 해시 태그로 한 슬롯에 모이고 쿠폰끼리는 여러 노드로 나뉘는지, 한 쿠폰의 재고 샤드가 샤드별 태그로
+ * 여러 노드에 나뉘는지, 클러스터 모드 발급·일괄 지급·롤백·재고 조회가 CROSSSLOT 없이 동작하는지 확인한다.
+ *
+ * <p>로컬 Redis Cluster 가 필요하다. REDIS_CLUSTER_NODES(기본 localhost:7000,localhost:7001,localhost:7002)로 대상 지정,
+ * 연결 불가 시 skip. 예: docker run -d -p 7000-7005:7000-7005 -e IP=0.0.0.0 grokzen/redis-cluster:7.0.10
+ * 실행: ./gradlew clusterTest
+ */
+@Tag("cluster")
+class RedisClusterKeyLayoutTest {
+
+    private static final long EVENT_ID = 9_100_001L;
+    private static final long FIRST_COUPON_ID = 9_100_001L;
+    private static final int COUPONS = 32;
+    private static final Policy UNLIMITED = new Policy(60L, Integer.MAX_VALUE);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static CouponRedisService couponRedisService;
+
+    @BeforeAll
+    static void setUp() {
+        String nodes = System.getenv().getOrDefault("REDIS_CLUSTER_NODES",
+            "localhost:7000,localhost:7001,localhost:7002");
+        connectionFactory = new LettuceConnectionFactory(new RedisClusterConfiguration(Arrays.asList(nodes.split(","))));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        assumeTrue(isReachable(), "Redis Cluster 에 연결할 수 없어 테스트를 건너뜁니다.");
+        couponRedisService = new CouponRedisService(redisTemplate, new RedisScriptRegistry(redisTemplate),
+            new CouponSoldOutRegistry(redisTemplate, new RedisMessageListenerContainer(), 0L));
+        couponRedisService.setEventActive(EVENT_ID, 600L);
+    }
+
+    @AfterEach
+    void deleteCouponKeys() {
+        for (long couponId = FIRST_COUPON_ID; couponId < FIRST_COUPON_ID + COUPONS; couponId++) {
+            redisTemplate.delete(redisTemplate.keys("coupon:{" + couponId + "}:*"));
+            redisTemplate.delete(redisTemplate.keys("coupon:{" + couponId + ":*}:*"));
+        }
+        redisTemplate.delete(redisTemplate.keys("rate:user:91*"));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (redisTemplate != null && isReachable()) {
+            redisTemplate.delete("event:" + EVENT_ID + ":active");
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void couponKeysShareSlotAndCouponsSpreadAcrossNodes() {
+        Set<String> owners = new HashSet<>();
+        try (RedisClusterConnection connection = connectionFactory.getClusterConnection()) {
+            for (long couponId = FIRST_COUPON_ID; couponId < FIRST_COUPON_ID + COUPONS; couponId++) {
+                int slot = connection.clusterGetSlotForKey(bytes("coupon:{" + couponId + "}:stock"));
+                assertThat(connection.clusterGetSlotForKey(bytes("coupon:{" + couponId + "}:issued_users"))).isEqualTo(slot);
+                assertThat(connection.clusterGetSlotForKey(bytes("coupon:{" + couponId + "}:issued_bits"))).isEqualTo(slot);
+                RedisClusterNode node = connection.clusterGetNodeForSlot(slot);
+                owners.add(node.getHost() + ":" + node.getPort());
+            }
+        }
+        assertThat(owners).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void stockShardsSpreadAcrossNodesAndKeepEachShardInOneSlot() {
+        Set<String> owners = new HashSet<>();
+        try (RedisClusterConnection connection = connectionFactory.getClusterConnection()) {
+            for (int shard = 0; shard < 16; shard++) {
+                String tag = "coupon:{" + FIRST_COUPON_ID + ":" + shard + "}";
+                int slot = connection.clusterGetSlotForKey(bytes(tag + ":stock"));
+                assertThat(connection.clusterGetSlotForKey(bytes(tag + ":issued_users"))).isEqualTo(slot);
+                assertThat(connection.clusterGetSlotForKey(bytes(tag + ":issued_bits"))).isEqualTo(slot);
+                RedisClusterNode node = connection.clusterGetNodeForSlot(slot);
+                owners.add(node.getHost() + ":" + node.getPort());
+            }
+        }
+        assertThat(owners).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void shardedGrantFailsOverAcrossSlots() {
+        // 샤드 2개, 재고 1개씩. 홈 샤드 0 유저 3명 중 둘째는 샤드 1 재고를 가져오고 셋째는 소진.
+        couponRedisService.initializeStock(FIRST_COUPON_ID, 2, 2, IssuedUsersMode.SET);
+
+        int[] granted = couponRedisService.grantIssued(FIRST_COUPON_ID, List.of(91_002L, 91_004L, 91_006L));
+
+        assertThat(granted).containsExactly(CouponRedisService.ISSUE_SUCCESS, CouponRedisService.ISSUE_SUCCESS,
+            CouponRedisService.ISSUE_EXHAUSTED);
+        assertThat(couponRedisService.getRemainingStock(FIRST_COUPON_ID)).isZero();
+        assertThat(couponRedisService.countIssued(FIRST_COUPON_ID)).isEqualTo(2L);
+    }
+
+    @Test
+    void issueGrantAndRollbackRunWithoutCrossSlotErrors() {
+        long couponId = FIRST_COUPON_ID;
+        for (int shards : new int[] {1, 4}) {
+            for (IssuedUsersMode mode : IssuedUsersMode.values()) {
+                couponRedisService.initializeStock(couponId, 3, shards, mode);
+
+                assertThat(issue(couponId, 91_001L).getCode()).isEqualTo(CouponRedisService.ISSUE_SUCCESS);
+                assertThat(issue(couponId, 91_001L).getCode()).isEqualTo(CouponRedisService.ISSUE_DUPLICATE);
+                couponRedisService.rollbackIssue(couponId, 91_001L);
+                assertThat(issue(couponId, 91_001L).getCode()).isEqualTo(CouponRedisService.ISSUE_SUCCESS);
+
+                int[] granted = couponRedisService.grantIssued(couponId, List.of(91_001L, 91_002L, 91_003L, 91_004L));
+                assertThat(granted).containsExactly(CouponRedisService.ISSUE_DUPLICATE, CouponRedisService.ISSUE_SUCCESS,
+                    CouponRedisService.ISSUE_SUCCESS, CouponRedisService.ISSUE_EXHAUSTED);
+                assertThat(issue(couponId, 91_005L).getCode()).isEqualTo(CouponRedisService.ISSUE_EXHAUSTED);
+                assertThat(couponRedisService.getRemainingStock(couponId)).isZero();
+                couponId++;
+            }
+        }
+    }
+
+    @Test
+    void seedAndBatchedLookupsSpanCoupons() {
+        List<StockSeed> seeds = new ArrayList<>();
+        List<Long> couponIds = new ArrayList<>();
+        for (long couponId = FIRST_COUPON_ID; couponId < FIRST_COUPON_ID + COUPONS; couponId++) {
+            seeds.add(new StockSeed(couponId, 10, couponId % 2 == 0 ? 4 : 1, IssuedUsersMode.SET, 600L, null));
+            couponIds.add(couponId);
+        }
+        assertThat(couponRedisService.seedEvent(EVENT_ID, 600L, seeds, true)).isEqualTo(COUPONS);
+        assertThat(issue(FIRST_COUPON_ID, 91_001L).getCode()).isEqualTo(CouponRedisService.ISSUE_SUCCESS);
+
+        Map<Long, Long> remaining = couponRedisService.getRemainingStocks(couponIds);
+        assertThat(remaining.get(FIRST_COUPON_ID)).isEqualTo(9L);
+        assertThat(remaining.get(FIRST_COUPON_ID + 1)).isEqualTo(10L);
+
+        Map<Long, UserStockState> states = couponRedisService.getUserStockStates(couponIds, 91_001L);
+        assertThat(states.get(FIRST_COUPON_ID).isIssued()).isTrue();
+        assertThat(states.get(FIRST_COUPON_ID + 1).isIssued()).isFalse();
+        assertThat(states.get(FIRST_COUPON_ID + 1).getRemainingStock()).isEqualTo(10L);
+    }
+
+    private static IssueResult issue(final long couponId, final long userId) {
+        return couponRedisService.tryIssueAtomic(couponId, EVENT_ID, userId, null, 0, UNLIMITED);
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+    }
+
+    private static boolean isReachable() {
+        try (RedisClusterConnection connection = connectionFactory.getClusterConnection()) {
+            return !connection.clusterGetNodes().isEmpty();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.coupon.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * 서비스 단위 테스트용 스크립트 레지스트리. Redis 에 연결하지 않고 호출을 "이름 [KEYS] [ARGV]" 로 기록하며,
+ * 스크립트 이름별로 준비한 결과를 차례로 돌려준다. 준비한 결과가 없으면 null 을 돌려준다.
+ */
+class StubScriptRegistry extends RedisScriptRegistry {
+
+    private final Map<String, Queue<Object>> results = new HashMap<>();
+    private final List<String> calls = new ArrayList<>();
+    private List<String> lastKeys;
+    private List<String> lastArgs;
+    private RuntimeException failure;
+
+    StubScriptRegistry() {
+        super(null);
+    }
+
+    /**
+     * 스크립트의 다음 실행 결과를 준비한다. 여러 번 부르면 부른 순서대로 돌려준다.
+     *
+     * @param name   스크립트 이름
+     * @param result 실행 결과 (null 가능)
+     * @return this
+     */
+    StubScriptRegistry willReturn(final String name, final Object result) {
+        results.computeIfAbsent(name, key -> new LinkedList<>()).add(result);
+        return this;
+    }
+
+    /**
+     * 이후 모든 실행이 예외를 던지게 한다.
+     *
+     * @param exception 던질 예외
+     */
+    void failWith(final RuntimeException exception) {
+        this.failure = exception;
+    }
+
+    List<String> calls() {
+        return calls;
+    }
+
+    /** 마지막 실행의 KEYS, 실행한 적이 없으면 null */
+    List<String> lastKeys() {
+        return lastKeys;
+    }
+
+    /** 마지막 실행의 ARGV, 실행한 적이 없으면 null */
+    List<String> lastArgs() {
+        return lastArgs;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(final LuaScript<T> script, final List<String> keys, final String... args) {
+        calls.add(script.getName() + " " + keys + " " + Arrays.toString(args));
+        lastKeys = keys;
+        lastArgs = List.of(args);
+        if (failure != null) {
+            throw failure;
+        }
+        Queue<Object> queue = results.get(script.getName());
+        return queue == null || queue.isEmpty() ? null : (T) queue.poll();
+    }
+}
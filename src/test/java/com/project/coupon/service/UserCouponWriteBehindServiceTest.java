@@ -0,0 +1,204 @@
+package com.project.coupon.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.coupon.dto.IssuedCouponMessage;
+import com.project.coupon.repository.UserCouponJdbcRepository;
+
+/**
+ * write-behind drain·pending 회수의 ACK, 재시도, dead-letter·롤백 검증. 스트림 명령은 mock 으로 대신한다.
+ */
+class UserCouponWriteBehindServiceTest {
+
+    private static final String STREAM_KEY = "coupon:issue:stream";
+    private static final String DEAD_LETTER_KEY = "coupon:issue:dead_letter";
+    private static final String GROUP = "user-coupon-writer";
+    private static final Long COUPON_ID = 1L;
+
+    private StreamOperations<String, String, String> streamOps;
+    private UserCouponJdbcRepository userCouponJdbcRepository;
+    private CouponRedisService couponRedisService;
+    private UserWalletService userWalletService;
+    private UserCouponWriteBehindService writeBehindService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        streamOps = mock(StreamOperations.class);
+        when(redisTemplate.<String, String>opsForStream()).thenReturn(streamOps);
+        userCouponJdbcRepository = mock(UserCouponJdbcRepository.class);
+        couponRedisService = mock(CouponRedisService.class);
+        userWalletService = mock(UserWalletService.class);
+
+        writeBehindService = new UserCouponWriteBehindService(redisTemplate, userCouponJdbcRepository,
+            couponRedisService, userWalletService);
+        ReflectionTestUtils.setField(writeBehindService, "enabled", true);
+        ReflectionTestUtils.setField(writeBehindService, "batchSize", 10);
+        ReflectionTestUtils.setField(writeBehindService, "maxAttempts", 3L);
+        ReflectionTestUtils.setField(writeBehindService, "claimIdleMillis", 30_000L);
+    }
+
+    @Test
+    void drainInsertsBatchThenAcksAndDeletes() {
+        givenNewRecords(record("1-0", 10L), record("2-0", 11L));
+
+        writeBehindService.drain();
+
+        ArgumentCaptor<List<IssuedCouponMessage>> inserted = listCaptor();
+        verify(userCouponJdbcRepository).insertAll(inserted.capture());
+        assertThat(inserted.getValue()).extracting(IssuedCouponMessage::getUserId).containsExactly(10L, 11L);
+        verify(streamOps).acknowledge(STREAM_KEY, GROUP, RecordId.of("1-0"), RecordId.of("2-0"));
+        verify(streamOps).delete(STREAM_KEY, RecordId.of("1-0"), RecordId.of("2-0"));
+    }
+
+    @Test
+    void transientDbFailureLeavesRecordsPending() {
+        givenNewRecords(record("1-0", 10L));
+        when(userCouponJdbcRepository.insertAll(anyList()))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        writeBehindService.drain();
+
+        verify(userCouponJdbcRepository, never()).insertOne(any());
+        verify(streamOps, never()).acknowledge(anyString(), anyString(), any(RecordId[].class));
+        verify(couponRedisService, never()).rollbackIssue(anyLong(), anyLong());
+    }
+
+    @Test
+    void rowFailureOnFirstDeliveryRetriesOnlyThatRow() {
+        givenNewRecords(record("1-0", 10L), record("2-0", 11L));
+        when(userCouponJdbcRepository.insertAll(anyList())).thenThrow(new DataIntegrityViolationException("bad row"));
+        doThrow(new DataIntegrityViolationException("bad row"))
+            .when(userCouponJdbcRepository).insertOne(argThat(message -> message != null && message.getUserId() == 11L));
+
+        writeBehindService.drain();
+
+        verify(streamOps).acknowledge(STREAM_KEY, GROUP, RecordId.of("1-0"));
+        verify(streamOps, never()).add(eq(DEAD_LETTER_KEY), anyMap());
+        verify(couponRedisService, never()).rollbackIssue(anyLong(), anyLong());
+    }
+
+    @Test
+    void malformedRecordGoesToDeadLetterAndIsAcked() {
+        givenNewRecords(MapRecord.create(STREAM_KEY, Map.of("couponId", "x")).withId(RecordId.of("1-0")));
+
+        writeBehindService.drain();
+
+        verify(streamOps).add(DEAD_LETTER_KEY, Map.of("couponId", "x", "reason", "MALFORMED"));
+        verify(streamOps).acknowledge(STREAM_KEY, GROUP, RecordId.of("1-0"));
+    }
+
+    @Test
+    void reclaimCountsClaimAsDeliveryAndDeadLettersAtMaxAttempts() {
+        // 2회 전달된 메시지를 회수하면 3회째(maxAttempts)이므로 영구 실패로 본다. idle 이 짧은 메시지는 회수하지 않는다.
+        givenPending(pending("1-0", Duration.ofMinutes(1), 2L), pending("2-0", Duration.ofSeconds(1), 4L));
+        when(streamOps.claim(eq(STREAM_KEY), eq(GROUP), anyString(), eq(Duration.ofMillis(30_000L)), any(RecordId[].class)))
+            .thenReturn(List.of(record("1-0", 10L)));
+        when(userCouponJdbcRepository.insertAll(anyList())).thenThrow(new DataIntegrityViolationException("bad row"));
+        when(userCouponJdbcRepository.insertOne(any())).thenThrow(new DataIntegrityViolationException("bad row"));
+
+        writeBehindService.reclaimPending();
+
+        verify(streamOps).claim(eq(STREAM_KEY), eq(GROUP), anyString(), eq(Duration.ofMillis(30_000L)),
+            eq(RecordId.of("1-0")));
+        verify(streamOps).add(eq(DEAD_LETTER_KEY), argThat(fields -> "10".equals(fields.get("userId"))
+            && "DataIntegrityViolationException".equals(fields.get("reason"))));
+        verify(couponRedisService).rollbackIssue(COUPON_ID, 10L);
+        verify(userWalletService).removeIssued(10L, COUPON_ID);
+        verify(streamOps).acknowledge(STREAM_KEY, GROUP, RecordId.of("1-0"));
+    }
+
+    @Test
+    void reclaimBelowMaxAttemptsKeepsRecordPending() {
+        givenPending(pending("1-0", Duration.ofMinutes(1), 1L));
+        when(streamOps.claim(eq(STREAM_KEY), eq(GROUP), anyString(), any(Duration.class), any(RecordId[].class)))
+            .thenReturn(List.of(record("1-0", 10L)));
+        when(userCouponJdbcRepository.insertAll(anyList())).thenThrow(new DataIntegrityViolationException("bad row"));
+        when(userCouponJdbcRepository.insertOne(any())).thenThrow(new DataIntegrityViolationException("bad row"));
+
+        writeBehindService.reclaimPending();
+
+        verify(streamOps, never()).add(eq(DEAD_LETTER_KEY), anyMap());
+        verify(couponRedisService, never()).rollbackIssue(anyLong(), anyLong());
+        verify(streamOps, never()).acknowledge(anyString(), anyString(), any(RecordId[].class));
+    }
+
+    @Test
+    void transientFailureIsNeverDeadLetteredEvenAtMaxAttempts() {
+        givenPending(pending("1-0", Duration.ofMinutes(1), 10L));
+        when(streamOps.claim(eq(STREAM_KEY), eq(GROUP), anyString(), any(Duration.class), any(RecordId[].class)))
+            .thenReturn(List.of(record("1-0", 10L)));
+        when(userCouponJdbcRepository.insertAll(anyList())).thenThrow(new DataIntegrityViolationException("bad row"));
+        when(userCouponJdbcRepository.insertOne(any())).thenThrow(new DataAccessResourceFailureException("timeout"));
+
+        writeBehindService.reclaimPending();
+
+        verify(streamOps, never()).add(eq(DEAD_LETTER_KEY), anyMap());
+        verify(couponRedisService, never()).rollbackIssue(anyLong(), anyLong());
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void givenNewRecords(final MapRecord<String, String, String>... records) {
+        when(streamOps.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class)))
+            .thenReturn(List.of(records));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenPending(final PendingMessage... messages) {
+        when(streamOps.pending(eq(STREAM_KEY), eq(GROUP), any(Range.class), anyLong()))
+            .thenReturn(new PendingMessages(GROUP, new ArrayList<>(List.of(messages))));
+    }
+
+    private static MapRecord<String, String, String> record(final String id, final Long userId) {
+        return MapRecord.create(STREAM_KEY, Map.of(
+                "couponId", String.valueOf(COUPON_ID),
+                "userId", String.valueOf(userId),
+                "issuedAt", "1700000000000"))
+            .withId(RecordId.of(id));
+    }
+
+    private static PendingMessage pending(final String id, final Duration idle, final long deliveries) {
+        return new PendingMessage(RecordId.of(id), Consumer.from(GROUP, "writer-dead"), idle, deliveries);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<IssuedCouponMessage>> listCaptor() {
+        return ArgumentCaptor.forClass((Class<List<IssuedCouponMessage>>) (Class<?>) List.class);
+    }
+}
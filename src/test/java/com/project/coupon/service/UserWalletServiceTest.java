@@ -0,0 +1,112 @@
+package com.project.coupon.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.coupon.dto.UserCouponItemResponse;
+import com.project.coupon.dto.WalletPageResponse;
+import com.project.coupon.entity.enums.CouponStatus;
+import com.project.coupon.exception.InvalidRequestException;
+import com.project.coupon.repository.UserCouponRepository;
+import com.project.coupon.repository.UserCouponRepository.WalletRow;
+
+/**
+ * 지갑 keyset 페이지의 cursor 처리와 첫 조회 시 DB 적재 검증. Redis 는 StubScriptRegistry 로 대신한다.
+ */
+class UserWalletServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    private UserCouponRepository userCouponRepository;
+    private StubScriptRegistry scriptRegistry;
+    private UserWalletService walletService;
+
+    @BeforeEach
+    void setUp() {
+        userCouponRepository = mock(UserCouponRepository.class);
+        scriptRegistry = new StubScriptRegistry();
+        walletService = new UserWalletService(null, scriptRegistry, userCouponRepository, 3600L);
+    }
+
+    @Test
+    void firstPageReadsFromTopAndReturnsCursorWhenMoreRemain() {
+        scriptRegistry.willReturn("wallet-page", List.of("30", "NOT_USE|300|A", "20", "USE|200|B", "10", "NOT_USE||C"));
+
+        WalletPageResponse page = walletService.getPage(USER_ID, null, 2);
+
+        assertThat(page.getItems()).extracting(UserCouponItemResponse::getCouponId).containsExactly(30L, 20L);
+        assertThat(page.getItems().get(1).getCouponStatus()).isEqualTo(CouponStatus.USE);
+        assertThat(page.getNextCursor()).isEqualTo(20L);
+        assertThat(scriptRegistry.calls()).containsExactly(
+            "wallet-page [wallet:user:{7}, wallet:user:{7}:idx] [+inf, 3]");
+    }
+
+    @Test
+    void nextPageStartsBelowCursorAndLastPageHasNoCursor() {
+        scriptRegistry.willReturn("wallet-page", List.of("10", "NOT_USE||C"));
+
+        WalletPageResponse page = walletService.getPage(USER_ID, 20L, 2);
+
+        assertThat(page.getItems()).extracting(UserCouponItemResponse::getCouponId).containsExactly(10L);
+        assertThat(page.getItems().get(0).getUserCouponId()).isNull();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(scriptRegistry.calls()).containsExactly(
+            "wallet-page [wallet:user:{7}, wallet:user:{7}:idx] [(20, 3]");
+        verify(userCouponRepository, never()).findWalletRows(USER_ID);
+    }
+
+    @Test
+    void unloadedWalletIsLoadedFromDbThenRead() {
+        scriptRegistry.willReturn("wallet-page", null);
+        scriptRegistry.willReturn("wallet-page", List.of("10", "NOT_USE|100|C"));
+        when(userCouponRepository.findWalletRows(USER_ID)).thenReturn(List.of(walletRow(100L, 10L, "C")));
+
+        WalletPageResponse page = walletService.getPage(USER_ID, null, 5);
+
+        assertThat(page.getItems()).extracting(UserCouponItemResponse::getUserCouponId).containsExactly(100L);
+        assertThat(scriptRegistry.calls()).containsExactly(
+            "wallet-page [wallet:user:{7}, wallet:user:{7}:idx] [+inf, 6]",
+            "wallet-load [wallet:user:{7}, wallet:user:{7}:idx] [3600, 10, NOT_USE|100|C]",
+            "wallet-page [wallet:user:{7}, wallet:user:{7}:idx] [+inf, 6]");
+    }
+
+    @Test
+    void rejectsPageSizeOutOfRange() {
+        assertThatThrownBy(() -> walletService.getPage(USER_ID, null, 0)).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> walletService.getPage(USER_ID, null, 101)).isInstanceOf(InvalidRequestException.class);
+        assertThat(scriptRegistry.calls()).isEmpty();
+    }
+
+    private static WalletRow walletRow(final Long userCouponId, final Long couponId, final String couponName) {
+        return new WalletRow() {
+            @Override
+            public Long getUserCouponId() {
+                return userCouponId;
+            }
+
+            @Override
+            public Long getCouponId() {
+                return couponId;
+            }
+
+            @Override
+            public String getCouponName() {
+                return couponName;
+            }
+
+            @Override
+            public CouponStatus getCouponStatus() {
+                return CouponStatus.NOT_USE;
+            }
+        };
+    }
+}